@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmarks;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Utilities for the generation of synthetic benchmark inputs, which
+ * rely on the existing data generator (LibMatrixDatagen) in order to
+ * run all benchmarks offline and with deterministic inputs.
+ */
+public class BenchmarkUtils 
+{
+	public static final long SEED = 7;
+	
+	private BenchmarkUtils() {
+		//prevent instantiation via private constructor
+	}
+	
+	public static MatrixBlock createMatrix(int rows, int cols, double sparsity) 
+		throws DMLRuntimeException 
+	{
+		return createMatrix(rows, cols, sparsity, SEED);
+	}
+	
+	public static MatrixBlock createMatrix(int rows, int cols, double sparsity, long seed) 
+		throws DMLRuntimeException 
+	{
+		MatrixBlock ret = MatrixBlock.randOperations(
+			rows, cols, sparsity, -1, 1, "uniform", seed);
+		ret.examSparsity();
+		return ret;
+	}
+	
+	public static MatrixBlock createRoundedMatrix(int rows, int cols, double sparsity, int distinct) 
+		throws DMLRuntimeException 
+	{
+		//few distinct values per column, which allows for compression
+		MatrixBlock ret = MatrixBlock.randOperations(
+			rows, cols, sparsity, 0, distinct, "uniform", SEED);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				double v = ret.quickGetValue(i, j);
+				if( v != 0 )
+					ret.quickSetValue(i, j, Math.ceil(v));
+			}
+		ret.examSparsity();
+		return ret;
+	}
+}
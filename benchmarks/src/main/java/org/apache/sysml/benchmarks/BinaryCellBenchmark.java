@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro-benchmarks for LibMatrixBincell over matrix-matrix and 
+ * matrix-vector (broadcasting) cellwise operations, invoked through
+ * the matrix block in order to include the output allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BinaryCellBenchmark 
+{
+	@Param({"+", "*", ">"})
+	public String opcode;
+	
+	@Param({"10000"})
+	public int rows;
+	
+	@Param({"1000"})
+	public int cols;
+	
+	@Param({"1.0", "0.01"})
+	public double sparsity;
+	
+	@Param({"1", "8"})
+	public int threads;
+	
+	private MatrixBlock _m1 = null;
+	private MatrixBlock _m2 = null;
+	private MatrixBlock _v2 = null;
+	private BinaryOperator _op = null;
+	
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		_m1 = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		_m2 = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED+1);
+		_v2 = BenchmarkUtils.createMatrix(rows, 1, 1.0, BenchmarkUtils.SEED+2);
+		_op = InstructionUtils.parseBinaryOperator(opcode);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixMatrix() throws DMLRuntimeException {
+		return (MatrixBlock) _m1.binaryOperations(_op, _m2, new MatrixBlock(), threads);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixColVector() throws DMLRuntimeException {
+		return (MatrixBlock) _m1.binaryOperations(_op, _v2, new MatrixBlock(), threads);
+	}
+}
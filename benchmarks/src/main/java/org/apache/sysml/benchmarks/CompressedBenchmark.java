@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro-benchmarks for compressed linear algebra, i.e., operations over 
+ * the column groups (OLE, RLE, DDC) of compressed matrix blocks, including 
+ * the compression itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CompressedBenchmark 
+{
+	@Param({"OLE", "DDC"})
+	public String encoding;
+	
+	@Param({"100000"})
+	public int rows;
+	
+	@Param({"100"})
+	public int cols;
+	
+	@Param({"1.0", "0.1"})
+	public double sparsity;
+	
+	@Param({"1", "8"})
+	public int threads;
+	
+	private MatrixBlock _in = null;
+	private CompressedMatrixBlock _cin = null;
+	private MatrixBlock _vect = null;
+	private AggregateBinaryOperator _mvop = null;
+	private AggregateUnaryOperator _sumop = null;
+	
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		CompressedMatrixBlock.ALLOW_DDC_ENCODING = encoding.equals("DDC");
+		_in = BenchmarkUtils.createRoundedMatrix(rows, cols, sparsity, 16);
+		_cin = new CompressedMatrixBlock(_in);
+		_cin.compress(threads);
+		_vect = BenchmarkUtils.createMatrix(cols, 1, 1.0);
+		_mvop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+			new AggregateOperator(0, Plus.getPlusFnObject()), threads);
+		AggregateUnaryOperator tmp = InstructionUtils.parseBasicAggregateUnaryOperator("uak+");
+		_sumop = new AggregateUnaryOperator(tmp.aggOp, tmp.indexFn, threads);
+	}
+	
+	@Benchmark
+	public CompressedMatrixBlock compress() throws DMLRuntimeException {
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(_in);
+		ret.compress(threads);
+		return ret;
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixVectorMult() throws DMLRuntimeException {
+		return (MatrixBlock) _cin.aggregateBinaryOperations(
+			_cin, _vect, new MatrixBlock(), _mvop);
+	}
+	
+	@Benchmark
+	public MatrixBlock sum() throws DMLRuntimeException {
+		return (MatrixBlock) _cin.aggregateUnaryOperations(_sumop, 
+			new MatrixBlock(), rows, cols, new MatrixIndexes(1, 1), true);
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro-benchmarks for LibMatrixMult over matrix-vector, vector-matrix,
+ * and matrix-matrix shapes with dense and sparse left-hand-side inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MatrixMultBenchmark 
+{
+	@Param({"MV", "VM", "MM"})
+	public String shape;
+	
+	@Param({"1.0", "0.01"})
+	public double sparsity;
+	
+	@Param({"1", "8"})
+	public int threads;
+	
+	private MatrixBlock _m1 = null;
+	private MatrixBlock _m2 = null;
+	
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		switch( shape ) {
+			case "MV":
+				_m1 = BenchmarkUtils.createMatrix(100000, 1000, sparsity);
+				_m2 = BenchmarkUtils.createMatrix(1000, 1, 1.0);
+				break;
+			case "VM":
+				_m1 = BenchmarkUtils.createMatrix(1, 100000, 1.0);
+				_m2 = BenchmarkUtils.createMatrix(100000, 1000, sparsity);
+				break;
+			default: //MM
+				_m1 = BenchmarkUtils.createMatrix(2000, 2000, sparsity);
+				_m2 = BenchmarkUtils.createMatrix(2000, 500, 1.0);
+		}
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixMult() throws DMLRuntimeException {
+		MatrixBlock ret = new MatrixBlock(_m1.getNumRows(), _m2.getNumColumns(), false);
+		LibMatrixMult.matrixMult(_m1, _m2, ret, threads);
+		return ret;
+	}
+	
+	@Benchmark
+	public MatrixBlock transposeSelfMatrixMult() throws DMLRuntimeException {
+		//t(X)%*%X over the matrix input (avoids n x n outputs for vectors)
+		MatrixBlock in = shape.equals("VM") ? _m2 : _m1;
+		MatrixBlock ret = new MatrixBlock(in.getNumColumns(), in.getNumColumns(), false);
+		LibMatrixMult.matrixMultTransposeSelf(in, ret, true, threads);
+		return ret;
+	}
+}
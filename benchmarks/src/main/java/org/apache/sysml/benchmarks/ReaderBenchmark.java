@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.io.MatrixWriterFactory;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro-benchmarks for the local matrix readers of binary block, text cell,
+ * and csv formats, where the input files are written once per trial to a
+ * local temporary directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReaderBenchmark 
+{
+	private static final int BLOCKSIZE = 1000;
+	
+	@Param({"binary", "text", "csv"})
+	public String format;
+	
+	@Param({"100000"})
+	public int rows;
+	
+	@Param({"100"})
+	public int cols;
+	
+	@Param({"1.0", "0.01"})
+	public double sparsity;
+	
+	private File _dir = null;
+	private String _fname = null;
+	private long _nnz = -1;
+	
+	@Setup
+	public void setup() throws DMLRuntimeException, IOException {
+		MatrixBlock in = BenchmarkUtils.createMatrix(rows, cols, sparsity);
+		_nnz = in.getNonZeros();
+		_dir = Files.createTempDirectory("systemml-benchmark").toFile();
+		_fname = new File(_dir, "X").getAbsolutePath();
+		MatrixWriterFactory.createMatrixWriter(getOutputInfo())
+			.writeMatrixToHDFS(in, _fname, rows, cols, BLOCKSIZE, BLOCKSIZE, _nnz);
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(_dir);
+	}
+	
+	@Benchmark
+	public MatrixBlock read() throws DMLRuntimeException, IOException {
+		return MatrixReaderFactory.createMatrixReader(getInputInfo())
+			.readMatrixFromHDFS(_fname, rows, cols, BLOCKSIZE, BLOCKSIZE, _nnz);
+	}
+	
+	private OutputInfo getOutputInfo() {
+		switch( format ) {
+			case "binary": return OutputInfo.BinaryBlockOutputInfo;
+			case "text":   return OutputInfo.TextCellOutputInfo;
+			default:       return OutputInfo.CSVOutputInfo;
+		}
+	}
+	
+	private InputInfo getInputInfo() {
+		switch( format ) {
+			case "binary": return InputInfo.BinaryBlockInputInfo;
+			case "text":   return InputInfo.TextCellInputInfo;
+			default:       return InputInfo.CSVInputInfo;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysml.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro-benchmarks for the sparse block formats (MCSR, CSR, COO) over 
+ * row scans, random point lookups, and appends in row-major order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SparseBlockBenchmark 
+{
+	@Param({"MCSR", "CSR", "COO"})
+	public SparseBlock.Type type;
+	
+	@Param({"10000"})
+	public int rows;
+	
+	@Param({"1000"})
+	public int cols;
+	
+	@Param({"0.01", "0.1"})
+	public double sparsity;
+	
+	private SparseBlock _sblock = null;
+	private int[] _rix = null;
+	private int[] _cix = null;
+	
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		MatrixBlock tmp = BenchmarkUtils.createMatrix(rows, cols, sparsity);
+		if( !tmp.isInSparseFormat() )
+			throw new DMLRuntimeException("Sparse block benchmark requires sparse inputs.");
+		_sblock = SparseBlockFactory.copySparseBlock(type, tmp.getSparseBlock(), true);
+		
+		//random cell coordinates for point lookups
+		Random rand = new Random(BenchmarkUtils.SEED);
+		_rix = new int[100000];
+		_cix = new int[100000];
+		for( int i=0; i<_rix.length; i++ ) {
+			_rix[i] = rand.nextInt(rows);
+			_cix[i] = rand.nextInt(cols);
+		}
+	}
+	
+	@Benchmark
+	public double rowScan() {
+		double sum = 0;
+		for( int i=0; i<rows; i++ ) {
+			if( _sblock.isEmpty(i) ) continue;
+			int apos = _sblock.pos(i);
+			int alen = _sblock.size(i);
+			int[] aix = _sblock.indexes(i);
+			double[] avals = _sblock.values(i);
+			for( int j=apos; j<apos+alen; j++ )
+				sum += avals[j] * aix[j];
+		}
+		return sum;
+	}
+	
+	@Benchmark
+	public double pointLookup() {
+		double sum = 0;
+		for( int i=0; i<_rix.length; i++ )
+			sum += _sblock.get(_rix[i], _cix[i]);
+		return sum;
+	}
+	
+	@Benchmark
+	public SparseBlock append() {
+		SparseBlock ret = SparseBlockFactory.createSparseBlock(type, rows);
+		for( int i=0; i<rows; i++ ) {
+			if( _sblock.isEmpty(i) ) continue;
+			int apos = _sblock.pos(i);
+			int alen = _sblock.size(i);
+			int[] aix = _sblock.indexes(i);
+			double[] avals = _sblock.values(i);
+			for( int j=apos; j<apos+alen; j++ )
+				ret.append(i, aix[j], avals[j]);
+		}
+		return ret;
+	}
+}
@@ -29,6 +29,7 @@ import org.apache.sysml.runtime.instructions.gpu.context.GPUContext;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContextPool;
 import org.apache.sysml.runtime.matrix.data.LibMatrixDNN;
 import org.apache.sysml.utils.GPUStatistics;
+import org.apache.sysml.utils.MetricsExporter;
 import org.apache.sysml.utils.Statistics;
 
 public class ScriptExecutorUtils {
@@ -75,6 +76,9 @@ public class ScriptExecutorUtils {
 		GPUStatistics.DISPLAY_STATISTICS = dmlconf.getBooleanValue(DMLConfig.EXTRA_GPU_STATS);
 		LibMatrixDNN.DISPLAY_STATISTICS = dmlconf.getBooleanValue(DMLConfig.EXTRA_DNN_STATS);
 
+		// Optional latency histograms and periodic metrics export
+		MetricsExporter.start(dmlconf);
+
 		// Sets the maximum number of GPUs per process, -1 for all available
 		// GPUs
 		GPUContextPool.PER_PROCESS_MAX_GPUS = dmlconf.getIntValue(DMLConfig.MAX_GPUS_PER_PROCESS);
@@ -102,6 +106,7 @@ public class ScriptExecutorUtils {
 
 			// display statistics (incl caching stats if enabled)
 			Statistics.stopRunTimer();
+			MetricsExporter.stop();
 
 			if(statisticsMaxHeavyHitters > 0)
 				System.out.println(Statistics.display(statisticsMaxHeavyHitters));
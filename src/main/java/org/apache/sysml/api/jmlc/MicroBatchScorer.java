@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.api.jmlc;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Micro-batched scoring of a prepared script for row-wise models. Concurrent
+ * single-row requests are collected within a configurable latency window 
+ * (or until the maximum batch size is reached), stacked into a single input
+ * matrix, scored via one script execution, and the rows of the output matrix 
+ * are returned to the individual callers. This amortizes the fixed per-call 
+ * overhead of binding, context creation, and instruction dispatch.
+ * 
+ * The prepared script is required to produce exactly one output row per 
+ * input row, and all other inputs (e.g., the model) need to be bound with
+ * reuse before the scorer is created. The number of columns is given by the 
+ * first scored row, and rows with a different number of columns are rejected
+ * without affecting other requests. Batches are executed by a bounded pool 
+ * of worker threads; if all workers are busy, the dispatcher waits and 
+ * collects larger batches in the meantime.
+ */
+public class MicroBatchScorer implements Closeable
+{
+	private final PreparedScript _pstmt;
+	private final String _inVarname;
+	private final String _outVarname;
+	private final int _maxBatchSize;
+	private final long _maxLatency; //in ns
+	
+	private final BlockingQueue<ScoringRequest> _queue;
+	private final Thread _dispatcher;
+	private final ExecutorService _workers;
+	private final Semaphore _freeWorkers;
+	private final AtomicInteger _numCols = new AtomicInteger(-1);
+	private volatile boolean _closed = false;
+	
+	//statistics of executed batches
+	private final AtomicLong _numBatches = new AtomicLong(0);
+	private final AtomicLong _numRows = new AtomicLong(0);
+	
+	/**
+	 * Creates a micro-batch scorer with a single worker thread and starts 
+	 * its dispatcher thread.
+	 * 
+	 * @param pstmt prepared script with reused model inputs
+	 * @param inVarname input variable name of the stacked rows
+	 * @param outVarname output variable name of the scored rows
+	 * @param maxBatchSize maximum number of rows per batch
+	 * @param maxLatency maximum wait time in ms for collecting a batch
+	 */
+	public MicroBatchScorer(PreparedScript pstmt, String inVarname, String outVarname, int maxBatchSize, long maxLatency) {
+		this(pstmt, inVarname, outVarname, maxBatchSize, maxLatency, 1);
+	}
+	
+	/**
+	 * Creates a micro-batch scorer and starts its dispatcher thread.
+	 * 
+	 * @param pstmt prepared script with reused model inputs
+	 * @param inVarname input variable name of the stacked rows
+	 * @param outVarname output variable name of the scored rows
+	 * @param maxBatchSize maximum number of rows per batch
+	 * @param maxLatency maximum wait time in ms for collecting a batch
+	 * @param numWorkers maximum number of concurrently executed batches
+	 */
+	public MicroBatchScorer(PreparedScript pstmt, String inVarname, String outVarname, int maxBatchSize, long maxLatency, int numWorkers) {
+		if( maxBatchSize < 1 || maxLatency < 0 || numWorkers < 1 )
+			throw new IllegalArgumentException("Invalid batch size, latency, or number of workers: "
+				+maxBatchSize+", "+maxLatency+", "+numWorkers);
+		_pstmt = pstmt;
+		_inVarname = inVarname;
+		_outVarname = outVarname;
+		_maxBatchSize = maxBatchSize;
+		_maxLatency = TimeUnit.MILLISECONDS.toNanos(maxLatency);
+		_queue = new LinkedBlockingQueue<ScoringRequest>();
+		_workers = Executors.newFixedThreadPool(numWorkers, new DaemonThreadFactory());
+		_freeWorkers = new Semaphore(numWorkers);
+		_dispatcher = new Thread(new BatchDispatcher(), "jmlc-microbatch");
+		_dispatcher.setDaemon(true);
+		_dispatcher.start();
+	}
+	
+	/**
+	 * Scores a single row, blocking until the batch containing this row
+	 * has been executed.
+	 * 
+	 * @param row input row
+	 * @return output row
+	 * @throws DMLException if DMLException occurs
+	 */
+	public double[] score(double[] row) 
+		throws DMLException
+	{
+		if( _closed )
+			throw new DMLException("Micro-batch scorer already closed.");
+		
+		//validate row before enqueueing, to avoid failing the entire batch
+		if( row == null || row.length == 0 )
+			throw new DMLException("Invalid empty input row.");
+		_numCols.compareAndSet(-1, row.length);
+		if( row.length != _numCols.get() )
+			throw new DMLException("Invalid number of columns of input row: "
+				+ row.length + " vs " + _numCols.get() + ".");
+		
+		ScoringRequest req = new ScoringRequest(row);
+		_queue.add(req);
+		if( _closed && _queue.remove(req) )
+			throw new DMLException("Micro-batch scorer already closed.");
+		try {
+			req.latch.await();
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new DMLException(ex);
+		}
+		if( req.error != null )
+			throw new DMLException(req.error);
+		return req.result;
+	}
+	
+	/**
+	 * Gets the number of executed batches, i.e., script executions.
+	 * 
+	 * @return number of batches
+	 */
+	public long getNumBatches() {
+		return _numBatches.get();
+	}
+	
+	/**
+	 * Gets the total number of rows scored by all executed batches.
+	 * 
+	 * @return number of scored rows
+	 */
+	public long getNumScoredRows() {
+		return _numRows.get();
+	}
+	
+	@Override
+	public void close() {
+		_closed = true;
+		_dispatcher.interrupt();
+		_workers.shutdown();
+	}
+	
+	private void executeBatch(ArrayList<ScoringRequest> batch) {
+		try {
+			//stack rows into a single input matrix
+			int clen = batch.get(0).row.length;
+			MatrixBlock in = new MatrixBlock(batch.size(), clen, false);
+			in.allocateDenseBlock();
+			DenseBlock a = in.getDenseBlock();
+			for( int i=0; i<batch.size(); i++ ) {
+				double[] row = batch.get(i).row;
+				if( row.length != clen )
+					throw new DMLException("Inconsistent number of columns in batch: "+row.length+" vs "+clen);
+				a.set(i, row);
+			}
+			in.recomputeNonZeros();
+			in.examSparsity();
+			
+			//execute script once over the entire batch
+			PreparedScript pstmt = _pstmt.clone();
+			pstmt.setMatrix(_inVarname, in, false);
+			MatrixBlock out = pstmt.executeScript().getMatrixBlock(_outVarname);
+			_numBatches.incrementAndGet();
+			_numRows.addAndGet(batch.size());
+			if( out.getNumRows() != batch.size() )
+				throw new DMLException("Number of output rows "+out.getNumRows()
+					+ " does not match the batch size "+batch.size()+".");
+			
+			//split output rows back to the individual requests
+			for( int i=0; i<batch.size(); i++ ) {
+				ScoringRequest req = batch.get(i);
+				req.result = new double[out.getNumColumns()];
+				for( int j=0; j<out.getNumColumns(); j++ )
+					req.result[j] = out.quickGetValue(i, j);
+				req.latch.countDown();
+			}
+		}
+		catch(Exception ex) {
+			for( ScoringRequest req : batch ) {
+				req.error = ex;
+				req.latch.countDown();
+			}
+		}
+		finally {
+			_freeWorkers.release();
+		}
+	}
+	
+	private static class ScoringRequest
+	{
+		private final double[] row;
+		private final CountDownLatch latch;
+		private double[] result = null;
+		private Exception error = null;
+		
+		public ScoringRequest(double[] row) {
+			this.row = row;
+			this.latch = new CountDownLatch(1);
+		}
+	}
+	
+	private class BatchDispatcher implements Runnable
+	{
+		@Override
+		public void run() {
+			ArrayList<ScoringRequest> batch = new ArrayList<ScoringRequest>();
+			try {
+				while( !_closed ) {
+					//wait for a free worker and the first request, then collect until 
+					//the latency window expires or the maximum batch size is reached
+					_freeWorkers.acquire();
+					batch.add(_queue.take());
+					long deadline = System.nanoTime() + _maxLatency;
+					while( batch.size() < _maxBatchSize ) {
+						ScoringRequest req = _queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+						if( req == null )
+							break;
+						batch.add(req);
+					}
+					
+					//execute batch asynchronously by a worker
+					final ArrayList<ScoringRequest> lbatch = batch;
+					_workers.execute(new Runnable() {
+						@Override
+						public void run() {
+							executeBatch(lbatch);
+						}
+					});
+					batch = new ArrayList<ScoringRequest>();
+				}
+			}
+			catch(InterruptedException ex) {
+				//closed scorer
+			}
+			catch(RejectedExecutionException ex) {
+				//closed scorer, workers already shut down
+			}
+			
+			//fail pending requests of a closed scorer
+			_queue.drainTo(batch);
+			for( ScoringRequest req : batch ) {
+				req.error = new DMLException("Micro-batch scorer closed.");
+				req.latch.countDown();
+			}
+		}
+	}
+	
+	private static class DaemonThreadFactory implements ThreadFactory
+	{
+		private final AtomicInteger _id = new AtomicInteger(0);
+		
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "jmlc-microbatch-worker-"+_id.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
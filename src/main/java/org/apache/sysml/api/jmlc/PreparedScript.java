@@ -28,11 +28,20 @@ import java.util.List;
 import java.util.Map.Entry;
 
 import org.apache.sysml.api.DMLException;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.ForProgramBlock;
+import org.apache.sysml.runtime.controlprogram.FunctionProgramBlock;
+import org.apache.sysml.runtime.controlprogram.IfProgramBlock;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock;
 import org.apache.sysml.runtime.controlprogram.Program;
+import org.apache.sysml.runtime.controlprogram.ProgramBlock;
+import org.apache.sysml.runtime.controlprogram.WhileProgramBlock;
 import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
@@ -45,6 +54,7 @@ import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.instructions.cp.StringObject;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.DenseBlockFactory;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -54,6 +64,13 @@ import org.apache.sysml.utils.Explain;
 
 /**
  * Representation of a prepared (precompiled) DML/PyDML script.
+ * 
+ * A prepared script binds inputs to its own variable scope and hence, a
+ * single instance must not be used by multiple threads at a time. For 
+ * concurrent scoring, obtain a lightweight copy per request thread via
+ * {@link #clone()}, which shares the compiled runtime program, the
+ * configuration, and all inputs bound with reuse, but owns a separate
+ * variable scope.
  */
 public class PreparedScript 
 {
@@ -66,6 +83,11 @@ public class PreparedScript
 	private Program _prog = null;
 	private LocalVariableMap _vars = null; 
 	
+	//configuration and program properties (shared across copies)
+	private DMLConfig _dmlconf = null;
+	private CompilerConfig _cconf = null;
+	private boolean _serialExec = false;
+	
 	/**
 	 * Meant to be invoked only from Connection.
 	 * 
@@ -84,6 +106,34 @@ public class PreparedScript
 		_outVarnames = new HashSet<String>();
 		Collections.addAll(_outVarnames, outputs);
 		_inVarReuse = new HashMap<String, Data>();
+		
+		//keep the connection's thread-local configurations for execution
+		//from arbitrary threads, and check for stateful parfor program blocks
+		//(runtime optimization) which require serialized execution 
+		_dmlconf = ConfigurationManager.getDMLConfig();
+		_cconf = ConfigurationManager.getCompilerConfig();
+		_serialExec = rContainsParFor(prog.getProgramBlocks());
+		for( FunctionProgramBlock fpb : prog.getFunctionProgramBlocks().values() )
+			_serialExec |= rContainsParFor(fpb.getChildBlocks());
+	}
+	
+	/**
+	 * Creates a copy of the given prepared script, which shares the 
+	 * runtime program, configurations, and reused inputs but maintains
+	 * its own variable scope.
+	 * 
+	 * @param that prepared script to copy
+	 */
+	private PreparedScript( PreparedScript that ) 
+	{
+		_prog = that._prog;
+		_vars = new LocalVariableMap();
+		_inVarnames = that._inVarnames;
+		_outVarnames = that._outVarnames;
+		_inVarReuse = new HashMap<String, Data>(that._inVarReuse);
+		_dmlconf = that._dmlconf;
+		_cconf = that._cconf;
+		_serialExec = that._serialExec;
 	}
 	
 	/**
@@ -219,10 +269,32 @@ public class PreparedScript
 		setMatrix(varname, DataConverter.convertToMatrixBlock(matrix), reuse);
 	}
 	
+	/**
+	 * Binds a caller-owned, row-major double array to a registered input 
+	 * variable. The array is wrapped without copy and hence, must not be 
+	 * modified until the script execution completed.
+	 * 
+	 * @param varname input variable name
+	 * @param values row-major double array of length rows*cols
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param reuse if {@code true}, preserve value over multiple {@code executeScript} calls
+	 * @throws DMLException if DMLException occurs
+	 */
+	public void setMatrix(String varname, double[] values, int rows, int cols, boolean reuse) 
+		throws DMLException
+	{
+		if( values.length != (long)rows*cols )
+			throw new DMLException("Invalid array length "+values.length+" for a "+rows+"x"+cols+" matrix.");
+		setMatrix(varname, new MatrixBlock(rows, cols,
+			DenseBlockFactory.createDenseBlock(values, rows, cols)), reuse);
+	}
+	
 	/**
 	 * Binds a matrix object to a registered input variable. 
 	 * If reuse requested, then the input is guaranteed to be 
 	 * preserved over multiple <code>executeScript</code> calls. 
+	 * The matrix block is bound without copy.
 	 * 
 	 * @param varname input variable name
 	 * @param matrix matrix represented as a MatrixBlock
@@ -235,7 +307,7 @@ public class PreparedScript
 		if( !_inVarnames.contains(varname) )
 			throw new DMLException("Unspecified input variable: "+varname);
 				
-		int blocksize = ConfigurationManager.getBlocksize();
+		int blocksize = _cconf.getInt(ConfigType.BLOCK_SIZE);
 		
 		//create new matrix object
 		MatrixCharacteristics mc = new MatrixCharacteristics(matrix.getNumRows(), matrix.getNumColumns(), blocksize, blocksize);
@@ -385,8 +457,27 @@ public class PreparedScript
 		ExecutionContext ec = ExecutionContextFactory.createContext(_prog);	
 		ec.setVariables(_vars);
 		
-		//core execute runtime program	
-		_prog.execute( ec );  
+		//set thread-local configurations of the creating connection
+		DMLConfig dmlconf = ConfigurationManager.getDMLConfig();
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		ConfigurationManager.setLocalConfig(_dmlconf);
+		ConfigurationManager.setLocalConfig(_cconf);
+		
+		try {
+			//core execute runtime program
+			if( _serialExec ) {
+				synchronized( _prog ) {
+					_prog.execute( ec );
+				}
+			}
+			else
+				_prog.execute( ec );
+		}
+		finally {
+			//restore thread-local configurations
+			ConfigurationManager.setLocalConfig(dmlconf);
+			ConfigurationManager.setLocalConfig(cconf);
+		}
 		
 		//cleanup unnecessary outputs
 		Collection<String> tmpVars = new ArrayList<String>(_vars.keySet());
@@ -412,4 +503,35 @@ public class PreparedScript
 	public String explain() throws DMLException {
 		return Explain.explain(_prog);
 	}
+	
+	/**
+	 * Creates a lightweight copy of this prepared script for concurrent
+	 * execution, without reparsing or recompiling the script. The copy
+	 * shares the runtime program and all inputs bound with reuse, while 
+	 * all other bindings are local to the respective instance. Reused 
+	 * inputs are read-only and safe to share across threads.
+	 * 
+	 * @return prepared script with separate variable scope
+	 */
+	@Override
+	public PreparedScript clone() {
+		return new PreparedScript(this);
+	}
+	
+	private static boolean rContainsParFor( ArrayList<ProgramBlock> pbs ) {
+		boolean ret = false;
+		for( ProgramBlock pb : pbs ) {
+			if( pb instanceof ParForProgramBlock )
+				return true;
+			else if( pb instanceof WhileProgramBlock )
+				ret |= rContainsParFor(((WhileProgramBlock)pb).getChildBlocks());
+			else if( pb instanceof IfProgramBlock ) {
+				ret |= rContainsParFor(((IfProgramBlock)pb).getChildBlocksIfBody());
+				ret |= rContainsParFor(((IfProgramBlock)pb).getChildBlocksElseBody());
+			}
+			else if( pb instanceof ForProgramBlock )
+				ret |= rContainsParFor(((ForProgramBlock)pb).getChildBlocks());
+		}
+		return ret;
+	}
 }
@@ -19,6 +19,7 @@
 
 package org.apache.sysml.api.jmlc;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Set;
 
@@ -27,8 +28,10 @@ import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.util.DataConverter;
 
 /**
@@ -96,6 +99,77 @@ public class ResultVariables
 		return ret;
 	}
 	
+	/**
+	 * Obtain the matrix represented by the given output variable, written
+	 * in row-major order into the given caller-provided buffer.
+	 * 
+	 * @param varname output variable name
+	 * @param out row-major output buffer of at least rows*cols length
+	 * @return the given output buffer
+	 * @throws DMLException if DMLException occurs
+	 */
+	public double[] getMatrix(String varname, double[] out) 
+		throws DMLException
+	{
+		MatrixBlock mb = getMatrixBlock(varname);
+		int rlen = mb.getNumRows();
+		int clen = mb.getNumColumns();
+		if( out.length < (long)rlen*clen )
+			throw new DMLException("Output buffer of length "+out.length
+				+ " too small for a "+rlen+"x"+clen+" matrix.");
+		
+		//copy dense, sparse, or empty block into output buffer
+		if( mb.isEmptyBlock(false) )
+			Arrays.fill(out, 0, rlen*clen, 0);
+		else if( !mb.isInSparseFormat() ) {
+			DenseBlock a = mb.getDenseBlock();
+			for( int i=0; i<rlen; i++ )
+				System.arraycopy(a.values(i), a.pos(i), out, i*clen, clen);
+		}
+		else {
+			Arrays.fill(out, 0, rlen*clen, 0);
+			SparseBlock a = mb.getSparseBlock();
+			for( int i=0; i<rlen; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int k=apos; k<apos+alen; k++ )
+					out[i*clen+aix[k]] = avals[k];
+			}
+		}
+		
+		return out;
+	}
+	
+	/**
+	 * Obtain the matrix represented by the given output variable.
+	 * 
+	 * @param varname output variable name
+	 * @return matrix as matrix block
+	 * @throws DMLException if DMLException occurs
+	 */
+	public MatrixBlock getMatrixBlock(String varname) 
+		throws DMLException
+	{
+		if( !_out.containsKey(varname) )
+			throw new DMLException("Non-existent output variable: "+varname);
+		
+		Data dat = _out.get(varname);
+		
+		//basic checks for data type	
+		if( !(dat instanceof MatrixObject) )
+			throw new DMLException("Expected matrix result '"+varname+"' not a matrix.");
+		
+		//obtain output matrix block
+		MatrixObject mo = (MatrixObject)dat;
+		MatrixBlock ret = mo.acquireRead();
+		mo.release();
+		
+		return ret;
+	}
+	
 	/**
 	 * Obtain the frame represented by the given output variable.
 	 * 
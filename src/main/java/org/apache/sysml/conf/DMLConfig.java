@@ -70,13 +70,24 @@ public class DMLConfig
 	public static final String YARN_APPQUEUE        = "dml.yarn.app.queue"; 
 	public static final String CP_PARALLEL_MATRIXMULT = "cp.parallel.matrixmult";
 	public static final String CP_PARALLEL_TEXTIO   = "cp.parallel.textio";
+	public static final String CP_PARALLEL_INSTRUCTIONS = "cp.parallel.instructions"; //boolean
+	public static final String CP_BINARY_LOCALFORMAT = "cp.binary.localformat"; //boolean
+	public static final String CACHING_BUFFER_OFFHEAP = "caching.buffer.offheap"; //size in MB, 0 for heap buffer
+	public static final String CACHING_ASYNC_PREFETCH = "caching.async.prefetch"; //boolean
 	public static final String COMPRESSED_LINALG    = "compressed.linalg";
+	public static final String COMPRESSED_BROADCAST = "compressed.broadcast"; //boolean
+	public static final String FRAME_DICT_ENCODE    = "frame.dictencode"; //boolean
 	public static final String NATIVE_BLAS    			= "native.blas";
 	public static final String CODEGEN              = "codegen.enabled"; //boolean
 	public static final String CODEGEN_PLANCACHE    = "codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "codegen.literals"; //1..heuristic, 2..always
+	public static final String CODEGEN_CLASSCACHE   = "codegen.classcache"; //boolean
 	public static final String EXTRA_GPU_STATS			= "systemml.stats.extraGPU"; //boolean
 	public static final String EXTRA_DNN_STATS			= "systemml.stats.extraDNN"; //boolean
+	public static final String STATS_HISTOGRAMS     = "systemml.stats.histograms"; //boolean
+	public static final String STATS_EXPORT_FILE    = "systemml.stats.export.file"; //file name, empty for none
+	public static final String STATS_EXPORT_INTERVAL = "systemml.stats.export.interval"; //in seconds
+	public static final String STATS_EXPORT_JMX     = "systemml.stats.export.jmx"; //boolean
 	public static final String MAX_GPUS_PER_PROCESS = "systemml.gpu.perProcessMax"; // boolean, maximum number of gpus to use, -1 for all
 
 	// Fraction of available memory to use. The available memory is computer when the GPUContext is created
@@ -112,14 +123,25 @@ public class DMLConfig
 		_defaultVals.put(YARN_APPQUEUE,    	     "default" );
 		_defaultVals.put(CP_PARALLEL_MATRIXMULT, "true" );
 		_defaultVals.put(CP_PARALLEL_TEXTIO,     "true" );
+		_defaultVals.put(CP_PARALLEL_INSTRUCTIONS, "false" );
+		_defaultVals.put(CP_BINARY_LOCALFORMAT, "false" );
+		_defaultVals.put(CACHING_BUFFER_OFFHEAP, "0" );
+		_defaultVals.put(CACHING_ASYNC_PREFETCH, "true" );
 		_defaultVals.put(COMPRESSED_LINALG,      "false" );
+		_defaultVals.put(COMPRESSED_BROADCAST,   "false" );
+		_defaultVals.put(FRAME_DICT_ENCODE,      "false" );
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_PLANCACHE,      "true" );
 		_defaultVals.put(CODEGEN_LITERALS,       "1" );
+		_defaultVals.put(CODEGEN_CLASSCACHE,     "false" );
 		_defaultVals.put(NATIVE_BLAS,      			 "none" );
 
 		_defaultVals.put(EXTRA_GPU_STATS,       "false" );
 		_defaultVals.put(EXTRA_DNN_STATS,       "false" );
+		_defaultVals.put(STATS_HISTOGRAMS,      "false" );
+		_defaultVals.put(STATS_EXPORT_FILE,     "" );
+		_defaultVals.put(STATS_EXPORT_INTERVAL, "10" );
+		_defaultVals.put(STATS_EXPORT_JMX,      "false" );
 
 		_defaultVals.put(GPU_MEMORY_UTILIZATION_FACTOR,      "0.9" );
 		_defaultVals.put(MAX_GPUS_PER_PROCESS,	"-1");
@@ -402,9 +424,10 @@ public class DMLConfig
 				LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL,
 				NUM_REDUCERS, DEFAULT_BLOCK_SIZE,
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM, 
-				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO, NATIVE_BLAS,
-				COMPRESSED_LINALG, CODEGEN, CODEGEN_LITERALS, CODEGEN_PLANCACHE,
-				EXTRA_GPU_STATS, EXTRA_DNN_STATS
+				CP_PARALLEL_MATRIXMULT, CP_PARALLEL_TEXTIO, CP_PARALLEL_INSTRUCTIONS, CP_BINARY_LOCALFORMAT, CACHING_BUFFER_OFFHEAP, CACHING_ASYNC_PREFETCH, NATIVE_BLAS,
+				COMPRESSED_LINALG, COMPRESSED_BROADCAST, FRAME_DICT_ENCODE, CODEGEN, CODEGEN_LITERALS, CODEGEN_PLANCACHE, CODEGEN_CLASSCACHE,
+				EXTRA_GPU_STATS, EXTRA_DNN_STATS, STATS_HISTOGRAMS, STATS_EXPORT_FILE, 
+				STATS_EXPORT_INTERVAL, STATS_EXPORT_JMX
 		}; 
 		
 		StringBuilder sb = new StringBuilder();
@@ -1479,6 +1479,17 @@ public class AggBinaryOp extends Hop implements MultiThreadedHop
 		return footprint;
 	}
 	
+	private static double getCompressedBroadcastSize(Hop input, double sizeP, long rows, long cols, long rpb, long cpb) {
+		double sizeC = input.getSpBroadcastCompressedSize();
+		if( sizeC < 0 )
+			return sizeP;
+		//decompressed blocks of concurrently running tasks per executor
+		int numTasks = (int)Math.ceil((double)SparkExecutionContext.getDefaultParallelism(false)
+			/ Math.max(SparkExecutionContext.getNumExecutors(), 1));
+		sizeC += Math.max(numTasks, 1) * OptimizerUtils.estimateSize(Math.min(rows, rpb), Math.min(cols, cpb));
+		return Math.min(sizeC, sizeP);
+	}
+	
 	/**
 	 * Optimization that chooses between two methods to perform matrix multiplication on map-reduce.
 	 * 
@@ -1693,12 +1704,18 @@ public class AggBinaryOp extends Hop implements MultiThreadedHop
 		double footprint1 = getMapmmMemEstimate(m1_rows, m1_cols, m1_rpb, m1_cpb, m1_nnz, m2_rows, m2_cols, m2_rpb, m2_cpb, m2_nnz, 1, false);
 		double footprint2 = getMapmmMemEstimate(m1_rows, m1_cols, m1_rpb, m1_cpb, m1_nnz, m2_rows, m2_cols, m2_rpb, m2_cpb, m2_nnz, 2, false);		
 		
+		//account for compressed broadcasts if known (incl a decompressed block per task)
+		double m1SizeB = getCompressedBroadcastSize(getInput().get(0), m1SizeP, m1_rows, m1_cols, m1_rpb, m1_cpb);
+		double m2SizeB = getCompressedBroadcastSize(getInput().get(1), m2SizeP, m2_rows, m2_cols, m2_rpb, m2_cpb);
+		footprint1 += m1SizeB - m1SizeP;
+		footprint2 += m2SizeB - m2SizeP;
+		
 		if (   (footprint1 < memBudgetExec && m1Size+m1SizeP < memBudgetLocal && m1_rows>=0 && m1_cols>=0)
 			|| (footprint2 < memBudgetExec && m2Size+m2SizeP < memBudgetLocal && m2_rows>=0 && m2_cols>=0) ) 
 		{
 			//apply map mult if one side fits in remote task memory 
 			//(if so pick smaller input for distributed cache)
-			if( m1SizeP < m2SizeP && m1_rows>=0 && m1_cols>=0) {
+			if( m1SizeB < m2SizeB && m1_rows>=0 && m1_cols>=0) {
 				_spBroadcastMemEstimate = m1Size+m1SizeP;
 				return MMultMethod.MAPMM_L;
 			}
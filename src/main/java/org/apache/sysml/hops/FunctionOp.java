@@ -21,6 +21,7 @@ package org.apache.sysml.hops;
 
 import java.util.ArrayList;
 
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
 import org.apache.sysml.lops.FunctionCallCP;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.lops.LopsException;
@@ -36,7 +37,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimatorHops;
  * Note: Currently, we support expressions in function arguments but no function calls
  * in expressions.
  */
-public class FunctionOp extends Hop
+public class FunctionOp extends Hop implements MultiThreadedHop
 {
 	
 	public static String OPSTRING = "extfunct";
@@ -54,6 +55,7 @@ public class FunctionOp extends Hop
 	private String _fname = null; 
 	private String[] _outputs = null; 
 	private ArrayList<Hop> _outputHops = null;
+	private int _maxNumThreads = -1; //-1 for unlimited
 	
 	private FunctionOp() {
 		//default constructor for clone
@@ -108,6 +110,28 @@ public class FunctionOp extends Hop
 	{
 		return _type;
 	}
+	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
+	/**
+	 * Indicates if this function call is a multi-threaded multi-return
+	 * builtin function (qr, lu, eigen).
+	 * 
+	 * @return true if multi-threaded builtin function
+	 */
+	public boolean isMultiThreadedOpType() {
+		return _type == FunctionType.MULTIRETURN_BUILTIN
+			&& (_fname.equalsIgnoreCase("qr") || _fname.equalsIgnoreCase("lu") 
+				|| _fname.equalsIgnoreCase("eigen"));
+	}
 
 	@Override
 	public boolean allowsAllExecTypes() {
@@ -220,7 +244,8 @@ public class FunctionOp extends Hop
 			tmp.add( in.constructLops() );
 		
 		//construct function call
-		FunctionCallCP fcall = new FunctionCallCP( tmp, _fnamespace, _fname, _outputs, _outputHops, et );
+		int k = isMultiThreadedOpType() ? OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : -1;
+		FunctionCallCP fcall = new FunctionCallCP( tmp, _fnamespace, _fname, _outputs, _outputHops, et, k );
 		setLineNumbers( fcall );
 		setLops( fcall );
 	
@@ -287,6 +312,7 @@ public class FunctionOp extends Hop
 		ret._outputs = _outputs.clone();
 		if( _outputHops != null )
 			ret._outputHops = (ArrayList<Hop>) _outputHops.clone();
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -91,6 +91,10 @@ public abstract class Hop
 	protected double _memEstimate = OptimizerUtils.INVALID_SIZE;
 	protected double _processingMemEstimate = 0;
 	protected double _spBroadcastMemEstimate = 0;
+	
+	// Size of a compressed spark broadcast of this hop's output, if known
+	// (obtained from the live matrix object during dynamic recompilation)
+	protected double _spBroadcastCompressedSize = OptimizerUtils.INVALID_SIZE;
 	protected boolean _validCPSizeEstimate = false;
 	
 	// indicates if there are unknowns during compilation 
@@ -573,6 +577,16 @@ public abstract class Hop
 		return _spBroadcastMemEstimate;
 	}
 	
+	public double getSpBroadcastCompressedSize()
+	{
+		return _spBroadcastCompressedSize;
+	}
+	
+	public void setSpBroadcastCompressedSize(double size)
+	{
+		_spBroadcastCompressedSize = size;
+	}
+	
 	/**
 	 * Computes the estimate of memory required to store the input/output of this hop in memory. 
 	 * This is the default implementation (orchestration of hop-specific implementation) 
@@ -1718,6 +1732,7 @@ public abstract class Hop
 		_outputMemEstimate = that._outputMemEstimate;
 		_memEstimate = that._memEstimate;
 		_processingMemEstimate = that._processingMemEstimate;
+		_spBroadcastCompressedSize = that._spBroadcastCompressedSize;
 		_requiresRecompile = that._requiresRecompile;
 		_requiresReblock = that._requiresReblock;
 		_requiresCheckpoint = that._requiresCheckpoint;
@@ -181,6 +181,13 @@ public class OptimizerUtils
 	 */
 	public static boolean ALLOW_LOOP_UPDATE_IN_PLACE = true;
 	
+	/**
+	 * Enables the reuse of dynamically recompiled runtime plans for hop dags
+	 * whose inputs have the same size and sparsity signature (and scalar values)
+	 * as in a previous recompilation, e.g., in loop bodies.
+	 */
+	public static boolean ALLOW_RECOMPILE_PLAN_CACHE = true;
+	
 	
 	/**
 	 * Specifies a multiplier computing the degree of parallelism of parallel
@@ -851,7 +858,10 @@ public class OptimizerUtils
 		boolean ret = true;
 		
 		//the current CP runtime implementation has several limitations:
-		//1) for dense: 16GB because we use a linearized array (bounded to int in java)
+		//1) for dense: 16GB because many kernels still operate on a linearized array (bounded
+		//   to int in java); large dense row blocks (LDRB) are supported by the core block ops,
+		//   dense-dense matmult, unary aggregates, cellwise binary/scalar ops, and transpose/rev,
+		//   but not yet by the remaining kernels of LibMatrixMult/LibMatrixAgg/LibMatrixReorg
 		//2) for sparse: 2G x 2G nnz because (1) nnz maintained as long, (2) potential changes 
 		//   to dense, and (3) sparse row arrays also of max int size (worst case in case of skew)  
 		long nnz = (long)(sparsity * rows * cols);
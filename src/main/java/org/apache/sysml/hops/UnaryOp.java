@@ -156,7 +156,7 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 				}
 				else //default unary 
 				{
-					int k = isCumulativeUnaryOperation() ? OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
+					int k = isMultiThreadedOpType() ? OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
 					switch(_op) {
 						case SELP:case EXP:case SQRT:case LOG:case ABS:
 						case ROUND:case FLOOR:case CEIL:
@@ -604,6 +604,13 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 				|| _op == OpOp1.CUMMAX  );
 	}
 
+	public boolean isMultiThreadedOpType()
+	{
+		return isCumulativeUnaryOperation()
+			|| _op == OpOp1.INVERSE
+			|| _op == OpOp1.CHOLESKY;
+	}
+
 	public boolean isCastUnaryOperation() 
 	{
 		return (   _op == OpOp1.CAST_AS_MATRIX
@@ -104,6 +104,24 @@ public class LiteralReplacement
 	}
 	
 
+	/**
+	 * Indicates if the given hop is a candidate for a literal replacement
+	 * that depends on the values of a matrix variable (e.g., as.scalar or 
+	 * full aggregates of small matrices), rather than on its meta data.
+	 * 
+	 * @param c high-level operator
+	 * @return true if the literal replacement depends on matrix values
+	 */
+	protected static boolean isMatrixValueReplacementCandidate( Hop c ) 
+	{
+		Hop in = (c.getInput().isEmpty()) ? null : c.getInput().get(0);
+		Hop data = (in instanceof IndexingOp) ? in.getInput().get(0) : in;
+		boolean cast = c instanceof UnaryOp && ((UnaryOp)c).getOp() == OpOp1.CAST_AS_SCALAR
+			&& in != null && in.getDataType() == DataType.MATRIX;
+		boolean agg = c instanceof AggUnaryOp && isReplaceableUnaryAggregate((AggUnaryOp)c);
+		return (cast || agg) && data instanceof DataOp;
+	}
+	
 	///////////////////////////////
 	// Literal replacement rules
 	///////////////////////////////
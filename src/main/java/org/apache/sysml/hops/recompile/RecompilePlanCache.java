@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.hops.recompile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+
+/**
+ * Cache of dynamically recompiled runtime plans, keyed by the hop dag 
+ * (identified by its first root) and a signature of all live-in variables 
+ * the dag reads, i.e., the dimensions and number of non-zeros of matrices
+ * and frames, and the values of scalars (due to literal replacement). 
+ * The signature also includes the hop hints set by external optimizers
+ * (forced exec types and max number of threads).
+ * Recompiling a dag whose inputs have the same signature as a previous
+ * recompilation returns the previously generated instructions.
+ * 
+ * Dags whose literal replacement depends on matrix values or that read
+ * persistent inputs are not cached. Similarly, only plans that consist of
+ * CP instructions are cached because MR job instructions are modified 
+ * during execution. Any in-place recompilation of a dag (e.g., by the 
+ * parfor optimizer) invalidates its cached plans.
+ */
+public class RecompilePlanCache 
+{
+	//max number of signatures per dag (e.g., for alternating sizes)
+	private static final int MAX_PLANS_PER_DAG = 4;
+	
+	private static final Map<Hop, PlanEntries> _plans = 
+		Collections.synchronizedMap(new WeakHashMap<Hop, PlanEntries>());
+	
+	public static boolean isEnabled() {
+		return OptimizerUtils.ALLOW_RECOMPILE_PLAN_CACHE;
+	}
+	
+	/**
+	 * Creates the size signature of the given hop dag according to the 
+	 * current live variables.
+	 * 
+	 * @param hops hop dag roots
+	 * @param vars live variables
+	 * @param litreplace true if literal replacement
+	 * @return signature, or null if the dag is not cacheable
+	 */
+	public static String createSignature(ArrayList<Hop> hops, LocalVariableMap vars, boolean litreplace) {
+		if( hops == null || hops.isEmpty() )
+			return null;
+		
+		//collect referenced live variables and hop hints
+		Set<String> varnames = new TreeSet<String>();
+		Set<Long> visited = new HashSet<Long>();
+		StringBuilder hints = new StringBuilder();
+		for( Hop root : hops )
+			if( !rCollectInputVariables(root, varnames, visited, hints) )
+				return null;
+		
+		//construct signature of dag, compile context, and inputs
+		StringBuilder sb = new StringBuilder();
+		for( Hop root : hops ) {
+			sb.append(root.getHopID());
+			sb.append(',');
+		}
+		sb.append(litreplace);
+		sb.append(',');
+		sb.append(DMLScript.rtplatform.name());
+		sb.append(',');
+		sb.append((long)OptimizerUtils.getLocalMemBudget());
+		sb.append(',');
+		sb.append(OptimizerUtils.getConstrainedNumThreads(-1));
+		sb.append(hints);
+		for( String varname : varnames ) {
+			Data dat = vars.get(varname);
+			sb.append('|');
+			sb.append(varname);
+			sb.append('=');
+			if( dat instanceof MatrixObject ) {
+				MatrixCharacteristics mc = ((MatrixObject)dat).getMatrixCharacteristics();
+				sb.append(mc.getRows()+"x"+mc.getCols()+":"+mc.getNonZeros());
+			}
+			else if( dat instanceof FrameObject ) {
+				FrameObject fo = (FrameObject)dat;
+				sb.append(fo.getNumRows()+"x"+fo.getNumColumns());
+			}
+			else if( dat instanceof ScalarObject ) {
+				ScalarObject so = (ScalarObject)dat;
+				sb.append(so.getValueType().name()+":"+so.getStringValue());
+			}
+			else if( dat != null ) //unsupported data type
+				return null;
+		}
+		return sb.toString();
+	}
+	
+	public static ArrayList<Instruction> get(Hop key, String sig) {
+		PlanEntries plans = _plans.get(key);
+		ArrayList<Instruction> ret = null;
+		if( plans != null ) {
+			synchronized( plans ) {
+				ret = plans.get(sig);
+			}
+		}
+		//return copy to allow for modifications of the instruction list
+		return (ret != null) ? new ArrayList<Instruction>(ret) : null;
+	}
+	
+	public static void put(Hop key, String sig, ArrayList<Instruction> inst) {
+		for( Instruction tmp : inst )
+			if( !(tmp instanceof CPInstruction) )
+				return;
+		PlanEntries plans = null;
+		synchronized( _plans ) {
+			plans = _plans.get(key);
+			if( plans == null )
+				_plans.put(key, plans = new PlanEntries());
+		}
+		synchronized( plans ) {
+			plans.put(sig, new ArrayList<Instruction>(inst));
+		}
+	}
+	
+	public static void invalidate(ArrayList<Hop> hops) {
+		if( hops != null && !hops.isEmpty() )
+			invalidate(hops.get(0));
+	}
+	
+	public static void invalidate(Hop key) {
+		if( !_plans.isEmpty() )
+			_plans.remove(key);
+	}
+	
+	public static void clear() {
+		_plans.clear();
+	}
+	
+	private static boolean rCollectInputVariables(Hop hop, Set<String> varnames, Set<Long> visited, StringBuilder hints) {
+		if( !visited.add(hop.getHopID()) )
+			return true;
+		
+		//append non-default hints (e.g., set by the parfor optimizer)
+		int k = (hop instanceof MultiThreadedHop) ? 
+			((MultiThreadedHop)hop).getMaxNumThreads() : -1;
+		if( hop.getForcedExecType() != null || k > 0 ) {
+			hints.append('#');
+			hints.append(hop.getHopID());
+			hints.append(':');
+			hints.append(hop.getForcedExecType());
+			hints.append(':');
+			hints.append(k);
+		}
+		
+		if( hop instanceof DataOp ) {
+			DataOpTypes type = ((DataOp)hop).getDataOpType();
+			if( type == DataOpTypes.TRANSIENTREAD )
+				varnames.add(hop.getName());
+			else if( type == DataOpTypes.PERSISTENTREAD )
+				return false;
+		}
+		if( LiteralReplacement.isMatrixValueReplacementCandidate(hop) )
+			return false;
+		
+		boolean ret = true;
+		for( Hop c : hop.getInput() )
+			ret &= rCollectInputVariables(c, varnames, visited, hints);
+		return ret;
+	}
+	
+	@SuppressWarnings("serial")
+	private static class PlanEntries extends LinkedHashMap<String, ArrayList<Instruction>>
+	{
+		public PlanEntries() {
+			super(MAX_PLANS_PER_DAG, 0.75f, true); //lru order
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Entry<String, ArrayList<Instruction>> eldest) {
+			return size() > MAX_PLANS_PER_DAG;
+		}
+	}
+}
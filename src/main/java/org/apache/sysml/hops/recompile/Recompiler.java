@@ -23,6 +23,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 
@@ -82,6 +83,7 @@ import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
 import org.apache.sysml.runtime.controlprogram.parfor.opt.OptTreeConverter;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
@@ -104,6 +106,7 @@ import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.utils.Explain;
 import org.apache.sysml.utils.Explain.ExplainType;
 import org.apache.sysml.utils.JSONHelper;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * Dynamic recompilation of hop dags to runtime instructions, which includes the 
@@ -173,6 +176,21 @@ public class Recompiler
 			LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
 					   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
 	
+			// probe plan cache w/ size signature of dag inputs
+			Hop key = (!hops.isEmpty()) ? hops.get(0) : null;
+			String sig = null;
+			if( !inplace && status == null && RecompilePlanCache.isEnabled() ) {
+				sig = RecompilePlanCache.createSignature(hops, vars, litreplace);
+				newInst = (sig != null) ? RecompilePlanCache.get(key, sig) : null;
+				if( newInst != null ) {
+					if( DMLScript.STATISTICS )
+						Statistics.incrementHOPRecompileCacheHits();
+					return finalizeRecompiledInstructions(newInst, tid);
+				}
+				if( DMLScript.STATISTICS )
+					Statistics.incrementHOPRecompileCacheMisses();
+			}
+			
 			// prepare hops dag for recompile
 			if( !inplace ){ 
 				// deep copy hop dag (for non-reversable rewrites)
@@ -183,6 +201,7 @@ public class Recompiler
 				Hop.resetVisitStatus(hops);
 				for( Hop hopRoot : hops )
 					rClearLops( hopRoot );
+				RecompilePlanCache.invalidate(key);
 			}
 
 			// replace scalar reads with literals 
@@ -234,6 +253,10 @@ public class Recompiler
 			
 			// generate runtime instructions (incl piggybacking)
 			newInst = dag.getJobs(sb, ConfigurationManager.getDMLConfig());	
+			
+			// keep generated instructions for reuse
+			if( sig != null )
+				RecompilePlanCache.put(key, sig, newInst);
 		}
 		
 		// replace thread ids in new instructions
@@ -288,6 +311,22 @@ public class Recompiler
 			LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
 					   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
 
+			// probe plan cache w/ size signature of dag inputs
+			Hop key = hops;
+			String sig = null;
+			if( !inplace && status == null && RecompilePlanCache.isEnabled() ) {
+				sig = RecompilePlanCache.createSignature(
+					new ArrayList<Hop>(Collections.singletonList(hops)), vars, litreplace);
+				newInst = (sig != null) ? RecompilePlanCache.get(key, sig) : null;
+				if( newInst != null ) {
+					if( DMLScript.STATISTICS )
+						Statistics.incrementHOPRecompileCacheHits();
+					return finalizeRecompiledInstructions(newInst, tid);
+				}
+				if( DMLScript.STATISTICS )
+					Statistics.incrementHOPRecompileCacheMisses();
+			}
+			
 			// prepare hops dag for recompile
 			if( !inplace ) {
 				// deep copy hop dag (for non-reversable rewrites)
@@ -298,6 +337,7 @@ public class Recompiler
 				// clear existing lops
 				hops.resetVisitStatus();
 				rClearLops( hops );	
+				RecompilePlanCache.invalidate(key);
 			}
 			
 			// replace scalar reads with literals 
@@ -340,6 +380,10 @@ public class Recompiler
 			
 			// generate runtime instructions (incl piggybacking)
 			newInst = dag.getJobs(null, ConfigurationManager.getDMLConfig());
+			
+			// keep generated instructions for reuse
+			if( sig != null )
+				RecompilePlanCache.put(key, sig, newInst);
 		}
 		
 		// replace thread ids in new instructions
@@ -355,6 +399,15 @@ public class Recompiler
 		return newInst;
 	}
 	
+	private static ArrayList<Instruction> finalizeRecompiledInstructions( ArrayList<Instruction> inst, long tid ) 
+		throws DMLRuntimeException
+	{
+		// replace thread ids in reused instructions
+		if( tid != 0 ) //only in parfor context
+			inst = ProgramConverter.createDeepCopyInstructionSet(inst, tid, -1, null, null, null, false, false);
+		return inst;
+	}
+	
 	/**
 	 * C) Recompile basic program block hop DAG, but forced to CP.  
 	 * 
@@ -387,6 +440,7 @@ public class Recompiler
 			Hop.resetVisitStatus(hops);
 			for( Hop hopRoot : hops )
 				rClearLops( hopRoot );
+			RecompilePlanCache.invalidate(hops);
 			
 			// update exec type
 			Hop.resetVisitStatus(hops);
@@ -441,6 +495,7 @@ public class Recompiler
 			// clear existing lops
 			hops.resetVisitStatus();
 			rClearLops( hops );	
+			RecompilePlanCache.invalidate(hops);
 			
 			// update exec type
 			hops.resetVisitStatus();
@@ -479,6 +534,7 @@ public class Recompiler
 			Hop.resetVisitStatus(hops);
 			for( Hop hopRoot : hops )
 				rClearLops( hopRoot );
+			RecompilePlanCache.invalidate(hops);
 			
 			// construct lops			
 			Dag<Lop> dag = new Dag<Lop>();
@@ -518,6 +574,7 @@ public class Recompiler
 			// clear existing lops
 			hops.resetVisitStatus();
 			rClearLops( hops );	
+			RecompilePlanCache.invalidate(hops);
 
 			// construct lops			
 			Dag<Lop> dag = new Dag<Lop>();
@@ -1521,6 +1578,8 @@ public class Recompiler
 					d.setDim1(mo.getNumRows());
 					d.setDim2(mo.getNumColumns());
 					d.setNnz(mo.getNnz());
+					if( OptimizerUtils.isSparkExecutionMode() )
+						d.setSpBroadcastCompressedSize(SparkExecutionContext.getCompressedBroadcastSize(mo));
 				}
 				else if( dat instanceof FrameObject ) {
 					FrameObject fo = (FrameObject) dat;
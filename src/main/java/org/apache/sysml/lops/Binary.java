@@ -202,8 +202,9 @@ public class Binary extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
-		//append degree of parallelism for matrix multiplications
-		if( operation == OperationTypes.MATMULT && getExecType()==ExecType.CP ) {
+		//append degree of parallelism for matrix multiplications and cellwise ops
+		if( getExecType()==ExecType.CP && (operation == OperationTypes.MATMULT
+			|| getDataType() == DataType.MATRIX) ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( numThreads );
 		}
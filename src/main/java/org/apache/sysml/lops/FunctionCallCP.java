@@ -37,11 +37,19 @@ public class FunctionCallCP extends Lop
 	private String _fname;
 	private String[] _outputs;
 	private ArrayList<Lop> _outputLops = null;
+	private int _numThreads = -1; //-1 for single-threaded functions
 
 	public FunctionCallCP(ArrayList<Lop> inputs, String fnamespace, String fname, String[] outputs, ArrayList<Hop> outputHops, ExecType et) 
 		throws HopsException, LopsException 
+	{
+		this(inputs, fnamespace, fname, outputs, outputHops, et, -1);
+	}
+	
+	public FunctionCallCP(ArrayList<Lop> inputs, String fnamespace, String fname, String[] outputs, ArrayList<Hop> outputHops, ExecType et, int k) 
+		throws HopsException, LopsException 
 	{
 		this(inputs, fnamespace, fname, outputs, et);
+		_numThreads = k;
 		if(outputHops != null) {
 			_outputLops = new ArrayList<Lop>();
 			for(Hop h : outputHops)
@@ -98,6 +106,12 @@ public class FunctionCallCP extends Lop
 			sb.append(_outputs[i]);
 		}
 		
+		//append degree of parallelism for multi-threaded builtins
+		if( _numThreads > 0 ) {
+			sb.append(Lop.OPERAND_DELIMITOR);
+			sb.append(_numThreads);
+		}
+		
 		return sb.toString();
 	}
 	
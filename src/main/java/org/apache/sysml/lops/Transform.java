@@ -69,9 +69,14 @@ public class Transform extends Lop
 	}
 
 	public Transform(Lop input, Transform.OperationTypes op, DataType dt, ValueType vt, ExecType et, boolean bSortIndInMem) {
+		this(input, op, dt, vt, et, bSortIndInMem, 1);
+	}
+	
+	public Transform(Lop input, Transform.OperationTypes op, DataType dt, ValueType vt, ExecType et, boolean bSortIndInMem, int k) {
 		super(Lop.Type.Transform, dt, vt);		
 		_bSortIndInMem = bSortIndInMem;
 		init(input, op, dt, vt, et);
+		_numThreads = k;
 	}
 	
 	private void init (Lop input, Transform.OperationTypes op, DataType dt, ValueType vt, ExecType et) 
@@ -182,7 +187,7 @@ public class Transform extends Lop
 	public String getInstructions(String input1, String input2, String input3, String input4, String output) 
 		throws LopsException 
 	{
-		//only used for reshape
+		//only used for reshape and sort
 		
 		StringBuilder sb = new StringBuilder();
 		sb.append( getExecType() );
@@ -192,12 +197,16 @@ public class Transform extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( getInputs().get(0).prepInputOperand(input1));
 		
-		//rows, cols, byrow
+		//rows, cols, byrow (reshape) or by, decreasing, index.return (sort),
+		//where sort allows a vector of multiple orderby columns
 		String[] inputX = new String[]{input2,input3,input4};
 		for( int i=1; i<=(inputX.length); i++ ) {
 			Lop ltmp = getInputs().get(i);
 			sb.append( OPERAND_DELIMITOR );
-			sb.append( ltmp.prepScalarInputOperand(getExecType()));
+			if( ltmp.getDataType() == DataType.MATRIX )
+				sb.append( ltmp.prepInputOperand(inputX[i-1]));
+			else
+				sb.append( ltmp.prepScalarInputOperand(getExecType()));
 		}
 		
 		//output
@@ -208,6 +217,10 @@ public class Transform extends Lop
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( _bSortIndInMem );
 		}
+		else if( getExecType()==ExecType.CP && operation == OperationTypes.Sort ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
 		
 		return sb.toString();
 	}
@@ -100,6 +100,7 @@ public class ParForStatementBlock extends ForStatementBlock
 	private long 		      _ID         = -1;
 	private VariableSet       _vsParent   = null;  
 	private ArrayList<String> _resultVars = null;
+	private HashSet<String>   _disjointResultVars = null;
 	private Bounds            _bounds     = null;
 	
 	static
@@ -160,6 +161,7 @@ public class ParForStatementBlock extends ForStatementBlock
 	{
 		_ID         = _idSeq.getNextID();
 		_resultVars = new ArrayList<String>();
+		_disjointResultVars = new HashSet<String>();
 		
 		LOG.trace("PARFOR("+_ID+"): ParForStatementBlock instance created");
 	}
@@ -174,6 +176,19 @@ public class ParForStatementBlock extends ForStatementBlock
 		return _resultVars;
 	}
 	
+	/**
+	 * Indicates if the loop dependency analysis proved that all writes to the 
+	 * given matrix result variable are disjoint across iterations, which allows
+	 * parallel workers to directly update a shared result without result merge.
+	 * 
+	 * @param var result variable name
+	 * @return true if writes to the result variable are disjoint
+	 */
+	public boolean isDisjointResultVariable( String var )
+	{
+		return _disjointResultVars.contains( var );
+	}
+	
 	private void addToResultVariablesNoDup( String var )
 	{
 		if( !_resultVars.contains( var ) )
@@ -360,9 +375,15 @@ public class ParForStatementBlock extends ForStatementBlock
 		
 		//if successful, prepare result variables (all distinct vars in all candidates)
 		//a) add own candidates
-		for( Candidate var : C )
+		_disjointResultVars.clear();
+		for( Candidate var : C ) {
 			if( check || var._dat.getDataType()!=DataType.SCALAR )
 				addToResultVariablesNoDup( var._var );
+			//matrix candidates w/o (output) dependencies have disjoint writes
+			DataIdentifier dat = _vsParent.getVariables().get(var._var);
+			if( check && dat != null && dat.getDataType()==DataType.MATRIX )
+				_disjointResultVars.add( var._var );
+		}
 		//b) get and add child result vars (if required)
 		ArrayList<String> tmp = new ArrayList<String>();
 		rConsolidateResultVars(pfs.getBody(), tmp);
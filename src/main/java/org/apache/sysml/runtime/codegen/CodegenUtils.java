@@ -20,15 +20,30 @@
 package org.apache.sysml.runtime.codegen;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.CodeSource;
+import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.tools.Diagnostic;
 import javax.tools.Diagnostic.Kind;
@@ -40,7 +55,11 @@ import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.codegen.SpoofCompiler;
 import org.apache.sysml.hops.codegen.SpoofCompiler.CompilerType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -51,15 +70,28 @@ import org.codehaus.janino.SimpleCompiler;
 
 public class CodegenUtils 
 {
+	private static final Log LOG = LogFactory.getLog(CodegenUtils.class.getName());
+	
+	//directory name of persistent class cache (relative to local tmp dir, suffixed by user)
+	public static final String CLASS_CACHE_DIR = "codegen_classcache";
+	private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+	private static final Pattern TMP_VARNAME = Pattern.compile("\\bTMP[0-9]+\\b");
+	
 	//cache to reuse compiled and loaded classes 
 	private static ConcurrentHashMap<String, Class<?>> _cache = new ConcurrentHashMap<String,Class<?>>();
 	
 	//janino-specific map of source code transfer/recompile on-demand
 	private static ConcurrentHashMap<String, String> _src = new ConcurrentHashMap<String,String>();
 	
+	//javac-specific map of class bytes loaded from the persistent class cache
+	private static ConcurrentHashMap<String, byte[]> _bytes = new ConcurrentHashMap<String,byte[]>();
+	
 	//javac-specific working directory for src/class files
 	private static String _workingDir = null;
 	
+	//build-specific version of content-derived persistent class names
+	private static String _buildVersion = null;
+	
 	public static Class<?> compileClass(String name, String src) 
 			throws DMLRuntimeException
 	{
@@ -68,6 +100,13 @@ public class CodegenUtils
 		if( ret != null ) 
 			return ret;
 		
+		//reuse compiled class across JVMs via persistent class cache
+		if( isPersistentClassCache() ) {
+			ret = compileClassPersistent(name, src);
+			_cache.put(name, ret);
+			return ret;
+		}
+		
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		
 		//compile java source w/ specific compiler
@@ -116,6 +155,8 @@ public class CodegenUtils
 		//get class in a compiler-specific manner
 		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
 			return _src.get(name).getBytes();
+		else if( _bytes.containsKey(name) )
+			return _bytes.get(name);
 		else
 			return getClassAsByteArray(name);
 	}
@@ -123,6 +164,7 @@ public class CodegenUtils
 	public static void clearClassCache() {
 		_cache.clear();
 		_src.clear();
+		_bytes.clear();
 	}
 	
 	public static void clearClassCache(Class<?> cla) {
@@ -148,6 +190,249 @@ public class CodegenUtils
 		return ret;
 	}
 	
+	////////////////////////////
+	//persistent class cache (javac-only, keyed by normalized source)
+	
+	public static boolean isPersistentClassCache() {
+		return SpoofCompiler.JAVA_COMPILER == CompilerType.JAVAC
+			&& ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CODEGEN_CLASSCACHE);
+	}
+	
+	/**
+	 * Normalizes the given generated source code by renumbering all generated
+	 * variable names (including the class name) in order of their first occurrence,
+	 * and renames the class to a name derived from a hash of the normalized source
+	 * code, the java version and the SystemML build version. Hence, structurally 
+	 * equivalent operators map to the same class name across JVMs.
+	 * 
+	 * @param name fully qualified class name of the generated class
+	 * @param src generated source code
+	 * @return pair of content-derived class name and renamed source code
+	 * @throws DMLRuntimeException if the hash computation fails
+	 */
+	public static String[] createPersistentClass(String name, String src) 
+		throws DMLRuntimeException
+	{
+		//renumber generated variable names in order of first occurrence
+		HashMap<String, String> map = new HashMap<String, String>();
+		StringBuffer sb = new StringBuffer();
+		Matcher m = TMP_VARNAME.matcher(src);
+		while( m.find() ) {
+			String var = map.get(m.group());
+			if( var == null )
+				map.put(m.group(), var = "TMP"+map.size());
+			m.appendReplacement(sb, var);
+		}
+		m.appendTail(sb);
+		String nsrc = sb.toString();
+		
+		//compute content-derived class name
+		String key = null;
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			md.update(nsrc.getBytes(StandardCharsets.UTF_8));
+			md.update(String.valueOf(System.getProperty("java.version")).getBytes(StandardCharsets.UTF_8));
+			md.update(getBuildVersion().getBytes(StandardCharsets.UTF_8));
+			key = toHexString(Arrays.copyOf(md.digest(), 16));
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		String simpleName = "TMPC" + key;
+		String oldName = map.get(name.substring(name.lastIndexOf('.')+1));
+		String psrc = nsrc.replaceAll("\\b"+oldName+"\\b", simpleName);
+		
+		return new String[] {
+			name.substring(0, name.lastIndexOf('.')+1) + simpleName, psrc };
+	}
+	
+	/**
+	 * Obtains the per-user directory of the persistent class cache within the
+	 * local tmp dir, which is created with owner-only permissions if it does not
+	 * exist yet. Since cached class files are loaded without recompilation, the
+	 * cache is only used if this directory is exclusively accessible by the 
+	 * current user.
+	 * 
+	 * @return class cache directory, or null if not exclusively accessible
+	 */
+	public static File getClassCacheDir() {
+		String user = System.getProperty("user.name");
+		File dir = new File(ConfigurationManager.getDMLConfig()
+			.getTextValue(DMLConfig.LOCAL_TMP_DIR), CLASS_CACHE_DIR + "_" + user);
+		try {
+			Path path = dir.toPath();
+			if( !Files.exists(path, LinkOption.NOFOLLOW_LINKS) ) {
+				Files.createDirectories(path.getParent());
+				try {
+					Files.createDirectory(path, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+				}
+				catch(FileAlreadyExistsException ex) {
+					//created by a concurrent JVM, checked below
+				}
+			}
+			
+			//check for a non-symlink directory w/ owner-only permissions
+			if( !Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)
+				|| !Files.getOwner(path, LinkOption.NOFOLLOW_LINKS).getName().equals(user)
+				|| !Files.getPosixFilePermissions(path, LinkOption.NOFOLLOW_LINKS).equals(OWNER_ONLY) ) {
+				LOG.warn("Class cache directory "+dir+" is not exclusively accessible "
+					+ "by user "+user+", disabling the persistent class cache.");
+				return null;
+			}
+			return dir;
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to set up class cache directory "+dir
+				+ ", disabling the persistent class cache.", ex);
+			return null;
+		}
+	}
+	
+	private static Class<?> compileClassPersistent(String name, String src) 
+		throws DMLRuntimeException
+	{
+		String[] tmp = createPersistentClass(name, src);
+		String pname = tmp[0];
+		
+		//reuse class of structurally equivalent operator
+		Class<?> ret = _cache.get(pname);
+		if( ret != null )
+			return ret;
+		
+		File cacheDir = getClassCacheDir();
+		File fclass = (cacheDir == null) ? null :
+			new File(cacheDir, pname.replace(".", "/") + ".class");
+		File fdigest = (cacheDir == null) ? null :
+			new File(cacheDir, pname.replace(".", "/") + ".sha256");
+		String srcDigest = computeDigest(tmp[1].getBytes(StandardCharsets.UTF_8));
+		
+		//load class bytes from persistent class cache, if the stored digests
+		//match the generated source code and the class bytes
+		if( fclass != null && fclass.exists() && fdigest.exists() ) {
+			try {
+				byte[] classBytes = Files.readAllBytes(fclass.toPath());
+				String[] digests = new String(Files.readAllBytes(
+					fdigest.toPath()), StandardCharsets.UTF_8).split("\n");
+				if( digests.length == 2 && digests[0].equals(srcDigest)
+					&& digests[1].equals(computeDigest(classBytes)) ) {
+					ret = loadFromClassFile(pname, classBytes);
+					_bytes.put(pname, classBytes);
+					_cache.put(pname, ret);
+					if( DMLScript.STATISTICS )
+						Statistics.incrementCodegenClassCacheHits();
+					return ret;
+				}
+				LOG.warn("Digest mismatch of class "+pname+" in class cache, recompiling.");
+			}
+			catch(Exception ex) {
+				LOG.warn("Failed to load class "+pname+" from class cache, recompiling.", ex);
+			}
+		}
+		
+		//compile class and write class bytes to persistent class cache
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		ret = compileClassJavac(pname, tmp[1]);
+		_cache.put(pname, ret);
+		if( fclass != null ) {
+			try {
+				//write via temporary files and atomic moves for concurrent JVMs
+				byte[] classBytes = getClassAsByteArray(pname);
+				String digests = srcDigest + "\n" + computeDigest(classBytes);
+				fclass.getParentFile().mkdirs();
+				writeAtomic(fclass, classBytes);
+				writeAtomic(fdigest, digests.getBytes(StandardCharsets.UTF_8));
+			}
+			catch(Exception ex) {
+				LOG.warn("Failed to write class "+pname+" to class cache.", ex);
+			}
+		}
+		if( DMLScript.STATISTICS ) {
+			Statistics.incrementCodegenClassCompile();
+			Statistics.incrementCodegenClassCompileTime(System.nanoTime()-t0);
+		}
+		return ret;
+	}
+	
+	private static void writeAtomic(File file, byte[] data) 
+		throws IOException
+	{
+		File ftmp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+		LocalFileUtils.writeByteArrayToLocal(ftmp.getAbsolutePath(), data);
+		Files.move(ftmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	/**
+	 * Obtains a build-specific version string for the content-derived class
+	 * names: the implementation version for release builds, and otherwise a 
+	 * checksum of the jar (or of the codegen runtime classes if not loaded from
+	 * a jar), because snapshot builds share the same or no version.
+	 * 
+	 * @return build version
+	 * @throws Exception if the checksum computation fails
+	 */
+	private static synchronized String getBuildVersion() 
+		throws Exception
+	{
+		if( _buildVersion == null ) {
+			String version = CodegenUtils.class.getPackage().getImplementationVersion();
+			_buildVersion = (version != null && !version.endsWith("SNAPSHOT")) ?
+				version : computeBuildChecksum();
+		}
+		return _buildVersion;
+	}
+	
+	private static String computeBuildChecksum() 
+		throws Exception
+	{
+		MessageDigest md = MessageDigest.getInstance("SHA-256");
+		CodeSource cs = CodegenUtils.class.getProtectionDomain().getCodeSource();
+		File jar = (cs != null && cs.getLocation() != null) ? 
+			new File(cs.getLocation().toURI()) : null;
+		if( jar != null && jar.isFile() ) {
+			updateDigest(md, new FileInputStream(jar));
+		}
+		else {
+			//classes directory (e.g., tests), hash the classes generated code links against
+			Class<?>[] classes = new Class<?>[] { CodegenUtils.class, SpoofOperator.class,
+				SpoofCellwise.class, SpoofMultiAggregate.class, SpoofOuterProduct.class,
+				SpoofRowwise.class, LibSpoofPrimitives.class };
+			for( Class<?> cla : classes )
+				updateDigest(md, cla.getResourceAsStream(cla.getSimpleName()+".class"));
+		}
+		return toHexString(md.digest());
+	}
+	
+	private static void updateDigest(MessageDigest md, InputStream in) 
+		throws IOException
+	{
+		try {
+			byte[] buff = new byte[64*1024];
+			for( int len = in.read(buff); len >= 0; len = in.read(buff) )
+				md.update(buff, 0, len);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+	
+	private static String computeDigest(byte[] data) 
+		throws DMLRuntimeException
+	{
+		try {
+			return toHexString(MessageDigest.getInstance("SHA-256").digest(data));
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static String toHexString(byte[] data) {
+		StringBuilder hex = new StringBuilder();
+		for( byte b : data )
+			hex.append(String.format("%02x", b));
+		return hex.toString();
+	}
+	
 	////////////////////////////
 	//JANINO-specific methods (used for spark environments)
 
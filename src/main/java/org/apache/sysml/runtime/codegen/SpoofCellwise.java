@@ -133,7 +133,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 			if( inputs.get(0) instanceof CompressedMatrixBlock )
 				ret = executeCompressedAndAgg((CompressedMatrixBlock)inputs.get(0), b, scalars, m, n, sparseSafe, 0, m);
 			else if( !inputs.get(0).isInSparseFormat() )
-				ret = executeDenseAndAgg(inputs.get(0).getDenseBlock(), b, scalars, m, n, sparseSafe, 0, m);
+				ret = executeDenseAndAgg(inputs.get(0).getDenseBlockValues(), b, scalars, m, n, sparseSafe, 0, m);
 			else
 				ret = executeSparseAndAgg(inputs.get(0).getSparseBlock(), b, scalars, m, n, sparseSafe, 0, m);
 		}
@@ -220,7 +220,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 			if( inputs.get(0) instanceof CompressedMatrixBlock )
 				lnnz = executeCompressed((CompressedMatrixBlock)a, b, scalars, out, m, n, sparseSafe, 0, m);
 			else if( !inputs.get(0).isInSparseFormat() )
-				lnnz = executeDense(a.getDenseBlock(), b, scalars, out, m, n, sparseSafe, 0, m);
+				lnnz = executeDense(a.getDenseBlockValues(), b, scalars, out, m, n, sparseSafe, 0, m);
 			else
 				lnnz = executeSparse(a.getSparseBlock(), b, scalars, out, m, n, sparseSafe, 0, m);
 		}
@@ -262,7 +262,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 			MatrixBlock out, int m, int n, boolean sparseSafe, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		if( _type == CellType.NO_AGG ) {
 			return executeDenseNoAgg(a, b, scalars, c, m, n, sparseSafe, rl, ru);
@@ -333,7 +333,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 			return lnnz;
 		}
 		else if( _type == CellType.ROW_AGG ) {
-			double[] c = out.getDenseBlock();
+			double[] c = out.getDenseBlockValues();
 			if( _aggOp == AggOp.SUM || _aggOp == AggOp.SUM_SQ )
 				return executeCompressedRowAggSum(a, b, scalars, c, m, n, sparseSafe, rl, ru);
 			else
@@ -496,7 +496,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 	{
 		//note: sequential scan algorithm for both sparse-safe and -unsafe 
 		//in order to avoid binary search for sparse-unsafe 
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		long lnnz = 0;
 		for(int i=rl, cix=rl*n; i<ru; i++, cix+=n) {
 			int lastj = -1;
@@ -533,7 +533,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 
 		//note: sequential scan algorithm for both sparse-safe and -unsafe 
 		//in order to avoid binary search for sparse-unsafe 
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		long lnnz = 0;
 		for(int i=rl; i<ru; i++) {
 			kbuff.set(0, 0);
@@ -572,7 +572,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		
 		//note: sequential scan algorithm for both sparse-safe and -unsafe 
 		//in order to avoid binary search for sparse-unsafe 
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		long lnnz = 0;
 		for(int i=rl; i<ru; i++) {
 			double tmp = (sparseSafe && sblock.size(i) < n) ? 0 : initialVal;
@@ -677,7 +677,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 			MatrixBlock out, int m, int n, boolean sparseSafe, int rl, int ru) 
 		throws DMLRuntimeException 
 	{
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		SparseBlock csblock = out.getSparseBlock();
 		
 		//preallocate sparse rows to avoid reallocations
@@ -809,7 +809,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 			if( _a instanceof CompressedMatrixBlock )
 				return executeCompressedAndAgg((CompressedMatrixBlock)_a, _b, _scalars, _rlen, _clen, _safe, _rl, _ru);
 			else if (!_a.isInSparseFormat())
-				return executeDenseAndAgg(_a.getDenseBlock(), _b, _scalars, _rlen, _clen, _safe, _rl, _ru);
+				return executeDenseAndAgg(_a.getDenseBlockValues(), _b, _scalars, _rlen, _clen, _safe, _rl, _ru);
 			else
 				return executeSparseAndAgg(_a.getSparseBlock(), _b, _scalars, _rlen, _clen, _safe, _rl, _ru);
 		}
@@ -845,7 +845,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 			if( _a instanceof CompressedMatrixBlock )
 				return executeCompressed((CompressedMatrixBlock)_a, _b, _scalars, _c, _rlen, _clen, _safe, _rl, _ru);
 			else if( !_a.isInSparseFormat() )
-				return executeDense(_a.getDenseBlock(), _b, _scalars, _c, _rlen, _clen, _safe, _rl, _ru);
+				return executeDense(_a.getDenseBlockValues(), _b, _scalars, _c, _rlen, _clen, _safe, _rl, _ru);
 			else
 				return executeSparse(_a.getSparseBlock(), _b, _scalars,  _c, _rlen, _clen, _safe, _rl, _ru);
 		}
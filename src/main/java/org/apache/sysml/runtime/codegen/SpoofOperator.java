@@ -89,7 +89,7 @@ public abstract class SpoofOperator implements Serializable
 			}
 			//use existing dense block
 			else {
-				b[i-offset] = inputs.get(i).getDenseBlock();
+				b[i-offset] = inputs.get(i).getDenseBlockValues();
 			}
 		}
 		
@@ -119,7 +119,7 @@ public abstract class SpoofOperator implements Serializable
 			if( inputs.get(i).isInSparseFormat() && inputs.get(i).isAllocated() )
 				b[i-offset] = new SideInput(null, inputs.get(i));
 			else
-				b[i-offset] = new SideInput(inputs.get(i).getDenseBlock(), null);
+				b[i-offset] = new SideInput(inputs.get(i).getDenseBlockValues(), null);
 		}
 		
 		return b;
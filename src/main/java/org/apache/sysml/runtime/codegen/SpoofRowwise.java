@@ -93,7 +93,7 @@ public abstract class SpoofRowwise extends SpoofOperator
 		final int n = inputs.get(0).getNumColumns();
 		if( !aggIncr || !out.isAllocated() )
 			allocateOutputMatrix(m, n, out);
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		//input preparation
 		double[][] b = prepInputMatricesDense(inputs);
@@ -108,7 +108,7 @@ public abstract class SpoofRowwise extends SpoofOperator
 		if( a instanceof CompressedMatrixBlock )
 			executeCompressed((CompressedMatrixBlock)a, b, scalars, c, n, 0, m);
 		else if( !a.isInSparseFormat() )
-			executeDense(a.getDenseBlock(), b, scalars, c, n, 0, m);
+			executeDense(a.getDenseBlockValues(), b, scalars, c, n, 0, m);
 		else
 			executeSparse(a.getSparseBlock(), b, scalars, c, n, 0, m);
 	
@@ -156,7 +156,7 @@ public abstract class SpoofRowwise extends SpoofOperator
 				List<Future<double[]>> taskret = pool.invokeAll(tasks);	
 				//aggregate partial results
 				for( Future<double[]> task : taskret )
-					LibMatrixMult.vectAdd(task.get(), out.getDenseBlock(), 0, 0, n);
+					LibMatrixMult.vectAdd(task.get(), out.getDenseBlockValues(), 0, 0, n);
 				out.recomputeNonZeros();
 			}
 			else {
@@ -280,7 +280,7 @@ public abstract class SpoofRowwise extends SpoofOperator
 			if( _a instanceof CompressedMatrixBlock )
 				executeCompressed((CompressedMatrixBlock)_a, _b, _scalars, c, _clen, _rl, _ru);
 			else if( !_a.isInSparseFormat() )
-				executeDense(_a.getDenseBlock(), _b, _scalars, c, _clen, _rl, _ru);
+				executeDense(_a.getDenseBlockValues(), _b, _scalars, c, _clen, _rl, _ru);
 			else
 				executeSparse(_a.getSparseBlock(), _b, _scalars, c, _clen, _rl, _ru);
 			
@@ -318,11 +318,11 @@ public abstract class SpoofRowwise extends SpoofOperator
 			LibSpoofPrimitives.setupThreadLocalMemory(_reqVectMem, _clen);
 			
 			if( _a instanceof CompressedMatrixBlock )
-				executeCompressed((CompressedMatrixBlock)_a, _b, _scalars, _c.getDenseBlock(), _clen, _rl, _ru);
+				executeCompressed((CompressedMatrixBlock)_a, _b, _scalars, _c.getDenseBlockValues(), _clen, _rl, _ru);
 			else if( !_a.isInSparseFormat() )
-				executeDense(_a.getDenseBlock(), _b, _scalars, _c.getDenseBlock(), _clen, _rl, _ru);
+				executeDense(_a.getDenseBlockValues(), _b, _scalars, _c.getDenseBlockValues(), _clen, _rl, _ru);
 			else
-				executeSparse(_a.getSparseBlock(), _b, _scalars, _c.getDenseBlock(), _clen, _rl, _ru);
+				executeSparse(_a.getSparseBlock(), _b, _scalars, _c.getDenseBlockValues(), _clen, _rl, _ru);
 			LibSpoofPrimitives.cleanupThreadLocalMemory();
 			
 			//maintain nnz for row partition
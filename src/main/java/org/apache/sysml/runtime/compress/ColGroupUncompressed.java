@@ -278,7 +278,7 @@ public class ColGroupUncompressed extends ColGroup
 		
 		MatrixBlock shortVector = new MatrixBlock(clen, 1, false);
 		shortVector.allocateDenseBlock();
-		double[] b = shortVector.getDenseBlock();
+		double[] b = shortVector.getDenseBlockValues();
 		for (int colIx = 0; colIx < clen; colIx++)
 			b[colIx] = vector.quickGetValue(_colIndexes[colIx], 0);
 		shortVector.recomputeNonZeros();
@@ -295,7 +295,7 @@ public class ColGroupUncompressed extends ColGroup
 		
 		MatrixBlock shortVector = new MatrixBlock(clen, 1, false);
 		shortVector.allocateDenseBlock();
-		double[] b = shortVector.getDenseBlock();
+		double[] b = shortVector.getDenseBlockValues();
 		for (int colIx = 0; colIx < clen; colIx++)
 			b[colIx] = vector.quickGetValue(_colIndexes[colIx], 0);
 		shortVector.recomputeNonZeros();
@@ -313,7 +313,7 @@ public class ColGroupUncompressed extends ColGroup
 		
 		// copying partialResult to the proper indices of the result
 		if( !pret.isEmptyBlock(false) ) {
-			double[] rsltArr = result.getDenseBlock();
+			double[] rsltArr = result.getDenseBlockValues();
 			for (int colIx = 0; colIx < _colIndexes.length; colIx++)
 				rsltArr[_colIndexes[colIx]] = pret.quickGetValue(0, colIx);
 			result.recomputeNonZeros();
@@ -328,7 +328,7 @@ public class ColGroupUncompressed extends ColGroup
 		
 		// copying partialResult to the proper indices of the result
 		if( !pret.isEmptyBlock(false) ) {
-			double[] rsltArr = result.getDenseBlock();
+			double[] rsltArr = result.getDenseBlockValues();
 			for (int colIx = 0; colIx < _colIndexes.length; colIx++)
 				rsltArr[_colIndexes[colIx]] = pret.quickGetValue(0, colIx);
 			result.recomputeNonZeros();
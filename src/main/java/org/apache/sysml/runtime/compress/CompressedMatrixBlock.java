@@ -698,8 +698,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	@Override
 	public long getExactSizeOnDisk() 
 	{
-		//header information
-		long ret = 12;
+		//serialized uncompressed block (incl compressed flag)
+		if( !isCompressed() )
+			return 1 + super.getExactSizeOnDisk();
+		
+		//header information (compressed flag, dims, nnz, num groups)
+		long ret = 21;
 		
 		for( ColGroup grp : _colGroups ) {
 			ret += 1; //type info
@@ -806,6 +810,35 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		write(os);	
 	}
 	
+	//////////////////////////////////////////
+	// CacheBlock implementation (buffer pool integration)
+	
+	@Override
+	public long getInMemorySize() {
+		//in-memory size of column groups if compressed
+		return isCompressed() ? 
+			estimateCompressedSizeInMemory() : super.getInMemorySize();
+	}
+	
+	@Override
+	public long getExactSerializedSize() {
+		return getExactSizeOnDisk();
+	}
+	
+	@Override
+	public boolean isShallowSerialize() {
+		//shallow serialize if compressed (no re-serialization of column
+		//groups on eviction, buffer pool accounts for compressed size)
+		return isCompressed() || super.isShallowSerialize();
+	}
+	
+	@Override
+	public void compactEmptyBlock() {
+		//column groups are never compacted 
+		if( !isCompressed() )
+			super.compactEmptyBlock();
+	}
+	
 	public Iterator<IJV> getIterator(int rl, int ru, boolean inclZeros) {
 		return getIterator(rl, ru, 0, getNumColGroups(), inclZeros);
 	}
@@ -861,6 +894,19 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		
 		return ret;
 	}
+	
+	@Override
+	public MatrixValue scalarOperations(ScalarOperator sop, MatrixValue result, int k) 
+		throws DMLRuntimeException
+	{
+		//call uncompressed matrix scalar if necessary
+		if( !isCompressed() ) {
+			return super.scalarOperations(sop, result, k);
+		}
+		
+		//column group operations mostly modify meta data (no parallelization)
+		return scalarOperations(sop, result);
+	}
 
 	@Override
 	public MatrixBlock appendOperations(MatrixBlock that, MatrixBlock ret) 
@@ -1093,7 +1139,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		//special handling init value for rowmins/rowmax
 		if( op.indexFn instanceof ReduceCol && op.aggOp.increOp.fn instanceof Builtin ) {
 			double val = Double.MAX_VALUE * ((((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MAX)?-1:1);
-			Arrays.fill(ret.getDenseBlock(), val);
+			Arrays.fill(ret.getDenseBlockValues(), val);
 		}
 		
 		//core unary aggregate
@@ -1722,7 +1768,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				_ret = new MatrixBlock(ret.getNumRows(), ret.getNumColumns(), false);
 				_ret.allocateDenseBlock();
 				if( _op.aggOp.increOp.fn instanceof Builtin )
-					System.arraycopy(ret.getDenseBlock(), 0, _ret.getDenseBlock(), 0, ret.getNumRows()*ret.getNumColumns());
+					System.arraycopy(ret.getDenseBlockValues(), 0, _ret.getDenseBlockValues(), 0, ret.getNumRows()*ret.getNumColumns());
 			}
 			else { //colSums
 				_ret = ret;
@@ -1842,6 +1888,15 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		MatrixBlock right = getUncompressed(thatValue);
 		return left.binaryOperations(op, right, result);
 	}
+	
+	@Override
+	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result, int k) 
+			throws DMLRuntimeException {
+		printDecompressWarning("binaryOperations", (MatrixBlock)thatValue);
+		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock right = getUncompressed(thatValue);
+		return left.binaryOperations(op, right, result, k);
+	}
 
 	@Override
 	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) 
@@ -2019,7 +2074,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			ColGroupValue grpVal = (ColGroupValue)grp;
 			MatrixBlock vals = grpVal.getValuesAsBlock();
 			int[] counts = grpVal.getCounts(true);
-			SortUtils.sortByValue(0, vals.getNumRows(), vals.getDenseBlock(), counts);
+			SortUtils.sortByValue(0, vals.getNumRows(), vals.getDenseBlockValues(), counts);
 			MatrixBlock counts2 = ColGroupValue.getCountsAsBlock(counts);
 			return vals.sortOperations(counts2, result);
 		}
@@ -0,0 +1,374 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.MultiReturnBuiltinCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.MultiReturnParameterizedBuiltinCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Dataflow scheduler for the inter-instruction parallel execution of the 
+ * CP instructions of a basic program block. The dependency graph is derived
+ * from the variable names read and written by the individual instructions
+ * (read-after-write, write-after-read, and write-after-write), and ready 
+ * instructions are executed concurrently on a thread pool of the local
+ * degree of parallelism. Ready instructions are only started if their own
+ * degree of parallelism fits into the remaining thread budget, which bounds
+ * the total number of threads of concurrent multi-threaded operations.
+ * 
+ * Instructions with unknown inputs/outputs or side effects (e.g., non-CP
+ * instructions, function calls, prints, writes, and left indexing that might
+ * update in place) act as barriers. Pinning of inputs in the buffer pool is 
+ * handled by the synchronized acquire/release of the individual cacheable
+ * data objects, while accesses to the symbol table are synchronized during 
+ * parallel execution.
+ */
+public class InstructionScheduler 
+{
+	//min number of matrix/frame operations for parallel execution
+	private static final int MIN_PAR_DATA_OPS = 2;
+	
+	//opcodes with side effects or potential in-place updates
+	private static final HashSet<String> BARRIER_OPCODES = new HashSet<String>(
+		Arrays.asList("print", "stop", "write", "leftIndex"));
+	
+	/**
+	 * Indicates if the given instructions should be executed via the 
+	 * dataflow scheduler, which requires an enabled configuration and
+	 * at least two matrix or frame operations.
+	 * 
+	 * @param inst list of instructions
+	 * @return true if parallel execution is applicable
+	 */
+	public static boolean isParallelExecution(ArrayList<Instruction> inst) {
+		if( inst.size() < MIN_PAR_DATA_OPS || DMLScript.ENABLE_DEBUG_MODE || DMLScript.USE_ACCELERATOR
+			|| !ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CP_PARALLEL_INSTRUCTIONS)
+			|| InfrastructureAnalyzer.getLocalParallelism() <= 1 )
+			return false;
+		
+		int count = 0;
+		for( Instruction tmp : inst )
+			if( tmp instanceof ComputationCPInstruction && ((ComputationCPInstruction)tmp).output != null ) {
+				DataType dt = ((ComputationCPInstruction)tmp).output.getDataType();
+				count += (dt == DataType.MATRIX || dt == DataType.FRAME) ? 1 : 0;
+			}
+		return count >= MIN_PAR_DATA_OPS;
+	}
+	
+	/**
+	 * Executes the given instructions according to their data dependencies,
+	 * with independent instructions executed concurrently.
+	 * 
+	 * @param pb program block
+	 * @param inst list of instructions
+	 * @param ec execution context
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void executeParallel(ProgramBlock pb, ArrayList<Instruction> inst, ExecutionContext ec) 
+		throws DMLRuntimeException
+	{
+		//construct instruction dependency graph
+		int k = InfrastructureAnalyzer.getLocalParallelism();
+		ArrayList<InstNode> nodes = createDependencyGraph(inst, k);
+		if( DMLScript.STATISTICS )
+			Statistics.incrementParallelInstructionBlocks();
+		
+		//setup synchronized symbol table and thread pool
+		LocalVariableMap vars = ec.getVariables();
+		ec.setVariables(new SynchronizedVariableMap(vars));
+		ExecutorService pool = Executors.newFixedThreadPool(k);
+		ExecutorCompletionService<InstNode> ecs = new ExecutorCompletionService<InstNode>(pool);
+		DMLConfig dmlconf = ConfigurationManager.getDMLConfig();
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		
+		Throwable err = null;
+		try {
+			//initialize ready instructions (without predecessors)
+			ArrayDeque<InstNode> ready = new ArrayDeque<InstNode>();
+			for( InstNode node : nodes )
+				if( node.npred == 0 )
+					ready.add(node);
+			
+			//submit ready instructions within the thread budget (but at least one
+			//to ensure progress), submit successors of completed instructions once 
+			//ready, and wait for running instructions in case of errors
+			int running = 0;
+			int budget = k;
+			while( true ) {
+				while( err == null && !ready.isEmpty() 
+					&& (running == 0 || ready.peek().numThreads <= budget) ) {
+					InstNode node = ready.poll();
+					ecs.submit(new InstructionTask(pb, node, ec, dmlconf, cconf));
+					budget -= node.numThreads;
+					running++;
+				}
+				if( running == 0 )
+					break;
+				Future<InstNode> f = ecs.take();
+				running--;
+				try {
+					InstNode node = f.get();
+					budget += node.numThreads;
+					for( InstNode succ : node.succ )
+						if( --succ.npred == 0 )
+							ready.add(succ);
+				}
+				catch(ExecutionException ex) {
+					err = (err == null) ? ex.getCause() : err;
+				}
+			}
+		}
+		catch(InterruptedException ex) {
+			err = ex;
+		}
+		finally {
+			pool.shutdown();
+			
+			//write back symbol table modifications
+			LocalVariableMap tmp = ec.getVariables();
+			vars.removeAll();
+			for( String varname : tmp.keySet() )
+				vars.put(varname, tmp.get(varname));
+			ec.setVariables(vars);
+		}
+		
+		//rethrow original exceptions (e.g., script exceptions)
+		if( err instanceof DMLRuntimeException )
+			throw (DMLRuntimeException) err;
+		else if( err instanceof Error )
+			throw (Error) err;
+		else if( err != null )
+			throw new DMLRuntimeException("Failed parallel execution of instructions.", (Exception) err);
+	}
+	
+	private static ArrayList<InstNode> createDependencyGraph(ArrayList<Instruction> inst, int k) {
+		ArrayList<InstNode> nodes = new ArrayList<InstNode>();
+		HashMap<String, InstNode> lastWriter = new HashMap<String, InstNode>();
+		HashMap<String, ArrayList<InstNode>> readers = new HashMap<String, ArrayList<InstNode>>();
+		ArrayList<InstNode> sinceBarrier = new ArrayList<InstNode>();
+		InstNode lastBarrier = null;
+		
+		for( Instruction tmp : inst ) {
+			InstNode node = new InstNode(tmp, k);
+			nodes.add(node);
+			
+			//barrier: depends on all preceding and precedes all subsequent instructions
+			if( isBarrier(tmp) ) {
+				for( InstNode pred : sinceBarrier )
+					addEdge(pred, node);
+				if( lastBarrier != null )
+					addEdge(lastBarrier, node);
+				lastBarrier = node;
+				sinceBarrier.clear();
+				lastWriter.clear();
+				readers.clear();
+				continue;
+			}
+			if( lastBarrier != null )
+				addEdge(lastBarrier, node);
+			
+			//read-after-write dependencies
+			Set<String> writes = getWriteVariables(tmp);
+			for( String varname : getReadVariables(tmp, writes) ) {
+				if( lastWriter.containsKey(varname) )
+					addEdge(lastWriter.get(varname), node);
+				if( !readers.containsKey(varname) )
+					readers.put(varname, new ArrayList<InstNode>());
+				readers.get(varname).add(node);
+			}
+			
+			//write-after-write and write-after-read dependencies
+			for( String varname : writes ) {
+				if( lastWriter.containsKey(varname) )
+					addEdge(lastWriter.get(varname), node);
+				if( readers.containsKey(varname) )
+					for( InstNode pred : readers.remove(varname) )
+						addEdge(pred, node);
+				lastWriter.put(varname, node);
+			}
+			sinceBarrier.add(node);
+		}
+		
+		return nodes;
+	}
+	
+	private static boolean isBarrier(Instruction inst) {
+		return !(inst instanceof CPInstruction)
+			|| inst instanceof FunctionCallCPInstruction
+			|| inst.requiresLabelUpdate()
+			|| BARRIER_OPCODES.contains(InstructionUtils.getOpCode(inst.toString()));
+	}
+	
+	private static Set<String> getWriteVariables(Instruction inst) {
+		//variable and multi-return instructions: all referenced variables are
+		//conservatively treated as writes (covering their reads via WAW)
+		if( inst instanceof VariableCPInstruction || inst instanceof MultiReturnBuiltinCPInstruction
+			|| inst instanceof MultiReturnParameterizedBuiltinCPInstruction
+			|| !(inst instanceof ComputationCPInstruction) 
+			|| ((ComputationCPInstruction)inst).output == null )
+			return getReferencedVariables(inst, true);
+		
+		Set<String> ret = new HashSet<String>();
+		ret.add(((ComputationCPInstruction)inst).output.getName());
+		return ret;
+	}
+	
+	private static Set<String> getReadVariables(Instruction inst, Set<String> writes) {
+		Set<String> ret = getReferencedVariables(inst, false);
+		ret.removeAll(writes);
+		return ret;
+	}
+	
+	private static Set<String> getReferencedVariables(Instruction inst, boolean plain) {
+		Set<String> ret = new LinkedHashSet<String>();
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(inst.toString());
+		for( int i=1; i<parts.length; i++ ) {
+			String part = parts[i];
+			int pos = part.indexOf(Instruction.VALUETYPE_PREFIX);
+			int ix = part.indexOf('=');
+			//name-value pairs of parameterized builtins (e.g., target=_mVar1) carry
+			//no value type and are conservatively treated as variable references
+			if( pos < 0 && ix < 0 && !plain )
+				continue;
+			//strip parameter names of parameterized instructions
+			int start = (ix >= 0 && (pos < 0 || ix < pos)) ? ix+1 : 0;
+			String name = (pos >= 0) ? part.substring(start, pos) : part.substring(start);
+			//ignore literals
+			if( pos >= 0 && part.endsWith(Instruction.VALUETYPE_PREFIX+"true") )
+				continue;
+			if( !name.isEmpty() )
+				ret.add(name);
+		}
+		return ret;
+	}
+	
+	private static void addEdge(InstNode from, InstNode to) {
+		if( from != to && from.succ.add(to) )
+			to.npred++;
+	}
+	
+	private static class InstNode 
+	{
+		private final Instruction inst;
+		private final LinkedHashSet<InstNode> succ;
+		private final int numThreads;
+		private int npred; //maintained by the scheduling thread
+		
+		public InstNode(Instruction inst, int k) {
+			this.inst = inst;
+			this.succ = new LinkedHashSet<InstNode>();
+			this.numThreads = (inst instanceof CPInstruction) ? 
+				Math.max(Math.min(((CPInstruction)inst).getNumThreads(), k), 1) : k;
+			this.npred = 0;
+		}
+	}
+	
+	private static class InstructionTask implements Callable<InstNode> 
+	{
+		private final ProgramBlock _pb;
+		private final InstNode _node;
+		private final ExecutionContext _ec;
+		private final DMLConfig _dmlconf;
+		private final CompilerConfig _cconf;
+		
+		protected InstructionTask(ProgramBlock pb, InstNode node, ExecutionContext ec, DMLConfig dmlconf, CompilerConfig cconf) {
+			_pb = pb;
+			_node = node;
+			_ec = ec;
+			_dmlconf = dmlconf;
+			_cconf = cconf;
+		}
+		
+		@Override
+		public InstNode call() throws DMLRuntimeException {
+			//propagate thread-local configurations
+			ConfigurationManager.setLocalConfig(_dmlconf);
+			ConfigurationManager.setLocalConfig(_cconf);
+			_pb.executeSingleInstruction(_node.inst, _ec);
+			return _node;
+		}
+	}
+	
+	private static class SynchronizedVariableMap extends LocalVariableMap
+	{
+		public SynchronizedVariableMap(LocalVariableMap vars) {
+			super(vars);
+		}
+		
+		@Override
+		public synchronized Set<String> keySet() {
+			return new HashSet<String>(super.keySet());
+		}
+		
+		@Override
+		public synchronized Data get(String name) {
+			return super.get(name);
+		}
+		
+		@Override
+		public synchronized void put(String name, Data val) {
+			super.put(name, val);
+		}
+		
+		@Override
+		public synchronized Data remove(String name) {
+			return super.remove(name);
+		}
+		
+		@Override
+		public synchronized void removeAll() {
+			super.removeAll();
+		}
+		
+		@Override
+		public synchronized boolean hasReferences(Data d) {
+			return super.hasReferences(d);
+		}
+	}
+}
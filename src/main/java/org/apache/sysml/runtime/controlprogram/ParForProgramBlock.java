@@ -52,6 +52,7 @@ import org.apache.sysml.parser.VariableSet;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitioner;
@@ -71,6 +72,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.ResultMerge;
 import org.apache.sysml.runtime.controlprogram.parfor.ResultMergeLocalAutomatic;
 import org.apache.sysml.runtime.controlprogram.parfor.ResultMergeLocalFile;
 import org.apache.sysml.runtime.controlprogram.parfor.ResultMergeLocalMemory;
+import org.apache.sysml.runtime.controlprogram.parfor.ResultMergeLocalShared;
 import org.apache.sysml.runtime.controlprogram.parfor.ResultMergeRemoteMR;
 import org.apache.sysml.runtime.controlprogram.parfor.ResultMergeRemoteSpark;
 import org.apache.sysml.runtime.controlprogram.parfor.Task;
@@ -81,6 +83,8 @@ import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerFactoringCm
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerFixedsize;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerNaive;
 import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerStatic;
+import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerWorkStealing;
+import org.apache.sysml.runtime.controlprogram.parfor.WorkStealingTaskQueue;
 import org.apache.sysml.runtime.controlprogram.parfor.mqo.RuntimePiggybacking;
 import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimator;
 import org.apache.sysml.runtime.controlprogram.parfor.opt.CostEstimator.TestMeasure;
@@ -106,6 +110,7 @@ import org.apache.sysml.runtime.instructions.gpu.context.GPUContext;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContextPool;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.sysml.utils.Statistics;
@@ -143,6 +148,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,  //factoring task partitioner  
 		FACTORING_CMIN,  //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX,  //constrained factoring task partitioner, uses tasksize as max constraint
+		WORK_STEALING,   //work-stealing task partitioner (local per-worker deques), uses tasksize as min split size
 		UNSPECIFIED
 	}
 	
@@ -319,6 +325,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	//specifics for caching
 	protected boolean          _enableCPCaching     = true;
 	protected boolean          _enableRuntimePiggybacking = false;
+	protected HashSet<String>  _sharedResultVars = null; //local, disjoint in-place writes
 	//specifics for spark 
 	protected Collection<String> _variablesRP = null;
 	protected Collection<String> _variablesECache = null;
@@ -466,6 +473,14 @@ public class ParForProgramBlock extends ForProgramBlock
 		_enableRuntimePiggybacking = flag;
 	}
 	
+	public void setSharedResultVariables(HashSet<String> vars) {
+		_sharedResultVars = vars;
+	}
+	
+	public HashSet<String> getSharedResultVariables() {
+		return _sharedResultVars;
+	}
+	
 	public void setExecMode( PExecMode mode ) {
 		_execMode = mode;
 		_params.put(ParForStatementBlock.EXEC_MODE, String.valueOf(_execMode)); //kept up-to-date for copies
@@ -749,15 +764,22 @@ public class ParForProgramBlock extends ForProgramBlock
 		
 		try
 		{
+			//prepare shared result variables (single output for all workers)
+			HashMap<String,MatrixBlock> sharedResults = prepareSharedResultVariables(ec);
+			
 			// Step 1) init parallel workers, task queue and threads
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<Task>();
+			//(for work stealing, each worker obtains its own view of the per-worker deques)
+			WorkStealingTaskQueue wsqueue = (_taskPartitioner == PTaskPartitioner.WORK_STEALING) ?
+				new WorkStealingTaskQueue(_numThreads, _taskSize) : null;
+			LocalTaskQueue<Task> queue = (wsqueue != null) ? wsqueue : new LocalTaskQueue<Task>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			for( int i=0; i<_numThreads; i++ )
 			{
 				//create parallel workers as (lazy) deep copies
 				//including preparation of update-in-place variables
-				workers[i] = createParallelWorker( _pwIDs[i], queue, ec ); 
+				workers[i] = createParallelWorker( _pwIDs[i], 
+					(wsqueue != null) ? wsqueue.getWorkerQueue(i) : queue, ec ); 
 				threads[i] = new Thread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY); 
 			}
@@ -801,6 +823,14 @@ public class ParForProgramBlock extends ForProgramBlock
 			for( Thread thread : threads )
 				thread.join();
 			
+			//account for range tasks split at runtime
+			if( wsqueue != null ) {
+				numCreatedTasks += wsqueue.getNumSplits();
+				if( LOG.isDebugEnabled() )
+					LOG.debug("PARFOR ID="+_ID+": work stealing with "+wsqueue.getNumSplits()
+						+" splits and "+wsqueue.getNumSteals()+" steals.");
+			}
+			
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
 				
@@ -812,11 +842,13 @@ public class ParForProgramBlock extends ForProgramBlock
 			{
 				localVariables[i] = workers[i].getVariables();
 				numExecutedTasks += workers[i].getExecutedTasks();
-				numExecutedIterations += workers[i].getExecutedIterations();			
+				numExecutedIterations += workers[i].getExecutedIterations();
+				if( DMLScript.STATISTICS )
+					Statistics.incrementParForWorkerTime(workers[i].getBusyTime(), workers[i].getIdleTime());
 			}
 			//consolidate results into global symbol table
 			consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations, numExecutedTasks, 
-					                    localVariables );
+					                    localVariables, sharedResults );
 			
 			// Step 5) cleanup local parworkers (e.g., remove created functions)
 			for( int i=0; i<_numThreads; i++ )
@@ -934,7 +966,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		
 		//consolidate results into global symbol table
 		consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations , numExecutedTasks, 
-				                    ret.getVariables() );
+				                    ret.getVariables(), null );
 		if( flagForced ) //see step 0
 			releaseForcedRecompile(0);
 		
@@ -1005,7 +1037,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		
 		//consolidate results into global symbol table
 		consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations, numExecutedTasks, 
-				                    ret.getVariables() );
+				                    ret.getVariables(), null );
 		
 		if( flagForced ) //see step 0
 			releaseForcedRecompile(0);
@@ -1070,7 +1102,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		
 		//consolidate results into global symbol table
 		consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations , numExecutedTasks, 
-				                    ret.getVariables() );
+				                    ret.getVariables(), null );
 		if( flagForced ) //see step 0
 			releaseForcedRecompile(0);
 		
@@ -1136,7 +1168,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		
 		//consolidate results into global symbol table
 		consolidateAndCheckResults( ec, numIterations, numCreatedTasks, numExecutedIterations, numExecutedTasks, 
-				                    ret.getVariables() );
+				                    ret.getVariables(), null );
 		
 		if( flagForced ) //see step 0
 			releaseForcedRecompile(0);
@@ -1487,6 +1519,10 @@ public class ParForProgramBlock extends ForProgramBlock
 				tp = new TaskPartitionerFactoringCmax( _taskSize,_numThreads, _taskSize, _iterablePredicateVars[0],
 							                       from, to, incr );
 				break;	
+			case WORK_STEALING:
+				tp = new TaskPartitionerWorkStealing( _taskSize, _numThreads, _iterablePredicateVars[0],
+							                       from, to, incr );
+				break;
 			default:
 				throw new DMLRuntimeException("Undefined task partitioner: '"+_taskPartitioner+"'.");
 		}
@@ -1692,7 +1728,57 @@ public class ParForProgramBlock extends ForProgramBlock
 		return ret;
 	}
 
-	private void consolidateAndCheckResults(ExecutionContext ec, long expIters, long expTasks, long numIters, long numTasks, LocalVariableMap [] results) 
+	/**
+	 * Prepares all shared result variables of a local parfor, i.e., in-place
+	 * result variables with disjoint writes across iterations. For each such 
+	 * variable, we create a single dense output block (initialized with the 
+	 * existing data), which is directly updated by all local workers.
+	 * 
+	 * @param ec execution context
+	 * @return map of shared result variables and their output blocks
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private HashMap<String,MatrixBlock> prepareSharedResultVariables(ExecutionContext ec) 
+		throws DMLRuntimeException
+	{
+		HashMap<String,MatrixBlock> ret = new HashMap<String,MatrixBlock>();
+		if( _sharedResultVars == null )
+			return ret;
+		
+		for( String var : _sharedResultVars ) {
+			Data dat = ec.getVariable(var);
+			//robustness scalars, and shared outputs of outer parfor
+			if( !(dat instanceof MatrixObject) 
+				|| ((MatrixObject)dat).getUpdateType() == UpdateType.INPLACE_SHARED )
+				continue;
+			
+			//create shared output (w/o cleanup, as it might point to the input file)
+			MatrixObject mo = (MatrixObject) dat;
+			MatrixBlock shared = ResultMergeLocalShared.createSharedBlock(mo);
+			MatrixObject moShared = new MatrixObject(mo);
+			moShared.setUpdateType(UpdateType.INPLACE_SHARED);
+			moShared.enableCleanup(false);
+			moShared.acquireModify(shared);
+			moShared.release();
+			
+			//replace existing var
+			ec.setVariable(var, moShared);
+			ec.cleanupMatrixObject(mo);
+			ret.put(var, shared);
+			
+			if( DMLScript.STATISTICS )
+				Statistics.incrementParForSharedResults();
+		}
+		
+		return ret;
+	}
+	
+	private boolean isSharedResultVariable(MatrixObject out, String var, HashMap<String,MatrixBlock> sharedResults) {
+		return (sharedResults != null && sharedResults.containsKey(var))
+			|| out.getUpdateType() == UpdateType.INPLACE_SHARED;
+	}
+	
+	private void consolidateAndCheckResults(ExecutionContext ec, long expIters, long expTasks, long numIters, long numTasks, LocalVariableMap [] results, HashMap<String,MatrixBlock> sharedResults) 
 		throws DMLRuntimeException
 	{
 		Timing time = new Timing(true);
@@ -1714,7 +1800,8 @@ public class ParForProgramBlock extends ForProgramBlock
 				//enqueue all result vars as tasks
 				LocalTaskQueue<String> q = new LocalTaskQueue<String>();
 				for( String var : _resultVars ) //foreach non-local write
-					if( ec.getVariable(var) instanceof MatrixObject ) //robustness scalars
+					if( ec.getVariable(var) instanceof MatrixObject //robustness scalars
+						&& !isSharedResultVariable((MatrixObject)ec.getVariable(var), var, sharedResults) )
 						q.enqueueTask(var);
 				q.closeInput();
 				
@@ -1735,37 +1822,47 @@ public class ParForProgramBlock extends ForProgramBlock
 				throw new DMLRuntimeException(ex);
 			}
 		}
-		else
-		{
-			//execute result merge sequentially for all result vars
-			for( String var : _resultVars ) //foreach non-local write
-			{			
-				Data dat = ec.getVariable(var);
-				if( dat instanceof MatrixObject ) //robustness scalars
-				{
-					MatrixObject out = (MatrixObject) dat;
-					MatrixObject[] in = new MatrixObject[ results.length ];
-					for( int i=0; i< results.length; i++ )
-						in[i] = (MatrixObject) results[i].get( var ); 			
-					String fname = constructResultMergeFileName();
-					ResultMerge rm = createResultMerge(_resultMerge, out, in, fname, ec);
-					MatrixObject outNew = null;
-					if( USE_PARALLEL_RESULT_MERGE )
-						outNew = rm.executeParallelMerge( _numThreads );
-					else
-						outNew = rm.executeSerialMerge(); 		
-					
-					//cleanup existing var
-					Data exdata = ec.removeVariable(var);
-					if( exdata != null && exdata != outNew && exdata instanceof MatrixObject )
-						ec.cleanupMatrixObject((MatrixObject)exdata);
-							
-					//cleanup of intermediate result variables
+		
+		//execute result merge sequentially for all (remaining) result vars
+		for( String var : _resultVars ) //foreach non-local write
+		{			
+			Data dat = ec.getVariable(var);
+			if( dat instanceof MatrixObject //robustness scalars
+				&& (!checkParallelRemoteResultMerge() 
+				|| isSharedResultVariable((MatrixObject)dat, var, sharedResults)) )
+			{
+				MatrixObject out = (MatrixObject) dat;
+				MatrixObject[] in = new MatrixObject[ results.length ];
+				for( int i=0; i< results.length; i++ )
+					in[i] = (MatrixObject) results[i].get( var ); 			
+				
+				//shared output of outer parfor, already updated in-place (no merge)
+				if( out.getUpdateType() == UpdateType.INPLACE_SHARED 
+					&& (sharedResults == null || !sharedResults.containsKey(var)) ) {
 					cleanWorkerResultVariables( ec, out, in );
-					
-					//set merged result variable
-					ec.setVariable(var, outNew);
+					continue;
 				}
+				
+				String fname = constructResultMergeFileName();
+				ResultMerge rm = (sharedResults != null && sharedResults.containsKey(var)) ?
+					new ResultMergeLocalShared(out, in, fname, sharedResults.get(var)) :
+					createResultMerge(_resultMerge, out, in, fname, ec);
+				MatrixObject outNew = null;
+				if( USE_PARALLEL_RESULT_MERGE )
+					outNew = rm.executeParallelMerge( _numThreads );
+				else
+					outNew = rm.executeSerialMerge(); 		
+				
+				//cleanup existing var
+				Data exdata = ec.removeVariable(var);
+				if( exdata != null && exdata != outNew && exdata instanceof MatrixObject )
+					ec.cleanupMatrixObject((MatrixObject)exdata);
+						
+				//cleanup of intermediate result variables
+				cleanWorkerResultVariables( ec, out, in );
+				
+				//set merged result variable
+				ec.setVariable(var, outNew);
 			}
 		}
 		
@@ -1993,6 +2090,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		_jvmReuse              = true;
 		_recompileMemoryBudget = -1;
 		_enableRuntimePiggybacking = false;
+		_sharedResultVars      = null;
 		_variablesRP           = null;
 		_variablesECache       = null;
 	}
@@ -33,11 +33,13 @@ import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.parser.StatementBlock;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
@@ -55,6 +57,7 @@ public class ProgramBlock
 {
 	protected static final Log LOG = LogFactory.getLog(ProgramBlock.class.getName());
 	private static final boolean CHECK_MATRIX_SPARSITY = false;
+	private static final int PREFETCH_LOOKAHEAD = 4; //num instructions
 
 	protected Program _prog;		// pointer to Program this ProgramBlock is part of
 	protected ArrayList<Instruction> _inst;
@@ -211,17 +214,57 @@ public class ProgramBlock
 	protected void executeInstructions(ArrayList<Instruction> inst, ExecutionContext ec)
 		throws DMLRuntimeException
 	{
+		//concurrent execution of independent instructions (if enabled, not in parfor)
+		if( _tid == 0 && InstructionScheduler.isParallelExecution(inst) ) {
+			InstructionScheduler.executeParallel(this, inst, ec);
+			return;
+		}
+		
 		for (int i = 0; i < inst.size(); i++)
 		{
 			//indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
 
+			//prefetch evicted inputs of subsequent instructions (sliding window)
+			if( CacheableData.isAsyncPrefetchEnabled() )
+				prefetchInputs(inst, (i==0) ? 1 : i+PREFETCH_LOOKAHEAD, i+PREFETCH_LOOKAHEAD, ec);
+
 			//execute instruction
 			ec.updateDebugState(i);
 			executeSingleInstruction(currInst, ec);
 		}
 	}
 
+	/**
+	 * Asynchronously restores evicted matrix and frame inputs of the 
+	 * computation instructions in the given range [rl,ru] of instructions,
+	 * in order to hide the restore latency behind preceding instructions.
+	 * 
+	 * @param inst list of instructions
+	 * @param rl lower instruction index (inclusive)
+	 * @param ru upper instruction index (inclusive)
+	 * @param ec execution context
+	 */
+	private static void prefetchInputs(ArrayList<Instruction> inst, int rl, int ru, ExecutionContext ec)
+	{
+		for( int i=rl; i<=Math.min(ru, inst.size()-1); i++ ) {
+			if( inst.get(i) instanceof ComputationCPInstruction ) {
+				ComputationCPInstruction cinst = (ComputationCPInstruction) inst.get(i);
+				prefetchInput(cinst.input1, ec);
+				prefetchInput(cinst.input2, ec);
+				prefetchInput(cinst.input3, ec);
+			}
+		}
+	}
+
+	private static void prefetchInput(CPOperand input, ExecutionContext ec) {
+		if( input == null || input.isLiteral() || input.getDataType().isScalar() )
+			return;
+		Data dat = ec.getVariables().get(input.getName());
+		if( dat instanceof CacheableData )
+			CacheableData.prefetchAsync((CacheableData<?>) dat);
+	}
+
 	protected ScalarObject executePredicateInstructions(ArrayList<Instruction> inst, ValueType retType, ExecutionContext ec)
 		throws DMLRuntimeException
 	{
@@ -274,14 +317,14 @@ public class ProgramBlock
 		return ret;
 	}
 
-	private void executeSingleInstruction( Instruction currInst, ExecutionContext ec )
+	protected void executeSingleInstruction( Instruction currInst, ExecutionContext ec )
 		throws DMLRuntimeException
 	{
 		try
 		{
 			// start time measurement for statistics
-			long t0 = (DMLScript.STATISTICS || LOG.isTraceEnabled()) ?
-					System.nanoTime() : 0;
+			long t0 = (DMLScript.STATISTICS || Statistics.isLatencyHistograms() 
+					|| LOG.isTraceEnabled()) ? System.nanoTime() : 0;
 
 			// pre-process instruction (debug state, inst patching, listeners)
 			Instruction tmp = currInst.preprocessInstruction( ec );
@@ -292,8 +335,8 @@ public class ProgramBlock
 			// post-process instruction (debug)
 			tmp.postprocessInstruction( ec );
 
-			// maintain aggregate statistics
-			if( DMLScript.STATISTICS) {
+			// maintain aggregate statistics (and optional latency histograms)
+			if( DMLScript.STATISTICS || Statistics.isLatencyHistograms() ) {
 				Statistics.maintainCPHeavyHitters(
 					tmp.getExtendedOpcode(), System.nanoTime()-t0);
 			}
@@ -25,6 +25,7 @@ import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.IOException;
 
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
@@ -36,10 +37,12 @@ import org.apache.sysml.runtime.util.LocalFileUtils;
  */
 public class ByteBuffer
 {
-	private volatile boolean _serialized;	
-	private volatile boolean _shallow;
-	private volatile boolean _matrix;
-	private final long _size;
+	protected volatile boolean _serialized;	
+	protected volatile boolean _shallow;
+	protected volatile boolean _matrix;
+	protected volatile boolean _compressed;
+	protected final long _size;
+	protected volatile long _seq = -1; //position in global eviction order
 	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock _cdata = null; //dense matrix/frame
@@ -54,6 +57,7 @@ public class ByteBuffer
 	{	
 		_shallow = cb.isShallowSerialize();
 		_matrix = (cb instanceof MatrixBlock);
+		_compressed = (cb instanceof CompressedMatrixBlock);
 		
 		try
 		{
@@ -88,7 +92,7 @@ public class ByteBuffer
 		if( !_shallow ) { //sparse matrix / string frame
 			DataInput din = _matrix ? new CacheDataInput(_bdata) :
 				new DataInputStream(new ByteArrayInputStream(_bdata));
-			ret = _matrix ? new MatrixBlock() : new FrameBlock();
+			ret = createCacheBlock(_matrix, _compressed);
 			ret.readFields(din);
 		}
 		else { //dense matrix/frame
@@ -124,6 +128,18 @@ public class ByteBuffer
 		return _shallow;
 	}
 	
+	public long getSequence() {
+		return _seq;
+	}
+	
+	public void setSequence(long seq) {
+		_seq = seq;
+	}
+	
+	public boolean isCompressed() {
+		return _compressed;
+	}
+	
 	public void freeMemory()
 	{
 		//clear strong references to buffer/matrix
@@ -171,4 +187,16 @@ public class ByteBuffer
 			return true;
 		}
 	}
+	
+	/**
+	 * Creates an empty cache block of the given type for deserialization.
+	 * 
+	 * @param matrix if true, matrix block, otherwise frame block
+	 * @param compressed if true, compressed matrix block
+	 * @return cache block
+	 */
+	protected static CacheBlock createCacheBlock( boolean matrix, boolean compressed ) {
+		return !matrix ? new FrameBlock() : compressed ? 
+			new CompressedMatrixBlock() : new MatrixBlock();
+	}
 }
@@ -25,6 +25,8 @@ import java.util.concurrent.atomic.LongAdder;
  * This singleton provides basic caching statistics in CP.
  * 
  * 1) Hit statistics for caching (mem, fs, hdfs, total)
+ * 2) Contention statistics of the write buffer (lock waits, wait time)
+ * 3) Prefetch statistics (issued prefetches, hits by subsequent acquires)
  * 
  * NOTE: In order to provide accurate statistics in multi-threaded
  * synchronized increments are required. Since those functions are 
@@ -65,6 +67,14 @@ public class CacheStatistics
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeRelease    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeExport     = new LongAdder(); //in nano sec
+	
+	//contention statistics write buffer
+	private static final LongAdder _numLockWaits    = new LongAdder();
+	private static final LongAdder _ctimeLockWait   = new LongAdder(); //in nano sec
+	
+	//prefetch statistics
+	private static final LongAdder _numPrefetches   = new LongAdder();
+	private static final LongAdder _numPrefetchHits = new LongAdder();
 
 	public static void reset() {
 		_numHitsMem.reset();
@@ -80,6 +90,12 @@ public class CacheStatistics
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
 		_ctimeExport.reset();
+		
+		_numLockWaits.reset();
+		_ctimeLockWait.reset();
+		
+		_numPrefetches.reset();
+		_numPrefetchHits.reset();
 	}
 
 	public static void incrementMemHits() {
@@ -198,6 +214,35 @@ public class CacheStatistics
 		return _ctimeExport.longValue();
 	}
 	
+	public static void incrementLockWaits(long delta) {
+		_numLockWaits.increment();
+		_ctimeLockWait.add(delta);
+	}
+	
+	public static long getLockWaits() {
+		return _numLockWaits.longValue();
+	}
+	
+	public static long getLockWaitTime() {
+		return _ctimeLockWait.longValue();
+	}
+	
+	public static void incrementPrefetches() {
+		_numPrefetches.increment();
+	}
+	
+	public static long getPrefetches() {
+		return _numPrefetches.longValue();
+	}
+	
+	public static void incrementPrefetchHits() {
+		_numPrefetchHits.increment();
+	}
+	
+	public static long getPrefetchHits() {
+		return _numPrefetchHits.longValue();
+	}
+	
 	public static String displayHits() {	
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsMem.longValue());
@@ -234,4 +279,22 @@ public class CacheStatistics
 		
 		return sb.toString();
 	}
+	
+	public static String displayContention() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numLockWaits.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeLockWait.longValue())/1000000000)); //in sec
+		
+		return sb.toString();
+	}
+	
+	public static String displayPrefetches() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPrefetches.longValue());
+		sb.append("/");
+		sb.append(_numPrefetchHits.longValue());
+		
+		return sb.toString();
+	}
 }
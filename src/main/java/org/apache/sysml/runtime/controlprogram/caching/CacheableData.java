@@ -24,6 +24,10 @@ import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.mutable.MutableBoolean;
@@ -32,6 +36,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -80,6 +85,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
+	
+	//note: non-final for testing purposes, where disabled soft references on release
+	//simulate soft references that have been collected under memory pressure
+	public static boolean CACHING_RELEASE_SOFTREF = true;
     
 	/**
 	 * Defines all possible cache status types for a data blob.
@@ -126,6 +135,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	//overestimate, because we maintain partitioned broadcasts as soft references, which 
 	//might be collected by the GC and subsequently cleaned up by Spark's ContextCleaner.
 	private static AtomicLong _refBCs = new AtomicLong(0);	
+	
+	//thread pool for asynchronous prefetch of evicted cache blocks (single 
+	//thread to restore in order of the instruction lookahead, w/o pinning threads)
+	private static volatile ThreadPoolExecutor _prefetchPool = null;
     
 	static {
 		_seq = new IDSequence();
@@ -145,6 +158,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	
 	/** Container object that holds the actual data. */
 	protected T _data = null;
+	
+	/** Indicator if the cache soft reference was restored by a prefetch. */
+	private boolean _prefetched = false;
 
 	/**
 	 * Object that holds the metadata associated with the matrix, which
@@ -462,6 +478,64 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		return _data;
 	}
 
+	/**
+	 * Restores an evicted cache block into the cache soft reference, without 
+	 * acquiring a lock. A subsequent acquire read or modify then finds the 
+	 * data in memory, unless the soft reference has been collected meanwhile.
+	 * This method is a no-op for data that is not evicted.
+	 * 
+	 * @return true if the cache block has been restored
+	 * @throws CacheException if CacheException occurs
+	 */
+	public synchronized boolean prefetch()
+		throws CacheException
+	{
+		//probe evicted state (cached, neither in memory nor in soft reference)
+		if( !isCachingActive() || !isCached(false) || _data != null
+			|| (_cache != null && _cache.get() != null) )
+			return false;
+		
+		//restore into soft reference cache
+		restoreBlobIntoMemory();
+		createCache();
+		_data = null;
+		_prefetched = true;
+		
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementPrefetches();
+		
+		return true;
+	}
+	
+	/**
+	 * Asynchronously restores the given evicted cache block, see 
+	 * {@link #prefetch()}. Any errors are ignored because the data 
+	 * is restored on demand by the subsequent acquire.
+	 * 
+	 * @param cd cacheable data object
+	 */
+	public static void prefetchAsync(final CacheableData<?> cd) {
+		ThreadPoolExecutor pool = _prefetchPool;
+		if( pool == null || !cd.isCached(false) )
+			return;
+		try {
+			pool.submit(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						cd.prefetch();
+					}
+					catch(Exception ex) {
+						LOG.debug("Failed to prefetch "+cd.getVarName()+".", ex);
+					}
+				}
+			});
+		}
+		catch(RejectedExecutionException ex) {
+			//ignore prefetch after cleanup
+		}
+	}
+	
 	/**
 	 * Acquires the exclusive "write" lock for a thread that wants to change cache block
 	 * cell values.  Produces the reference to the cache block, restores the cache block
@@ -620,7 +694,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			}
 			
 			//create cache
-			createCache();
+			if( CACHING_RELEASE_SOFTREF )
+				createCache();
 			_data = null;			
 		}
 		else if( LOG.isTraceEnabled() ){
@@ -1227,6 +1302,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	protected void getCache() {
 		if( _cache !=null ) {
 			_data = _cache.get();
+			if( DMLScript.STATISTICS && _prefetched && _data != null )
+				CacheStatistics.incrementPrefetchHits();
 			clearCache();
 		}
 	}
@@ -1237,6 +1314,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			_cache.clear();
 			_cache = null;
 		}
+		_prefetched = false;
 	}
 
 	protected void updateStatusPinned(boolean add) {
@@ -1262,6 +1340,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	// --------- STATIC CACHE INIT/CLEANUP OPERATIONS ----------
 
 	public synchronized static void cleanupCacheDir() {
+		//stop pending prefetches
+		if( _prefetchPool != null ) {
+			_prefetchPool.shutdownNow();
+			_prefetchPool = null;
+		}
+		
 		//cleanup remaining cached writes
 		LazyWriteBuffer.cleanup();
 		
@@ -1333,9 +1417,29 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		LazyWriteBuffer.init();
 		_refBCs.set(0);
 		
+		//init prefetch thread pool
+		if( _prefetchPool != null )
+			_prefetchPool.shutdownNow();
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		if( conf == null || conf.getBooleanValue(DMLConfig.CACHING_ASYNC_PREFETCH) ) {
+			_prefetchPool = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, 
+				new LinkedBlockingQueue<Runnable>());
+			_prefetchPool.allowCoreThreadTimeOut(true);
+		}
+		
 		_activeFlag = true; //turn on caching
 	}
 	
+	/**
+	 * Indicates if the asynchronous prefetch of evicted data is enabled,
+	 * as configured via caching.async.prefetch on caching initialization.
+	 * 
+	 * @return true if asynchronous prefetch enabled
+	 */
+	public static boolean isAsyncPrefetchEnabled() {
+		return _prefetchPool != null;
+	}
+	
 	public static synchronized boolean isCachingActive() {
 		return _activeFlag;
 	}
@@ -20,13 +20,19 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
@@ -37,74 +43,102 @@ public class LazyWriteBuffer
 		LRU   //least recently used eviction
 	}
 	
+	//max number of eviction queue segments
+	private static final int MAX_SEGMENTS = 64;
+	
 	//global size limit in bytes
-	private static final long _limit; 
+	private static long _limit; 
+	
+	//use off-heap write buffer instead of heap byte arrays
+	private static boolean _offHeap = false;
 	
-	//current size in bytes
-	private static long _size;  
+	//current size in bytes (incl reserved but not yet inserted entries)
+	private static final AtomicLong _size = new AtomicLong(0);
 	
-	//eviction queue of <filename,buffer> pairs (implemented via linked hash map 
+	//global sequence for (approximate) FIFO/LRU order across segments
+	private static final AtomicLong _seq = new AtomicLong(0);
+	
+	//lock-striped eviction queue, i.e., array of segments of <filename,buffer> 
+	//pairs with independent locks (segments implemented via linked hash map 
 	//for (1) queue semantics and (2) constant time get/insert/delete operations)
-	private static EvictionQueue _mQueue;
+	private static EvictionQueue[] _mQueue;
 	
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
 	
 	static {
 		//obtain the logical buffer size in bytes
-		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
-		_limit = (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
+		_limit = getWriteBufferSize();
 	}
 
 	public static void writeBlock( String fname, CacheBlock cb ) 
 		throws IOException
 	{	
 		//obtain basic meta data of cache block
-		long lSize = cb.isShallowSerialize() ?
+		//(off-heap buffers always require a deep serialization)
+		long lSize = (cb.isShallowSerialize() && !_offHeap) ?
 			cb.getInMemorySize() : cb.getExactSerializedSize();
-		boolean requiresWrite = (lSize > _limit        //global buffer limit
-			|| !ByteBuffer.isValidCapacity(lSize, cb)); //local buffer limit
+		long lReserved = _offHeap ? 
+			OffHeapPagePool.getReservedSize(lSize) : lSize;
+		boolean requiresWrite = (lReserved > _limit        //global buffer limit
+			|| (!_offHeap && !ByteBuffer.isValidCapacity(lSize, cb))); //local buffer limit
 	
 		//handle caching/eviction if it fits in writebuffer
 		if( !requiresWrite ) 
 		{			
 			//create byte buffer handle (no block allocation yet)
-			ByteBuffer bbuff = new ByteBuffer( lSize );
+			ByteBuffer bbuff = null;
 			int numEvicted = 0;
 			
-			//modify buffer pool
-			synchronized( _mQueue )
-			{
-				//evict matrices to make room (by default FIFO)
-				while( _size+lSize >= _limit )
-				{
-					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-					String ftmp = entry.getKey();
-					ByteBuffer tmp = entry.getValue();
-					
-					if( tmp != null ) {
-						//wait for pending serialization
-						tmp.checkSerialized();
-						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
-						_size-=tmp.getSize();
-						numEvicted++;
-					}
+			//evict matrices to make room (by default FIFO), where each eviction 
+			//only locks the segment of the oldest entry; if all segments are 
+			//empty, the remaining space is reserved by concurrent writers
+			boolean reserved = false;
+			while( !(reserved = reserve(lReserved)) ) {
+				int ret = evictFirst();
+				if( ret < 0 ) break;
+				numEvicted += ret;
+			}
+			
+			if( reserved ) {
+				//allocate off-heap pages (guaranteed to fit into 
+				//the page pool, except for failed direct allocations)
+				if( _offHeap ) {
+					OffHeapByteBuffer obuff = new OffHeapByteBuffer( lSize );
+					bbuff = obuff.isAllocated() ? obuff : null;
 				}
+				else
+					bbuff = new ByteBuffer( lSize );
 				
-				//put placeholder into buffer pool (reserve mem) 
-				_mQueue.addLast(fname, bbuff);
-				_size += lSize;	
+				//put placeholder into buffer pool (reserved mem) 
+				if( bbuff != null ) {
+					EvictionQueue queue = getQueue(fname);
+					queue.lock();
+					try {
+						queue.addLast(fname, bbuff);
+					}
+					finally {
+						queue.unlock();
+					}
+				}
+				else
+					_size.addAndGet(-lReserved);
 			}
 			
-			//serialize matrix (outside synchronized critical path)
-			bbuff.serializeBlock(cb); 
+			if( bbuff != null ) {
+				//serialize matrix (outside synchronized critical path)
+				bbuff.serializeBlock(cb); 
+			}
+			else {
+				//write directly to local FS (off-heap memory exhausted
+				//or remaining buffer reserved by concurrent writers)
+				LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+				numEvicted++;
+			}
 			
 			if( DMLScript.STATISTICS ) {
-				CacheStatistics.incrementFSBuffWrites();
+				if( bbuff != null )
+					CacheStatistics.incrementFSBuffWrites();
 				CacheStatistics.incrementFSWrites(numEvicted);
 			}
 		}	
@@ -121,16 +155,23 @@ public class LazyWriteBuffer
 	{
 		boolean requiresDelete = true;
 		
-		synchronized( _mQueue )
-		{
+		EvictionQueue queue = getQueue(fname);
+		queue.lock();
+		try {
+			//wait for pending eviction of this entry
+			queue.awaitEviction(fname);
+			
 			//remove queue entry 
-			ByteBuffer ldata = _mQueue.remove(fname);
+			ByteBuffer ldata = queue.remove(fname);
 			if( ldata != null ) {
-				_size -= ldata.getSize(); 
+				_size.addAndGet(-ldata.getSize()); 
 				requiresDelete = false;
 				ldata.freeMemory(); //cleanup
 			}
 		}
+		finally {
+			queue.unlock();
+		}
 		
 		//delete from FS if required
 		if( requiresDelete )
@@ -139,35 +180,51 @@ public class LazyWriteBuffer
 
 	public static CacheBlock readBlock( String fname, boolean matrix ) 
 		throws IOException
+	{
+		return readBlock(fname, matrix, false);
+	}
+	
+	public static CacheBlock readBlock( String fname, boolean matrix, boolean compressed ) 
+		throws IOException
 	{
 		CacheBlock cb = null;
 		ByteBuffer ldata = null;
 		
 		//probe write buffer
-		synchronized( _mQueue )
-		{
-			ldata = _mQueue.get(fname);
+		EvictionQueue queue = getQueue(fname);
+		queue.lock();
+		try {
+			//wait for pending eviction of this entry
+			queue.awaitEviction(fname);
+			ldata = queue.get(fname);
 			
 			//modify eviction order (accordingly to access)
 			if(    CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU 
 				&& ldata != null )
 			{
 				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
+				queue.remove( fname );
+				queue.addLast( fname, ldata );
 			}
 		}
+		finally {
+			queue.unlock();
+		}
 		
 		//deserialize or read from FS if required
+		//(off-heap buffers return null if concurrently evicted)
 		if( ldata != null )
-		{
 			cb = ldata.deserializeBlock();
+		
+		if( cb != null )
+		{
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffHits();
 		}
 		else
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix); 
+			cb = (CacheBlock) LocalFileUtils.readWritableFromLocal(fname, 
+				ByteBuffer.createCacheBlock(matrix, compressed)); 
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSHits();
 		}
@@ -176,27 +233,156 @@ public class LazyWriteBuffer
 	}
 
 	public static void init() {
-		_mQueue = new EvictionQueue();
+		_mQueue = new EvictionQueue[getNumSegments()];
+		for( int i=0; i<_mQueue.length; i++ )
+			_mQueue[i] = new EvictionQueue();
 		_fClean = new FileCleaner();
-		_size = 0;
+		_size.set(0);
+		_seq.set(0);
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
+		
+		//configure heap or off-heap write buffer
+		long offHeapSize = getOffHeapBufferSize();
+		_offHeap = (offHeapSize > 0);
+		if( _offHeap )
+			OffHeapPagePool.init(offHeapSize);
+		_limit = getWriteBufferSize();
 	}
 
 	public static void cleanup() {
 		if( _mQueue != null )
-			_mQueue.clear();
+			for( EvictionQueue queue : _mQueue ) {
+				queue.lock();
+				try {
+					//return off-heap pages before dropping the pool
+					for( ByteBuffer bbuff : queue.values() )
+						bbuff.freeMemory();
+					queue.clear();
+				}
+				finally {
+					queue.unlock();
+				}
+			}
 		if( _fClean != null )
 			_fClean.close();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.clear();
+		if( _offHeap )
+			OffHeapPagePool.clear();
 	}
 
 	public static long getWriteBufferSize() {
+		//off-heap buffer size is independent of the max heap size
+		long offHeapSize = getOffHeapBufferSize();
+		if( offHeapSize > 0 )
+			return offHeapSize;
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
 		return (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
 	}
 	
+	public static boolean isOffHeapBuffer() {
+		return _offHeap;
+	}
+	
+	private static long getOffHeapBufferSize() {
+		//configured off-heap buffer size in MB, 0 for heap buffer
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		long size = (conf != null) ? conf.getIntValue(DMLConfig.CACHING_BUFFER_OFFHEAP) : 0;
+		return Math.max(size, 0) * 1024 * 1024;
+	}
+	
+	private static int getNumSegments() {
+		//power of two segments w/ at least two per local core
+		int k = InfrastructureAnalyzer.getLocalParallelism();
+		return Math.min(Integer.highestOneBit(Math.max(2*k-1, 1)) * 2, MAX_SEGMENTS);
+	}
+	
+	private static EvictionQueue getQueue( String fname ) {
+		//spread hash code (as in hash map) for segment selection
+		int h = fname.hashCode();
+		h ^= (h >>> 16);
+		return _mQueue[h & (_mQueue.length-1)];
+	}
+	
+	/**
+	 * Reserves the given number of bytes in the write buffer if the 
+	 * new size remains below the buffer limit.
+	 * 
+	 * @param size size in bytes
+	 * @return true if the reservation succeeded
+	 */
+	private static boolean reserve( long size ) {
+		long lsize = _size.get();
+		while( lsize + size < _limit ) {
+			if( _size.compareAndSet(lsize, lsize + size) )
+				return true;
+			lsize = _size.get();
+		}
+		return false;
+	}
+	
+	/**
+	 * Evicts the oldest entry of the write buffer. Since the segments are
+	 * probed independently and without locks, the eviction order is 
+	 * approximately FIFO/LRU. The evicted entry is removed under the lock of
+	 * its segment but written to local FS outside the lock; concurrent reads
+	 * or deletes of this entry wait until the evicted file is written.
+	 * 
+	 * @return number of evicted entries, or -1 if all segments are empty
+	 * @throws IOException if IOException occurs
+	 */
+	private static int evictFirst() 
+		throws IOException
+	{
+		//select segment with oldest head entry
+		EvictionQueue queue = null;
+		long minSeq = Long.MAX_VALUE;
+		for( EvictionQueue tmp : _mQueue ) {
+			long seq = tmp.getFirstSequence();
+			if( seq < minSeq ) {
+				minSeq = seq;
+				queue = tmp;
+			}
+		}
+		if( queue == null )
+			return -1;
+		
+		//remove first entry from eviction queue
+		Entry<String, ByteBuffer> entry = null;
+		queue.lock();
+		try {
+			//probe for concurrent removal
+			if( queue.isEmpty() )
+				return 0;
+			entry = queue.removeFirst();
+			queue.beginEviction(entry.getKey(), entry.getValue());
+		}
+		finally {
+			queue.unlock();
+		}
+		
+		//evict matrix (outside the segment lock)
+		ByteBuffer tmp = entry.getValue();
+		try {
+			//wait for pending serialization
+			tmp.checkSerialized();
+			tmp.evictBuffer(entry.getKey());
+		}
+		finally {
+			queue.lock();
+			try {
+				tmp.freeMemory();
+				_size.addAndGet(-tmp.getSize());
+				queue.endEviction(entry.getKey());
+			}
+			finally {
+				queue.unlock();
+			}
+		}
+		return 1;
+	}
+	
 	/**
 	 * Print current status of buffer pool, including all entries.
 	 * NOTE: use only for debugging or testing.  
@@ -208,21 +394,25 @@ public class LazyWriteBuffer
 		System.out.println("WRITE BUFFER STATUS ("+position+") --");
 		
 		//print buffer meta data
+		int count = 0;
+		for( EvictionQueue queue : _mQueue )
+			count += queue.size();
 		System.out.println("\tWB: Buffer Meta Data: " +
 				     "limit="+_limit+", " +
-				     "size[bytes]="+_size+", " +
-				     "size[elements]="+_mQueue.size()+"/"+_mQueue.size());
+				     "size[bytes]="+_size.get()+", " +
+				     "size[elements]="+count+"/"+count+", " +
+				     "segments="+_mQueue.length);
 		
 		//print current buffer entries
-		int count = _mQueue.size();
-		for( Entry<String, ByteBuffer> entry : _mQueue.entrySet() )
-		{
-			String fname = entry.getKey();
-			ByteBuffer bbuff = entry.getValue();
-			
-			System.out.println("\tWB: buffer element ("+count+"): "+fname+", "+bbuff.getSize()+", "+bbuff.isShallow());
-			count--;
-		}
+		for( EvictionQueue queue : _mQueue )
+			for( Entry<String, ByteBuffer> entry : queue.entrySet() )
+			{
+				String fname = entry.getKey();
+				ByteBuffer bbuff = entry.getValue();
+				
+				System.out.println("\tWB: buffer element ("+count+"): "+fname+", "+bbuff.getSize()+", "+bbuff.isShallow());
+				count--;
+			}
 	}
 	
 	/**
@@ -235,35 +425,89 @@ public class LazyWriteBuffer
 		throws IOException 
 	{
 		//evict all matrices and frames
-		while( !_mQueue.isEmpty() )
-		{
-			//remove first entry from eviction queue
-			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
-			
-			if( tmp != null ) {
-				//wait for pending serialization
-				tmp.checkSerialized();
-				
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
-			}
-		}
+		while( evictFirst() >= 0 );
 	}
 	
 	/**
 	 * Extended LinkedHashMap with convenience methods for adding and removing 
-	 * last/first entries.
+	 * last/first entries, used as segment of the lock-striped eviction queue.
+	 * Lock acquisitions that need to wait are recorded as contention. The 
+	 * sequence of the first entry is maintained for lock-free probing, and
+	 * entries that are currently written to local FS are tracked as pending.
 	 * 
 	 */
 	private static class EvictionQueue extends LinkedHashMap<String, ByteBuffer>
 	{
 		private static final long serialVersionUID = -5208333402581364859L;
 		
+		private final ReentrantLock _lock = new ReentrantLock();
+		private final Condition _evicted = _lock.newCondition();
+		private final HashMap<String, ByteBuffer> _evicting = new HashMap<String, ByteBuffer>();
+		private volatile long _firstSeq = Long.MAX_VALUE;
+		
+		public void lock() {
+			//fast path w/o contention
+			if( _lock.tryLock() )
+				return;
+			
+			//wait for lock and record contention
+			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+			_lock.lock();
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementLockWaits(System.nanoTime()-t0);
+		}
+		
+		public void unlock() {
+			_lock.unlock();
+		}
+		
 		public void addLast( String fname, ByteBuffer bbuff ) {
 			//put entry into eviction queue w/ 'addLast' semantics
+			bbuff.setSequence(_seq.getAndIncrement());
 			put(fname, bbuff);
+			updateFirstSequence();
+		}
+		
+		@Override
+		public ByteBuffer remove( Object fname ) {
+			ByteBuffer ret = super.remove(fname);
+			updateFirstSequence();
+			return ret;
+		}
+		
+		@Override
+		public void clear() {
+			super.clear();
+			updateFirstSequence();
+		}
+		
+		public long getFirstSequence() {
+			//note: probed without lock
+			return _firstSeq;
+		}
+		
+		public void beginEviction( String fname, ByteBuffer bbuff ) {
+			_evicting.put(fname, bbuff);
+		}
+		
+		public void endEviction( String fname ) {
+			_evicting.remove(fname);
+			_evicted.signalAll();
+		}
+		
+		public void awaitEviction( String fname ) {
+			//note: requires the segment lock
+			boolean interrupted = false;
+			while( _evicting.containsKey(fname) ) {
+				try {
+					_evicted.await();
+				}
+				catch(InterruptedException ex) {
+					interrupted = true;
+				}
+			}
+			if( interrupted )
+				Thread.currentThread().interrupt();
 		}
 		
 		public Entry<String, ByteBuffer> removeFirst() 
@@ -274,9 +518,15 @@ public class LazyWriteBuffer
 			
 			//remove current iterator entry
 			iter.remove();
+			updateFirstSequence();
 			
 			return entry;
 		}
+		
+		private void updateFirstSequence() {
+			_firstSeq = isEmpty() ? Long.MAX_VALUE :
+				values().iterator().next().getSequence();
+		}
 	}
 	
 	/**
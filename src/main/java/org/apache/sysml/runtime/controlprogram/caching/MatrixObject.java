@@ -31,6 +31,7 @@ import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
@@ -64,7 +65,8 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	public enum UpdateType {
 		COPY,
 		INPLACE,
-		INPLACE_PINNED;
+		INPLACE_PINNED,
+		INPLACE_SHARED; //pinned, shared by parfor workers w/ disjoint writes
 		public boolean isInPlace() {
 			return (this != COPY);
 		}
@@ -79,6 +81,12 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	private int _partitionSize = -1; //indicates n for BLOCKWISE_N
 	private String _partitionCacheName = null; //name of cache block
 	private MatrixBlock _partitionInMemory = null;
+	
+	//indicates if the evicted cache block is compressed
+	private boolean _compressedBlob = false;
+	
+	//compression ratio of spark broadcasts, if known (-1 otherwise)
+	private double _bcCompressionRatio = -1;
 
 	/**
 	 * Constructor that takes the value type and the HDFS filename.
@@ -134,6 +142,14 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return _updateType;
 	}
 	
+	public void setBroadcastCompressionRatio(double ratio) {
+		_bcCompressionRatio = ratio;
+	}
+	
+	public double getBroadcastCompressionRatio() {
+		return _bcCompressionRatio;
+	}
+	
 	@Override
 	public void updateMatrixCharacteristics (MatrixCharacteristics mc) {
 		((MatrixDimensionsMetaData)_metaData).setMatrixCharacteristics( mc );
@@ -414,12 +430,23 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	@Override
 	protected boolean isBelowCachingThreshold() {
 		return super.isBelowCachingThreshold()
-			|| getUpdateType() == UpdateType.INPLACE_PINNED;
+			|| getUpdateType() == UpdateType.INPLACE_PINNED
+			|| getUpdateType() == UpdateType.INPLACE_SHARED;
+	}
+	
+	@Override
+	public synchronized void release() 
+		throws CacheException
+	{
+		//track compressed blocks for restore after eviction
+		if( _data != null )
+			_compressedBlob = (_data instanceof CompressedMatrixBlock);
+		super.release();
 	}
 	
 	@Override
 	protected MatrixBlock readBlobFromCache(String fname) throws IOException {
-		return (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
+		return (MatrixBlock)LazyWriteBuffer.readBlock(fname, true, _compressedBlob);
 	}
 	
 
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import org.apache.sysml.runtime.controlprogram.caching.OffHeapPagePool.PageInputStream;
+import org.apache.sysml.runtime.controlprogram.caching.OffHeapPagePool.PageOutputStream;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysml.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+
+/**
+ * Write buffer entry that holds the serialized cache block in pages of
+ * off-heap memory. In contrast to the heap-based byte buffer, dense blocks
+ * are always deep serialized in order to release the heap memory.
+ *
+ */
+public class OffHeapByteBuffer extends ByteBuffer
+{
+	private int[] _pages = null;
+	private long _len = -1; //actual serialized length
+
+	/**
+	 * Creates a byte buffer handle and allocates the off-heap pages
+	 * for the given serialized size in bytes.
+	 *
+	 * @param size serialized size in bytes
+	 */
+	public OffHeapByteBuffer( long size ) {
+		super(size);
+		_pages = OffHeapPagePool.allocatePages(size);
+	}
+
+	public boolean isAllocated() {
+		return (_pages != null);
+	}
+
+	@Override
+	public synchronized void serializeBlock( CacheBlock cb )
+		throws IOException
+	{
+		_shallow = false;
+		_matrix = (cb instanceof MatrixBlock);
+		_compressed = (cb instanceof CompressedMatrixBlock);
+		
+		//robustness for concurrent delete
+		if( _pages == null ) {
+			_serialized = true;
+			return;
+		}
+
+		PageOutputStream out = new PageOutputStream(_pages);
+		FastBufferedDataOutputStream dout = new FastBufferedDataOutputStream(
+			out, OffHeapPagePool.PAGE_SIZE);
+		try {
+			cb.write(dout);
+			dout.flush();
+			_len = out.getCount();
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed to serialize cache block.", ex);
+		}
+
+		_serialized = true;
+	}
+
+	/**
+	 * Deserializes the cache block from the off-heap pages. Since the pages
+	 * are reused after eviction, this call returns null if the buffer has
+	 * been concurrently evicted, in which case the caller falls back to
+	 * reading the evicted file.
+	 * 
+	 * @return cache block or null if already evicted
+	 * @throws IOException if IOException occurs
+	 */
+	@Override
+	public synchronized CacheBlock deserializeBlock()
+		throws IOException
+	{
+		if( _pages == null )
+			return null;
+		
+		PageInputStream in = new PageInputStream(_pages, _len);
+		DataInput din = _matrix ? new FastBufferedDataInputStream(in, OffHeapPagePool.PAGE_SIZE) :
+			new DataInputStream(new BufferedInputStream(in, OffHeapPagePool.PAGE_SIZE));
+		CacheBlock ret = createCacheBlock(_matrix, _compressed);
+		try {
+			ret.readFields(din);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+		return ret;
+	}
+
+	@Override
+	public void evictBuffer( String fname )
+		throws IOException
+	{
+		//write out byte serialized pages
+		LocalFileUtils.writeByteBuffersToLocal(fname,
+			OffHeapPagePool.getPages(_pages, _len));
+	}
+
+	/**
+	 * Returns the reserved buffer size in bytes, i.e., the
+	 * serialized size rounded up to a multiple of pages.
+	 *
+	 * @return buffer size in bytes
+	 */
+	@Override
+	public long getSize() {
+		return OffHeapPagePool.getReservedSize(_size);
+	}
+
+	@Override
+	public synchronized void freeMemory() {
+		//return pages to the page pool (exactly once)
+		if( _pages != null )
+			OffHeapPagePool.freePages(_pages);
+		_pages = null;
+	}
+}
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+/**
+ * Pool of fixed-size pages of direct (off-heap) memory, which backs the
+ * write buffer in off-heap mode. Memory is allocated lazily in large chunks
+ * up to the configured capacity and never returned to the JVM until cleanup,
+ * which avoids both heap pressure and the dependency on garbage collection
+ * for releasing direct memory. Evicted cache blocks are serialized into
+ * lists of pages, and freed pages are reused for subsequent evictions.
+ *
+ * NOTE: direct memory is bounded by -XX:MaxDirectMemorySize (by default
+ * equal to -Xmx), which needs to be set if the off-heap buffer exceeds it.
+ */
+public class OffHeapPagePool
+{
+	public static final int PAGE_SIZE = 64*1024; //64KB
+	public static final int CHUNK_SIZE = 64*1024*1024; //64MB
+	private static final int PAGES_PER_CHUNK = CHUNK_SIZE / PAGE_SIZE;
+
+	private static long _capacity = 0; //max number of pages
+	private static ArrayList<ByteBuffer> _chunks = null;
+	private static int[] _free = null; //stack of free page ids
+	private static int _numFree = 0;
+	private static int _numAlloc = 0; //number of allocated pages
+
+	public static synchronized void init( long capacity ) {
+		_capacity = capacity / PAGE_SIZE;
+		_chunks = new ArrayList<ByteBuffer>();
+		_free = new int[PAGES_PER_CHUNK];
+		_numFree = 0;
+		_numAlloc = 0;
+	}
+
+	public static synchronized void clear() {
+		//drop references to direct memory chunks
+		_chunks = null;
+		_free = null;
+		_numFree = 0;
+		_numAlloc = 0;
+	}
+
+	public static synchronized boolean isInitialized() {
+		return _chunks != null;
+	}
+
+	/**
+	 * Get the capacity of the page pool in bytes.
+	 *
+	 * @return capacity in bytes
+	 */
+	public static long getCapacity() {
+		return _capacity * PAGE_SIZE;
+	}
+
+	/**
+	 * Get the number of bytes reserved by the given number of
+	 * bytes, i.e., the size rounded up to a multiple of pages.
+	 *
+	 * @param size size in bytes
+	 * @return reserved size in bytes
+	 */
+	public static long getReservedSize( long size ) {
+		return getNumPages(size) * PAGE_SIZE;
+	}
+
+	public static long getNumPages( long size ) {
+		return Math.max((size + PAGE_SIZE - 1) / PAGE_SIZE, 1);
+	}
+
+	/**
+	 * Allocates the pages for the given size in bytes, either from the
+	 * free list or by allocating new chunks of direct memory.
+	 *
+	 * @param size size in bytes
+	 * @return array of page ids, or null if the capacity is exhausted
+	 */
+	public static synchronized int[] allocatePages( long size ) {
+		int numPages = (int)getNumPages(size);
+		if( _chunks == null || (long)_numFree + _capacity - _numAlloc < numPages )
+			return null;
+		int[] ret = new int[numPages];
+		for( int i=0; i<numPages; i++ ) {
+			if( _numFree == 0 && !allocateChunk() ) {
+				//robustness for failed direct memory allocation
+				freePages(ret, i);
+				return null;
+			}
+			ret[i] = _free[--_numFree];
+		}
+		return ret;
+	}
+
+	public static synchronized void freePages( int[] pages ) {
+		freePages(pages, pages.length);
+	}
+
+	private static void freePages( int[] pages, int len ) {
+		if( _chunks == null ) //after cleanup
+			return;
+		for( int i=0; i<len; i++ )
+			_free[_numFree++] = pages[i];
+	}
+
+	private static boolean allocateChunk() {
+		int numPages = (int)Math.min(PAGES_PER_CHUNK, _capacity - _numAlloc);
+		if( numPages <= 0 )
+			return false;
+		try {
+			_chunks.add(ByteBuffer.allocateDirect(numPages * PAGE_SIZE));
+		}
+		catch(OutOfMemoryError ex) {
+			//direct memory exhausted, cap capacity to allocated pages
+			_capacity = _numAlloc;
+			return false;
+		}
+		if( _free.length < _numAlloc + numPages ) {
+			int[] tmp = new int[Math.max(2*_free.length, _numAlloc + numPages)];
+			System.arraycopy(_free, 0, tmp, 0, _numFree);
+			_free = tmp;
+		}
+		for( int i=numPages-1; i>=0; i-- )
+			_free[_numFree++] = _numAlloc + i;
+		_numAlloc += numPages;
+		return true;
+	}
+
+	/**
+	 * Obtains a thread-local view of the given page with
+	 * position 0 and limit of the page size.
+	 *
+	 * @param pid page id
+	 * @return byte buffer view of the page
+	 */
+	private static synchronized ByteBuffer getPage( int pid ) {
+		ByteBuffer chunk = _chunks.get(pid / PAGES_PER_CHUNK);
+		ByteBuffer ret = chunk.duplicate();
+		int pos = (pid % PAGES_PER_CHUNK) * PAGE_SIZE;
+		ret.limit(pos + PAGE_SIZE);
+		ret.position(pos);
+		return ret.slice();
+	}
+
+	/**
+	 * Output stream for writing a byte sequence into the given list of pages,
+	 * which is used in combination with buffered data outputs.
+	 */
+	public static class PageOutputStream extends OutputStream
+	{
+		private final int[] _pages;
+		private ByteBuffer _curr = null;
+		private int _pix = -1;
+		private long _count = 0;
+
+		public PageOutputStream( int[] pages ) {
+			_pages = pages;
+		}
+
+		public long getCount() {
+			return _count;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			nextPageIfRequired();
+			_curr.put((byte)b);
+			_count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while( len > 0 ) {
+				nextPageIfRequired();
+				int lenp = Math.min(len, _curr.remaining());
+				_curr.put(b, off, lenp);
+				off += lenp;
+				len -= lenp;
+				_count += lenp;
+			}
+		}
+
+		private void nextPageIfRequired() throws IOException {
+			if( _curr == null || !_curr.hasRemaining() ) {
+				if( ++_pix >= _pages.length )
+					throw new IOException("Off-heap page overflow: "+_pages.length+" pages.");
+				_curr = getPage(_pages[_pix]);
+			}
+		}
+	}
+
+	/**
+	 * Input stream for reading a byte sequence of the given length
+	 * from the given list of pages.
+	 */
+	public static class PageInputStream extends InputStream
+	{
+		private final int[] _pages;
+		private long _remaining;
+		private ByteBuffer _curr = null;
+		private int _pix = -1;
+
+		public PageInputStream( int[] pages, long len ) {
+			_pages = pages;
+			_remaining = len;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if( _remaining <= 0 )
+				return -1;
+			nextPageIfRequired();
+			_remaining--;
+			return _curr.get() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if( _remaining <= 0 )
+				return -1;
+			nextPageIfRequired();
+			int lenp = (int)Math.min(Math.min(len, _curr.remaining()), _remaining);
+			_curr.get(b, off, lenp);
+			_remaining -= lenp;
+			return lenp;
+		}
+
+		@Override
+		public int available() {
+			return (int)Math.min(_remaining, Integer.MAX_VALUE);
+		}
+
+		private void nextPageIfRequired() {
+			if( _curr == null || !_curr.hasRemaining() )
+				_curr = getPage(_pages[++_pix]);
+		}
+	}
+
+	/**
+	 * Obtains views of the given pages for the given length in bytes,
+	 * which allows bulk writes via file channels.
+	 *
+	 * @param pages array of page ids
+	 * @param len length in bytes
+	 * @return array of byte buffer views
+	 */
+	public static ByteBuffer[] getPages( int[] pages, long len ) {
+		ByteBuffer[] ret = new ByteBuffer[pages.length];
+		for( int i=0; i<pages.length; i++ ) {
+			ret[i] = getPage(pages[i]);
+			ret[i].limit((int)Math.min(PAGE_SIZE, len - (long)i*PAGE_SIZE));
+		}
+		return ret;
+	}
+}
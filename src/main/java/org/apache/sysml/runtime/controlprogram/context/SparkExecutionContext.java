@@ -20,12 +20,18 @@
 package org.apache.sysml.runtime.controlprogram.context;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.log4j.Level;
@@ -41,10 +47,12 @@ import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.api.mlcontext.MLContext;
 import org.apache.sysml.api.mlcontext.MLContextUtil;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.Checkpoint;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
@@ -63,7 +71,10 @@ import org.apache.sysml.runtime.instructions.spark.functions.CopyTextInputFuncti
 import org.apache.sysml.runtime.instructions.spark.functions.CreateSparseBlockFunction;
 import org.apache.sysml.runtime.instructions.spark.utils.FrameRDDConverterUtils.LongFrameToLongWritableFrameFunction;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
+import org.apache.sysml.runtime.instructions.spark.utils.SparkKryoRegistrator;
 import org.apache.sysml.runtime.instructions.spark.utils.SparkUtils;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
@@ -91,6 +102,7 @@ public class SparkExecutionContext extends ExecutionContext
 	private static boolean ASYNCHRONOUS_VAR_DESTROY = true;
 
 	public static boolean FAIR_SCHEDULER_MODE = true;
+	public static boolean KRYO_SERIALIZATION = true;
 
 	//executor memory and relative fractions as obtained from the spark configuration
 	private static SparkClusterConfig _sconf = null;
@@ -261,6 +273,16 @@ public class SparkExecutionContext extends ExecutionContext
 			conf.set("spark.locality.wait", "5s");
 		}
 
+		//use kryo serialization w/ registered systemml types for shuffle, caching, and
+		//broadcasts, unless a serializer was explicitly configured (the max buffer size
+		//is increased because individual blocks and broadcast partitions can be large)
+		if( KRYO_SERIALIZATION && !conf.contains("spark.serializer") ) {
+			conf.set("spark.serializer", "org.apache.spark.serializer.KryoSerializer");
+			conf.set("spark.kryo.registrator", SparkKryoRegistrator.class.getName());
+			if( !conf.contains("spark.kryoserializer.buffer.max") ) //default 64m
+				conf.set("spark.kryoserializer.buffer.max", "2047m");
+		}
+
 		return conf;
 	}
 
@@ -341,7 +363,16 @@ public class SparkExecutionContext extends ExecutionContext
 			//return existing rdd handling (w/o input format change)
 			rdd = mo.getRDDHandle().getRDD();
 		}
-		//CASE 2: dirty in memory data or cached result of rdd operations
+		//CASE 2: local binary block file (see cp.binary.localformat), which is not 
+		//a sequence file and hence read via the CP reader and parallelized
+		else if( !mo.isDirty() && isLocalBinaryBlockFile(mo, inputInfo) )
+		{
+			MatrixBlock mb = mo.acquireRead(); //pin matrix in memory
+			rdd = toMatrixJavaPairRDD(sc, mb, (int)mo.getNumRowsPerBlock(), (int)mo.getNumColumnsPerBlock());
+			mo.release(); //unpin matrix
+			mo.setRDDHandle(new RDDObject(rdd, mo.getVarName()));
+		}
+		//CASE 3: dirty in memory data or cached result of rdd operations
 		else if( mo.isDirty() || mo.isCached(false) )
 		{
 			//get in-memory matrix block and parallelize it
@@ -368,7 +399,7 @@ public class SparkExecutionContext extends ExecutionContext
 			rddhandle.setHDFSFile(fromFile);
 			mo.setRDDHandle(rddhandle);
 		}
-		//CASE 3: non-dirty (file exists on HDFS)
+		//CASE 4: non-dirty (file exists on HDFS)
 		else
 		{
 			// parallelize hdfs-resident file
@@ -400,6 +431,21 @@ public class SparkExecutionContext extends ExecutionContext
 		return rdd;
 	}
 
+	private static boolean isLocalBinaryBlockFile(MatrixObject mo, InputInfo inputInfo)
+		throws DMLRuntimeException
+	{
+		if( inputInfo != InputInfo.BinaryBlockInputInfo || mo.getFileName() == null )
+			return false;
+		try {
+			Path path = new Path(mo.getFileName());
+			return ReaderBinaryBlock.isLocalBinaryBlock(
+				IOUtilFunctions.getFileSystem(path), path);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	/**
 	 * FIXME: currently this implementation assumes matrix representations but frame signature
 	 * in order to support the old transform implementation.
@@ -534,6 +580,17 @@ public class SparkExecutionContext extends ExecutionContext
 			PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<MatrixBlock>(mb, brlen, bclen);
 			mo.release();
 
+			//compress partitioned blocks if beneficial, and keep the compression ratio
+			//for size estimates of subsequent broadcast decisions during recompilation
+			long size = OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getMatrixCharacteristics());
+			if( isCompressedBroadcast() ) {
+				double usize = pmb.getInMemorySize();
+				double ratio = pmb.compressBlocks(OptimizerUtils.getConstrainedNumThreads(-1)) ?
+					Math.min(pmb.getInMemorySize() / usize, 1) : 1;
+				mo.setBroadcastCompressionRatio(ratio);
+				size = (long) (ratio * size);
+			}
+
 			//determine coarse-grained partitioning
 			int numPerPart = PartitionedBroadcast.computeBlocksPerPartition(mo.getNumRows(), mo.getNumColumns(), brlen, bclen);
 			int numParts = (int) Math.ceil((double)pmb.getNumRowBlocks()*pmb.getNumColumnBlocks() / numPerPart);
@@ -553,8 +610,7 @@ public class SparkExecutionContext extends ExecutionContext
 			}
 
 			bret = new PartitionedBroadcast<MatrixBlock>(ret);
-			BroadcastObject<MatrixBlock> bchandle = new BroadcastObject<MatrixBlock>(bret, varname,
-					OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getMatrixCharacteristics()));
+			BroadcastObject<MatrixBlock> bchandle = new BroadcastObject<MatrixBlock>(bret, varname, size);
 			mo.setBroadcastHandle(bchandle);
 			CacheableData.addBroadcastSize(bchandle.getSize());
 		}
@@ -567,6 +623,73 @@ public class SparkExecutionContext extends ExecutionContext
 		return bret;
 	}
 
+	/**
+	 * Indicates if matrix broadcasts are compressed, if beneficial.
+	 *
+	 * @return true if compressed broadcasts are enabled
+	 */
+	public static boolean isCompressedBroadcast() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		return conf != null && conf.getBooleanValue(DMLConfig.COMPRESSED_BROADCAST);
+	}
+
+	/**
+	 * Obtains the size of a compressed broadcast of the given matrix object, which is
+	 * based on the compression ratio of a previous broadcast or - if the matrix does not
+	 * fit uncompressed into the broadcast budget - the compression ratio of a sample
+	 * block of the in-memory matrix.
+	 *
+	 * @param mo matrix object
+	 * @return size of compressed broadcast, or -1 if unknown
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static double getCompressedBroadcastSize( MatrixObject mo )
+		throws DMLRuntimeException
+	{
+		MatrixCharacteristics mc = mo.getMatrixCharacteristics();
+		if( !isCompressedBroadcast() || !mc.dimsKnown(true) )
+			return OptimizerUtils.INVALID_SIZE;
+
+		//estimate compression ratio of in-memory matrices (once per matrix object)
+		long size = OptimizerUtils.estimatePartitionedSizeExactSparsity(mc);
+		if( mo.getBroadcastCompressionRatio() < 0 && mo.isCached(true)
+			&& size >= getBroadcastMemoryBudget() && 2*size < OptimizerUtils.getLocalMemBudget() )
+		{
+			mo.setBroadcastCompressionRatio(estimateBroadcastCompressionRatio(mo));
+		}
+
+		double ratio = mo.getBroadcastCompressionRatio();
+		return (ratio >= 0) ? ratio * size : OptimizerUtils.INVALID_SIZE;
+	}
+
+	private static double estimateBroadcastCompressionRatio( MatrixObject mo )
+		throws DMLRuntimeException
+	{
+		MatrixBlock mb = mo.acquireRead();
+		try
+		{
+			//reuse compression ratio of compressed matrices
+			if( mb instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)mb).isCompressed() ) {
+				double usize = MatrixBlock.estimateSizeInMemory(mb.getNumRows(),
+					mb.getNumColumns(), OptimizerUtils.getSparsity(mb.getNumRows(), mb.getNumColumns(), mb.getNonZeros()));
+				return Math.min(mb.getInMemorySize() / usize, 1);
+			}
+
+			//compress first block as representative sample
+			MatrixBlock blk = mb.sliceOperations(0, Math.min((int)mo.getNumRowsPerBlock(), mb.getNumRows())-1,
+				0, Math.min((int)mo.getNumColumnsPerBlock(), mb.getNumColumns())-1, new MatrixBlock());
+			if( blk.isEmptyBlock(false) )
+				return 1;
+			double usize = blk.getInMemorySize();
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(blk);
+			cmb.compress(OptimizerUtils.getConstrainedNumThreads(-1));
+			return Math.min(cmb.getInMemorySize() / usize, 1);
+		}
+		finally {
+			mo.release();
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	public PartitionedBroadcast<FrameBlock> getBroadcastForFrameVariable( String varname)
 		throws DMLRuntimeException
@@ -806,39 +929,53 @@ public class SparkExecutionContext extends ExecutionContext
 
 			List<Tuple2<MatrixIndexes,MatrixBlock>> list = rdd.collect();
 
-			//copy blocks one-at-a-time into output matrix block
-			long aNnz = 0;
-			for( Tuple2<MatrixIndexes,MatrixBlock> keyval : list )
-			{
-				//unpack index-block pair
-				MatrixIndexes ix = keyval._1();
-				MatrixBlock block = keyval._2();
-
-				//compute row/column block offsets
-				int row_offset = (int)(ix.getRowIndex()-1)*brlen;
-				int col_offset = (int)(ix.getColumnIndex()-1)*bclen;
-				int rows = block.getNumRows();
-				int cols = block.getNumColumns();
+			//assign blocks to tasks of disjoint output regions (round-robin for dense
+			//outputs, and row block ranges for sparse outputs as rows span column blocks)
+			int k = Math.max(Math.min(OptimizerUtils.getParallelBinaryReadParallelism(), list.size()), 1);
+			int nrb = (int)Math.ceil((double)rlen/brlen);
+			int blklen = (int)Math.ceil((double)nrb/k);
+			int ntasks = sparse ? (int)Math.ceil((double)nrb/blklen) : k;
+			boolean sort = sparse && clen>bclen;
+			ArrayList<CollectBlocksTask> tasks = new ArrayList<CollectBlocksTask>();
+			for( int i=0; i<ntasks; i++ )
+				tasks.add(new CollectBlocksTask(out, brlen, bclen, sort,
+					i*blklen*brlen, Math.min((i+1)*blklen*brlen, rlen)));
+			int pos = 0;
+			for( Tuple2<MatrixIndexes,MatrixBlock> keyval : list ) {
+				int tix = sparse ? (int)(keyval._1().getRowIndex()-1)/blklen : pos++ % ntasks;
+				tasks.get(tix).addBlock(keyval);
+			}
+			list = null; //blocks only referenced by tasks
 
-				//append block
-				if( sparse ) { //SPARSE OUTPUT
-					//append block to sparse target in order to avoid shifting, where
-					//we use a shallow row copy in case of MCSR and single column blocks
-					//note: this append requires, for multiple column blocks, a final sort
-					out.appendToSparse(block, row_offset, col_offset, clen>bclen);
+			//copy blocks into output matrix block (in parallel for multiple tasks,
+			//where blocks are released one-at-a-time once copied into the output)
+			long aNnz = 0;
+			try {
+				if( tasks.size() == 1 ) {
+					aNnz = tasks.get(0).call();
 				}
-				else { //DENSE OUTPUT
-					out.copy( row_offset, row_offset+rows-1,
-							  col_offset, col_offset+cols-1, block, false );
+				else {
+					//pre-allocate output to avoid concurrent allocation
+					if( sparse )
+						out.allocateSparseRowsBlock();
+					else
+						out.allocateDenseBlock();
+					ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+					try {
+						List<Future<Long>> rt = pool.invokeAll(tasks);
+						for( Future<Long> task : rt )
+							aNnz += task.get();
+					}
+					finally {
+						pool.shutdown();
+					}
 				}
-
-				//incremental maintenance nnz
-				aNnz += block.getNonZeros();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
 			}
 
 			//post-processing output matrix
-			if( sparse && clen>bclen )
-				out.sortSparseRows();
 			out.setNonZeros(aNnz);
 			out.examSparsity();
 		}
@@ -1372,6 +1509,78 @@ public class SparkExecutionContext extends ExecutionContext
 		}
 	}
 
+	/**
+	 * Task for copying a subset of collected blocks into disjoint regions of
+	 * the (pre-allocated) output matrix block, including the sort of sparse rows
+	 * in its row range if required. Blocks are released once they are copied.
+	 */
+	private static class CollectBlocksTask implements Callable<Long>
+	{
+		private final MatrixBlock _out;
+		private final int _brlen;
+		private final int _bclen;
+		private final boolean _sort;
+		private final int _rl;
+		private final int _ru;
+		private final ArrayList<Tuple2<MatrixIndexes,MatrixBlock>> _blocks;
+
+		public CollectBlocksTask(MatrixBlock out, int brlen, int bclen, boolean sort, int rl, int ru) {
+			_out = out;
+			_brlen = brlen;
+			_bclen = bclen;
+			_sort = sort;
+			_rl = rl;
+			_ru = ru;
+			_blocks = new ArrayList<Tuple2<MatrixIndexes,MatrixBlock>>();
+		}
+
+		public void addBlock(Tuple2<MatrixIndexes,MatrixBlock> keyval) {
+			_blocks.add(keyval);
+		}
+
+		@Override
+		public Long call() throws DMLRuntimeException
+		{
+			//copy blocks one-at-a-time into output matrix block
+			long aNnz = 0;
+			boolean sparse = _out.isInSparseFormat();
+			for( int i=0; i<_blocks.size(); i++ )
+			{
+				//unpack index-block pair (and release reference)
+				MatrixIndexes ix = _blocks.get(i)._1();
+				MatrixBlock block = _blocks.get(i)._2();
+				_blocks.set(i, null);
+
+				//compute row/column block offsets
+				int row_offset = (int)(ix.getRowIndex()-1)*_brlen;
+				int col_offset = (int)(ix.getColumnIndex()-1)*_bclen;
+				int rows = block.getNumRows();
+				int cols = block.getNumColumns();
+
+				//append block
+				if( sparse ) { //SPARSE OUTPUT
+					//append block to sparse target in order to avoid shifting, where
+					//we use a shallow row copy in case of MCSR and single column blocks
+					//note: this append requires, for multiple column blocks, a final sort
+					_out.appendToSparse(block, row_offset, col_offset, _sort);
+				}
+				else { //DENSE OUTPUT
+					_out.copy( row_offset, row_offset+rows-1,
+							  col_offset, col_offset+cols-1, block, false );
+				}
+
+				//incremental maintenance nnz
+				aNnz += block.getNonZeros();
+			}
+
+			//sort sparse rows of the task's row range
+			if( _sort )
+				_out.sortSparseRows(_rl, _ru);
+
+			return aNnz;
+		}
+	}
+
 	/**
 	 * Captures relevant spark cluster configuration properties, e.g., memory budgets and
 	 * degree of parallelism. This configuration abstracts legacy (< Spark 1.6) and current
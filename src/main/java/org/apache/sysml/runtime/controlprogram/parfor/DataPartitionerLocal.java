@@ -49,6 +49,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.controlprogram.parfor.util.StagingFileUtils;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
 import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -123,10 +124,23 @@ public class DataPartitionerLocal extends DataPartitioner
 			partitionBinaryCell( fname, fnameStaging, fnameNew, rlen, clen, brlen, bclen );
 		else if( ii == InputInfo.BinaryBlockInputInfo )
 		{
+			//convert local binary block files into sequence files
+			String fnameInput = LocalFileUtils.getUniqueWorkingDir( LocalFileUtils.CATEGORY_PARTITIONING );
+			try {
+				Path path = new Path(fname);
+				FileSystem fs = IOUtilFunctions.getFileSystem(path, ConfigurationManager.getCachedJobConf());
+				fname = ReaderBinaryBlock.getSequenceFileInput(fs, path, fnameInput, brlen, bclen).toString();
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException(ex);
+			}
+			
 			if( oi == OutputInfo.BinaryBlockOutputInfo )
 				partitionBinaryBlock( fname, fnameStaging, fnameNew, rlen, clen, brlen, bclen );
 			else if ( oi == OutputInfo.BinaryCellOutputInfo )
 				partitionBinaryBlock2BinaryCell( fname, fnameStaging, fnameNew, rlen, clen, brlen, bclen );
+			
+			LocalFileUtils.cleanupWorkingDirectory(fnameInput);
 		}
 		else	
 			throw new DMLRuntimeException("Cannot create data partitions of format: "+ii.toString());
@@ -48,6 +48,10 @@ public class LocalParWorker extends ParWorker implements Runnable
 	protected boolean   _stopped     = false;
 	protected int 		_max_retry   = -1;
 	
+	//busy (task execution) and idle (task queue) time in nanoseconds
+	protected long      _busyTime    = 0;
+	protected long      _idleTime    = 0;
+	
 	public LocalParWorker( long ID, LocalTaskQueue<Task> q, ParForBody body, CompilerConfig cconf, int max_retry, boolean monitor )	
 	{
 		super(ID, body, monitor);
@@ -67,6 +71,25 @@ public class LocalParWorker extends ParWorker implements Runnable
 		return _fnNames;
 	}
 	
+	/**
+	 * Returns the time spent executing tasks, in milliseconds.
+	 * 
+	 * @return busy time in ms
+	 */
+	public long getBusyTime() {
+		return _busyTime / 1000000;
+	}
+	
+	/**
+	 * Returns the time spent waiting for tasks (including work stealing), 
+	 * in milliseconds.
+	 * 
+	 * @return idle time in ms
+	 */
+	public long getIdleTime() {
+		return _idleTime / 1000000;
+	}
+	
 	@Override
 	public void run() 
 	{
@@ -94,9 +117,11 @@ public class LocalParWorker extends ParWorker implements Runnable
 		while( !_stopped ) 
 		{
 			//dequeue the next task (abort on NO_MORE_TASKS or error)
+			long t0 = System.nanoTime();
 			try
 			{
 				lTask = _taskQueue.dequeueTask();
+				_idleTime += System.nanoTime() - t0;
 				
 				if( lTask == LocalTaskQueue.NO_MORE_TASKS ) // task queue closed (no more tasks)
 					break; //normal end of parallel worker
@@ -112,6 +137,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 			//execute the task sequentially (re-try on error)
 			boolean success = false;
 			int retrys = _max_retry;
+			long t1 = System.nanoTime();
 			
 			while( !success )
 			{
@@ -137,6 +163,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 					}
 				}
 			}
+			_busyTime += System.nanoTime() - t1;
 		}	
 
 		//setup fair scheduler pool for worker thread
@@ -150,6 +177,8 @@ public class LocalParWorker extends ParWorker implements Runnable
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMTASKS, _numTasks);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMITERS, _numIters);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_EXEC_T, time1.stop());
+			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_BUSY_T, getBusyTime());
+			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_IDLE_T, getIdleTime());
 		}
 	}
 }
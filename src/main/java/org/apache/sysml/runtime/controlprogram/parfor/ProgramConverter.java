@@ -176,7 +176,13 @@ public class ProgramConverter
 			if( dat instanceof MatrixObject && ((MatrixObject)dat).getUpdateType().isInPlace() ) {
 				MatrixObject mo = (MatrixObject)dat;
 				MatrixObject moNew = new MatrixObject(mo); 
-				if( mo.getNnz() != 0 ){
+				if( mo.getUpdateType() == UpdateType.INPLACE_SHARED ) {
+					//shared result w/ disjoint writes: own matrix object per worker 
+					//but all workers update the same (pre-allocated) matrix block
+					moNew.acquireModify(mo.acquireRead());
+					mo.release();
+				}
+				else if( mo.getNnz() != 0 ){
 					// If output matrix is not empty (NNZ != 0), then local copy is created so that 
 					// update in place operation can be applied.
 					MatrixBlock mbVar = mo.acquireRead();
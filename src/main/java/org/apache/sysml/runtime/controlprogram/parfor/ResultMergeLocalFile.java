@@ -51,6 +51,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.controlprogram.parfor.util.StagingFileUtils;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
 import org.apache.sysml.runtime.matrix.data.IJV;
@@ -468,7 +469,7 @@ public class ResultMergeLocalFile extends ResultMerge
 
 	@SuppressWarnings("deprecation")
 	private void createBinaryBlockStagingFile( String fnameStaging, MatrixObject mo ) 
-		throws IOException
+		throws IOException, DMLRuntimeException
 	{		
 		MatrixIndexes key = new MatrixIndexes(); 
 		MatrixBlock value = new MatrixBlock();
@@ -477,6 +478,12 @@ public class ResultMergeLocalFile extends ResultMerge
 		Path tmpPath = new Path(mo.getFileName());
 		FileSystem fs = IOUtilFunctions.getFileSystem(tmpPath, tmpJob);
 		
+		//convert local binary block files into sequence files
+		MatrixCharacteristics mc = mo.getMatrixCharacteristics();
+		String fnameInput = LocalFileUtils.getUniqueWorkingDir(LocalFileUtils.CATEGORY_RESULTMERGE);
+		tmpPath = ReaderBinaryBlock.getSequenceFileInput(fs, tmpPath, 
+			fnameInput, mc.getRowsPerBlock(), mc.getColsPerBlock());
+		
 		for(Path lpath : MatrixReader.getSequenceFilePaths(fs, tmpPath))
 		{
 			SequenceFile.Reader reader = new SequenceFile.Reader(fs,lpath,tmpJob);
@@ -497,6 +504,8 @@ public class ResultMergeLocalFile extends ResultMerge
 				IOUtilFunctions.closeSilently(reader);
 			}
 		}
+		
+		LocalFileUtils.cleanupWorkingDirectory(fnameInput);
 	}
 
 	private void createTextCellStagingFile( String fnameStaging, MatrixObject mo, long ID ) 
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.ArrayList;
+
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Local realization of result merge for shared results, i.e., results whose
+ * writes are disjoint across iterations and hence were directly updated in-place 
+ * by all local workers in a single pre-allocated dense matrix block. Accordingly, 
+ * there is nothing to merge; this class only finalizes the shared block (non-zeros,
+ * sparse/dense representation) and creates the new output matrix object. Worker 
+ * results that no longer reference the shared block (e.g., due to reassignment of
+ * the result variable) are merged into the finalized output via in-memory merge.
+ * 
+ */
+public class ResultMergeLocalShared extends ResultMerge
+{
+	private final MatrixBlock _shared;
+	
+	public ResultMergeLocalShared( MatrixObject out, MatrixObject[] in, String outputFilename, MatrixBlock shared )
+	{
+		super( out, in, outputFilename );
+		_shared = shared;
+	}
+	
+	/**
+	 * Creates the shared dense output block for the given result variable, which 
+	 * is initialized with a copy of the existing data. Since concurrent workers 
+	 * do not maintain the number of non-zeros, the block is conservatively marked 
+	 * as fully dense (and thus never considered empty) until finalized.
+	 * 
+	 * @param mo result matrix object
+	 * @return shared dense matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock createSharedBlock( MatrixObject mo ) 
+		throws DMLRuntimeException
+	{
+		int rlen = (int) mo.getNumRows();
+		int clen = (int) mo.getNumColumns();
+		MatrixBlock ret = new MatrixBlock(rlen, clen, false);
+		if( mo.getNnz() != 0 ) {
+			MatrixBlock mb = mo.acquireRead();
+			ret.copy(mb, false);
+			mo.release();
+		}
+		ret.allocateDenseBlock(false);
+		ret.setNonZeros((long)rlen * clen);
+		return ret;
+	}
+	
+	@Override
+	public MatrixObject executeSerialMerge() 
+		throws DMLRuntimeException
+	{
+		LOG.trace("ResultMerge (local, shared): Finalize shared output "+_output.getVarName()+" (fname="+_output.getFileName()+")");
+		
+		//finalize shared block (after all workers finished)
+		_shared.recomputeNonZeros();
+		_shared.examSparsity();
+		
+		//create new output matrix object (w/ deep copy of metadata)
+		String varName = _output.getVarName();
+		MatrixFormatMetaData metadata = (MatrixFormatMetaData) _output.getMetaData();
+		MatrixObject moNew = new MatrixObject( _output.getValueType(), _outputFName );
+		moNew.setVarName( varName.contains(NAME_SUFFIX) ? varName : varName+NAME_SUFFIX );
+		moNew.setDataType( DataType.MATRIX );
+		MatrixCharacteristics mcOld = metadata.getMatrixCharacteristics();
+		MatrixCharacteristics mc = new MatrixCharacteristics(mcOld.getRows(), mcOld.getCols(),
+			mcOld.getRowsPerBlock(), mcOld.getColsPerBlock(), _shared.getNonZeros());
+		moNew.setMetaData( new MatrixFormatMetaData(mc, metadata.getOutputInfo(), metadata.getInputInfo()) );
+		moNew.acquireModify( _shared );
+		moNew.release();
+		
+		//merge worker results that diverged from the shared block
+		ArrayList<MatrixObject> diverged = new ArrayList<MatrixObject>();
+		for( MatrixObject in : _inputs )
+			if( in != null && !isSharedBlock(in) )
+				diverged.add(in);
+		if( !diverged.isEmpty() ) {
+			LOG.warn("ResultMerge (local, shared): "+diverged.size()+" worker results of "
+				+ varName+" do not reference the shared output, fallback to in-memory merge.");
+			moNew = new ResultMergeLocalMemory(moNew, diverged.toArray(new MatrixObject[0]), 
+				_outputFName).executeSerialMerge();
+		}
+		
+		return moNew;
+	}
+	
+	private boolean isSharedBlock( MatrixObject in ) 
+		throws DMLRuntimeException
+	{
+		//note: shared results are pinned, hence no read from the buffer pool
+		if( in.getUpdateType() != UpdateType.INPLACE_SHARED )
+			return false;
+		boolean ret = (in.acquireRead() == _shared);
+		in.release();
+		return ret;
+	}
+	
+	@Override
+	public MatrixObject executeParallelMerge( int par ) 
+		throws DMLRuntimeException
+	{
+		//no merge required, finalization is a single pass
+		return executeSerialMerge();
+	}
+}
@@ -29,7 +29,7 @@ import org.apache.sysml.runtime.instructions.cp.IntObject;
  * the loop specification (FROM, TO, INCR), the index variable and the task size. Furthermore, it declares two
  * prototypes: (1) full task creation, (2) streaming task creation.
  * 
- * Known implementation classes: TaskPartitionerFixedsize, TaskPartitionerFactoring
+ * Known implementation classes: TaskPartitionerFixedsize, TaskPartitionerFactoring, TaskPartitionerWorkStealing
  * 
  */
 public abstract class TaskPartitioner 
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+
+/**
+ * This work-stealing task partitioner creates one contiguous range task per 
+ * parallel worker (similar to static partitioning). In local execution, these 
+ * range tasks are assigned to the per-worker deques of a {@link WorkStealingTaskQueue},
+ * which adaptively splits them at runtime for dynamic load balance. Note that the 
+ * task size is used as minimum size of split tasks. In remote execution, the 
+ * created tasks are equivalent to static partitioning.
+ * 
+ */
+public class TaskPartitionerWorkStealing extends TaskPartitioner
+{
+	private int _numThreads = -1;
+	
+	public TaskPartitionerWorkStealing( long taskSize, int numThreads, String iterVarName, IntObject fromVal, IntObject toVal, IntObject incrVal ) 
+	{
+		super(taskSize, iterVarName, fromVal, toVal, incrVal);
+		
+		_numThreads = Math.max(numThreads, 1);
+	}
+
+	@Override
+	public List<Task> createTasks() 
+		throws DMLRuntimeException 
+	{
+		LinkedList<Task> tasks = new LinkedList<Task>();
+		
+		long lFrom  = _fromVal.getLongValue();
+		long lTo    = _toVal.getLongValue();
+		long lIncr  = _incrVal.getLongValue();
+		
+		long K = _numIter / _numThreads;        // iterations per worker
+		long firstnPlus1 = _numIter % _numThreads; // workers w/ one additional iteration
+		
+		for( long i = lFrom, j = 0; i<=lTo; j++ )
+		{
+			long lK = K + ((j < firstnPlus1) ? 1 : 0);
+			long to = Math.min( i+(lK-1)*lIncr, lTo );
+			
+			//create range task for logical processor j
+			Task lTask = new Task( TaskType.RANGE );
+			lTask.addIteration(new IntObject(_iterVarName, i));	    //from
+			lTask.addIteration(new IntObject(_iterVarName, to));    //to
+			lTask.addIteration(new IntObject(_iterVarName, lIncr));	//increment
+			tasks.addLast(lTask);
+			
+			i = to + lIncr;
+		}
+		
+		return tasks;
+	}
+
+	@Override
+	public long createTasks(LocalTaskQueue<Task> queue) 
+		throws DMLRuntimeException 
+	{
+		long numCreatedTasks = 0;
+		
+		try
+		{
+			//put tasks into queue (round-robin over deques)
+			for( Task lTask : createTasks() ) {
+				queue.enqueueTask( lTask );
+				numCreatedTasks++;
+			}
+			
+			// mark end of task input stream
+			queue.closeInput();
+		}
+		catch(Exception ex)
+		{
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return numCreatedTasks;
+	}
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+
+/**
+ * Task queue for local parfor workers that uses a separate deque per worker
+ * instead of a single shared FIFO queue. Each worker takes tasks from the front 
+ * of its own deque and, once it runs empty, steals from the back of the other 
+ * workers' deques. This avoids contention on a single monitor and allows for good 
+ * load balance even with a coarse initial (static) assignment of iterations.
+ * 
+ * Range tasks are split adaptively: the owner takes half of the remaining 
+ * iterations of its current range task (similar to factoring), while a thief takes 
+ * the upper half of the range task at the back of the victim's deque. Ranges are 
+ * never split below the given minimum task size. Set tasks are never split.
+ * 
+ * Workers obtain their individual view via {@link #getWorkerQueue(int)}, which 
+ * can be used wherever a {@link LocalTaskQueue} is expected.
+ * 
+ */
+public class WorkStealingTaskQueue extends LocalTaskQueue<Task>
+{
+	private final ArrayDeque<Task>[] _deques;
+	private final long _minTaskSize;
+	private final AtomicInteger _pos = new AtomicInteger(0);
+	private final LongAdder _numSplits = new LongAdder();
+	private final LongAdder _numSteals = new LongAdder();
+	private volatile boolean _closedInput = false;
+	
+	@SuppressWarnings("unchecked")
+	public WorkStealingTaskQueue(int numWorkers, long minTaskSize) {
+		_deques = new ArrayDeque[Math.max(numWorkers, 1)];
+		for( int i=0; i<_deques.length; i++ )
+			_deques[i] = new ArrayDeque<Task>();
+		_minTaskSize = Math.max(minTaskSize, 1);
+	}
+	
+	/**
+	 * Returns the view of this queue for the worker at the given position,
+	 * whose dequeue prefers the worker's own deque.
+	 * 
+	 * @param pos worker position in [0, numWorkers)
+	 * @return task queue of the worker
+	 */
+	public LocalTaskQueue<Task> getWorkerQueue(int pos) {
+		return new WorkerQueue(pos);
+	}
+	
+	public int getNumWorkers() {
+		return _deques.length;
+	}
+	
+	/**
+	 * Returns the number of additional tasks that were created by splitting
+	 * range tasks, i.e., the number of executed tasks is the number of 
+	 * enqueued tasks plus the number of splits.
+	 * 
+	 * @return number of splits
+	 */
+	public long getNumSplits() {
+		return _numSplits.longValue();
+	}
+	
+	public long getNumSteals() {
+		return _numSteals.longValue();
+	}
+	
+	/**
+	 * Inserts a new task at the end of the next deque (round-robin).
+	 * 
+	 * @param t task
+	 */
+	@Override
+	public void enqueueTask( Task t ) {
+		ArrayDeque<Task> deque = _deques[_pos.getAndIncrement() % _deques.length];
+		synchronized( deque ) {
+			deque.addLast(t);
+		}
+		synchronized( this ) {
+			notifyAll(); //notify waiting readers
+		}
+	}
+	
+	/**
+	 * Reads a task from any of the deques, which is used by readers 
+	 * that are not bound to a particular worker.
+	 * 
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	public Task dequeueTask() 
+		throws InterruptedException
+	{
+		return dequeueTask(-1);
+	}
+	
+	/**
+	 * Reads a task for the worker at the given position. If the worker's own deque
+	 * is empty, the worker tries to steal from all other deques. If all deques are
+	 * empty, the worker waits for writers or returns NO_MORE_TASKS if the input 
+	 * has been closed. Since tasks are only moved between deques under the deque 
+	 * locks, empty deques after closed input guarantee that no tasks are left.
+	 * 
+	 * @param pos worker position, or -1 if not bound to a worker
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	public Task dequeueTask( int pos ) 
+		throws InterruptedException
+	{
+		while( true ) 
+		{
+			Task t = (pos >= 0) ? pollLocal(_deques[pos]) : null;
+			if( t == null )
+				t = steal(pos);
+			if( t != null )
+				return t;
+			
+			synchronized( this ) {
+				if( !isEmpty() )
+					continue;
+				if( _closedInput )
+					return (Task)NO_MORE_TASKS;
+				wait(); // wait for writers
+			}
+		}
+	}
+	
+	@Override
+	public synchronized void closeInput() {
+		_closedInput = true;
+		notifyAll(); //notify all waiting readers
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("WORK STEALING TASK QUEUE (workers=");
+		sb.append(_deques.length);
+		sb.append(",close=");
+		sb.append(_closedInput);
+		sb.append(",splits=");
+		sb.append(getNumSplits());
+		sb.append(",steals=");
+		sb.append(getNumSteals());
+		sb.append(")\n");
+		for( int i=0; i<_deques.length; i++ ) {
+			synchronized( _deques[i] ) {
+				sb.append("  DEQUE #");
+				sb.append(i);
+				sb.append(": ");
+				sb.append(_deques[i].size());
+				sb.append(" tasks\n");
+			}
+		}
+		return sb.toString();
+	}
+	
+	private boolean isEmpty() {
+		for( ArrayDeque<Task> deque : _deques )
+			synchronized( deque ) {
+				if( !deque.isEmpty() )
+					return false;
+			}
+		return true;
+	}
+	
+	private Task pollLocal( ArrayDeque<Task> deque ) {
+		synchronized( deque ) {
+			Task t = deque.peekFirst();
+			if( t == null )
+				return null;
+			long n = getRangeSize(t);
+			if( n >= 2*_minTaskSize ) {
+				//take the lower half of the range, keep the rest
+				long k = Math.max((n+1)/2, _minTaskSize);
+				return splitRange(t, k, true);
+			}
+			return deque.removeFirst();
+		}
+	}
+	
+	private Task steal( int pos ) {
+		//probe all other deques, starting at the right neighbor
+		int len = _deques.length;
+		for( int i=(pos >= 0) ? 1 : 0; i<len; i++ ) {
+			ArrayDeque<Task> deque = _deques[(Math.max(pos, 0) + i) % len];
+			synchronized( deque ) {
+				Task t = deque.peekLast();
+				if( t == null )
+					continue;
+				if( pos >= 0 )
+					_numSteals.increment();
+				long n = getRangeSize(t);
+				if( n >= 2*_minTaskSize ) {
+					//take the upper half of the range, leave the rest
+					return splitRange(t, n/2, false);
+				}
+				return deque.removeLast();
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Splits k iterations off the given range task, either from its lower
+	 * or upper end, and modifies the range task in place.
+	 * 
+	 * @param t range task (modified in place)
+	 * @param k number of iterations of the new task
+	 * @param lower true if the iterations are taken from the lower end
+	 * @return new range task
+	 */
+	private Task splitRange( Task t, long k, boolean lower ) {
+		List<IntObject> it = t.getIterations();
+		String name = it.get(0).getName();
+		long from = it.get(0).getLongValue();
+		long to = it.get(1).getLongValue();
+		long incr = it.get(2).getLongValue();
+		
+		Task ret = new Task(TaskType.RANGE);
+		if( lower ) {
+			long mid = from + (k-1)*incr;
+			ret.addIteration(new IntObject(name, from));
+			ret.addIteration(new IntObject(name, mid));
+			it.set(0, new IntObject(name, mid + incr));
+		}
+		else {
+			long mid = from + (getRangeSize(t)-k)*incr;
+			ret.addIteration(new IntObject(name, mid));
+			ret.addIteration(new IntObject(name, to));
+			it.set(1, new IntObject(name, mid - incr));
+		}
+		ret.addIteration(new IntObject(name, incr));
+		_numSplits.increment();
+		
+		return ret;
+	}
+	
+	private static long getRangeSize( Task t ) {
+		if( t.getType() != TaskType.RANGE )
+			return 1;
+		List<IntObject> it = t.getIterations();
+		long from = it.get(0).getLongValue();
+		long to = it.get(1).getLongValue();
+		long incr = it.get(2).getLongValue();
+		return (to - from) / incr + 1;
+	}
+	
+	private class WorkerQueue extends LocalTaskQueue<Task>
+	{
+		private final int _wpos;
+		
+		public WorkerQueue( int pos ) {
+			_wpos = pos;
+		}
+		
+		@Override
+		public void enqueueTask( Task t ) {
+			WorkStealingTaskQueue.this.enqueueTask(t);
+		}
+		
+		@Override
+		public Task dequeueTask() 
+			throws InterruptedException 
+		{
+			return WorkStealingTaskQueue.this.dequeueTask(_wpos);
+		}
+		
+		@Override
+		public void closeInput() {
+			WorkStealingTaskQueue.this.closeInput();
+		}
+		
+		@Override
+		public String toString() {
+			return "WORKER QUEUE (pos="+_wpos+") of "+WorkStealingTaskQueue.this.toString();
+		}
+	}
+}
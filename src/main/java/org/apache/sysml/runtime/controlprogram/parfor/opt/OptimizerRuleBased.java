@@ -159,6 +159,7 @@ public class OptimizerRuleBased extends Optimizer
 	public static final String FUNCTION_UNFOLD_NAMEPREFIX = "__unfold_";
 	
 	public static final boolean APPLY_REWRITE_UPDATE_INPLACE_INTERMEDIATE = true;
+	public static final boolean APPLY_REWRITE_UPDATE_INPLACE_SHARED = true;
 	
 	public static final double PAR_K_FACTOR        = OptimizationWrapper.PAR_FACTOR_INFRASTRUCTURE; 
 	public static final double PAR_K_MR_FACTOR     = 1.0 * OptimizationWrapper.PAR_FACTOR_INFRASTRUCTURE; 
@@ -1323,6 +1324,14 @@ public class OptimizerRuleBased extends Optimizer
 		LOG.debug(getOptMode()+" OPT: rewrite 'set degree of parallelism' - result=(see EXPLAIN)" );
 	}
 
+	private static boolean isMultiThreadedBuiltinCall(OptNode n) {
+		//multi-threaded multi-return builtin functions (e.g., eigen)
+		if( n.getNodeType() != NodeType.FUNCCALL )
+			return false;
+		Hop h = OptTreeConverter.getAbstractPlanMapping().getMappedHop(n.getID());
+		return h instanceof FunctionOp && ((FunctionOp)h).isMultiThreadedOpType();
+	}
+
 	protected void rAssignRemainingParallelism(OptNode n, int parforK, int opsK) 
 		throws DMLRuntimeException
 	{		
@@ -1353,7 +1362,7 @@ public class OptimizerRuleBased extends Optimizer
 					int remainOpsK = Math.max(opsK / tmpK, 1);
 					rAssignRemainingParallelism(c, remainParforK, remainOpsK);
 				}
-				else if( c.getNodeType() == NodeType.HOP )
+				else if( c.getNodeType() == NodeType.HOP || isMultiThreadedBuiltinCall(c) )
 				{
 					//set degree of parallelism for multi-threaded leaf nodes
 					Hop h = OptTreeConverter.getAbstractPlanMapping().getMappedHop(c.getID());
@@ -1362,8 +1371,8 @@ public class OptimizerRuleBased extends Optimizer
 						&& !( h instanceof ParameterizedBuiltinOp //only paramop-grpagg
 							 && !HopRewriteUtils.isValidOp(((ParameterizedBuiltinOp)h).getOp(), 
 								ParamBuiltinOp.GROUPEDAGG, ParamBuiltinOp.REXPAND))
-						&& !( h instanceof UnaryOp //only unaryop-cumulativeagg
-							 && !((UnaryOp)h).isCumulativeUnaryOperation() )
+						&& !( h instanceof UnaryOp //only unaryop-cumulativeagg/decomp
+							 && !((UnaryOp)h).isMultiThreadedOpType() )
 						&& !( h instanceof ReorgOp //only reorgop-transpose
 							 && ((ReorgOp)h).getOp() != ReOrgOp.TRANSPOSE ))
 					{
@@ -1432,6 +1441,13 @@ public class OptimizerRuleBased extends Optimizer
 			//preaggregate results (less write / less read by result merge)
 			setTaskPartitioner( pn, PTaskPartitioner.STATIC );
 		}
+		else if( pn.getExecType()==ExecType.CP && !pn.hasOnlySimpleChilds() && _N/4 >= pn.getK() )
+		{
+			//for local parfor with loops, branches, or function calls in the body, we
+			//expect skewed iteration costs and hence use work stealing over per-worker 
+			//deques, which adaptively splits ranges w/o contention on a shared queue
+			setTaskPartitioner( pn, PTaskPartitioner.WORK_STEALING );
+		}
 		else if( _N/4 >= pn.getK() ) //to prevent imbalance due to ceiling
 		{
 			setTaskPartitioner( pn, PTaskPartitioner.FACTORING );
@@ -1739,6 +1755,10 @@ public class OptimizerRuleBased extends Optimizer
 					((MatrixObject)dat).setUpdateType(UpdateType.INPLACE_PINNED);
 			}
 			inPlaceResultVars.addAll(retVars);
+			
+			//shared result update for local parfor w/ disjoint writes
+			if( APPLY_REWRITE_UPDATE_INPLACE_SHARED )
+				rewriteSetSharedResultUpdate(pn, pfpb, retVars, vars);
 
 			if(APPLY_REWRITE_UPDATE_INPLACE_INTERMEDIATE)
 			{
@@ -1806,6 +1826,35 @@ public class OptimizerRuleBased extends Optimizer
 		          apply+" ("+ProgramConverter.serializeStringCollection(inPlaceResultVars)+", M="+toMB(totalMem)+")" );	
 	}
 	
+	/**
+	 * Marks in-place result variables as shared if the parfor is executed locally
+	 * and the loop dependency analysis proved that all writes to the result variable
+	 * are disjoint across iterations. All local workers then directly update a single 
+	 * pre-allocated dense output, which avoids per-worker copies and result merge. 
+	 * Note that the in-place rewrite already accounts for dense results per worker.
+	 * 
+	 * @param pn parfor opt node
+	 * @param pfpb parfor program block
+	 * @param retVars result variables
+	 * @param vars local variable map
+	 */
+	protected void rewriteSetSharedResultUpdate(OptNode pn, ParForProgramBlock pfpb, ArrayList<String> retVars, LocalVariableMap vars)
+	{
+		ParForStatementBlock pfsb = (ParForStatementBlock) pfpb.getStatementBlock();
+		if( pfpb.getExecMode() != PExecMode.LOCAL || pfsb == null )
+			return;
+		
+		HashSet<String> sharedVars = new HashSet<String>();
+		for( String var : retVars )
+			if( vars.get(var) instanceof MatrixObject && pfsb.isDisjointResultVariable(var) )
+				sharedVars.add(var);
+		pfpb.setSharedResultVariables(sharedVars);
+		
+		_numEvaluatedPlans++;
+		LOG.debug(getOptMode()+" OPT: rewrite 'set shared result update' - result="+
+			ProgramConverter.serializeStringCollection(sharedVars) );
+	}
+	
 	/* 
 	 * Algorithm: isUpdateInPlaceApplicable()
 	 *
@@ -3109,7 +3158,8 @@ public class OptimizerRuleBased extends Optimizer
 			case STATIC:           W = N / k; break;
 			case FACTORING:
 			case FACTORING_CMIN:
-			case FACTORING_CMAX:   W = k * (long)(Math.log(((double)N)/k)/Math.log(2.0)); break;
+			case FACTORING_CMAX:
+			case WORK_STEALING:    W = k * (long)(Math.log(((double)N)/k)/Math.log(2.0)); break;
 			default:               W = N; break; //N as worst case estimate
 		}
 		
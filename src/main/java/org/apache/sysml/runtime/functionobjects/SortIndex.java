@@ -34,7 +34,7 @@ public class SortIndex extends IndexFunction
 {
 	private static final long serialVersionUID = -8446389232078905200L;
 
-	private int     _col        = -1;
+	private int[]   _cols       = null;
 	private boolean _decreasing = false;
 	private boolean _ixreturn   = false;
 	
@@ -43,9 +43,14 @@ public class SortIndex extends IndexFunction
 	}
 
 	public static SortIndex getSortIndexFnObject(int col, boolean decreasing, boolean indexreturn) 
+	{
+		return getSortIndexFnObject(new int[]{col}, decreasing, indexreturn);
+	}
+	
+	public static SortIndex getSortIndexFnObject(int[] cols, boolean decreasing, boolean indexreturn) 
 	{
 		SortIndex ix = new SortIndex();
-		ix._col = col;
+		ix._cols = cols;
 		ix._decreasing = decreasing;
 		ix._ixreturn = indexreturn;
 		
@@ -53,7 +58,11 @@ public class SortIndex extends IndexFunction
 	}
 
 	public int getCol() {
-		return _col;
+		return _cols[0];
+	}
+	
+	public int[] getCols() {
+		return _cols;
 	}
 	
 	public boolean getDecreasing() {
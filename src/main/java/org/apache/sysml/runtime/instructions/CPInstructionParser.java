@@ -408,8 +408,8 @@ public class CPInstructionParser extends InstructionParser
 					if ( parts.length == 3 ) {
 						// B=log(A), y=log(x)
 						return BuiltinUnaryCPInstruction.parseInstruction(str);
-					} else if ( parts.length == 4 ) {
-						// B=log(A,10), y=log(x,10)
+					} else if ( parts.length == 4 || parts.length == 5 ) {
+						// B=log(A,10), y=log(x,10), incl optional num threads
 						return BuiltinBinaryCPInstruction.parseInstruction(str);
 					}
 				}
@@ -40,6 +40,7 @@ public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		int k = parseNumThreads(str);
 		
 		checkOutputDataType(in1, in2, out);
 		
@@ -50,8 +51,8 @@ public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction
 		if( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR ) 
 			return new ScalarScalarArithmeticCPInstruction(operator, in1, in2, out, opcode, str);
 		else if( in1.getDataType() == DataType.MATRIX && in2.getDataType() == DataType.MATRIX )
-			return new MatrixMatrixArithmeticCPInstruction(operator, in1, in2, out, opcode, str);
+			return new MatrixMatrixArithmeticCPInstruction(operator, in1, in2, out, opcode, str, k);
 		else
-			return new ScalarMatrixArithmeticCPInstruction(operator, in1, in2, out, opcode, str);	
+			return new ScalarMatrixArithmeticCPInstruction(operator, in1, in2, out, opcode, str, k);	
 	}
 }
@@ -27,6 +27,8 @@ import org.apache.sysml.runtime.matrix.operators.Operator;
 
 public abstract class BinaryCPInstruction extends ComputationCPInstruction
 {
+	//degree of parallelism for matrix operations
+	protected int _numThreads = 1;
 	
 	public BinaryCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand out, 
 			String opcode, String istr ){
@@ -38,11 +40,16 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction
 		super(op, in1, in2, in3, out, opcode, istr);
 	}
 
+	@Override
+	public int getNumThreads() {
+		return Math.max(_numThreads, super.getNumThreads());
+	}
+
 	protected static String parseBinaryInstruction(String instr, CPOperand in1, CPOperand in2, CPOperand out)
 		throws DMLRuntimeException
 	{	
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(instr);
-		InstructionUtils.checkNumFields ( parts, 3 );
+		InstructionUtils.checkNumFields ( parts, 3, 4 );
 		
 		String opcode = parts[0];
 		in1.split(parts[1]);
@@ -52,6 +59,18 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction
 		return opcode;
 	}
 	
+	/**
+	 * Parses the optional degree of parallelism of matrix-scalar and
+	 * matrix-matrix operations, which is appended as last field.
+	 * 
+	 * @param instr instruction string
+	 * @return degree of parallelism (1 if not specified)
+	 */
+	protected static int parseNumThreads(String instr) {
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(instr);
+		return (parts.length == 5) ? Integer.parseInt(parts[4]) : 1;
+	}
+	
 	protected static String parseBinaryInstruction(String instr, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out)
 		throws DMLRuntimeException
 	{
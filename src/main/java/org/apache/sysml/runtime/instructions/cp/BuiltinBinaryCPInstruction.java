@@ -49,6 +49,7 @@ public abstract class BuiltinBinaryCPInstruction extends BinaryCPInstruction
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		int k = parseNumThreads(str);
 
 		checkOutputDataType(in1, in2, out);
 		
@@ -58,8 +59,8 @@ public abstract class BuiltinBinaryCPInstruction extends BinaryCPInstruction
 		if ( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR )
 			return new ScalarScalarBuiltinCPInstruction(new BinaryOperator(func), in1, in2, out, opcode, str);
 		else if ( in1.getDataType() == DataType.MATRIX && in2.getDataType() == DataType.MATRIX )
-			return new MatrixMatrixBuiltinCPInstruction(new BinaryOperator(func), in1, in2, out, opcode, str);	
+			return new MatrixMatrixBuiltinCPInstruction(new BinaryOperator(func), in1, in2, out, opcode, str, k);	
 		else 
-			return new MatrixScalarBuiltinCPInstruction(new RightScalarOperator(func, 0), in1, in2, out, opcode, str);
+			return new MatrixScalarBuiltinCPInstruction(new RightScalarOperator(func, 0), in1, in2, out, opcode, str, k);
 	}
 }
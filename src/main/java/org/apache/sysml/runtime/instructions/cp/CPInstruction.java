@@ -24,7 +24,12 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.CPInstructionParser;
 import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateTernaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysml.runtime.matrix.operators.Operator;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 public abstract class CPInstruction extends Instruction 
@@ -60,6 +65,26 @@ public abstract class CPInstruction extends Instruction
 		return _cptype;
 	}
 	
+	/**
+	 * Obtains the degree of parallelism of this instruction, which is
+	 * used for thread budgeting of concurrently executed instructions.
+	 * 
+	 * @return number of threads
+	 */
+	public int getNumThreads() {
+		if( _optr instanceof AggregateBinaryOperator )
+			return ((AggregateBinaryOperator)_optr).getNumThreads();
+		else if( _optr instanceof AggregateTernaryOperator )
+			return ((AggregateTernaryOperator)_optr).getNumThreads();
+		else if( _optr instanceof AggregateUnaryOperator )
+			return ((AggregateUnaryOperator)_optr).getNumThreads();
+		else if( _optr instanceof ReorgOperator )
+			return ((ReorgOperator)_optr).getNumThreads();
+		else if( _optr instanceof UnaryOperator )
+			return ((UnaryOperator)_optr).getNumThreads();
+		return 1;
+	}
+	
 	@Override
 	public boolean requiresLabelUpdate()
 	{
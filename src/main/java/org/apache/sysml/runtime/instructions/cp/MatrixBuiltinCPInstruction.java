@@ -42,7 +42,8 @@ public class MatrixBuiltinCPInstruction extends BuiltinUnaryCPInstruction
 		
 		String opcode = getOpcode();
 		if(LibCommonsMath.isSupportedUnaryOperation(opcode)) {
-			MatrixBlock retBlock = LibCommonsMath.unaryOperations(ec.getMatrixObject(input1.getName()),getOpcode());
+			MatrixBlock retBlock = LibCommonsMath.unaryOperations(
+				ec.getMatrixObject(input1.getName()), getOpcode(), u_op.getNumThreads());
 			ec.setMatrixOutput(output_name, retBlock);
 		}
 		else {
@@ -108,8 +108,10 @@ public final class MatrixIndexingCPInstruction extends IndexingCPInstruction
 			ec.releaseMatrixInput(input1.getName());
 			
 			//ensure correct sparse/dense output representation
-			//(memory guarded by release of input)
-			resultBlock.examSparsity();
+			//(memory guarded by release of input, except for shared in-place 
+			//results whose representation is fixed during parfor execution)
+			if( updateType != UpdateType.INPLACE_SHARED )
+				resultBlock.examSparsity();
 			
 			//unpin output
 			ec.setMatrixOutput(output.getName(), resultBlock, updateType);
@@ -34,8 +34,10 @@ public class MatrixMatrixArithmeticCPInstruction extends ArithmeticBinaryCPInstr
 											   CPOperand in2, 
 											   CPOperand out, 
 											   String opcode,
-											   String istr){
+											   String istr,
+											   int k){
 		super(op, in1, in2, out, opcode, istr);
+		_numThreads = k;
 	}
 	
 	@Override
@@ -48,7 +50,7 @@ public class MatrixMatrixArithmeticCPInstruction extends ArithmeticBinaryCPInstr
 		
 		// Perform computation using input matrices, and produce the result matrix
 		BinaryOperator bop = (BinaryOperator) _optr;
-		MatrixBlock retBlock = (MatrixBlock) (inBlock1.binaryOperations (bop, inBlock2, new MatrixBlock()));
+		MatrixBlock retBlock = (MatrixBlock) (inBlock1.binaryOperations(bop, inBlock2, new MatrixBlock(), _numThreads));
 		
 		// Release the memory occupied by input matrices
 		ec.releaseMatrixInput(input1.getName());
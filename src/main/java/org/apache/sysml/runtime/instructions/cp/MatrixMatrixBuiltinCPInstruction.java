@@ -36,8 +36,10 @@ public class MatrixMatrixBuiltinCPInstruction extends BuiltinBinaryCPInstruction
 											   CPOperand in2, 
 											   CPOperand out, 
 											   String opcode,
-											   String istr){
+											   String istr,
+											   int k){
 		super(op, in1, in2, out, 2, opcode, istr);
+		_numThreads = k;
 	}
 	
 	@Override
@@ -47,7 +49,7 @@ public class MatrixMatrixBuiltinCPInstruction extends BuiltinBinaryCPInstruction
 		String opcode = getOpcode();
         
         if ( LibCommonsMath.isSupportedMatrixMatrixOperation(opcode) ) {
-        	MatrixBlock solution = LibCommonsMath.matrixMatrixOperations(ec.getMatrixObject(input1.getName()), (MatrixObject)ec.getVariable(input2.getName()), opcode);
+        	MatrixBlock solution = LibCommonsMath.matrixMatrixOperations(ec.getMatrixObject(input1.getName()), (MatrixObject)ec.getVariable(input2.getName()), opcode, _numThreads);
     		ec.setMatrixOutput(output.getName(), solution);
         	return;
         }
@@ -59,7 +61,7 @@ public class MatrixMatrixBuiltinCPInstruction extends BuiltinBinaryCPInstruction
 		MatrixBlock inBlock1 = ec.getMatrixInput(input1.getName());
 		MatrixBlock inBlock2 = ec.getMatrixInput(input2.getName());
 		
-		MatrixBlock retBlock = (MatrixBlock) inBlock1.binaryOperations(bop, inBlock2, new MatrixBlock());
+		MatrixBlock retBlock = (MatrixBlock) inBlock1.binaryOperations(bop, inBlock2, new MatrixBlock(), _numThreads);
 	
 		ec.releaseMatrixInput(input1.getName());
 		ec.releaseMatrixInput(input2.getName());
@@ -34,8 +34,10 @@ public class MatrixMatrixRelationalCPInstruction extends RelationalBinaryCPInstr
 											   CPOperand in2, 
 											   CPOperand out,
 											   String opcode,
-											   String istr){
+											   String istr,
+											   int k){
 		super(op, in1, in2, out, opcode, istr);
+		_numThreads = k;
 	}
 
 	@Override
@@ -48,7 +50,7 @@ public class MatrixMatrixRelationalCPInstruction extends RelationalBinaryCPInstr
 		String output_name = output.getName();
 		BinaryOperator bop = (BinaryOperator) _optr;
 		
-		MatrixBlock retBlock = (MatrixBlock) inBlock1.binaryOperations(bop, inBlock2, new MatrixBlock());
+		MatrixBlock retBlock = (MatrixBlock) inBlock1.binaryOperations(bop, inBlock2, new MatrixBlock(), _numThreads);
 
 		ec.releaseMatrixInput(input1.getName());
 		ec.releaseMatrixInput(input2.getName());
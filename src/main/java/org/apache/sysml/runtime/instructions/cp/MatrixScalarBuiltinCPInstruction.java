@@ -35,8 +35,10 @@ public class MatrixScalarBuiltinCPInstruction extends BuiltinBinaryCPInstruction
 											CPOperand in2,
 											CPOperand out,
 											String opcode,
-											String instr){
+											String instr,
+											int k){
 		super(op, in1, in2, out, 2, opcode, instr);
+		_numThreads = k;
 	}
 	
 	@Override 
@@ -52,7 +54,7 @@ public class MatrixScalarBuiltinCPInstruction extends BuiltinBinaryCPInstruction
 		ScalarOperator sc_op = (ScalarOperator)	_optr;
 		sc_op.setConstant(constant.getDoubleValue());
 		
-		MatrixBlock retBlock = (MatrixBlock) inBlock.scalarOperations(sc_op, new MatrixBlock());
+		MatrixBlock retBlock = (MatrixBlock) inBlock.scalarOperations(sc_op, new MatrixBlock(), _numThreads);
 
 		ec.releaseMatrixInput(mat.getName());
 		
@@ -37,12 +37,14 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 	
 	int arity;
 	protected ArrayList<CPOperand> _outputs;
+	private final int _numThreads;
 	
-	public MultiReturnBuiltinCPInstruction(Operator op, CPOperand input1, ArrayList<CPOperand> outputs, String opcode, String istr )
+	public MultiReturnBuiltinCPInstruction(Operator op, CPOperand input1, ArrayList<CPOperand> outputs, String opcode, String istr, int k )
 	{
 		super(op, input1, null, outputs.get(0), opcode, istr);
 		_cptype = CPINSTRUCTION_TYPE.MultiReturnBuiltin;
 		_outputs = outputs;
+		_numThreads = k;
 	}
 
 	public int getArity() {
@@ -67,8 +69,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 			CPOperand in1 = new CPOperand(parts[1]);
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = Integer.parseInt(parts[4]);
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 		}
 		else if ( opcode.equalsIgnoreCase("lu") ) {
 			CPOperand in1 = new CPOperand(parts[1]);
@@ -77,8 +80,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[4], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = Integer.parseInt(parts[5]);
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 			
 		}
 		else if ( opcode.equalsIgnoreCase("eigen") ) {
@@ -86,8 +90,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 			CPOperand in1 = new CPOperand(parts[1]);
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = Integer.parseInt(parts[4]);
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 			
 		}
 		else {
@@ -96,6 +101,11 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 
 	}
 
+	@Override
+	public int getNumThreads() {
+		return _numThreads;
+	}
+	
 	@Override 
 	public void processInstruction(ExecutionContext ec) 
 		throws DMLRuntimeException 
@@ -104,8 +114,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 		MatrixObject mo = ec.getMatrixObject(input1.getName());
 		MatrixBlock[] out = null;
 		
-		if(LibCommonsMath.isSupportedMultiReturnOperation(opcode))
-			out = LibCommonsMath.multiReturnOperations(mo, opcode);
+		if(LibCommonsMath.isSupportedMultiReturnOperation(opcode)) {
+			out = LibCommonsMath.multiReturnOperations(mo, opcode, _numThreads);
+		}
 		else 
 			throw new DMLRuntimeException("Invalid opcode in MultiReturnBuiltin instruction: " + opcode);
 
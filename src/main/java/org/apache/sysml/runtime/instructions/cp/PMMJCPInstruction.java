@@ -55,6 +55,11 @@ public class PMMJCPInstruction extends ComputationCPInstruction
 			return new PMMJCPInstruction(new Operator(true), in1, in2, in3, out, k, opcode, str);
 	}
 	
+	@Override
+	public int getNumThreads() {
+		return _numThreads;
+	}
+	
 	@Override
 	public void processInstruction(ExecutionContext ec)
 		throws DMLRuntimeException 
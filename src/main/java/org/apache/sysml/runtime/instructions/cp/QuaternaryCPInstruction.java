@@ -103,6 +103,11 @@ public class QuaternaryCPInstruction extends ComputationCPInstruction
 	}
 
 	
+	@Override
+	public int getNumThreads() {
+		return _numThreads;
+	}
+	
 	@Override
 	public void processInstruction(ExecutionContext ec) 
 		throws DMLRuntimeException
@@ -34,11 +34,12 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 	}
 	
 	public static RelationalBinaryCPInstruction parseInstruction ( String str ) throws DMLRuntimeException {
-		InstructionUtils.checkNumFields (str, 3);
+		InstructionUtils.checkNumFields (str, 3, 4);
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		int k = parseNumThreads(str);
 		
 		checkOutputDataType(in1, in2, out);
 		
@@ -49,8 +50,8 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 		if ( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR )
 			return new ScalarScalarRelationalCPInstruction(operator, in1, in2, out, opcode, str);
 		else if ( in1.getDataType() == DataType.MATRIX && in2.getDataType() == DataType.MATRIX )
-			return new MatrixMatrixRelationalCPInstruction(operator, in1, in2, out, opcode, str);
+			return new MatrixMatrixRelationalCPInstruction(operator, in1, in2, out, opcode, str, k);
 		else
-			return new ScalarMatrixRelationalCPInstruction(operator, in1, in2, out, opcode, str);
+			return new ScalarMatrixRelationalCPInstruction(operator, in1, in2, out, opcode, str, k);
 	}
 }
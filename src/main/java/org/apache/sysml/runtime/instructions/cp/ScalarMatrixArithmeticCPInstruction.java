@@ -35,8 +35,10 @@ public class ScalarMatrixArithmeticCPInstruction extends ArithmeticBinaryCPInstr
 											   CPOperand in2, 
 											   CPOperand out, 
 											   String opcode,
-											   String istr){
+											   String istr,
+											   int k){
 		super(op, in1, in2, out, opcode, istr);
+		_numThreads = k;
 	}
 	
 	@Override
@@ -52,7 +54,7 @@ public class ScalarMatrixArithmeticCPInstruction extends ArithmeticBinaryCPInstr
 		ScalarOperator sc_op = (ScalarOperator) _optr;
 		sc_op.setConstant(constant.getDoubleValue());
 		
-		MatrixBlock retBlock = (MatrixBlock) inBlock.scalarOperations(sc_op, new MatrixBlock());
+		MatrixBlock retBlock = (MatrixBlock) inBlock.scalarOperations(sc_op, new MatrixBlock(), _numThreads);
 		
 		ec.releaseMatrixInput(mat.getName());
 		
@@ -26,6 +26,9 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.lops.UnaryCP;
 import org.apache.sysml.parser.Expression.DataType;
@@ -48,6 +51,7 @@ import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
 import org.apache.sysml.runtime.matrix.MetaData;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.FileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FileFormatProperties.FileFormat;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -770,9 +774,15 @@ public class VariableCPInstruction extends CPInstruction
 			else if (outFmt.equalsIgnoreCase("csv") )
 				writeCSVFile(ec, fname);
 			else {
-				// Default behavior
+				// Default behavior (w/ optional local binary block format)
 				MatrixObject mo = ec.getMatrixObject(input1.getName());
-				mo.exportData(fname, outFmt, _formatProperties);
+				FileFormatProperties fprop = _formatProperties;
+				if( outFmt.equalsIgnoreCase("binary") && DMLScript.rtplatform == RUNTIME_PLATFORM.SINGLE_NODE
+					&& ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CP_BINARY_LOCALFORMAT) ) {
+					fprop = new FileFormatProperties(FileFormat.LOCAL);
+					fprop.setDescription(desc);
+				}
+				mo.exportData(fname, outFmt, fprop);
 			}
 		}
 		else if( input1.getDataType() == DataType.FRAME ) {
@@ -58,6 +58,7 @@ import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.cp.ParameterizedBuiltinCPInstruction;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.io.MatrixReader;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
 import org.apache.sysml.runtime.io.MatrixWriter;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
@@ -180,7 +181,7 @@ public class ParameterizedBuiltinCPFileInstruction extends ParameterizedBuiltinC
 				else if( ii == InputInfo.BinaryCellInputInfo )
 					createBinaryCellStagingFile( fnameOld, stagingDir );
 				else if( ii == InputInfo.BinaryBlockInputInfo )
-					diagBlocks = createBinaryBlockStagingFile( fnameOld, stagingDir );
+					diagBlocks = createBinaryBlockStagingFile( fnameOld, stagingDir, mc.getRowsPerBlock(), mc.getColsPerBlock() );
 				
 				//System.out.println("Executed phase 1 in "+time.stop());
 				
@@ -373,7 +374,7 @@ public class ParameterizedBuiltinCPFileInstruction extends ParameterizedBuiltinC
 		 * @throws DMLRuntimeException if DMLRuntimeException occurs
 		 */
 		@SuppressWarnings("deprecation")
-		public boolean createBinaryBlockStagingFile( String fnameOld, String stagingDir ) 
+		public boolean createBinaryBlockStagingFile( String fnameOld, String stagingDir, int brlen, int bclen ) 
 			throws IOException, DMLRuntimeException
 		{
 			//prepare input
@@ -383,6 +384,10 @@ public class ParameterizedBuiltinCPFileInstruction extends ParameterizedBuiltinC
 			if( !fs.exists(path) )	
 				throw new IOException("File "+fnameOld+" does not exist on HDFS.");
 			
+			//convert local binary block files into sequence files
+			String fnameInput = LocalFileUtils.getUniqueWorkingDir(LocalFileUtils.CATEGORY_WORK);
+			path = ReaderBinaryBlock.getSequenceFileInput(fs, path, fnameInput, brlen, bclen);
+			
 			MatrixIndexes key = new MatrixIndexes(); 
 			MatrixBlock value = new MatrixBlock();
 			boolean diagBlocks = true;
@@ -408,6 +413,8 @@ public class ParameterizedBuiltinCPFileInstruction extends ParameterizedBuiltinC
 				}
 			}
 			
+			LocalFileUtils.cleanupWorkingDirectory(fnameInput);
+			
 			return diagBlocks;
 		}
 
@@ -759,7 +759,7 @@ public class GPUObject {
 			}
 		}
 		else {
-			double[] data = tmp.getDenseBlock();
+			double[] data = tmp.getDenseBlockValues();
 
 			if( data == null && tmp.getSparseBlock() != null )
 				throw new DMLRuntimeException("Incorrect sparsity calculation");
@@ -798,7 +798,7 @@ public class GPUObject {
 			if (DMLScript.STATISTICS) start = System.nanoTime();
 			MatrixBlock tmp = new MatrixBlock(toIntExact(mat.getNumRows()), toIntExact(mat.getNumColumns()), false);
 			tmp.allocateDenseBlock();
-			double [] data = tmp.getDenseBlock();
+			double [] data = tmp.getDenseBlockValues();
 
 			cudaMemcpy(Pointer.to(data), getJcudaDenseMatrixPtr(), getDoubleSizeOf(data.length), cudaMemcpyDeviceToHost);
 
@@ -27,12 +27,15 @@ import java.io.ObjectInput;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlockFactory;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OperationsOnMatrixValues;
 import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.util.FastBufferedDataInputStream;
@@ -45,6 +48,12 @@ import org.apache.sysml.runtime.util.IndexRange;
  * per task would create instance-local copies and hence replicate broadcast 
  * variables which are shared by all tasks within an executor.  
  * 
+ * Matrix blocks might be held in compressed form (see {@link #compressBlocks(int)}),
+ * in which case they are transparently decompressed on block access. Decompressed
+ * blocks are cached per partition via soft references, which avoids repeated
+ * decompression by tasks of the same executor but allows reclaiming them under
+ * memory pressure.
+ * 
  */
 public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 {
@@ -55,6 +64,9 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 	protected int _bclen = -1;
 	protected int _offset = 0;
 	
+	//cache of decompressed blocks, allocated on demand
+	private transient volatile SoftReference<MatrixBlock>[] _decompBlocks = null;
+	
 	public PartitionedBlock() {
 		//do nothing (required for Externalizable)
 	}
@@ -160,7 +172,39 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		int rix = rowIndex - 1;
 		int cix = colIndex - 1;
 		int ix = rix*ncblks+cix - _offset;
-		return (T)_partBlocks[ix];
+		CacheBlock ret = _partBlocks[ix];
+		
+		//decompress compressed blocks, which are not supported as 
+		//general-purpose inputs of all matrix block operations
+		if( ret instanceof CompressedMatrixBlock 
+			&& ((CompressedMatrixBlock)ret).isCompressed() )
+			ret = getDecompressedBlock(ix);
+		
+		return (T)ret;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private MatrixBlock getDecompressedBlock(int ix) 
+		throws DMLRuntimeException
+	{
+		//allocate cache on demand (shared by all tasks of an executor)
+		SoftReference<MatrixBlock>[] cache = _decompBlocks;
+		if( cache == null ) {
+			synchronized( this ) {
+				if( _decompBlocks == null )
+					_decompBlocks = new SoftReference[_partBlocks.length];
+				cache = _decompBlocks;
+			}
+		}
+		
+		//probe cache and decompress on miss (concurrent misses are benign)
+		SoftReference<MatrixBlock> ref = cache[ix];
+		MatrixBlock ret = (ref != null) ? ref.get() : null;
+		if( ret == null ) {
+			ret = ((CompressedMatrixBlock)_partBlocks[ix]).decompress();
+			cache[ix] = new SoftReference<MatrixBlock>(ret);
+		}
+		return ret;
 	}
 
 	public void setBlock(int rowIndex, int colIndex, T block) 
@@ -177,9 +221,49 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		int rix = rowIndex - 1;
 		int cix = colIndex - 1;
 		int ix = rix*ncblks+cix - _offset;
-		_partBlocks[ ix ] = block;	
+		_partBlocks[ ix ] = block;
+		if( _decompBlocks != null )
+			_decompBlocks[ ix ] = null;
 	}
 
+	/**
+	 * Compresses all matrix blocks for which the compressed representation 
+	 * is smaller than the uncompressed block, and keeps all other blocks 
+	 * as they are. Frame blocks are never compressed.
+	 * 
+	 * @param k degree of parallelism for block compression
+	 * @return true if at least one block has been compressed
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public boolean compressBlocks(int k) 
+		throws DMLRuntimeException
+	{
+		boolean ret = false;
+		_decompBlocks = null;
+		for( int i=0; i<_partBlocks.length; i++ ) {
+			if( !(_partBlocks[i] instanceof MatrixBlock) 
+				|| _partBlocks[i] instanceof CompressedMatrixBlock
+				|| ((MatrixBlock)_partBlocks[i]).isEmptyBlock(false) )
+				continue;
+			MatrixBlock mb = (MatrixBlock) _partBlocks[i];
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress(k);
+			if( cmb.getInMemorySize() < mb.getInMemorySize() ) {
+				_partBlocks[i] = cmb;
+				ret = true;
+			}
+		}
+		return ret;
+	}
+	
+	public boolean isCompressed() {
+		if( _partBlocks != null )
+			for( CacheBlock block : _partBlocks )
+				if( block instanceof CompressedMatrixBlock )
+					return true;
+		return false;
+	}
+	
 	public long getInMemorySize() {
 		long ret = 24; //header
 		ret += 32;    //block array
@@ -194,9 +278,11 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 	public long getExactSerializedSize() {
 		long ret = 24; //header
 		
+		boolean compressed = isCompressed();
+		ret += 1; //compression flag
 		if( _partBlocks != null )
 			for( CacheBlock block : _partBlocks )
-				ret += block.getExactSerializedSize();
+				ret += block.getExactSerializedSize() + (compressed ? 1 : 0);
 		
 		return ret;
 	}
@@ -311,8 +397,14 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		dos.writeInt(_partBlocks.length);
 		dos.writeByte(CacheBlockFactory.getCode(_partBlocks[0]));
 		
-		for( CacheBlock block : _partBlocks )
+		//write blocks (w/ per-block compression flag if necessary)
+		boolean compressed = isCompressed();
+		dos.writeBoolean(compressed);
+		for( CacheBlock block : _partBlocks ) {
+			if( compressed )
+				dos.writeBoolean(block instanceof CompressedMatrixBlock);
 			block.write(dos);
+		}
 	}
 
 	private int readHeader(DataInput dis) 
@@ -335,8 +427,10 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		throws IOException
 	{
 		int len = _partBlocks.length;
+		boolean compressed = dis.readBoolean();
 		for( int i=0; i<len; i++ ) {
-			_partBlocks[i] = CacheBlockFactory.newInstance(code);
+			_partBlocks[i] = (compressed && dis.readBoolean()) ?
+				new CompressedMatrixBlock() : CacheBlockFactory.newInstance(code);
 			_partBlocks[i].readFields(dis);
 		}
 	}
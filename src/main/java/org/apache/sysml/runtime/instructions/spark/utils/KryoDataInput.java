@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.instructions.spark.utils;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlockDataInput;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+
+import com.esotericsoftware.kryo.io.Input;
+
+/**
+ * Object input over a kryo input, which redirects kryo deserialization to our
+ * default writable deserialization (incl. fast deserialization of dense and 
+ * sparse blocks) in order to reuse the existing compact block encodings. 
+ * 
+ */
+public class KryoDataInput implements ObjectInput, MatrixBlockDataInput
+{
+	private final Input _in;
+	
+	public KryoDataInput( Input in ) {
+		_in = in;
+	}
+
+	@Override
+	public void readFully(byte[] b) throws IOException {
+		_in.readBytes(b, 0, b.length);
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		_in.readBytes(b, off, len);
+	}
+
+	@Override
+	public int skipBytes(int n) throws IOException {
+		return (int) _in.skip((long)n);
+	}
+
+	@Override
+	public boolean readBoolean() throws IOException {
+		return _in.readBoolean();
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		return _in.readByte();
+	}
+
+	@Override
+	public int readUnsignedByte() throws IOException {
+		return _in.readByteUnsigned();
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		return _in.readShort();
+	}
+
+	@Override
+	public int readUnsignedShort() throws IOException {
+		return _in.readShortUnsigned();
+	}
+
+	@Override
+	public char readChar() throws IOException {
+		return _in.readChar();
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		return _in.readInt();
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		return _in.readLong();
+	}
+
+	@Override
+	public float readFloat() throws IOException {
+		return _in.readFloat();
+	}
+
+	@Override
+	public double readDouble() throws IOException {
+		return _in.readDouble();
+	}
+
+	@Override
+	public String readLine() throws IOException {
+		throw new IOException("Not supported.");
+	}
+
+	@Override
+	public String readUTF() throws IOException {
+		return _in.readString();
+	}
+
+	@Override
+	public Object readObject() throws IOException {
+		throw new IOException("Not supported.");
+	}
+
+	@Override
+	public int read() throws IOException {
+		return _in.read();
+	}
+
+	@Override
+	public int read(byte[] b) throws IOException {
+		return _in.read(b);
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		return _in.read(b, off, len);
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		return _in.skip(n);
+	}
+
+	@Override
+	public int available() throws IOException {
+		return _in.available();
+	}
+
+	@Override
+	public void close() throws IOException {
+		//do nothing (input owned by kryo)
+	}
+	
+	///////////////////////////////////////////////
+	// Implementation of MatrixBlockDataInput
+	///////////////////////////////////////////////	
+
+	@Override
+	public long readDoubleArray(int len, double[] varr) 
+		throws IOException 
+	{
+		//counter for non-zero elements
+		long nnz = 0;
+		
+		for( int i=0; i<len; i++ ) {
+			varr[i] = _in.readDouble();
+			nnz += (varr[i]!=0) ? 1 : 0; 
+		}
+		
+		return nnz;
+	}
+
+	@Override
+	public long readSparseRows(int rlen, SparseBlock rows) 
+		throws IOException 
+	{
+		//counter for non-zero elements
+		long nnz = 0;
+		
+		//read all individual sparse rows from input
+		for( int i=0; i<rlen; i++ ) {
+			int lnnz = _in.readInt();
+			if( lnnz > 0 ) { //non-zero row
+				//get handle to sparse (allocate if necessary)
+				rows.allocate(i, lnnz);
+				
+				//read single sparse row
+				for( int j=0; j<lnnz; j++ ) {
+					int aix = _in.readInt();
+					double aval = _in.readDouble();
+					rows.append(i, aix, aval);
+				}
+				nnz += lnnz;
+			}
+		}
+		
+		return nnz;
+	}
+}
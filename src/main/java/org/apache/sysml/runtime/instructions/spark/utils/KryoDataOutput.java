@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.instructions.spark.utils;
+
+import java.io.IOException;
+import java.io.ObjectOutput;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlockDataOutput;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Object output over a kryo output, which redirects kryo serialization to our
+ * default writable serialization (incl. fast serialization of dense and sparse
+ * blocks) in order to reuse the existing compact block encodings. 
+ * 
+ */
+public class KryoDataOutput implements ObjectOutput, MatrixBlockDataOutput
+{
+	private final Output _out;
+	
+	public KryoDataOutput( Output out ) {
+		_out = out;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		_out.write(b);
+	}
+
+	@Override
+	public void write(byte[] b) throws IOException {
+		_out.write(b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		_out.write(b, off, len);
+	}
+
+	@Override
+	public void writeBoolean(boolean v) throws IOException {
+		_out.writeBoolean(v);
+	}
+
+	@Override
+	public void writeByte(int v) throws IOException {
+		_out.writeByte(v);
+	}
+
+	@Override
+	public void writeShort(int v) throws IOException {
+		_out.writeShort(v);
+	}
+
+	@Override
+	public void writeChar(int v) throws IOException {
+		_out.writeChar((char)v);
+	}
+
+	@Override
+	public void writeInt(int v) throws IOException {
+		_out.writeInt(v);
+	}
+
+	@Override
+	public void writeLong(long v) throws IOException {
+		_out.writeLong(v);
+	}
+
+	@Override
+	public void writeFloat(float v) throws IOException {
+		_out.writeFloat(v);
+	}
+
+	@Override
+	public void writeDouble(double v) throws IOException {
+		_out.writeDouble(v);
+	}
+
+	@Override
+	public void writeBytes(String s) throws IOException {
+		for( int i=0; i<s.length(); i++ )
+			_out.writeByte(s.charAt(i));
+	}
+
+	@Override
+	public void writeChars(String s) throws IOException {
+		for( int i=0; i<s.length(); i++ )
+			_out.writeChar(s.charAt(i));
+	}
+
+	@Override
+	public void writeUTF(String s) throws IOException {
+		_out.writeString(s);
+	}
+
+	@Override
+	public void writeObject(Object obj) throws IOException {
+		throw new IOException("Not supported.");
+	}
+
+	@Override
+	public void flush() throws IOException {
+		_out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		//do nothing (output owned by kryo)
+	}
+	
+	///////////////////////////////////////////////
+	// Implementation of MatrixBlockDataOutput
+	///////////////////////////////////////////////	
+
+	@Override
+	public void writeDoubleArray(int len, double[] varr) 
+		throws IOException 
+	{
+		for( int i=0; i<len; i++ )
+			_out.writeDouble(varr[i]);
+	}
+
+	@Override
+	public void writeSparseRows(int rlen, SparseBlock rows) 
+		throws IOException 
+	{
+		int lrlen = Math.min(rows.numRows(), rlen);
+		
+		//process existing rows
+		for( int i=0; i<lrlen; i++ ) {
+			if( !rows.isEmpty(i) ) {
+				int apos = rows.pos(i);
+				int alen = rows.size(i);
+				int[] aix = rows.indexes(i);
+				double[] avals = rows.values(i);
+				_out.writeInt(alen);
+				for( int j=apos; j<apos+alen; j++ ) {
+					_out.writeInt(aix[j]);
+					_out.writeDouble(avals[j]);
+				}
+			}
+			else 
+				_out.writeInt(0);
+		}
+		
+		//process remaining empty rows
+		for( int i=lrlen; i<rlen; i++ )
+			_out.writeInt(0);
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.instructions.spark.utils;
+
+import java.io.Externalizable;
+
+import org.apache.spark.serializer.KryoRegistrator;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.instructions.spark.data.CorrMatrixBlock;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.instructions.spark.data.RowMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCOO;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
+import org.apache.sysml.runtime.matrix.data.SparseRowScalar;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Kryo registrator for all SystemML types that are shuffled, cached, collected,
+ * or broadcast via spark. Blocks and indexes are serialized with custom kryo 
+ * serializers, which reuse our compact writable encodings (e.g., dense, sparse,
+ * ultra-sparse, and compressed blocks) instead of generic field serialization. 
+ * 
+ * NOTE: The registration order determines the kryo class ids and hence must 
+ * not depend on any runtime state.
+ */
+public class SparkKryoRegistrator implements KryoRegistrator
+{
+	@Override
+	public void registerClasses(Kryo kryo) 
+	{
+		//matrix indexes and blocks (incl compressed blocks)
+		kryo.register(MatrixIndexes.class, new WritableSerializer<MatrixIndexes>());
+		kryo.register(MatrixBlock.class, new WritableSerializer<MatrixBlock>());
+		kryo.register(CompressedMatrixBlock.class, new WritableSerializer<CompressedMatrixBlock>());
+		
+		//frame blocks
+		kryo.register(FrameBlock.class, new WritableSerializer<FrameBlock>());
+		
+		//partitioned blocks (broadcasts) and other block wrappers
+		kryo.register(PartitionedBlock.class, new WritableSerializer<PartitionedBlock<?>>());
+		kryo.register(CorrMatrixBlock.class, new WritableSerializer<CorrMatrixBlock>());
+		kryo.register(RowMatrixBlock.class, new WritableSerializer<RowMatrixBlock>());
+		
+		//sparse blocks (default field serialization, if serialized individually)
+		kryo.register(SparseBlockMCSR.class);
+		kryo.register(SparseBlockCSR.class);
+		kryo.register(SparseBlockCOO.class);
+		kryo.register(SparseRow[].class);
+		kryo.register(SparseRowScalar.class);
+		kryo.register(SparseRowVector.class);
+	}
+	
+	/**
+	 * Kryo serializer that redirects kryo serialization via externalizable to our 
+	 * default hadoop writable serialization, including fast serialization of dense 
+	 * and sparse blocks via direct reads and writes into the kryo buffers. 
+	 */
+	public static class WritableSerializer<T extends Externalizable> extends Serializer<T>
+	{
+		@Override
+		public void write(Kryo kryo, Output output, T object) {
+			try {
+				object.writeExternal(new KryoDataOutput(output));
+			}
+			catch(Exception ex) {
+				throw new KryoException(ex);
+			}
+		}
+
+		@Override
+		public T read(Kryo kryo, Input input, Class<T> type) {
+			try {
+				T ret = kryo.newInstance(type);
+				ret.readExternal(new KryoDataInput(input));
+				return ret;
+			}
+			catch(Exception ex) {
+				throw new KryoException(ex);
+			}
+		}
+	}
+}
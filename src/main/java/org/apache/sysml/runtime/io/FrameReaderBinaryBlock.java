@@ -59,6 +59,10 @@ public class FrameReaderBinaryBlock extends FrameReader
 		//core read (sequential/parallel)
 		readBinaryBlockFrameFromHDFS(path, job, fs, ret, rlen, clen);
 		
+		//compact low-cardinality string columns (opt-in, after read)
+		if( FrameBlock.isDictionaryEncodingEnabled() )
+			ret.dictionaryEncodeStringColumns();
+		
 		return ret;
 	}
 	
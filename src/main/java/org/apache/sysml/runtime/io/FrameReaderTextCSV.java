@@ -19,6 +19,7 @@
 
 package org.apache.sysml.runtime.io;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -84,6 +85,10 @@ public class FrameReaderTextCSV extends FrameReader
 		//core read (sequential/parallel) 
 		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
 		
+		//compact low-cardinality string columns (opt-in, after read)
+		if( FrameBlock.isDictionaryEncodingEnabled() )
+			ret.dictionaryEncodeStringColumns();
+		
 		return ret;
 	}
 	
@@ -102,6 +107,10 @@ public class FrameReaderTextCSV extends FrameReader
 		InputSplit split = informat.getSplits(null, 1)[0];
 		readCSVFrameFromInputSplit(split, informat, null, ret, schema, names, rlen, clen, 0, true);
 		
+		//compact low-cardinality string columns (opt-in, after read)
+		if( FrameBlock.isDictionaryEncodingEnabled() )
+			ret.dictionaryEncodeStringColumns();
+		
 		return ret;
 	}
 
@@ -122,9 +131,6 @@ public class FrameReaderTextCSV extends FrameReader
 		throws IOException
 	{
 		boolean hasHeader = _props.hasHeader();
-		boolean isFill = _props.isFill();
-		double dfillValue = _props.getFillValue();
-		String sfillValue = String.valueOf(_props.getFillValue());
 		String delim = _props.getDelim();
 		
 		//create record reader
@@ -132,7 +138,6 @@ public class FrameReaderTextCSV extends FrameReader
 		LongWritable key = new LongWritable();
 		Text value = new Text();
 		int row = rl;
-		int col = -1;
 		
 		//handle header if existing
 		if(first && hasHeader ) {
@@ -141,50 +146,226 @@ public class FrameReaderTextCSV extends FrameReader
 		}
 			
 		// Read the data
-		boolean emptyValuesFound = false;
 		try
 		{
 			while( reader.next(key, value) ) //foreach line
-			{
-				String cellStr = value.toString().trim();
-				emptyValuesFound = false; col = 0;
-				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
-				
-				//parse frame meta data (missing values / num distinct)
-				if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) ) {
-					if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) )
-						for( int j=0; j<dest.getNumColumns(); j++ )
-							dest.getColumnMetadata(j).setMvValue(parts[j+1]);
-					else if( parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
-						for( int j=0; j<dest.getNumColumns(); j++ )
-							dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j+1]));
-					continue;
-				}
-				
-				for( String part : parts ) //foreach cell
-				{
-					part = part.trim();
-					if ( part.isEmpty() ) {
-						if( isFill && dfillValue!=0 )
-							dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
-						emptyValuesFound = true;
-					}
-					else {
-						dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
-					}
-					col++;
-				}
-				
-				//sanity checks for empty values and number of columns
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
-				row++;
-			}
+				row += parseCSVLine(value.toString(), dest, dest, schema, row, clen) ? 1 : 0;
 		}
 		finally {
 			IOUtilFunctions.closeSilently(reader);
 		}
 	}
+	
+	/**
+	 * Parses a single csv line into the given row of the output frame block, 
+	 * or into the column meta data if the line is a meta data line.
+	 * 
+	 * @param line csv line
+	 * @param dest output frame block
+	 * @param meta frame block for meta data lines
+	 * @param schema value types of columns
+	 * @param row row index in output frame block
+	 * @param clen number of columns
+	 * @return true if the line was a data row
+	 * @throws IOException if IOException occurs
+	 */
+	private boolean parseCSVLine(String line, FrameBlock dest, FrameBlock meta, ValueType[] schema, int row, long clen) 
+		throws IOException
+	{
+		boolean isFill = _props.isFill();
+		double dfillValue = _props.getFillValue();
+		String delim = _props.getDelim();
+		String cellStr = line.trim();
+		boolean emptyValuesFound = false; 
+		int col = 0;
+		String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
+		
+		//parse frame meta data (missing values / num distinct)
+		if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) ) {
+			if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) )
+				for( int j=0; j<meta.getNumColumns(); j++ )
+					meta.getColumnMetadata(j).setMvValue(parts[j+1]);
+			else if( parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
+				for( int j=0; j<meta.getNumColumns(); j++ )
+					meta.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j+1]));
+			return false;
+		}
+		
+		for( String part : parts ) //foreach cell
+		{
+			part = part.trim();
+			if ( part.isEmpty() ) {
+				if( isFill && dfillValue!=0 )
+					dest.set(row, col, UtilFunctions.stringToObject(schema[col], String.valueOf(dfillValue)));
+				emptyValuesFound = true;
+			}
+			else {
+				dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
+			}
+			col++;
+		}
+		
+		//sanity checks for empty values and number of columns
+		IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
+		IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+		return true;
+	}
+	
+	/**
+	 * Opens a streaming reader over the given csv file, which reads the 
+	 * file sequentially in chunks of rows without materializing the entire
+	 * frame in memory.
+	 * 
+	 * @param fname file name
+	 * @param schema value types of columns (or null for strings)
+	 * @param names column names (or null for default names)
+	 * @param clen number of columns (or -1 if unknown)
+	 * @return chunk reader
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public FrameChunkReader openFrameChunkReader(String fname, ValueType[] schema, String[] names, long clen) 
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FileInputFormat.addInputPath(job, path);
+		checkValidInputFile(fs, path); 
+		
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = IOUtilFunctions.sortInputSplits(informat.getSplits(job, 1));
+		if( clen <= 0 )
+			clen = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, _props.getDelim());
+		return new FrameChunkReader(splits, informat, job, schema, names, clen);
+	}
+	
+	/**
+	 * Opens a streaming reader over the given input stream of csv format, 
+	 * which reads the stream in chunks of rows without materializing the 
+	 * entire frame in memory.
+	 * 
+	 * @param is input stream
+	 * @param schema value types of columns (or null for strings)
+	 * @param names column names (or null for default names)
+	 * @param clen number of columns
+	 * @return chunk reader
+	 * @throws IOException if IOException occurs
+	 */
+	public FrameChunkReader openFrameChunkReader(InputStream is, ValueType[] schema, String[] names, long clen) 
+		throws IOException
+	{
+		if( clen <= 0 )
+			throw new IOException("Unknown number of columns for streaming csv read from input stream.");
+		InputStreamInputFormat informat = new InputStreamInputFormat(is);
+		return new FrameChunkReader(informat.getSplits(null, 1), informat, null, schema, names, clen);
+	}
+	
+	/**
+	 * Sequential reader of chunks of rows over a list of input splits, 
+	 * where the header (if existing) is read from the first split. Meta
+	 * data lines are parsed into the column meta data of a separate 
+	 * meta data frame.
+	 */
+	public class FrameChunkReader implements Closeable
+	{
+		private final InputSplit[] _splits;
+		private final InputFormat<LongWritable,Text> _informat;
+		private final JobConf _job;
+		private final ValueType[] _schema;
+		private final String[] _names;
+		private final long _clen;
+		private final FrameBlock _meta;
+		private final LongWritable _key = new LongWritable();
+		private final Text _value = new Text();
+		private RecordReader<LongWritable, Text> _reader = null;
+		private int _pos = 0;
+		
+		private FrameChunkReader(InputSplit[] splits, InputFormat<LongWritable,Text> informat, 
+			JobConf job, ValueType[] schema, String[] names, long clen) 
+		{
+			_splits = splits;
+			_informat = informat;
+			_job = job;
+			_schema = createOutputSchema(schema, clen);
+			_names = createOutputNames(names, clen);
+			_clen = clen;
+			_meta = new FrameBlock(_schema, _names);
+		}
+		
+		public ValueType[] getSchema() {
+			return _schema;
+		}
+		
+		public String[] getColumnNames() {
+			return _meta.getColumnNames();
+		}
+		
+		/**
+		 * Returns a frame block holding the meta data (missing values,
+		 * number of distinct values) of all meta data lines read so far.
+		 * 
+		 * @return meta data frame block
+		 */
+		public FrameBlock getMetaData() {
+			return _meta;
+		}
+		
+		/**
+		 * Reads the next chunk of up to the given number of rows.
+		 * 
+		 * @param maxRows maximum number of rows
+		 * @return frame block of the next rows, or null if all rows have been read
+		 * @throws IOException if IOException occurs
+		 */
+		public FrameBlock next(int maxRows) 
+			throws IOException
+		{
+			FrameBlock ret = null;
+			int row = 0;
+			while( row < maxRows && nextLine() ) {
+				if( ret == null ) {
+					ret = new FrameBlock(_schema, _meta.getColumnNames());
+					ret.ensureAllocatedColumns(maxRows);
+				}
+				row += parseCSVLine(_value.toString(), ret, _meta, _schema, row, _clen) ? 1 : 0;
+			}
+			
+			//handle trailing meta data lines and partial chunks
+			if( ret == null || row == 0 )
+				return null;
+			try {
+				return (row < maxRows) ? ret.sliceOperations(0, row-1, 0, (int)_clen-1, new FrameBlock()) : ret;
+			}
+			catch(DMLRuntimeException ex) {
+				throw new IOException(ex);
+			}
+		}
+		
+		private boolean nextLine() 
+			throws IOException
+		{
+			while( _reader == null || !_reader.next(_key, _value) ) {
+				IOUtilFunctions.closeSilently(_reader);
+				_reader = null;
+				if( _pos >= _splits.length )
+					return false;
+				_reader = _informat.getRecordReader(_splits[_pos], _job, Reporter.NULL);
+				if( _pos++ == 0 && _props.hasHeader() && _reader.next(_key, _value) )
+					_meta.setColumnNames(_value.toString().split(_props.getDelim()));
+			}
+			return true;
+		}
+		
+		@Override
+		public void close() {
+			IOUtilFunctions.closeSilently(_reader);
+			_reader = null;
+			_pos = _splits.length;
+		}
+	}
 
 	protected Pair<Integer,Integer> computeCSVSize( Path path, JobConf job, FileSystem fs) 
 		throws IOException 
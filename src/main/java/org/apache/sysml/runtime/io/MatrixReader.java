@@ -74,9 +74,13 @@ public abstract class MatrixReader
 		}
 		else
 		{
+			//reject local binary block files, which are not sequence files
+			if( ReaderBinaryBlock.isLocalBinaryBlock(fs, file) )
+				throw new IOException("Local binary block file "+file+" cannot be read as "
+					+ "sequence file (see ReaderBinaryBlock.getSequenceFileInput).");
 			ret = new Path[]{ file };
 		}
-		
+
 		return ret;
 	}
 	
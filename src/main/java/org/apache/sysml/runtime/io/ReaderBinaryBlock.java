@@ -19,12 +19,14 @@
 
 package org.apache.sysml.runtime.io;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
@@ -53,9 +55,6 @@ public class ReaderBinaryBlock extends MatrixReader
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
 		throws IOException, DMLRuntimeException 
 	{
-		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, false, false);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -63,6 +62,14 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//memory-mapped read of local binary block files
+		if( isLocalBinaryBlock(fs, path) )
+			return new ReaderBinaryBlockLocal().readMatrixFromHDFS(
+				path.toString(), rlen, clen, brlen, bclen, estnnz);
+		
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, false, false);
 	
 		//core read 
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
@@ -95,12 +102,71 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//memory-mapped read of local binary block files, and slicing into blocks
+		if( isLocalBinaryBlock(fs, path) ) {
+			MatrixBlock mb = new ReaderBinaryBlockLocal().readMatrixFromHDFS(
+				path.toString(), rlen, clen, brlen, bclen, -1);
+			for( int i=0; i<rlen; i+=brlen )
+				for( int j=0; j<clen; j+=bclen ) {
+					MatrixBlock tmp = mb.sliceOperations(i, (int)Math.min(i+brlen, rlen)-1, 
+						j, (int)Math.min(j+bclen, clen)-1, new MatrixBlock());
+					ret.add(new IndexedMatrixValue(new MatrixIndexes(i/brlen+1, j/bclen+1), tmp));
+				}
+			return ret;
+		}
 	
 		//core read 
 		readBinaryBlockMatrixBlocksFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
 		
 		return ret;
 	}
+	
+	/**
+	 * Indicates if the given path refers to a single file on the local file
+	 * system that is in the local binary block format.
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @return true if local binary block file
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isLocalBinaryBlock(FileSystem fs, Path path) 
+		throws IOException
+	{
+		return fs instanceof LocalFileSystem
+			&& ReaderBinaryBlockLocal.isLocalBinaryBlock(new File(path.toUri().getPath()));
+	}
+
+	/**
+	 * Obtains a path of binary block sequence files for consumers that directly
+	 * open sequence file readers (e.g., local data partitioning or result merge).
+	 * Local binary block files are converted into sequence files at the given
+	 * staging path on the same file system, all other paths are returned as is.
+	 *
+	 * @param fs file system
+	 * @param path file path
+	 * @param fnameStaging staging path for converted sequence files
+	 * @param brlen number of rows in a block
+	 * @param bclen number of columns in a block
+	 * @return path of binary block sequence files
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static Path getSequenceFileInput(FileSystem fs, Path path, String fnameStaging, int brlen, int bclen)
+		throws IOException, DMLRuntimeException
+	{
+		if( !isLocalBinaryBlock(fs, path) )
+			return path;
+
+		//read local binary block file and write as sequence files
+		MatrixBlock mb = new ReaderBinaryBlockLocal()
+			.readMatrixFromHDFS(path.toString(), -1, -1, brlen, bclen, -1);
+		Path ret = fs.makeQualified(new Path(fnameStaging));
+		new WriterBinaryBlock(1).writeMatrixToHDFS(mb, ret.toString(),
+			mb.getNumRows(), mb.getNumColumns(), brlen, bclen, mb.getNonZeros());
+		return ret;
+	}
 
 
 	
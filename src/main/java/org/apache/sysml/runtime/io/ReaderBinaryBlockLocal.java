@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.io;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+
+/**
+ * Reader for matrices in the local binary block format, which stores an
+ * entire matrix in a single local file (header, and either row-major dense
+ * values or CSR row pointers, column indexes, and values). This reader 
+ * memory-maps the file and constructs dense blocks and sparse CSR blocks 
+ * via bulk buffer copies, without per-block deserialization. 
+ * 
+ * Files in this format are written by {@link WriterBinaryBlockLocal} and 
+ * transparently read by the binary block readers if on the local file system.
+ */
+public class ReaderBinaryBlockLocal extends MatrixReader
+{
+	//file header: magic, byte order, kind, reserved, rlen, clen, nnz
+	public static final long MAGIC = 0x53594D4C4C42424CL; //SYMLLBBL
+	public static final int HEADER_SIZE = 40;
+	public static final byte KIND_EMPTY = 0;
+	public static final byte KIND_DENSE = 1;
+	public static final byte KIND_SPARSE = 2;
+	
+	//max size of memory-mapped regions
+	private static final int MAP_CHUNK_SIZE = 1 << 28;
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		File file = new File(new Path(fname).toUri().getPath());
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		MatrixBlock ret = null;
+		try {
+			FileChannel ch = raf.getChannel();
+			if( ch.size() < HEADER_SIZE )
+				throw new IOException("Invalid local binary block file: "+fname);
+			
+			//read and check file header
+			MappedByteBuffer head = ch.map(MapMode.READ_ONLY, 0, HEADER_SIZE);
+			if( head.getLong(0) != MAGIC )
+				throw new IOException("Invalid local binary block file: "+fname);
+			ByteOrder order = (head.get(8)==1) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+			byte kind = head.get(9);
+			head.order(order);
+			int lrlen = (int) head.getLong(16);
+			int lclen = (int) head.getLong(24);
+			long nnz = head.getLong(32);
+			if( (rlen > 0 && rlen != lrlen) || (clen > 0 && clen != lclen) )
+				throw new IOException("Matrix dimensions mismatch with metadata: ["+lrlen+"x"+lclen+"] vs ["+rlen+"x"+clen+"].");
+			
+			//core read of dense or sparse (CSR) matrix
+			long pos = HEADER_SIZE;
+			switch( kind ) {
+				case KIND_EMPTY:
+					ret = new MatrixBlock(lrlen, lclen, true);
+					break;
+				case KIND_DENSE:
+					ret = new MatrixBlock(lrlen, lclen, false);
+					ret.allocateDenseBlock();
+					DenseBlock db = ret.getDenseBlock();
+					for( int bix=0; bix<db.numBlocks(); bix++ ) {
+						readDoubles(ch, pos, order, db.valuesAt(bix), db.size(bix));
+						pos += 8L * db.size(bix);
+					}
+					ret.setNonZeros(nnz);
+					break;
+				case KIND_SPARSE:
+					int[] rowptr = new int[lrlen+1];
+					int[] colidx = new int[(int)nnz];
+					double[] values = new double[(int)nnz];
+					readInts(ch, pos, order, rowptr, rowptr.length);
+					pos = align(pos + 4L * rowptr.length);
+					readInts(ch, pos, order, colidx, colidx.length);
+					pos = align(pos + 4L * colidx.length);
+					readDoubles(ch, pos, order, values, values.length);
+					ret = new MatrixBlock(lrlen, lclen, nnz, 
+						new SparseBlockCSR(rowptr, colidx, values, (int)nnz));
+					break;
+				default:
+					throw new IOException("Unsupported local binary block kind: "+kind);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(raf);
+		}
+		
+		//finally check if change of sparse/dense block representation required
+		ret.examSparsity();
+		
+		return ret;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+	
+	/**
+	 * Indicates if the given local file is in the local binary block format.
+	 * 
+	 * @param file local file
+	 * @return true if local binary block file
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isLocalBinaryBlock(File file) 
+		throws IOException 
+	{
+		if( !file.isFile() || file.length() < HEADER_SIZE )
+			return false;
+		DataInputStream in = new DataInputStream(new FileInputStream(file));
+		try {
+			return in.readLong() == MAGIC;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+	
+	protected static long align(long pos) {
+		return (pos + 7) & ~7L;
+	}
+	
+	private static void readDoubles(FileChannel ch, long pos, ByteOrder order, double[] dest, int len) 
+		throws IOException 
+	{
+		for( int off=0; off<len; ) {
+			int n = Math.min(len-off, MAP_CHUNK_SIZE/8);
+			MappedByteBuffer buff = ch.map(MapMode.READ_ONLY, pos, 8L*n);
+			buff.order(order).asDoubleBuffer().get(dest, off, n);
+			off += n;
+			pos += 8L*n;
+		}
+	}
+	
+	private static void readInts(FileChannel ch, long pos, ByteOrder order, int[] dest, int len) 
+		throws IOException 
+	{
+		for( int off=0; off<len; ) {
+			int n = Math.min(len-off, MAP_CHUNK_SIZE/4);
+			MappedByteBuffer buff = ch.map(MapMode.READ_ONLY, pos, 4L*n);
+			buff.order(order).asIntBuffer().get(dest, off, n);
+			off += n;
+			pos += 4L*n;
+		}
+	}
+}
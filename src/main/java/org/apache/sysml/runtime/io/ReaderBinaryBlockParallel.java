@@ -55,9 +55,6 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
 		throws IOException, DMLRuntimeException 
 	{	
-		//allocate output matrix block (incl block allocation for parallel)
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, true, true);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -65,6 +62,14 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 				
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//memory-mapped read of local binary block files
+		if( isLocalBinaryBlock(fs, path) )
+			return new ReaderBinaryBlockLocal().readMatrixFromHDFS(
+				path.toString(), rlen, clen, brlen, bclen, estnnz);
+		
+		//allocate output matrix block (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, true, true);
 	
 		//core read 
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, brlen, bclen);
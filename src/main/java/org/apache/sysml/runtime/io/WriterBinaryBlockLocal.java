@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for matrices in the local binary block format (see 
+ * {@link ReaderBinaryBlockLocal}), which writes the entire matrix into
+ * a single local file in native byte order. Since this format is only
+ * readable in singlenode execution, files on other file systems are
+ * written as regular binary block sequence files.
+ */
+public class WriterBinaryBlockLocal extends MatrixWriter
+{
+	private static final int BUFFER_SIZE = 1 << 20;
+	
+	protected int _replication = -1;
+	
+	public WriterBinaryBlockLocal( int replication ) {
+		_replication = replication;
+	}
+	
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//fallback to sequence files for non-local file systems
+		File file = getLocalFile(fname);
+		if( file == null ) {
+			new WriterBinaryBlock(_replication).writeMatrixToHDFS(src, fname, rlen, clen, brlen, bclen, nnz);
+			return;
+		}
+		
+		//check for consistent dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen )
+			throw new IOException("Matrix dimensions mismatch with metadata: ["+src.getNumRows()+"x"
+				+src.getNumColumns()+"] vs ["+rlen+"x"+clen+"].");
+		
+		//if the file already exists, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		
+		//core write
+		writeLocalBinaryBlock(file, src);
+	}
+
+	@Override
+	public void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		File file = getLocalFile(fname);
+		if( file == null ) {
+			new WriterBinaryBlock(_replication).writeEmptyMatrixToHDFS(fname, rlen, clen, brlen, bclen);
+			return;
+		}
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		writeLocalBinaryBlock(file, new MatrixBlock((int)rlen, (int)clen, true));
+	}
+	
+	private static File getLocalFile(String fname) 
+		throws IOException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		return (fs instanceof LocalFileSystem) ?
+			new File(path.toUri().getPath()) : null;
+	}
+	
+	private static void writeLocalBinaryBlock(File file, MatrixBlock src) 
+		throws IOException 
+	{
+		//determine matrix representation
+		int rlen = src.getNumRows();
+		src.recomputeNonZeros();
+		long nnz = src.getNonZeros();
+		boolean sparse = src.isInSparseFormat();
+		byte kind = (nnz == 0) ? ReaderBinaryBlockLocal.KIND_EMPTY : sparse ? 
+			ReaderBinaryBlockLocal.KIND_SPARSE : ReaderBinaryBlockLocal.KIND_DENSE;
+		if( kind == ReaderBinaryBlockLocal.KIND_SPARSE && nnz > Integer.MAX_VALUE )
+			throw new IOException("Local binary block format does not support sparse matrices with nnz > "+Integer.MAX_VALUE+".");
+		
+		file.getParentFile().mkdirs();
+		FileOutputStream fos = new FileOutputStream(file);
+		try {
+			FileChannel ch = fos.getChannel();
+			ByteBuffer buff = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			
+			//write header (magic in big endian, remaining values in native order)
+			buff.putLong(ReaderBinaryBlockLocal.MAGIC);
+			buff.order(ByteOrder.nativeOrder());
+			buff.put((byte)((ByteOrder.nativeOrder()==ByteOrder.LITTLE_ENDIAN) ? 1 : 0));
+			buff.put(kind);
+			buff.put(new byte[6]);
+			buff.putLong(rlen);
+			buff.putLong(src.getNumColumns());
+			buff.putLong(nnz);
+			
+			//write dense values or sparse CSR arrays
+			if( kind == ReaderBinaryBlockLocal.KIND_DENSE ) {
+				DenseBlock db = src.getDenseBlock();
+				for( int bix=0; bix<db.numBlocks(); bix++ )
+					putDoubles(ch, buff, db.valuesAt(bix), 0, db.size(bix));
+			}
+			else if( kind == ReaderBinaryBlockLocal.KIND_SPARSE ) {
+				SparseBlock sb = src.getSparseBlock();
+				int pos = 0;
+				putInt(ch, buff, pos);
+				for( int i=0; i<rlen; i++ )
+					putInt(ch, buff, pos += sb.isEmpty(i) ? 0 : sb.size(i));
+				putPadding(ch, buff, 4L*(rlen+1));
+				for( int i=0; i<rlen; i++ )
+					if( !sb.isEmpty(i) )
+						putInts(ch, buff, sb.indexes(i), sb.pos(i), sb.size(i));
+				putPadding(ch, buff, 4L*nnz);
+				for( int i=0; i<rlen; i++ )
+					if( !sb.isEmpty(i) )
+						putDoubles(ch, buff, sb.values(i), sb.pos(i), sb.size(i));
+			}
+			flush(ch, buff);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(fos);
+		}
+	}
+	
+	private static void putInt(FileChannel ch, ByteBuffer buff, int val) 
+		throws IOException 
+	{
+		if( buff.remaining() < 4 )
+			flush(ch, buff);
+		buff.putInt(val);
+	}
+	
+	private static void putPadding(FileChannel ch, ByteBuffer buff, long len) 
+		throws IOException 
+	{
+		for( long i=len; i<ReaderBinaryBlockLocal.align(len); i++ ) {
+			if( !buff.hasRemaining() )
+				flush(ch, buff);
+			buff.put((byte)0);
+		}
+	}
+	
+	private static void putInts(FileChannel ch, ByteBuffer buff, int[] src, int off, int len) 
+		throws IOException 
+	{
+		while( len > 0 ) {
+			if( buff.remaining() < 4 )
+				flush(ch, buff);
+			int n = Math.min(len, buff.remaining()/4);
+			buff.asIntBuffer().put(src, off, n);
+			buff.position(buff.position() + 4*n);
+			off += n; len -= n;
+		}
+	}
+	
+	private static void putDoubles(FileChannel ch, ByteBuffer buff, double[] src, int off, int len) 
+		throws IOException 
+	{
+		while( len > 0 ) {
+			if( buff.remaining() < 8 )
+				flush(ch, buff);
+			int n = Math.min(len, buff.remaining()/8);
+			buff.asDoubleBuffer().put(src, off, n);
+			buff.position(buff.position() + 8*n);
+			off += n; len -= n;
+		}
+	}
+	
+	private static void flush(FileChannel ch, ByteBuffer buff) 
+		throws IOException 
+	{
+		buff.flip();
+		while( buff.hasRemaining() )
+			ch.write(buff);
+		buff.clear();
+	}
+}
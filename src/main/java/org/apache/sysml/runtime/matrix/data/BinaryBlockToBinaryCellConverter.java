@@ -68,9 +68,9 @@ Converter<MatrixIndexes, MatrixBlock, MatrixIndexes, MatrixCell>
 		}
 		else
 		{
-			if(v1.getDenseBlock()==null)
+			if(v1.getDenseBlockValues()==null)
 				return;
-			denseArray=v1.getDenseBlock();
+			denseArray=v1.getDenseBlockValues();
 			nextInDenseArray=0;
 			denseArraySize=v1.getNumRows()*v1.getNumColumns();
 		}
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Dense row block (DRB): a single linearized, row-major double array
+ * of up to 2^31-1 cells, which is the default dense representation.
+ */
+public class DenseBlockDRB extends DenseBlock
+{
+	private static final long serialVersionUID = 8546237533525117697L;
+
+	private double[] data;
+	private int rlen;
+	private int clen;
+
+	public DenseBlockDRB(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	public DenseBlockDRB(double[] data, int rlen, int clen) {
+		this.data = data;
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+
+	@Override
+	public void reset() {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		long llen = (long) rlen * clen;
+		if( llen > DenseBlockLDRB.MAX_ALLOC )
+			throw new RuntimeException("Dense row block of size "+rlen+"x"+clen
+				+" exceeds the maximum array size, use a large dense row block instead.");
+		int len = (int) llen;
+		if( len > capacity() ) {
+			data = new double[len];
+			if( v != 0 )
+				Arrays.fill(data, v);
+		}
+		else {
+			Arrays.fill(data, 0, len, v);
+		}
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+
+	@Override
+	public int numColumns() {
+		return clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return 1;
+	}
+
+	@Override
+	public int blockSize() {
+		return rlen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return rlen;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return true;
+	}
+
+	@Override
+	public long size() {
+		return (long)rlen * clen;
+	}
+
+	@Override
+	public int size(int bix) {
+		return rlen * clen;
+	}
+
+	@Override
+	public long capacity() {
+		return (data!=null) ? data.length : -1;
+	}
+
+	@Override
+	public long countNonZeros() {
+		final int len = rlen * clen;
+		double[] a = data;
+		int nnz = 0;
+		for(int i=0; i<len; i++)
+			nnz += (a[i]!=0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public int countNonZeros(int r) {
+		final int pos = r * clen;
+		final int len = pos + clen;
+		double[] a = data;
+		int nnz = 0;
+		for(int i=pos; i<len; i++)
+			nnz += (a[i]!=0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		if( cl == 0 && cu == clen ) { //specific case: all cols
+			for( int i=rl*clen; i<ru*clen; i++ )
+				nnz += (data[i]!=0) ? 1 : 0;
+		}
+		else {
+			for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
+				for( int j=cl; j<cu; j++ )
+					nnz += (data[ix+j]!=0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	@Override
+	public double[][] values() {
+		return new double[][]{data};
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return data;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return data;
+	}
+
+	@Override
+	public int index(int r) {
+		return 0;
+	}
+
+	@Override
+	public int pos(int r) {
+		return r * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return r * clen + c;
+	}
+
+	@Override
+	public void incr(int r, int c, double delta) {
+		data[pos(r, c)] += delta;
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		Arrays.fill(data, 0, rlen*clen, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int rl, int ru, int cl, int cu, double v) {
+		if( cl==0 && cu == clen )
+			Arrays.fill(data, rl*clen, ru*clen, v);
+		else
+			for(int i=rl, ix=rl*clen; i<ru; i++, ix+=clen)
+				Arrays.fill(data, ix+cl, ix+cu, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		data[pos(r, c)] = v;
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, double[] v) {
+		System.arraycopy(v, 0, data, pos(r), clen);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(DenseBlock db) {
+		if( db.isContiguous() )
+			System.arraycopy(db.valuesAt(0), 0, data, 0, rlen*clen);
+		else
+			for(int i=0; i<rlen; i++)
+				System.arraycopy(db.values(i), db.pos(i), data, pos(i), clen);
+		return this;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return data[pos(r, c)];
+	}
+}
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Large dense row block (LDRB): a row-paged representation of multiple
+ * linearized, row-major double arrays, each of which holds blen complete
+ * rows. This allows dense matrix blocks with more than 2^31-1 cells, as
+ * long as a single page fits into a java array.
+ */
+public class DenseBlockLDRB extends DenseBlock
+{
+	private static final long serialVersionUID = -7285459683402612969L;
+
+	//max number of cells per row block (java array limit)
+	public static final int MAX_ALLOC = Integer.MAX_VALUE - 1024;
+
+	private double[][] data;
+	private int rlen;
+	private int clen;
+	private int blen;
+	private final int maxAlloc;
+
+	public DenseBlockLDRB(int rlen, int clen) {
+		this(rlen, clen, MAX_ALLOC);
+	}
+
+	/**
+	 * Creates a large dense row block with a custom maximum number of
+	 * cells per row block, which is primarily used for tests.
+	 *
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param maxAlloc max number of cells per row block
+	 */
+	public DenseBlockLDRB(int rlen, int clen, int maxAlloc) {
+		this.maxAlloc = maxAlloc;
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset() {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		int blen = getBlockSize(rlen, clen, maxAlloc);
+		long llen = (long) rlen * clen;
+		int numPart = (rlen==0 || clen==0) ? 0 :
+			(int)Math.ceil((double)rlen / blen);
+		if( this.blen == blen && llen <= capacity() ) {
+			for( int i=0; i<numPart; i++ ) {
+				int lrlen = (int)(Math.min((i+1)*(long)blen, rlen) - (long)i*blen);
+				Arrays.fill(data[i], 0, lrlen*clen, v);
+			}
+		}
+		else {
+			data = new double[numPart][];
+			for( int i=0; i<numPart; i++ ) {
+				int lrlen = (int)(Math.min((i+1)*(long)blen, rlen) - (long)i*blen);
+				data[i] = new double[lrlen*clen];
+				if( v != 0 )
+					Arrays.fill(data[i], v);
+			}
+		}
+		this.rlen = rlen;
+		this.clen = clen;
+		this.blen = blen;
+	}
+
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+
+	@Override
+	public int numColumns() {
+		return clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return data.length;
+	}
+
+	@Override
+	public int blockSize() {
+		return blen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return Math.min(blen, rlen - bix*blen);
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return numBlocks() <= 1;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return index(rl) == index(ru);
+	}
+
+	@Override
+	public long size() {
+		return (long)rlen * clen;
+	}
+
+	@Override
+	public int size(int bix) {
+		return blockSize(bix) * clen;
+	}
+
+	@Override
+	public long capacity() {
+		long len = 0;
+		for( int i=0; i<numBlocks(); i++ )
+			len += data[i].length;
+		return len;
+	}
+
+	@Override
+	public long countNonZeros() {
+		long nnz = 0;
+		for( int i=0; i<numBlocks(); i++ ) {
+			double[] a = data[i];
+			int len = size(i);
+			for( int j=0; j<len; j++ )
+				nnz += (a[j]!=0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	@Override
+	public int countNonZeros(int r) {
+		double[] a = values(r);
+		int pos = pos(r);
+		int nnz = 0;
+		for( int j=pos; j<pos+clen; j++ )
+			nnz += (a[j]!=0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ ) {
+			double[] a = values(i);
+			int ix = pos(i);
+			for( int j=cl; j<cu; j++ )
+				nnz += (a[ix+j]!=0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	@Override
+	public double[][] values() {
+		return data;
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return data[bix];
+	}
+
+	@Override
+	public double[] values(int r) {
+		return data[r / blen];
+	}
+
+	@Override
+	public int index(int r) {
+		return r / blen;
+	}
+
+	@Override
+	public int pos(int r) {
+		return (r % blen) * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return (r % blen) * clen + c;
+	}
+
+	@Override
+	public void incr(int r, int c, double delta) {
+		data[index(r)][pos(r, c)] += delta;
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		for( int i=0; i<numBlocks(); i++ )
+			Arrays.fill(data[i], 0, size(i), v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int rl, int ru, int cl, int cu, double v) {
+		for( int i=rl; i<ru; i++ ) {
+			int ix = pos(i);
+			Arrays.fill(values(i), ix+cl, ix+cu, v);
+		}
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		data[index(r)][pos(r, c)] = v;
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, double[] v) {
+		System.arraycopy(v, 0, values(r), pos(r), clen);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(DenseBlock db) {
+		for( int i=0; i<rlen; i++ )
+			System.arraycopy(db.values(i), db.pos(i), values(i), pos(i), clen);
+		return this;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return data[index(r)][pos(r, c)];
+	}
+
+	private static int getBlockSize(int rlen, int clen, int maxAlloc) {
+		return Math.max(Math.min(rlen, maxAlloc / Math.max(clen, 1)), 1);
+	}
+}
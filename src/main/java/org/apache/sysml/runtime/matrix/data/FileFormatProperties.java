@@ -24,7 +24,11 @@ public class FileFormatProperties
 	
 	private String description;
 	
-	public enum FileFormat { CSV, NATIVE };
+	public enum FileFormat { 
+		CSV, 
+		NATIVE, 
+		LOCAL, //local binary block (singlenode only)
+	};
 	
 	FileFormat fmt;
 	
@@ -35,12 +35,15 @@ import java.util.Map;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.hadoop.io.Writable;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
 import org.apache.sysml.runtime.util.IndexRange;
+import org.apache.sysml.runtime.util.StringDictionary;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 @SuppressWarnings({"rawtypes","unchecked"}) //allow generic native arrays
@@ -53,6 +56,13 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	//internal configuration
 	private static final boolean REUSE_RECODE_MAPS = true;
 	
+	//dictionary encoding of string columns (min rows, max fraction of distinct values)
+	public static final int DICT_ENCODE_MIN_ROWS = 1024;
+	public static final double DICT_ENCODE_MAX_DISTINCT = 0.1;
+	
+	//serialization flag of dictionary-encoded columns (in value type byte)
+	private static final int DICT_ENCODED_FLAG = 0x40;
+	
 	/** The number of rows of the FrameBlock */
 	private int _numRows = -1;
 	
@@ -484,7 +494,17 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		_numRows = cols[0].length;
 	}
 
+	/**
+	 * Returns the native array of the given column. Note that 
+	 * dictionary-encoded string columns are materialized as
+	 * string arrays.
+	 * 
+	 * @param c column index
+	 * @return native column array
+	 */
 	public Object getColumn(int c) {
+		if( _coldata[c] instanceof DictStringArray )
+			return ((DictStringArray)_coldata[c]).toStringArray();
 		switch(_schema[c]) {
 			case STRING:  return ((StringArray)_coldata[c])._data; 
 			case BOOLEAN: return ((BooleanArray)_coldata[c])._data;
@@ -494,6 +514,97 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	 	}
 	}
 	
+	/**
+	 * Indicates if the given column is a dictionary-encoded string column.
+	 * 
+	 * @param c column index
+	 * @return true if dictionary-encoded
+	 */
+	public boolean isDictionaryEncoded(int c) {
+		return _coldata != null && _coldata[c] instanceof DictStringArray;
+	}
+	
+	/**
+	 * Returns the dictionary of distinct values of the given 
+	 * dictionary-encoded string column.
+	 * 
+	 * @param c column index
+	 * @return string dictionary, or null if not dictionary-encoded
+	 */
+	public StringDictionary getColumnDictionary(int c) {
+		return isDictionaryEncoded(c) ? 
+			((DictStringArray)_coldata[c])._dict : null;
+	}
+	
+	/**
+	 * Returns the dictionary id of the value in position (r,c) of 
+	 * a dictionary-encoded string column.
+	 * 
+	 * @param r row index, 0-based
+	 * @param c column index, 0-based
+	 * @return dictionary id, or -1 for null values
+	 */
+	public int getDictionaryId(int r, int c) {
+		return ((DictStringArray)_coldata[c])._codes[r] - 1;
+	}
+	
+	/**
+	 * Converts the given string column into a dictionary-encoded column,
+	 * i.e., per-row integer codes and a dictionary of distinct values.
+	 * 
+	 * @param c column index
+	 */
+	public void dictionaryEncode(int c) {
+		dictionaryEncode(c, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Indicates if automatic dictionary encoding on read and the persistence
+	 * of dictionary-encoded columns in the binary format are enabled. If
+	 * disabled, dictionary-encoded columns are serialized as plain strings,
+	 * which keeps the binary format readable by older versions.
+	 * 
+	 * @return true if dictionary encoding is enabled
+	 */
+	public static boolean isDictionaryEncodingEnabled() {
+		return ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.FRAME_DICT_ENCODE);
+	}
+	
+	/**
+	 * Converts all string columns with a small number of distinct values 
+	 * (relative to the number of rows) into dictionary-encoded columns.
+	 * Frames with fewer than {@link #DICT_ENCODE_MIN_ROWS} rows are not
+	 * modified.
+	 * 
+	 * @return number of dictionary-encoded columns
+	 */
+	public int dictionaryEncodeStringColumns() {
+		if( _coldata == null || _numRows < DICT_ENCODE_MIN_ROWS )
+			return 0;
+		int maxDistinct = (int)(DICT_ENCODE_MAX_DISTINCT * _numRows);
+		int count = 0;
+		for( int j=0; j<getNumColumns(); j++ )
+			if( _schema[j] == ValueType.STRING )
+				count += dictionaryEncode(j, maxDistinct) ? 1 : 0;
+		return count;
+	}
+	
+	private boolean dictionaryEncode(int c, int maxDistinct) {
+		if( _schema[c] != ValueType.STRING || isDictionaryEncoded(c) )
+			return isDictionaryEncoded(c);
+		//encode column, abort on too many distinct values
+		Array arr = _coldata[c];
+		DictStringArray tmp = new DictStringArray(arr._size);
+		for( int i=0; i<arr._size; i++ ) {
+			tmp.set(i, (String)arr.get(i));
+			if( tmp._dict.size() > maxDistinct )
+				return false;
+		}
+		_coldata[c] = tmp;
+		return true;
+	}
+	
 	/**
 	 * Get a row iterator over the frame where all fields are encoded
 	 * as strings independent of their value types.  
@@ -550,15 +661,25 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		out.writeInt(getNumColumns());
 		out.writeBoolean(isDefaultMeta);
 		//write columns (value type, data)
+		boolean dictEnc = isDictionaryEncodingEnabled();
 		for( int j=0; j<getNumColumns(); j++ ) {
-			out.writeByte(_schema[j].ordinal());
+			boolean dict = dictEnc && isDictionaryEncoded(j);
+			out.writeByte(_schema[j].ordinal() | (dict ? DICT_ENCODED_FLAG : 0));
 			if( !isDefaultMeta ) {
 				out.writeUTF(getColumnName(j));
 				out.writeLong(_colmeta[j].getNumDistinct());
 				out.writeUTF( (_colmeta[j].getMvValue()!=null) ? 
 						_colmeta[j].getMvValue() : "" );
 			}
-			_coldata[j].write(out);
+			if( isDictionaryEncoded(j) && !dict ) {
+				//write codes as plain strings (default format)
+				for( int i=0; i<_numRows; i++ ) {
+					String tmp = (String)_coldata[j].get(i);
+					out.writeUTF((tmp!=null) ? tmp : "");
+				}
+			}
+			else
+				_coldata[j].write(out);
 		}
 	}
 
@@ -579,13 +700,16 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				_coldata : new Array[numCols];
 		//read columns (value type, meta, data)
 		for( int j=0; j<numCols; j++ ) {
-			ValueType vt = ValueType.values()[in.readByte()];
+			int type = in.readByte();
+			ValueType vt = ValueType.values()[type & ~DICT_ENCODED_FLAG];
+			boolean dict = (type & DICT_ENCODED_FLAG) != 0;
 			String name = isDefaultMeta ? createColName(j) : in.readUTF();
 			long ndistinct = isDefaultMeta ? 0 : in.readLong();
 			String mvvalue = isDefaultMeta ? null : in.readUTF();
 			Array arr = null;
 			switch( vt ) {
-				case STRING:  arr = new StringArray(new String[_numRows]); break;
+				case STRING:  arr = dict ? new DictStringArray(_numRows) : 
+					new StringArray(new String[_numRows]); break;
 				case BOOLEAN: arr = new BooleanArray(new boolean[_numRows]); break;
 				case INT:     arr = new LongArray(new long[_numRows]); break;
 				case DOUBLE:  arr = new DoubleArray(new double[_numRows]); break;
@@ -644,6 +768,10 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				case INT:
 				case DOUBLE: size += 8*_numRows; break;
 				case STRING: 
+					if( isDictionaryEncoded(j) ) {
+						size += 4L*_numRows + ((DictStringArray)_coldata[j])._dict.getInMemorySize();
+						break;
+					}
 					StringArray arr = (StringArray)_coldata[j];
 					for( int i=0; i<_numRows; i++ )
 						size += getInMemoryStringSize(arr.get(i));
@@ -663,6 +791,7 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		//column sizes
 		boolean isDefaultMeta = isColNamesDefault()
 				&& isColumnMetadataDefault();
+		boolean dictEnc = isDictionaryEncodingEnabled();
 		for( int j=0; j<getNumColumns(); j++ ) {
 			size += 1; //column schema
 			if( !isDefaultMeta ) {
@@ -675,9 +804,16 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 				case INT:
 				case DOUBLE: size += 8*_numRows; break;
 				case STRING: 
-					StringArray arr = (StringArray)_coldata[j];
+					if( dictEnc && isDictionaryEncoded(j) ) {
+						StringDictionary dict = ((DictStringArray)_coldata[j])._dict;
+						size += 4 + 4L*_numRows;
+						for( int i=0; i<dict.getNumIds(); i++ )
+							size += IOUtilFunctions.getUTFSize(dict.getKey(i));
+						break;
+					}
+					Array arr = _coldata[j];
 					for( int i=0; i<_numRows; i++ )
-						size += IOUtilFunctions.getUTFSize(arr.get(i));
+						size += IOUtilFunctions.getUTFSize((String)arr.get(i));
 					break;
 				default: //not applicable	
 			}
@@ -690,9 +826,10 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 	public boolean isShallowSerialize() {
 		//shallow serialize if non-string schema because a frame block
 		//is always dense but strings have large array overhead per cell
+		//(except for dictionary-encoded string columns)
 		boolean ret = true;
 		for( int j=0; j<_schema.length && ret; j++ )
-			ret &= (_schema[j] != ValueType.STRING);
+			ret &= (_schema[j] != ValueType.STRING || isDictionaryEncoded(j));
 		
 		return ret;
 	}
@@ -1215,9 +1352,20 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 			set(rl, ru, value, 0);
 		}
 		public void set(int rl, int ru, Array value, int rlSrc) {
-			System.arraycopy(((StringArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			if( value instanceof DictStringArray ) {
+				for( int i=rl; i<=ru; i++ )
+					_data[i] = (String)value.get(rlSrc+i-rl);
+			}
+			else
+				System.arraycopy(((StringArray)value)._data, rlSrc, _data, rl, ru-rl+1);
 		}
 		public void setNz(int rl, int ru, Array value) {
+			if( value instanceof DictStringArray ) {
+				for( int i=rl; i<ru+1; i++ )
+					if( value.get(i)!=null )
+						_data[i] = (String)value.get(i);
+				return;
+			}
 			String[] data2 = ((StringArray)value)._data;
 			for( int i=rl; i<ru+1; i++ )
 				if( data2[i]!=null )
@@ -1247,6 +1395,111 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		}
 	}
 
+	/**
+	 * Dictionary-encoded string array, which stores distinct strings once
+	 * in a dictionary and per-row integer codes (dictionary id + 1, and 0 
+	 * for null values). This compact representation reduces the size of 
+	 * low-cardinality string columns and allows for their serialization 
+	 * without materializing strings per cell.
+	 */
+	private static class DictStringArray extends Array<String> {
+		private StringDictionary _dict = null;
+		private int[] _codes = null;
+		
+		public DictStringArray(int size) {
+			this(new StringDictionary(), new int[size]);
+		}
+		public DictStringArray(StringDictionary dict, int[] codes) {
+			_dict = dict;
+			_codes = codes;
+			_size = _codes.length;
+		}
+		public String get(int index) {
+			int code = _codes[index];
+			return (code != 0) ? _dict.getKey(code-1) : null;
+		}
+		public void set(int index, String value) {
+			_codes[index] = (value != null) ? _dict.add(value) + 1 : 0;
+		}
+		public void set(int rl, int ru, Array value) {
+			set(rl, ru, value, 0);
+		}
+		public void set(int rl, int ru, Array value, int rlSrc) {
+			if( value instanceof DictStringArray ) {
+				DictStringArray that = (DictStringArray) value;
+				if( that._dict == _dict ) {
+					System.arraycopy(that._codes, rlSrc, _codes, rl, ru-rl+1);
+					return;
+				}
+				//remap codes on demand (w/o materializing strings)
+				int[] map = new int[that._dict.getNumIds()+1];
+				for( int i=rl; i<=ru; i++ )
+					_codes[i] = remap(that, map, that._codes[rlSrc+i-rl]);
+			}
+			else {
+				for( int i=rl; i<=ru; i++ )
+					set(i, (String)value.get(rlSrc+i-rl));
+			}
+		}
+		public void setNz(int rl, int ru, Array value) {
+			if( value instanceof DictStringArray ) {
+				DictStringArray that = (DictStringArray) value;
+				int[] map = new int[that._dict.getNumIds()+1];
+				for( int i=rl; i<ru+1; i++ )
+					if( that._codes[i] != 0 )
+						_codes[i] = (that._dict == _dict) ? 
+							that._codes[i] : remap(that, map, that._codes[i]);
+			}
+			else {
+				for( int i=rl; i<ru+1; i++ )
+					if( value.get(i)!=null )
+						set(i, (String)value.get(i));
+			}
+		}
+		private int remap(DictStringArray that, int[] map, int code) {
+			if( code != 0 && map[code] == 0 )
+				map[code] = _dict.add(that._dict.getKey(code-1)) + 1;
+			return map[code];
+		}
+		public void append(String value) {
+			if( _codes.length <= _size )
+				_codes = Arrays.copyOf(_codes, newSize());
+			_codes[_size++] = (value != null) ? _dict.add(value) + 1 : 0;
+		}
+		public String[] toStringArray() {
+			String[] ret = new String[_size];
+			for( int i=0; i<_size; i++ )
+				ret[i] = get(i);
+			return ret;
+		}
+		public void write(DataOutput out) throws IOException {
+			int nids = _dict.getNumIds();
+			out.writeInt(nids);
+			for( int i=0; i<nids; i++ ) //dense ids, no holes
+				out.writeUTF(_dict.getKey(i));
+			for( int i=0; i<_size; i++ )
+				out.writeInt(_codes[i]);
+		}
+		public void readFields(DataInput in) throws IOException {
+			int nids = in.readInt();
+			_dict = new StringDictionary(nids);
+			for( int i=0; i<nids; i++ )
+				_dict.put(in.readUTF(), i);
+			_size = _codes.length;
+			for( int i=0; i<_size; i++ )
+				_codes[i] = in.readInt();
+		}
+		public Array clone() {
+			return new DictStringArray(new StringDictionary(_dict), Arrays.copyOf(_codes, _size));
+		}
+		public Array slice(int rl, int ru) {
+			//compact dictionary of the slice
+			DictStringArray ret = new DictStringArray(ru-rl+1);
+			ret.set(0, ru-rl, this, rl);
+			return ret;
+		}
+	}
+
 	private static class BooleanArray extends Array<Boolean> {
 		private boolean[] _data = null;
 		
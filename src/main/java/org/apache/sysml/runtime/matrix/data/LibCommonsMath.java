@@ -36,6 +36,10 @@ import org.apache.sysml.runtime.util.DataConverter;
  * 
  * This library currently supports following operations:
  * matrix inverse, matrix decompositions (QR, LU, Eigen), solve 
+ * 
+ * For large dense inputs and a degree of parallelism k &gt; 1, the 
+ * operations inverse, cholesky, qr, eigen (of symmetric matrices), and 
+ * solve are delegated to the multi-threaded kernels in {@link LibMatrixDecomp}.
  */
 public class LibCommonsMath 
 {	
@@ -58,6 +62,25 @@ public class LibCommonsMath
 	public static MatrixBlock unaryOperations(MatrixObject inj, String opcode) 
 		throws DMLRuntimeException 
 	{
+		return unaryOperations(inj, opcode, 1);
+	}
+	
+	public static MatrixBlock unaryOperations(MatrixObject inj, String opcode, int k) 
+		throws DMLRuntimeException 
+	{
+		if( isParallelDecomposition(inj, k) ) {
+			MatrixBlock in = inj.acquireRead();
+			try {
+				if(opcode.equals("inverse"))
+					return LibMatrixDecomp.inverse(in, k);
+				else if (opcode.equals("cholesky"))
+					return LibMatrixDecomp.cholesky(in, k);
+			}
+			finally {
+				inj.release();
+			}
+		}
+		
 		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(inj);
 		if(opcode.equals("inverse"))
 			return computeMatrixInverse(matrixInput);
@@ -69,6 +92,34 @@ public class LibCommonsMath
 	public static MatrixBlock[] multiReturnOperations(MatrixObject in, String opcode) 
 		throws DMLRuntimeException 
 	{
+		return multiReturnOperations(in, opcode, 1);
+	}
+	
+	public static MatrixBlock[] multiReturnOperations(MatrixObject in, String opcode, int k) 
+		throws DMLRuntimeException 
+	{
+		if(opcode.equals("qr") && isParallelDecomposition(in, k)) {
+			MatrixBlock mb = in.acquireRead();
+			try {
+				return LibMatrixDecomp.qr(mb, k);
+			}
+			finally {
+				in.release();
+			}
+		}
+		else if(opcode.equals("eigen") && isParallelDecomposition(in, k)) {
+			MatrixBlock mb = in.acquireRead();
+			try {
+				//null for non-symmetric inputs, handled by general eigen decomposition
+				MatrixBlock[] ret = LibMatrixDecomp.eigen(mb, k);
+				if( ret != null )
+					return ret;
+			}
+			finally {
+				in.release();
+			}
+		}
+		
 		if(opcode.equals("qr"))
 			return computeQR(in);
 		else if (opcode.equals("lu"))
@@ -81,11 +132,36 @@ public class LibCommonsMath
 	public static MatrixBlock matrixMatrixOperations(MatrixObject in1, MatrixObject in2, String opcode) 
 		throws DMLRuntimeException 
 	{
+		return matrixMatrixOperations(in1, in2, opcode, 1);
+	}
+	
+	public static MatrixBlock matrixMatrixOperations(MatrixObject in1, MatrixObject in2, String opcode, int k) 
+		throws DMLRuntimeException 
+	{
+		//multi-threaded solve only for (over-)determined systems
+		if(opcode.equals("solve") && isParallelDecomposition(in1, k)
+			&& in1.getNumRows() >= in1.getNumColumns() ) {
+			MatrixBlock mb1 = in1.acquireRead();
+			MatrixBlock mb2 = in2.acquireRead();
+			try {
+				return LibMatrixDecomp.solve(mb1, mb2, k);
+			}
+			finally {
+				in1.release();
+				in2.release();
+			}
+		}
+		
 		if(opcode.equals("solve"))
 			return computeSolve(in1, in2);
 		return null;
 	}
 	
+	private static boolean isParallelDecomposition(MatrixObject in, int k) {
+		return LibMatrixDecomp.isParallelDecomposition(
+			in.getNumRows(), in.getNumColumns(), k);
+	}
+	
 	/**
 	 * Function to solve a given system of equations.
 	 * 
@@ -193,6 +193,12 @@ public class LibMatrixAgg
 			return;
 		}	
 		
+		//handle large dense blocks (multiple row blocks)
+		if( !in.sparse && !in.getDenseBlock().isContiguous() ) {
+			aggregateUnaryMatrixLargeDense(in, out, uaop, 1);
+			return;
+		}
+		
 		//Timing time = new Timing(true);
 		
 		//allocate output arrays (if required)
@@ -234,6 +240,12 @@ public class LibMatrixAgg
 			return;
 		}	
 		
+		//handle large dense blocks (multiple row blocks)
+		if( !in.sparse && !in.getDenseBlock().isContiguous() ) {
+			aggregateUnaryMatrixLargeDense(in, out, uaop, k);
+			return;
+		}
+		
 		//Timing time = new Timing(true);
 		
 		//allocate output arrays (if required)
@@ -275,6 +287,68 @@ public class LibMatrixAgg
 		//System.out.println("uagg k="+k+" ("+in.rlen+","+in.clen+","+in.sparse+") in "+time.stop()+"ms.");
 	}
 
+	/**
+	 * Unary aggregate over a large dense block with multiple row blocks. Each
+	 * row block is aggregated via a shallow matrix block view (single- or 
+	 * multi-threaded), and the partial results are either appended (row 
+	 * aggregates) or merged via the final aggregation function.
+	 * 
+	 * @param in input matrix block with large dense block
+	 * @param out output matrix block
+	 * @param uaop aggregate unary operator
+	 * @param k degree of parallelism per row block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void aggregateUnaryMatrixLargeDense(MatrixBlock in, MatrixBlock out, AggregateUnaryOperator uaop, int k) 
+		throws DMLRuntimeException
+	{
+		DenseBlock a = in.getDenseBlock();
+		final int n = in.clen;
+		final int m2 = out.rlen;
+		final int n2 = out.clen;
+		
+		out.reset(m2, n2, false); //always dense
+		out.allocateDenseBlock();
+		
+		if( uaop.indexFn instanceof ReduceDiag ) { //TRACE
+			KahanObject kbuff = new KahanObject(0, 0);
+			KahanPlus kplus = (KahanPlus)uaop.aggOp.increOp.fn;
+			for( int i=0; i<Math.min(in.rlen, n); i++ )
+				kplus.execute2(kbuff, a.get(i, i));
+			out.quickSetValue(0, 0, kbuff._sum);
+			out.quickSetValue(0, 1, kbuff._correction);
+		}
+		else {
+			boolean first = true;
+			for( int bi=0, rix=0; bi<a.numBlocks(); rix+=a.blockSize(bi), bi++ ) {
+				//create shallow view of the row block (nnz as upper bound)
+				int lrlen = a.blockSize(bi);
+				MatrixBlock view = new MatrixBlock(lrlen, n, false);
+				view.denseBlock = DenseBlockFactory.createDenseBlock(a.valuesAt(bi), lrlen, n);
+				view.nonZeros = (long)lrlen * n;
+				
+				if( uaop.indexFn instanceof ReduceCol ) {
+					MatrixBlock partout = new MatrixBlock(lrlen, n2, false);
+					aggregateUnaryMatrix(view, partout, uaop, k);
+					out.copy(rix, rix+lrlen-1, 0, n2-1, partout, false);
+				}
+				else {
+					MatrixBlock partout = new MatrixBlock(m2, n2, false);
+					aggregateUnaryMatrix(view, partout, uaop, k);
+					if( first )
+						out.copy(partout);
+					else
+						aggregateFinalResult(uaop.aggOp, out, partout);
+					first = false;
+				}
+			}
+		}
+		
+		//cleanup output and change representation (if necessary)
+		out.recomputeNonZeros();
+		out.examSparsity();
+	}
+
 	public static MatrixBlock cumaggregateUnaryMatrix(MatrixBlock in, MatrixBlock out, UnaryOperator uop) 
 		throws DMLRuntimeException
 	{
@@ -555,7 +629,7 @@ public class LibMatrixAgg
 		if( (type == AggType.MAX_INDEX || type == AggType.MIN_INDEX) && ix.getColumnIndex()!=1 ) //MAXINDEX or MININDEX
 		{
 			int m = out.rlen;
-			double[] c = out.getDenseBlock();
+			double[] c = out.getDenseBlockValues();
 			for( int i=0, cix=0; i<m; i++, cix+=2 )
 				c[cix] = UtilFunctions.computeCellIndex(ix.getColumnIndex(), bclen, (int)c[cix]-1);
 		}
@@ -662,9 +736,9 @@ public class LibMatrixAgg
 		KahanObject kbuff = new KahanObject(0, 0);
 		KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
 		
-		double[] a = in1.denseBlock;
-		double[] b1 = in2.denseBlock;
-		double[] b2 = (in3!=null) ? in3.denseBlock : null; //if null, literal 1
+		double[] a = in1.getDenseBlockValues();
+		double[] b1 = in2.getDenseBlockValues();
+		double[] b2 = (in3!=null) ? in3.getDenseBlockValues() : null; //if null, literal 1
 		final int n = in1.clen;
 		
 		if( ixFn instanceof ReduceAll ) //tak+*
@@ -680,7 +754,7 @@ public class LibMatrixAgg
 		}
 		else //tack+*
 		{
-			double[] c = ret.getDenseBlock();
+			double[] c = ret.getDenseBlockValues();
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++ ) {
 					double b2val = (b2 != null) ? b2[ix] : 1;
@@ -740,7 +814,7 @@ public class LibMatrixAgg
 		}
 		else //tack+*
 		{
-			double[] c = ret.getDenseBlock();
+			double[] c = ret.getDenseBlockValues();
 			for( int i=rl; i<ru; i++ )
 				if( !a.isEmpty(i) ) {
 					int apos = a.pos(i);
@@ -825,7 +899,7 @@ public class LibMatrixAgg
 			else //DENSE target
 			{
 				for ( int i=0; i < target.getNumColumns(); i++ ) {
-					double d = target.denseBlock[ i ];
+					double d = target.getDenseBlockValues()[ i ];
 					if( d != 0 ) //sparse-safe
 					{
 						int g = (int) groups.quickGetValue(i, 0);		
@@ -871,7 +945,7 @@ public class LibMatrixAgg
 			}
 			else //DENSE target
 			{
-				double[] a = target.denseBlock;
+				double[] a = target.getDenseBlockValues();
 				
 				for( int i=0, aix=0; i < groups.getNumRows(); i++, aix+=numCols ) 
 				{
@@ -943,7 +1017,7 @@ public class LibMatrixAgg
 		}
 		else //DENSE target
 		{
-			double[] a = target.denseBlock;
+			double[] a = target.getDenseBlockValues();
 			
 			for( int i=0, aix=0; i < groups.getNumRows(); i++, aix+=target.clen ) 
 			{
@@ -976,7 +1050,7 @@ public class LibMatrixAgg
 		if( groups.isInSparseFormat() || groups.isEmptyBlock(false) )
 			throw new DMLRuntimeException("Unsupported sparse input for aggregate-count on group vector.");
 		
-		double[] a = groups.denseBlock;
+		double[] a = groups.getDenseBlockValues();
 		int[] tmp = new int[numGroups];
 		int m = groups.rlen;
 		
@@ -1004,9 +1078,9 @@ public class LibMatrixAgg
 		aggVal.allocateDenseBlock(); //should always stay in dense
 		aggCorr.allocateDenseBlock(); //should always stay in dense
 		
-		double[] a = in.getDenseBlock();
-		double[] c = aggVal.getDenseBlock();
-		double[] cc = aggCorr.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
+		double[] c = aggVal.getDenseBlockValues();
+		double[] cc = aggCorr.getDenseBlockValues();
 		
 		KahanObject buffer1 = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1042,8 +1116,8 @@ public class LibMatrixAgg
 		aggCorr.allocateDenseBlock(); //should always stay in dense
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = aggVal.getDenseBlock();
-		double[] cc = aggCorr.getDenseBlock();
+		double[] c = aggVal.getDenseBlockValues();
+		double[] cc = aggCorr.getDenseBlockValues();
 		
 		KahanObject buffer1 = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1126,7 +1200,7 @@ public class LibMatrixAgg
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
 		
 		KahanObject buffer = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1157,7 +1231,7 @@ public class LibMatrixAgg
 		final int n = in.clen;
 		final int cix = (m-1)*n;
 		
-		double[] a = in.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
 		
 		KahanObject buffer = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1227,7 +1301,7 @@ public class LibMatrixAgg
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
 		
 		KahanObject buffer = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1295,8 +1369,8 @@ public class LibMatrixAgg
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();		
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();		
 		
 		switch( optype )
 		{
@@ -1418,7 +1492,7 @@ public class LibMatrixAgg
 		final int n = in.clen;
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		switch( optype )
 		{
@@ -1538,8 +1612,8 @@ public class LibMatrixAgg
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();		
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();		
 		
 		switch( optype )
 		{
@@ -1575,7 +1649,7 @@ public class LibMatrixAgg
 		final int n = in.clen;
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		switch( optype )
 		{
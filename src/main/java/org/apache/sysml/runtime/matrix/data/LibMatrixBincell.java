@@ -19,7 +19,13 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.Divide;
@@ -57,7 +63,8 @@ import org.apache.sysml.runtime.util.SortUtils;
  */
 public class LibMatrixBincell 
 {
-
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements
+	
 	public enum BinaryAccessType {
 		MATRIX_MATRIX,
 		MATRIX_COL_VECTOR,
@@ -103,6 +110,54 @@ public class LibMatrixBincell
 			ret.examSparsity();
 	}
 	
+	/**
+	 * multi-threaded matrix-scalar, scalar-matrix binary operations,
+	 * which are parallelized over row partitions of the input.
+	 * 
+	 * @param m1 input matrix
+	 * @param ret result matrix
+	 * @param op scalar operator
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		//fall back to sequential version if necessary
+		if( k <= 1 || m1.isEmptyBlock(false) || m1.rlen <= k/2
+			|| (long)m1.rlen * m1.clen < PAR_NUMCELL_THRESHOLD
+			|| (op.sparseSafe && m1.isInSparseFormat()!=ret.isInSparseFormat())
+			|| (!op.sparseSafe && ret.isInSparseFormat()) || !ret.isThreadSafe() ) {
+			bincellOp(m1, ret, op);
+			return;
+		}
+		
+		//allocate output (sparse rows block or dense block)
+		if( ret.sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock();
+		
+		//core multi-threaded matrix-scalar computation
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<BincellScalarTask> tasks = new ArrayList<BincellScalarTask>();
+			int blklen = (int)(Math.ceil((double)m1.rlen/k));
+			for( int i=0; i<k & i*blklen<m1.rlen; i++ )
+				tasks.add(new BincellScalarTask(m1, ret, op, i*blklen, Math.min((i+1)*blklen, m1.rlen)));
+			ret.nonZeros = aggregateNnz(pool.invokeAll(tasks));
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//ensure empty results sparse representation 
+		//(no additional memory requirements)
+		if( ret.isEmptyBlock(false) )
+			ret.examSparsity();
+	}
+	
 	/**
 	 * matrix-matrix binary operations, MM, MV
 	 * 
@@ -127,6 +182,52 @@ public class LibMatrixBincell
 			ret.examSparsity();
 	}
 	
+	/**
+	 * multi-threaded matrix-matrix binary operations, MM, MV, which are
+	 * parallelized over row partitions of the left-hand-side input. 
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix
+	 * @param op binary operator
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		
+		//fall back to sequential version if necessary
+		if( k <= 1 || m1.rlen <= k/2 || (long)m1.rlen * m1.clen < PAR_NUMCELL_THRESHOLD 
+			|| !isParallelBinary(m1, m2, ret, op, atype) ) {
+			bincellOp(m1, m2, ret, op);
+			return;
+		}
+		
+		//allocate dense output (w/o clearing values)
+		ret.allocateDenseBlock();
+		
+		//core multi-threaded matrix-matrix computation
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<BincellTask> tasks = new ArrayList<BincellTask>();
+			int blklen = (int)(Math.ceil((double)m1.rlen/k));
+			for( int i=0; i<k & i*blklen<m1.rlen; i++ )
+				tasks.add(new BincellTask(m1, m2, ret, op, atype, i*blklen, Math.min((i+1)*blklen, m1.rlen)));
+			ret.nonZeros = aggregateNnz(pool.invokeAll(tasks));
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//ensure empty results sparse representation 
+		//(no additional memory requirements)
+		if( ret.isEmptyBlock(false) )
+			ret.examSparsity();
+	}
+	
 	/**
 	 * NOTE: operations in place always require m1 and m2 to be of equal dimensions
 	 * 
@@ -194,6 +295,18 @@ public class LibMatrixBincell
 		return (op.fn instanceof Divide && rhs.getNonZeros()==(long)rhs.getNumRows()*rhs.getNumColumns());
 	}
 	
+	private static boolean isParallelBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, BinaryAccessType atype)
+	{
+		//multi-threaded execution for dense, non-empty MM and MV operations
+		//(dense kernels apply to sparse-safe and -unsafe ops; sparse-safe ops
+		//over empty inputs are handled by early aborts of the sequential version)
+		return (atype == BinaryAccessType.MATRIX_MATRIX 
+				|| atype == BinaryAccessType.MATRIX_COL_VECTOR
+				|| atype == BinaryAccessType.MATRIX_ROW_VECTOR)
+			&& !m1.sparse && !m2.sparse && !ret.sparse 
+			&& !m1.isEmptyBlock(false) && !m2.isEmptyBlock(false);
+	}
+	
 	//////////////////////////////////////////////////////
 	// private sparse-safe/sparse-unsafe implementations
 	///////////////////////////////////
@@ -315,25 +428,27 @@ public class LibMatrixBincell
 				ret.allocateDenseBlock();
 				final int m = ret.rlen;
 				final int n = ret.clen;
-				double[] c = ret.denseBlock;
+				DenseBlock dc = ret.getDenseBlock();
 				
 				//1) process left input: assignment
 				
 				if( m1.sparse ) //SPARSE left
 				{
-					Arrays.fill(ret.denseBlock, 0, ret.denseBlock.length, 0); 
+					ret.denseBlock.reset(); 
 					
 					if( m1.sparseBlock != null )
 					{
 						SparseBlock a = m1.sparseBlock;
 						
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
+						for( int i=0; i<m; i++ ) {
 							if( !a.isEmpty(i) )
 							{
 								int apos = a.pos(i);
 								int alen = a.size(i);
 								int[] aix = a.indexes(i);
 								double[] avals = a.values(i);
+								double[] c = dc.values(i);
+								int ix = dc.pos(i);
 								for(int k = apos; k < apos+alen; k++) 
 									c[ix+aix[k]] = avals[k];
 							}
@@ -343,9 +458,9 @@ public class LibMatrixBincell
 				else //DENSE left
 				{
 					if( !m1.isEmptyBlock(false) ) 
-						System.arraycopy(m1.denseBlock, 0, c, 0, m*n);
+						dc.set(m1.getDenseBlock());
 					else
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
+						ret.denseBlock.reset(m, n); 
 				}
 				
 				//2) process right input: op.fn (+,-,*), * only if dense
@@ -355,12 +470,14 @@ public class LibMatrixBincell
 					{
 						SparseBlock a = m2.sparseBlock;
 						
-						for( int i=0, ix=0; i<m; i++, ix+=n ) {
+						for( int i=0; i<m; i++ ) {
 							if( !a.isEmpty(i) ) {
 								int apos = a.pos(i);
 								int alen = a.size(i);
 								int[] aix = a.indexes(i);
 								double[] avals = a.values(i);
+								double[] c = dc.values(i);
+								int ix = dc.pos(i);
 								for(int k = apos; k < apos+alen; k++) 
 									c[ix+aix[k]] = op.fn.execute(c[ix+aix[k]], avals[k]);
 							}
@@ -369,11 +486,17 @@ public class LibMatrixBincell
 				}
 				else //DENSE right
 				{
-					if( !m2.isEmptyBlock(false) )
-						for( int i=0; i<m*n; i++ )
-							c[i] = op.fn.execute(c[i], m2.denseBlock[i]);
+					if( !m2.isEmptyBlock(false) ) {
+						DenseBlock db = m2.getDenseBlock();
+						for( int i=0; i<m; i++ ) {
+							double[] b = db.values(i), c = dc.values(i);
+							int bix = db.pos(i), cix = dc.pos(i);
+							for( int j=0; j<n; j++ )
+								c[cix+j] = op.fn.execute(c[cix+j], b[bix+j]);
+						}
+					}
 					else if(op.fn instanceof Multiply)
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
+						ret.denseBlock.reset(m, n); 
 				}
 	
 				//3) recompute nnz
@@ -383,20 +506,7 @@ public class LibMatrixBincell
 					&& m1.denseBlock!=null && m2.denseBlock!=null )
 			{
 				ret.allocateDenseBlock();
-				final int m = ret.rlen;
-				final int n = ret.clen;
-				double[] a = m1.denseBlock;
-				double[] b = m2.denseBlock;
-				double[] c = ret.denseBlock;
-				ValueFunction fn = op.fn;
-				
-				//compute dense-dense binary, maintain nnz on-the-fly
-				int nnz = 0;
-				for( int i=0; i<m*n; i++ ) {
-					c[i] = fn.execute(a[i], b[i]);
-					nnz += (c[i]!=0)? 1 : 0;
-				}
-				ret.nonZeros = nnz;
+				ret.nonZeros = safeBinaryMMDense(m1, m2, ret, op, 0, ret.rlen);
 			}
 			else if( skipEmpty && (m1.sparse || m2.sparse) ) 
 			{
@@ -438,48 +548,84 @@ public class LibMatrixBincell
 		}
 	}
 
+	private static long safeBinaryMMDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		DenseBlock da = m1.getDenseBlock();
+		DenseBlock db = m2.getDenseBlock();
+		DenseBlock dc = ret.getDenseBlock();
+		ValueFunction fn = op.fn;
+		final int n = ret.clen;
+		
+		//compute dense-dense binary, maintain nnz on-the-fly
+		//(row-wise to support large dense blocks w/ multiple arrays)
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ ) {
+			double[] a = da.values(i), b = db.values(i), c = dc.values(i);
+			int aix = da.pos(i), bix = db.pos(i), cix = dc.pos(i);
+			for( int j=0; j<n; j++ ) {
+				c[cix+j] = fn.execute(a[aix+j], b[bix+j]);
+				nnz += (c[cix+j]!=0)? 1 : 0;
+			}
+		}
+		return nnz;
+	}
+	
 	private static void safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
 		throws DMLRuntimeException 
 	{
-		boolean isMultiply = (op.fn instanceof Multiply);
-		boolean skipEmpty = (isMultiply);
-		BinaryAccessType atype = getBinaryAccessType(m1, m2);
-		int rlen = m1.rlen;
-		int clen = m1.clen;
+		boolean skipEmpty = (op.fn instanceof Multiply);
 		
 		//early abort on skip and empy
 		if( skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false) ) )
 			return; // skip entire empty block
 		
 		ret.allocateDenseBlock();
-		double[] a = m1.denseBlock;
-		double[] b = m2.denseBlock;
-		double[] c = ret.denseBlock;
-		int nnz = 0;
+		ret.nonZeros = safeBinaryMVDense(m1, m2, ret, op, 
+			getBinaryAccessType(m1, m2), 0, m1.rlen);
+	}
+	
+	private static long safeBinaryMVDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, BinaryAccessType atype, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		boolean isMultiply = (op.fn instanceof Multiply);
+		boolean skipEmpty = (isMultiply);
+		int clen = m1.clen;
+		
+		DenseBlock da = m1.getDenseBlock();
+		DenseBlock db = m2.getDenseBlock();
+		DenseBlock dc = ret.getDenseBlock();
+		long nnz = 0;
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
-			for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+			for( int i=rl; i<ru; i++ )
 			{
+				double[] c = dc.values(i);
+				int cix = dc.pos(i);
+				
 				//replicate vector value
-				double v2 = (b==null) ? 0 : b[i];
+				double v2 = (db==null) ? 0 : db.get(i, 0);
 				if( skipEmpty && v2 == 0 ) //skip empty rows
 					continue;
 					
 				if( isMultiply && v2 == 1 ) { //ROW COPY
 					//a guaranteed to be non-null (see early abort)
-					System.arraycopy(a, ix, c, ix, clen);
-					nnz += m1.recomputeNonZeros(i, i, 0, clen-1);
+					System.arraycopy(da.values(i), da.pos(i), c, cix, clen);
+					nnz += da.countNonZeros(i);
 				}
 				else { //GENERAL CASE
-					if( a != null )
+					if( da != null ) {
+						double[] a = da.values(i);
+						int aix = da.pos(i);
 						for( int j=0; j<clen; j++ ) {
-							c[ix+j] = op.fn.execute( a[ix+j], v2 );	
-							nnz += (c[ix+j] != 0) ? 1 : 0;
+							c[cix+j] = op.fn.execute( a[aix+j], v2 );	
+							nnz += (c[cix+j] != 0) ? 1 : 0;
 						}
+					}
 					else {
 						double val = op.fn.execute( 0, v2 );
-						Arrays.fill(c, ix, ix+clen, val);
+						Arrays.fill(c, cix, cix+clen, val);
 						nnz += (val != 0) ? clen : 0;
 					}
 				}
@@ -487,33 +633,40 @@ public class LibMatrixBincell
 		}
 		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR )
 		{
-			if( a==null && b==null ) { //both empty
+			//row vector in a single row block
+			double[] b = (db==null) ? null : db.values(0);
+			if( da==null && b==null ) { //both empty
 				double v = op.fn.execute( 0, 0 );
-				Arrays.fill(c, 0, rlen*clen, v);
-				nnz += (v != 0) ? rlen*clen : 0;
+				dc.set(rl, ru, 0, clen, v);
+				nnz += (v != 0) ? (long)(ru-rl)*clen : 0;
 			}
-			else if( a==null ) //left empty
+			else if( da==null ) //left empty
 			{
 				//compute first row
+				double[] c = dc.values(rl);
+				int cix0 = dc.pos(rl);
 				for( int j=0; j<clen; j++ ) {
-					c[j] = op.fn.execute( 0, b[j] );
-					nnz += (c[j] != 0) ? rlen : 0;
+					c[cix0+j] = op.fn.execute( 0, b[j] );
+					nnz += (c[cix0+j] != 0) ? (ru-rl) : 0;
 				}
 				//copy first to all other rows
-				for( int i=1, ix=clen; i<rlen; i++, ix+=clen )
-					System.arraycopy(c, 0, c, ix, clen);
+				for( int i=rl+1; i<ru; i++ )
+					System.arraycopy(c, cix0, dc.values(i), dc.pos(i), clen);
 			}
 			else //default case (incl right empty) 
 			{
-				for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+				for( int i=rl; i<ru; i++ ) {
+					double[] a = da.values(i), c = dc.values(i);
+					int aix = da.pos(i), cix = dc.pos(i);
 					for( int j=0; j<clen; j++ ) {
-						c[ix+j] = op.fn.execute( a[ix+j], ((b!=null) ? b[j] : 0) );	
-						nnz += (c[ix+j] != 0) ? 1 : 0;
+						c[cix+j] = op.fn.execute( a[aix+j], ((b!=null) ? b[j] : 0) );	
+						nnz += (c[cix+j] != 0) ? 1 : 0;
 					}
+				}
 			}
 		}
 		
-		ret.nonZeros = nnz;
+		return nnz;
 	}
 
 	private static void safeBinaryMVSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
@@ -788,16 +941,18 @@ public class LibMatrixBincell
 				iEndPos = ixPos1;
 			}
 			if(iStartPos < iEndPos || bOp.fn instanceof NotEquals) {
-				int iOffSet = r*mbRight.getNumColumns();
+				DenseBlock dc = mbOut.getDenseBlock();
+				double[] c = dc.values(r);
+				int iOffSet = dc.pos(r);
 				if(bOp.fn instanceof LessThan || bOp.fn instanceof GreaterThanEquals 
 						|| bOp.fn instanceof GreaterThan || bOp.fn instanceof LessThanEquals 
 						|| bOp.fn instanceof Equals)	{
-					Arrays.fill(mbOut.getDenseBlock(), iOffSet+iStartPos, iOffSet+iEndPos, 1.0);
+					Arrays.fill(c, iOffSet+iStartPos, iOffSet+iEndPos, 1.0);
 					lNNZ += (iEndPos-iStartPos);
 				}
 				else if (bOp.fn instanceof NotEquals) {
-					Arrays.fill(mbOut.getDenseBlock(), iOffSet, iOffSet+iStartPos, 1.0);
-					Arrays.fill(mbOut.getDenseBlock(), iOffSet+iEndPos, iOffSet+bv.length, 1.0);
+					Arrays.fill(c, iOffSet, iOffSet+iStartPos, 1.0);
+					Arrays.fill(c, iOffSet+iEndPos, iOffSet+bv.length, 1.0);
 					lNNZ += (iStartPos+(bv.length-iEndPos));
 				}
 			}
@@ -867,12 +1022,14 @@ public class LibMatrixBincell
 				&& !m2.sparse && !m2.isEmptyBlock(false)  )
 			{
 				ret.allocateDenseBlock();
-				double[] a = m1.denseBlock;
-				double[] b = m2.denseBlock;
-				double[] c = ret.denseBlock;
+				DenseBlock da = m1.getDenseBlock();
+				DenseBlock db = m2.getDenseBlock();
+				DenseBlock dc = ret.getDenseBlock();
 				for( int i=0; i<rlen; i++ ) {
-					c[i] = op.fn.execute( a[i], b[i] );
-					if( c[i] != 0 ) 
+					double[] c = dc.values(i);
+					int cix = dc.pos(i);
+					c[cix] = op.fn.execute( da.values(i)[da.pos(i)], db.values(i)[db.pos(i)] );
+					if( c[cix] != 0 ) 
 						ret.nonZeros++;
 				}
 			}
@@ -903,55 +1060,60 @@ public class LibMatrixBincell
 		if( m1.sparse != ret.sparse )
 			throw new DMLRuntimeException("Unsupported safe binary scalar operations over different input/output representation: "+m1.sparse+" "+ret.sparse);
 		
-		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
-		
 		if( m1.sparse ) //SPARSE <- SPARSE
 		{	
 			//allocate sparse row structure
 			ret.allocateSparseRowsBlock();
-			SparseBlock a = m1.sparseBlock;
-			SparseBlock c = ret.sparseBlock;
-			int rlen = Math.min(m1.rlen, a.numRows());
+			ret.nonZeros = safeBinaryScalarSparse(m1, ret, op, 0, m1.rlen);
+		}
+		else { //DENSE <- DENSE
+			denseBinaryScalar(m1, ret, op);
+		}
+	}
+	
+	private static long safeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock c = ret.sparseBlock;
+		int rlen = Math.min(ru, a.numRows());
+		
+		long nnz = 0;
+		for(int r=rl; r<rlen; r++) {
+			if( a.isEmpty(r) ) continue;
 			
-			long nnz = 0;
-			for(int r=0; r<rlen; r++) {
-				if( a.isEmpty(r) ) continue;
-				
-				int apos = a.pos(r);
-				int alen = a.size(r);
-				int[] aix = a.indexes(r);
-				double[] avals = a.values(r);
+			int apos = a.pos(r);
+			int alen = a.size(r);
+			int[] aix = a.indexes(r);
+			double[] avals = a.values(r);
+			
+			if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
+				//create sparse row without repeated resizing
+				SparseRowVector crow = new SparseRowVector(alen);
+				crow.setSize(alen);
 				
-				if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
-					//create sparse row without repeated resizing
-					SparseRowVector crow = new SparseRowVector(alen);
-					crow.setSize(alen);
-					
-					//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
-					System.arraycopy(aix, apos, crow.indexes(), 0, alen);
-					Arrays.fill(crow.values(), 0, alen, 1);
-					c.set(r, crow, false);
-					nnz += alen;
+				//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
+				System.arraycopy(aix, apos, crow.indexes(), 0, alen);
+				Arrays.fill(crow.values(), 0, alen, 1);
+				c.set(r, crow, false);
+				nnz += alen;
+			}
+			else { //GENERAL CASE
+				//create sparse row without repeated resizing for specific ops
+				if( op.fn instanceof Multiply || op.fn instanceof Multiply2 
+					|| op.fn instanceof Power2  ) {
+					c.allocate(r, alen);
 				}
-				else { //GENERAL CASE
-					//create sparse row without repeated resizing for specific ops
-					if( op.fn instanceof Multiply || op.fn instanceof Multiply2 
-						|| op.fn instanceof Power2  ) {
-						c.allocate(r, alen);
-					}
-					
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c.append(r, aix[j], val);
-						nnz += (val != 0) ? 1 : 0; 
-					}
+				
+				for(int j=apos; j<apos+alen; j++) {
+					double val = op.executeScalar(avals[j]);
+					c.append(r, aix[j], val);
+					nnz += (val != 0) ? 1 : 0; 
 				}
 			}
-			ret.nonZeros = nnz;
-		}
-		else { //DENSE <- DENSE
-			denseBinaryScalar(m1, ret, op);
 		}
+		return nnz;
 	}
 	
 	/**
@@ -981,37 +1143,43 @@ public class LibMatrixBincell
 		if( m1.sparse ) //SPARSE MATRIX
 		{
 			ret.allocateDenseBlock();
-			
-			SparseBlock a = m1.sparseBlock;
-			double[] c = ret.denseBlock;			
-			int m = m1.rlen;
-			int n = m1.clen;
-			
-			//init dense result with unsafe 0-value
-			double cval0 = op.executeScalar(0);
-			Arrays.fill(c, cval0);
-			
-			//compute non-zero input values
-			int nnz = m*n;
-			for(int i=0, cix=0; i<m; i++, cix+=n) {
-				if( !a.isEmpty(i) ) {
-					int apos = a.pos(i);
-					int alen = a.size(i);
-					int[] aix = a.indexes(i);
-					double[] avals = a.values(i);
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c[ cix+aix[j] ] = val;
-						nnz -= (val==0) ? 1 : 0;
-					}
-				}
-			}
-			ret.nonZeros = nnz;
+			ret.nonZeros = unsafeBinaryScalarSparse(m1, ret, op, 0, m1.rlen);
 		}
 		else { //DENSE MATRIX
 			denseBinaryScalar(m1, ret, op);
 		}
 	}
+	
+	private static long unsafeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		SparseBlock a = m1.sparseBlock;
+		DenseBlock dc = ret.getDenseBlock();
+		int n = m1.clen;
+		
+		//init dense result with unsafe 0-value
+		double cval0 = op.executeScalar(0);
+		dc.set(rl, ru, 0, n, cval0);
+		
+		//compute non-zero input values
+		long nnz = (cval0 != 0) ? (long)(ru-rl) * n : 0;
+		for(int i=rl; i<ru; i++) {
+			if( !a.isEmpty(i) ) {
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				double[] c = dc.values(i);
+				int cix = dc.pos(i);
+				for(int j=apos; j<apos+alen; j++) {
+					double val = op.executeScalar(avals[j]);
+					c[ cix+aix[j] ] = val;
+					nnz += ((val!=0) ? 1 : 0) - ((cval0!=0) ? 1 : 0);
+				}
+			}
+		}
+		return nnz;
+	}
 
 	private static void denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) 
 		throws DMLRuntimeException 
@@ -1019,17 +1187,33 @@ public class LibMatrixBincell
 		//allocate dense block (if necessary), incl clear nnz
 		ret.allocateDenseBlock(true);
 		
-		double[] a = m1.denseBlock;
-		double[] c = ret.denseBlock;
+		//compute scalar operation, incl nnz maintenance
+		ret.nonZeros = denseBinaryScalar(m1, ret, op, 0, m1.rlen);
+	}
+	
+	private static long denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		DenseBlock da = m1.getDenseBlock();
+		DenseBlock dc = ret.getDenseBlock();
+		final int n = m1.clen;
+		final int blen = da.blockSize();
 		
 		//compute scalar operation, incl nnz maintenance
-		int limit = m1.rlen*m1.clen;
-		int nnz = 0;
-		for( int i=0; i<limit; i++ ) {
-			c[i] = op.executeScalar( a[i] );
-			nnz += (c[i] != 0) ? 1 : 0;
+		//(per row block to support large dense blocks w/ multiple arrays, 
+		//note: equal dimensions imply equal row blocks of input and output)
+		long nnz = 0;
+		for( int bi=da.index(rl); bi<=da.index(ru-1); bi++ ) {
+			double[] a = da.valuesAt(bi);
+			double[] c = dc.valuesAt(bi);
+			int lower = da.pos(Math.max(rl, bi*blen));
+			int upper = da.pos(Math.min(ru, (bi+1)*blen)-1) + n;
+			for( int i=lower; i<upper; i++ ) {
+				c[i] = op.executeScalar( a[i] );
+				nnz += (c[i] != 0) ? 1 : 0;
+			}
 		}
-		ret.nonZeros = nnz;
+		return nnz;
 	}
 
 	private static void safeBinaryInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op) 
@@ -1257,5 +1441,73 @@ public class LibMatrixBincell
 		}
 	}
 	
+
+	private static long aggregateNnz(List<Future<Long>> tasks) 
+		throws Exception
+	{
+		long nnz = 0;
+		for( Future<Long> task : tasks )
+			nnz += task.get();
+		return nnz;
+	}
+	
+	private static class BincellScalarTask implements Callable<Long> 
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _ret;
+		private final ScalarOperator _op;
+		private final int _rl;
+		private final int _ru;
+
+		protected BincellScalarTask( MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru ) {
+			_m1 = m1;
+			_ret = ret;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			//execute binary operation on row partition
+			//(note: sparse-unsafe ops always produce dense outputs)
+			if( !_m1.sparse )
+				return denseBinaryScalar(_m1, _ret, _op, _rl, _ru);
+			else if( _op.sparseSafe )
+				return safeBinaryScalarSparse(_m1, _ret, _op, _rl, _ru);
+			else
+				return unsafeBinaryScalarSparse(_m1, _ret, _op, _rl, _ru);
+		}
+	}
+	
+	private static class BincellTask implements Callable<Long> 
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _m2;
+		private final MatrixBlock _ret;
+		private final BinaryOperator _op;
+		private final BinaryAccessType _atype;
+		private final int _rl;
+		private final int _ru;
+
+		protected BincellTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, BinaryAccessType atype, int rl, int ru ) {
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_op = op;
+			_atype = atype;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			//execute binary operation on row partition (dense only)
+			if( _atype == BinaryAccessType.MATRIX_MATRIX )
+				return safeBinaryMMDense(_m1, _m2, _ret, _op, _rl, _ru);
+			else
+				return safeBinaryMVDense(_m1, _m2, _ret, _op, _atype, _rl, _ru);
+		}
+	}
 }
 
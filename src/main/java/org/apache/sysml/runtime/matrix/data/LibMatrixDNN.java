@@ -415,7 +415,7 @@ public class LibMatrixDNN {
 			throw new DMLRuntimeException("Incorrect inputs for bias_add: input[" + N + " X " + input.getNumColumns()  + "] and bias[" + K + " X " + bias.getNumColumns() + "]");
 		}
 		
-		double [] outputArray = outputBlock.getDenseBlock();
+		double [] outputArray = outputBlock.getDenseBlockValues();
 		if(input.isEmptyBlock()) {
 			for(int n = 0;  n < N; n++) 
 				ConvolutionUtils.fillBias(bias, outputArray, n, n+1, N, K, PQ);
@@ -426,7 +426,7 @@ public class LibMatrixDNN {
 			int index = 0;
 			if(bias.isInSparseFormat())
 				bias.sparseToDense(); // Since bias is extremely small array
-			double [] biasArr = bias.getDenseBlock();
+			double [] biasArr = bias.getDenseBlockValues();
 			for(int n = 0; n < N; n++) {
 				for(int k = 0; k < K; k++) {
 					for(int pq = 0; pq < PQ; pq++, index++) {
@@ -470,11 +470,11 @@ public class LibMatrixDNN {
 		if(!input.isEmptyBlock() && !bias.isEmptyBlock()) {
 			// Handles both dense and sparse inputs and copies it to dense output
 			outputBlock.copy(input); 
-			double [] outputArray = outputBlock.getDenseBlock();
+			double [] outputArray = outputBlock.getDenseBlockValues();
 			int index = 0;
 			if(bias.isInSparseFormat())
 				bias.sparseToDense(); // Since bias is extremely small array
-			double [] biasArr = bias.getDenseBlock();
+			double [] biasArr = bias.getDenseBlockValues();
 			for(int n = 0; n < N; n++) {
 				for(int k = 0; k < K; k++) {
 					for(int pq = 0; pq < PQ; pq++, index++) {
@@ -69,12 +69,12 @@ public class LibMatrixDNNConv2dHelper {
 					}
 					
 					// Add the matrix matMultOutBlock of shape [K X PQ] to params.output.denseBlock + destPos
-					add(matMultOutBlock, _params.output.getDenseBlock(), n*K*PQ, K, PQ);
+					add(matMultOutBlock, _params.output.getDenseBlockValues(), n*K*PQ, K, PQ);
 				}
 			}
 			if(_params.bias != null) {
 				// bias is always converted to dense format
-				LibMatrixDNNHelper.addBias(_rl, _ru, _params.output.getDenseBlock(), _params.bias.getDenseBlock(), K, PQ);
+				LibMatrixDNNHelper.addBias(_rl, _ru, _params.output.getDenseBlockValues(), _params.bias.getDenseBlockValues(), K, PQ);
 			}
 			if(DMLScript.STATISTICS && LibMatrixDNN.DISPLAY_STATISTICS) {
 				LibMatrixDNN.loopedConvIm2ColTime.addAndGet(time1);
@@ -105,8 +105,9 @@ public class LibMatrixDNNConv2dHelper {
 					}
 				}
 				else {
+					double[] srcArr = src.getDenseBlockValues();
 					for(int i = 0; i < K * PQ; i++) {
-						dest[destPos+i] += src.denseBlock[i];
+						dest[destPos+i] += srcArr[i];
 					}
 				}
 			}
@@ -149,11 +150,11 @@ public class LibMatrixDNNConv2dHelper {
 				}
 				
 				// Copy the matrix matMultOutBlock of shape [K X PQ] to params.output.denseBlock + destPos
-				partialCopy1(matMultOutBlock, _params.output.getDenseBlock(), n*K*PQ, K, PQ);
+				partialCopy1(matMultOutBlock, _params.output.getDenseBlockValues(), n*K*PQ, K, PQ);
 			}
 			if(_params.bias != null) {
 				// bias is always converted to dense format
-				LibMatrixDNNHelper.addBias(_rl, _ru, _params.output.getDenseBlock(), _params.bias.getDenseBlock(), K, PQ);
+				LibMatrixDNNHelper.addBias(_rl, _ru, _params.output.getDenseBlockValues(), _params.bias.getDenseBlockValues(), K, PQ);
 			}
 			if(DMLScript.STATISTICS && LibMatrixDNN.DISPLAY_STATISTICS) {
 				LibMatrixDNN.loopedConvIm2ColTime.addAndGet(time1);
@@ -184,7 +185,7 @@ public class LibMatrixDNNConv2dHelper {
 					}
 				}
 				else 
-					System.arraycopy(src.denseBlock, 0, dest, destPos, K * PQ);
+					System.arraycopy(src.getDenseBlockValues(), 0, dest, destPos, K * PQ);
 			}
 		}
 	}
@@ -212,10 +213,10 @@ public class LibMatrixDNNConv2dHelper {
 					int alen = _params.input1.getSparseBlock().size(n);
 					int[] aix = _params.input1.getSparseBlock().indexes(n);
 					double[] avals = _params.input1.getSparseBlock().values(n);
-					NativeHelper.conv2dSparse(apos, alen, aix, avals, _params.input2.getDenseBlock(), temp, 
+					NativeHelper.conv2dSparse(apos, alen, aix, avals, _params.input2.getDenseBlockValues(), temp, 
 							1, _params.C, _params.H, _params.W, _params.K, _params.R, _params.S, 
 							_params.stride_h, _params.stride_w, _params.pad_h, _params.pad_w, _params.P, _params.Q, 1);
-					System.arraycopy(temp, 0, _params.output.denseBlock, n*KPQ, KPQ);
+					System.arraycopy(temp, 0, _params.output.getDenseBlockValues(), n*KPQ, KPQ);
 				}
 			}
 			return 0L;
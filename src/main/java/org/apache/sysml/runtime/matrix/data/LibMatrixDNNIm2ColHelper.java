@@ -29,14 +29,14 @@ public class LibMatrixDNNIm2ColHelper {
 		public void execute(int n);
 		public void execute(int n, int c);
 		public static Im2colWorker getWorker(MatrixBlock input, MatrixBlock im2ColOutBlock, ConvolutionParameters params, boolean allChannels) {
-			if(im2ColOutBlock.isInSparseFormat() || im2ColOutBlock.getDenseBlock() == null)
+			if(im2ColOutBlock.isInSparseFormat() || im2ColOutBlock.getDenseBlockValues() == null)
 				throw new RuntimeException("im2col output is always in dense format");
 			if(allChannels) {
 				if(!input.isInSparseFormat()) {
 					if (params.stride_h == 1 && params.stride_w == 1 && params.pad_h == 0 && params.pad_w == 0) 
-						return new DenseIm2colWorkerStride1Pad0AllChannels(input.getDenseBlock(), im2ColOutBlock.getDenseBlock(), params);
+						return new DenseIm2colWorkerStride1Pad0AllChannels(input.getDenseBlockValues(), im2ColOutBlock.getDenseBlockValues(), params);
 					else
-						return new DenseIm2colWorkerAllChannels(input.getDenseBlock(), im2ColOutBlock.getDenseBlock(), params);
+						return new DenseIm2colWorkerAllChannels(input.getDenseBlockValues(), im2ColOutBlock.getDenseBlockValues(), params);
 				}
 				else 
 					return new SparseIm2colWorkerAllChannels(input, im2ColOutBlock, params);
@@ -44,9 +44,9 @@ public class LibMatrixDNNIm2ColHelper {
 			else {
 				if(!input.isInSparseFormat()) {
 					if (params.stride_h == 1 && params.stride_w == 1 && params.pad_h == 0 && params.pad_w == 0) 
-						return new DenseIm2colWorkerStride1Pad0(input.getDenseBlock(), im2ColOutBlock.getDenseBlock(), params);
+						return new DenseIm2colWorkerStride1Pad0(input.getDenseBlockValues(), im2ColOutBlock.getDenseBlockValues(), params);
 					else
-						return new DenseIm2colWorker(input.getDenseBlock(), im2ColOutBlock.getDenseBlock(), params);
+						return new DenseIm2colWorker(input.getDenseBlockValues(), im2ColOutBlock.getDenseBlockValues(), params);
 				}
 				else 
 					return new SparseIm2colWorker(input, im2ColOutBlock, params);
@@ -246,7 +246,7 @@ public class LibMatrixDNNIm2ColHelper {
 		int stride_h; int stride_w; int pad_h; int pad_w; double [] temp;
 		public SparseIm2colWorkerAllChannels(MatrixBlock input, MatrixBlock im2ColOutBlock, ConvolutionParameters params) {
 			this.input = input;
-			this.outputArray = im2ColOutBlock.getDenseBlock();
+			this.outputArray = im2ColOutBlock.getDenseBlockValues();
 			this.CRS = params.C * params.R * params.S;
 			this.H = params.H; this.W = params.W; this.R = params.R; this.S = params.S; this.P = params.P; this.Q = params.Q;
 			this.stride_h = params.stride_h; this.stride_w = params.stride_w;
@@ -306,7 +306,7 @@ public class LibMatrixDNNIm2ColHelper {
 				}
 			}
 			else {
-				System.arraycopy(input.getDenseBlock(), n*input.getNumColumns(), temp, 0, input.getNumColumns());
+				System.arraycopy(input.getDenseBlockValues(), n*input.getNumColumns(), temp, 0, input.getNumColumns());
 			}
 		}
 	}
@@ -320,7 +320,7 @@ public class LibMatrixDNNIm2ColHelper {
 		int stride_h; int stride_w; int pad_h; int pad_w; double [] temp;
 		public SparseIm2colWorker(MatrixBlock input, MatrixBlock im2ColOutBlock, ConvolutionParameters params) {
 			this.input = input;
-			this.outputArray = im2ColOutBlock.getDenseBlock();
+			this.outputArray = im2ColOutBlock.getDenseBlockValues();
 			this.CRS = params.C * params.R * params.S;
 			this.H = params.H; this.W = params.W; this.R = params.R; this.S = params.S; this.P = params.P; this.Q = params.Q;
 			this.stride_h = params.stride_h; this.stride_w = params.stride_w;
@@ -378,7 +378,7 @@ public class LibMatrixDNNIm2ColHelper {
 				}
 			}
 			else {
-				System.arraycopy(input.getDenseBlock(), n*input.getNumColumns(), temp, 0, input.getNumColumns());
+				System.arraycopy(input.getDenseBlockValues(), n*input.getNumColumns(), temp, 0, input.getNumColumns());
 			}
 		}
 	}
@@ -38,9 +38,9 @@ public class LibMatrixDNNPoolingBackwardHelper {
 			_rl = rl; _ru = ru;
 			_params = params;
 			this.performReluBackward = performReluBackward;
-			inputArray = params.input1.getDenseBlock();
-			doutArray = params.input2.getDenseBlock();
-			outputArray = params.output.getDenseBlock();
+			inputArray = params.input1.getDenseBlockValues();
+			doutArray = params.input2.getDenseBlockValues();
+			outputArray = params.output.getDenseBlockValues();
 			C = params.C; CHW = params.C*params.H*params.W; HW = params.H*params.W;
 			P = params.P; Q = params.Q; CPQ = params.C*params.P*params.Q;
 			PQ = params.P*params.Q;
@@ -81,9 +81,9 @@ public class LibMatrixDNNPoolingBackwardHelper {
 			_rl = rl; _ru = ru;
 			_params = params;
 			this.performReluBackward = performReluBackward;
-			inputArray = params.input1.getDenseBlock();
+			inputArray = params.input1.getDenseBlockValues();
 			dout = params.input2;
-			outputArray = params.output.getDenseBlock();
+			outputArray = params.output.getDenseBlockValues();
 			C = params.C; CHW = params.C*params.H*params.W; HW = params.H*params.W;
 			P = params.P; Q = params.Q; 
 			if (inputArray == null || outputArray == null )
@@ -131,8 +131,8 @@ public class LibMatrixDNNPoolingBackwardHelper {
 			_rl = rl; _ru = ru;
 			_params = params;
 			this.performReluBackward = performReluBackward;
-			doutArray = params.input2.getDenseBlock();
-			outputArray = params.output.getDenseBlock();
+			doutArray = params.input2.getDenseBlockValues();
+			outputArray = params.output.getDenseBlockValues();
 			C = params.C; CHW = params.C*params.H*params.W; HW = params.H*params.W;
 			P = params.P; Q = params.Q; CPQ = params.C*params.P*params.Q;
 			PQ = params.P*params.Q;
@@ -176,7 +176,7 @@ public class LibMatrixDNNPoolingBackwardHelper {
 			_rl = rl; _ru = ru;
 			_params = params;
 			this.performReluBackward = performReluBackward;
-			outputArray = params.output.getDenseBlock();
+			outputArray = params.output.getDenseBlockValues();
 			C = params.C; CHW = params.C*params.H*params.W; HW = params.H*params.W;
 			P = params.P; Q = params.Q;
 			if (outputArray == null )
@@ -38,8 +38,8 @@ public class LibMatrixDNNPoolingHelper {
 		public DenseMaxPooling(int rl, int ru, ConvolutionParameters params) {
 			_rl = rl; _ru = ru;
 			_params = params;
-			inputArray = params.input1.getDenseBlock();
-			outputArray = params.output.getDenseBlock();
+			inputArray = params.input1.getDenseBlockValues();
+			outputArray = params.output.getDenseBlockValues();
 			C = params.C; P = params.P; Q = params.Q; W = params.W;
 		}
 		
@@ -81,7 +81,7 @@ public class LibMatrixDNNPoolingHelper {
 		public SparseMaxPooling(int rl, int ru, ConvolutionParameters params) {
 			_rl = rl; _ru = ru;
 			_params = params;
-			outputArray = params.output.getDenseBlock();
+			outputArray = params.output.getDenseBlockValues();
 			C = params.C; P = params.P; Q = params.Q; W = params.W;
 			HW = _params.H*_params.W;
 		}
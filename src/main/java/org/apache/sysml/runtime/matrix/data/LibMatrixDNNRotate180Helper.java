@@ -45,7 +45,7 @@ public class LibMatrixDNNRotate180Helper {
 		public DenseRotate180Worker(MatrixBlock input, double [] outputArray,  ConvolutionParameters params) {
 			this.outputArray = outputArray;
 			this.params = params;
-			inputArray = input.getDenseBlock();
+			inputArray = input.getDenseBlockValues();
 			if(inputArray == null || outputArray == null)
 				throw new RuntimeException("Incorrect usage: empty inputs");
 		}
@@ -0,0 +1,894 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+
+/**
+ * Library for multi-threaded matrix decompositions and solvers, which
+ * operate directly on flat column-major (QR) or row-major (Cholesky)
+ * copies of the input matrix block instead of double[][] matrices.
+ *
+ * The algorithms follow the Householder QR and Cholesky decompositions of
+ * Apache Commons Math (see {@link LibCommonsMath}), i.e., produce the same
+ * outputs, but parallelize the updates of trailing columns/rows, and the
+ * solves for multiple right-hand-sides. The symmetric eigen decomposition
+ * uses Householder tridiagonalization and the implicit QL algorithm (as in
+ * JAMA and Commons Math), with parallel row updates and parallel application
+ * of the Givens rotations of each QL sweep to the eigenvectors.
+ */
+public class LibMatrixDecomp
+{
+	//internal configuration
+	private static final long PAR_NUMCELL_THRESHOLD = 128*1024; //min input cells
+	private static final long PAR_STEP_THRESHOLD = 16*1024; //min cells per elimination step
+	private static final double CHOLESKY_REL_SYMMETRY_THRESHOLD = 1.0e-15;
+	private static final double CHOLESKY_ABS_POSITIVITY_THRESHOLD = 1.0e-10;
+	private static final double EIGEN_REL_SYMMETRY_THRESHOLD = 10 * 0x1.0p-53; //times ncells
+	private static final int EIGEN_MAX_ITER = 30; //max QL iterations per eigenvalue
+
+	private LibMatrixDecomp() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Indicates if the multi-threaded decompositions are applicable
+	 * and beneficial for the given input and degree of parallelism.
+	 *
+	 * @param rlen number of rows of the input
+	 * @param clen number of columns of the input
+	 * @param k degree of parallelism
+	 * @return true if multi-threaded decomposition applicable
+	 */
+	public static boolean isParallelDecomposition(long rlen, long clen, int k) {
+		long ncells = rlen * clen;
+		return k > 1 && ncells >= PAR_NUMCELL_THRESHOLD
+			&& ncells <= Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Solves the system of equations A x = B in the least squares
+	 * sense via Householder QR decomposition of A (with nrow(A) &gt;= ncol(A)).
+	 *
+	 * @param A matrix block of coefficients
+	 * @param B matrix block of right-hand-sides
+	 * @param k degree of parallelism
+	 * @return matrix block of solutions
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock solve(MatrixBlock A, MatrixBlock B, int k)
+		throws DMLRuntimeException
+	{
+		if( A.getNumRows() != B.getNumRows() )
+			throw new DMLRuntimeException("Dimension mismatch in solve: "
+				+ A.getNumRows() + " != " + B.getNumRows() + ".");
+
+		ExecutorService pool = createThreadPool(k);
+		try {
+			QRFactors qr = computeQR(A, pool, k);
+			double[] y = toColumnMajor(B);
+			solveQR(qr, y, B.getNumColumns(), pool, k);
+			return fromColumnMajor(y, A.getNumRows(), A.getNumColumns(), B.getNumColumns());
+		}
+		finally {
+			shutdownThreadPool(pool);
+		}
+	}
+
+	/**
+	 * Computes the inverse of a square matrix via Householder QR decomposition.
+	 *
+	 * @param A square matrix block
+	 * @param k degree of parallelism
+	 * @return matrix block of the inverse
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock inverse(MatrixBlock A, int k)
+		throws DMLRuntimeException
+	{
+		final int n = A.getNumRows();
+		if( n != A.getNumColumns() )
+			throw new DMLRuntimeException("Input to inv() must be square matrix -- given: a "
+				+ n + "x" + A.getNumColumns() + " matrix.");
+
+		ExecutorService pool = createThreadPool(k);
+		try {
+			QRFactors qr = computeQR(A, pool, k);
+			double[] y = new double[n*n];
+			for( int i=0; i<n; i++ )
+				y[i*n+i] = 1;
+			solveQR(qr, y, n, pool, k);
+			return fromColumnMajor(y, n, n, n);
+		}
+		finally {
+			shutdownThreadPool(pool);
+		}
+	}
+
+	/**
+	 * Computes the Householder QR decomposition A = QR, where Q is returned
+	 * in form of the matrix of Householder vectors H.
+	 *
+	 * @param A matrix block
+	 * @param k degree of parallelism
+	 * @return array of matrix blocks H and R
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock[] qr(MatrixBlock A, int k)
+		throws DMLRuntimeException
+	{
+		final int m = A.getNumRows();
+		final int n = A.getNumColumns();
+
+		QRFactors qr = null;
+		ExecutorService pool = createThreadPool(k);
+		try {
+			qr = computeQR(A, pool, k);
+		}
+		finally {
+			shutdownThreadPool(pool);
+		}
+
+		//extract householder vectors (lower trapezoid)
+		MatrixBlock H = new MatrixBlock(m, n, false);
+		H.allocateDenseBlock();
+		DenseBlock h = H.getDenseBlock();
+		for( int i=0; i<m; i++ ) {
+			double[] hvals = h.values(i);
+			int hix = h.pos(i);
+			for( int j=0; j<Math.min(i+1, n); j++ )
+				hvals[hix+j] = qr.qrt[j*m+i] / -qr.rdiag[j];
+		}
+
+		//extract upper triangular matrix R
+		MatrixBlock R = new MatrixBlock(m, n, false);
+		R.allocateDenseBlock();
+		DenseBlock r = R.getDenseBlock();
+		for( int i=0; i<qr.rdiag.length; i++ ) {
+			double[] rvals = r.values(i);
+			int rix = r.pos(i);
+			rvals[rix+i] = qr.rdiag[i];
+			for( int j=i+1; j<n; j++ )
+				rvals[rix+j] = qr.qrt[j*m+i];
+		}
+
+		H.recomputeNonZeros();
+		R.recomputeNonZeros();
+		return new MatrixBlock[] { H, R };
+	}
+
+	/**
+	 * Computes the Cholesky decomposition A = L t(L) of a symmetric
+	 * positive definite matrix, and returns the lower triangular matrix L.
+	 *
+	 * @param A symmetric positive definite matrix block
+	 * @param k degree of parallelism
+	 * @return lower triangular matrix block L
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock cholesky(MatrixBlock A, int k)
+		throws DMLRuntimeException
+	{
+		final int n = A.getNumRows();
+		if( n != A.getNumColumns() )
+			throw new DMLRuntimeException("Input to cholesky() must be square matrix -- given: a "
+				+ n + "x" + A.getNumColumns() + " matrix.");
+
+		//obtain row-major copy of upper triangle (i.e., of t(L))
+		double[] lt = toRowMajor(A);
+		for( int i=0; i<n; i++ )
+			for( int j=i+1; j<n; j++ ) {
+				double lij = lt[i*n+j];
+				double lji = lt[j*n+i];
+				double maxDelta = CHOLESKY_REL_SYMMETRY_THRESHOLD
+					* Math.max(Math.abs(lij), Math.abs(lji));
+				if( Math.abs(lij - lji) > maxDelta )
+					throw new DMLRuntimeException("Input to cholesky() must be a symmetric matrix.");
+				lt[j*n+i] = 0;
+			}
+
+		ExecutorService pool = createThreadPool(k);
+		try {
+			for( int i=0; i<n; i++ ) {
+				//compute and check diagonal element
+				int ii = i*n+i;
+				if( lt[ii] <= CHOLESKY_ABS_POSITIVITY_THRESHOLD )
+					throw new DMLRuntimeException("Input to cholesky() must be a positive definite matrix.");
+				lt[ii] = Math.sqrt(lt[ii]);
+
+				//scale current row
+				double inverse = 1.0 / lt[ii];
+				for( int q=i+1; q<n; q++ )
+					lt[i*n+q] *= inverse;
+
+				//update trailing rows (cyclic distribution of the triangular work)
+				long ncells = (long)(n-i-1) * (n-i-1) / 2;
+				if( pool != null && ncells >= PAR_STEP_THRESHOLD ) {
+					ArrayList<CholeskyUpdateTask> tasks = new ArrayList<CholeskyUpdateTask>();
+					for( int t=0; t<k; t++ )
+						tasks.add(new CholeskyUpdateTask(lt, n, i, t, k));
+					waitForTasks(pool.invokeAll(tasks));
+				}
+				else {
+					updateCholesky(lt, n, i, 0, 1);
+				}
+			}
+		}
+		catch(InterruptedException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			shutdownThreadPool(pool);
+		}
+
+		//create output L = t(LT)
+		MatrixBlock L = new MatrixBlock(n, n, false);
+		L.allocateDenseBlock();
+		DenseBlock l = L.getDenseBlock();
+		for( int i=0; i<n; i++ ) {
+			double[] lvals = l.values(i);
+			int lix = l.pos(i);
+			for( int j=0; j<=i; j++ )
+				lvals[lix+j] = lt[j*n+i];
+		}
+		L.recomputeNonZeros();
+		return L;
+	}
+
+	/**
+	 * Computes the eigen decomposition of a symmetric matrix A = V diag(lambda) t(V),
+	 * where the eigenvalues (and associated eigenvectors) are sorted in increasing
+	 * order. Non-symmetric inputs are not supported by this kernel, in which case
+	 * null is returned and the caller falls back to the general eigen decomposition.
+	 *
+	 * @param A square matrix block
+	 * @param k degree of parallelism
+	 * @return array of matrix blocks of eigenvalues and eigenvectors, or null if A not symmetric
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock[] eigen(MatrixBlock A, int k)
+		throws DMLRuntimeException
+	{
+		final int n = A.getNumRows();
+		if( n != A.getNumColumns() )
+			throw new DMLRuntimeException("Eigen Decomposition can only be done on a square matrix. "
+				+ "Input matrix is rectangular (rows=" + n + ", cols=" + A.getNumColumns() + ")");
+
+		//obtain row-major copy, which (due to symmetry) is also the column-major
+		//working matrix W = t(V), i.e., eigenvectors are maintained as rows of W
+		double[] w = toRowMajor(A);
+		if( !isSymmetric(w, n) )
+			return null;
+		double[] d = new double[n];
+		double[] e = new double[n];
+
+		ExecutorService pool = createThreadPool(k);
+		try {
+			tridiagonalize(w, d, e, n, pool, k);
+			computeEigenQL(w, d, e, n, pool, k);
+		}
+		catch(InterruptedException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			shutdownThreadPool(pool);
+		}
+
+		//sort eigenvalues (and vectors) in increasing order (compatible w/ LAPACK DSYEVR)
+		int[] ix = new int[n];
+		for( int i=0; i<n; i++ )
+			ix[i] = i;
+		for( int i=0; i<n; i++ ) {
+			int min = i;
+			for( int j=i+1; j<n; j++ )
+				if( d[ix[j]] < d[ix[min]] )
+					min = j;
+			int tmp = ix[i]; ix[i] = ix[min]; ix[min] = tmp;
+		}
+
+		//create outputs (eigenvalues as column vector, eigenvectors as columns)
+		MatrixBlock values = new MatrixBlock(n, 1, false);
+		MatrixBlock vectors = new MatrixBlock(n, n, false);
+		values.allocateDenseBlock();
+		vectors.allocateDenseBlock();
+		DenseBlock a = values.getDenseBlock();
+		DenseBlock c = vectors.getDenseBlock();
+		for( int i=0; i<n; i++ ) {
+			a.set(i, 0, d[ix[i]]);
+			double[] cvals = c.values(i);
+			int cix = c.pos(i);
+			for( int j=0; j<n; j++ )
+				cvals[cix+j] = w[ix[j]*n+i];
+		}
+		values.recomputeNonZeros();
+		vectors.recomputeNonZeros();
+		return new MatrixBlock[] { values, vectors };
+	}
+
+	private static boolean isSymmetric(double[] a, int n) {
+		double eps = EIGEN_REL_SYMMETRY_THRESHOLD * n * n;
+		for( int i=0; i<n; i++ )
+			for( int j=i+1; j<n; j++ ) {
+				double aij = a[i*n+j];
+				double aji = a[j*n+i];
+				if( Math.abs(aij - aji) > eps * Math.max(Math.abs(aij), Math.abs(aji)) )
+					return false;
+			}
+		return true;
+	}
+
+	private static void tridiagonalize(double[] w, double[] d, double[] e, int n, ExecutorService pool, int k)
+		throws InterruptedException, DMLRuntimeException
+	{
+		//Householder reduction to tridiagonal form (tred2), where the active
+		//submatrix W[0:i,0:i] is kept fully symmetric for row-wise parallelism
+		System.arraycopy(w, (n-1)*n, d, 0, n);
+		for( int i=n-1; i>0; i-- ) {
+			double scale = 0, h = 0;
+			for( int j=0; j<i; j++ )
+				scale += Math.abs(d[j]);
+			if( scale == 0 ) {
+				e[i] = d[i-1];
+				for( int j=0; j<i; j++ ) {
+					d[j] = w[(i-1)*n+j];
+					w[i*n+j] = 0;
+					w[j*n+i] = 0;
+				}
+			}
+			else {
+				//generate householder vector
+				for( int j=0; j<i; j++ ) {
+					d[j] /= scale;
+					h += d[j] * d[j];
+				}
+				double f = d[i-1];
+				double g = (f > 0) ? -Math.sqrt(h) : Math.sqrt(h);
+				e[i] = scale * g;
+				h -= f * g;
+				d[i-1] = f - g;
+				System.arraycopy(d, 0, w, i*n, i);
+
+				//apply similarity transformation to remaining rows
+				executeTridiag(TridiagTask.MULT, w, d, e, n, i, i, pool, k);
+				f = 0;
+				for( int j=0; j<i; j++ ) {
+					e[j] /= h;
+					f += e[j] * d[j];
+				}
+				double hh = f / (h + h);
+				for( int j=0; j<i; j++ )
+					e[j] -= hh * d[j];
+				executeTridiag(TridiagTask.UPDATE, w, d, e, n, i, i, pool, k);
+				for( int j=0; j<i; j++ ) {
+					d[j] = w[(i-1)*n+j];
+					w[j*n+i] = 0;
+				}
+			}
+			d[i] = h;
+		}
+
+		//accumulate transformations
+		for( int i=0; i<n-1; i++ ) {
+			w[i*n+n-1] = w[i*n+i];
+			w[i*n+i] = 1;
+			double h = d[i+1];
+			if( h != 0 ) {
+				for( int j=0; j<=i; j++ )
+					d[j] = w[(i+1)*n+j] / h;
+				executeTridiag(TridiagTask.ACCUM, w, d, e, n, i, i+1, pool, k);
+			}
+			Arrays.fill(w, (i+1)*n, (i+1)*n+i+1, 0);
+		}
+		for( int j=0; j<n; j++ ) {
+			d[j] = w[j*n+n-1];
+			w[j*n+n-1] = 0;
+		}
+		w[n*n-1] = 1;
+		e[0] = 0;
+	}
+
+	private static void computeEigenQL(double[] w, double[] d, double[] e, int n, ExecutorService pool, int k)
+		throws InterruptedException, DMLRuntimeException
+	{
+		//implicit QL algorithm for symmetric tridiagonal matrices (tql2)
+		System.arraycopy(e, 1, e, 0, n-1);
+		e[n-1] = 0;
+		double[] rc = new double[n];
+		double[] rs = new double[n];
+		double f = 0, tst1 = 0;
+		double eps = 0x1.0p-52;
+		for( int l=0; l<n; l++ ) {
+			//find small subdiagonal element
+			tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+			int m = l;
+			while( m < n-1 && Math.abs(e[m]) > eps*tst1 )
+				m++;
+
+			//iterate until eigenvalue l converged
+			int iter = 0;
+			while( m > l && Math.abs(e[l]) > eps*tst1 ) {
+				if( ++iter > EIGEN_MAX_ITER )
+					throw new DMLRuntimeException("Eigen decomposition failed to converge "
+						+ "after "+EIGEN_MAX_ITER+" iterations.");
+
+				//compute implicit shift
+				double g = d[l];
+				double p = (d[l+1] - g) / (2 * e[l]);
+				double r = hypot(p, 1);
+				if( p < 0 )
+					r = -r;
+				d[l] = e[l] / (p + r);
+				d[l+1] = e[l] * (p + r);
+				double dl1 = d[l+1];
+				double h = g - d[l];
+				for( int i=l+2; i<n; i++ )
+					d[i] -= h;
+				f += h;
+
+				//QL sweep, with deferred application of rotations to eigenvectors
+				p = d[m];
+				double c = 1, c2 = 1, c3 = 1;
+				double el1 = e[l+1];
+				double s = 0, s2 = 0;
+				for( int i=m-1; i>=l; i-- ) {
+					c3 = c2;
+					c2 = c;
+					s2 = s;
+					g = c * e[i];
+					h = c * p;
+					r = hypot(p, e[i]);
+					e[i+1] = s * r;
+					s = e[i] / r;
+					c = p / r;
+					p = c * d[i] - s * g;
+					d[i+1] = h + s * (c * g + s * d[i]);
+					rc[m-1-i] = c;
+					rs[m-1-i] = s;
+				}
+				executeRotations(w, rc, rs, n, l, m, pool, k);
+				p = -s * s2 * c3 * el1 * e[l] / dl1;
+				e[l] = s * p;
+				d[l] = c * p;
+			}
+			d[l] = d[l] + f;
+			e[l] = 0;
+		}
+	}
+
+	private static void executeTridiag(int type, double[] w, double[] d, double[] e,
+		int n, int i, int len, ExecutorService pool, int k)
+		throws InterruptedException, DMLRuntimeException
+	{
+		long ncells = (long)len * len;
+		if( pool != null && ncells >= PAR_STEP_THRESHOLD ) {
+			ArrayList<TridiagTask> tasks = new ArrayList<TridiagTask>();
+			int blklen = (int)(Math.ceil((double)len/k));
+			for( int rl=0; rl<len; rl+=blklen )
+				tasks.add(new TridiagTask(type, w, d, e, n, i, rl, Math.min(rl+blklen, len)));
+			waitForTasks(pool.invokeAll(tasks));
+		}
+		else {
+			updateTridiag(type, w, d, e, n, i, 0, len);
+		}
+	}
+
+	private static void executeRotations(double[] w, double[] rc, double[] rs,
+		int n, int l, int m, ExecutorService pool, int k)
+		throws InterruptedException, DMLRuntimeException
+	{
+		long ncells = (long)(m-l) * n;
+		if( pool != null && ncells >= PAR_STEP_THRESHOLD ) {
+			ArrayList<QLRotateTask> tasks = new ArrayList<QLRotateTask>();
+			int blklen = (int)(Math.ceil((double)n/k));
+			for( int cl=0; cl<n; cl+=blklen )
+				tasks.add(new QLRotateTask(w, rc, rs, n, l, m, cl, Math.min(cl+blklen, n)));
+			waitForTasks(pool.invokeAll(tasks));
+		}
+		else {
+			rotateQL(w, rc, rs, n, l, m, 0, n);
+		}
+	}
+
+	private static void updateTridiag(int type, double[] w, double[] d, double[] e, int n, int i, int rl, int ru) {
+		switch( type ) {
+			case TridiagTask.MULT: //e = W[0:i,0:i] d
+				for( int j=rl; j<ru; j++ )
+					e[j] = LibMatrixMult.dotProduct(w, d, j*n, 0, i);
+				break;
+			case TridiagTask.UPDATE: //W[0:i,0:i] -= d t(e) + e t(d)
+				for( int j=rl; j<ru; j++ ) {
+					LibMatrixMult.vectMultiplyAdd(-d[j], e, w, 0, j*n, i);
+					LibMatrixMult.vectMultiplyAdd(-e[j], d, w, 0, j*n, i);
+				}
+				break;
+			case TridiagTask.ACCUM: //W[0:i+1,0:i+1] -= (W[0:i+1,0:i+1] w) t(d), w = W[i+1,0:i+1]
+				for( int j=rl; j<ru; j++ ) {
+					double g = LibMatrixMult.dotProduct(w, w, (i+1)*n, j*n, i+1);
+					LibMatrixMult.vectMultiplyAdd(-g, d, w, 0, j*n, i+1);
+				}
+				break;
+		}
+	}
+
+	private static void rotateQL(double[] w, double[] rc, double[] rs, int n, int l, int m, int cl, int cu) {
+		//apply givens rotations of the sweep (i=m-1..l) to rows i, i+1 of W
+		for( int i=m-1; i>=l; i-- ) {
+			double c = rc[m-1-i];
+			double s = rs[m-1-i];
+			int off1 = i*n, off2 = (i+1)*n;
+			for( int j=cl; j<cu; j++ ) {
+				double h = w[off2+j];
+				w[off2+j] = s * w[off1+j] + c * h;
+				w[off1+j] = c * w[off1+j] - s * h;
+			}
+		}
+	}
+
+	private static double hypot(double a, double b) {
+		//sqrt(a^2 + b^2) without under/overflow, faster than Math.hypot
+		double aa = Math.abs(a), ab = Math.abs(b);
+		if( aa > ab ) {
+			double r = b / a;
+			return aa * Math.sqrt(1 + r * r);
+		}
+		else if( b != 0 ) {
+			double r = a / b;
+			return ab * Math.sqrt(1 + r * r);
+		}
+		return 0;
+	}
+
+	private static QRFactors computeQR(MatrixBlock A, ExecutorService pool, int k)
+		throws DMLRuntimeException
+	{
+		final int m = A.getNumRows();
+		final int n = A.getNumColumns();
+		double[] qrt = toColumnMajor(A);
+		double[] rdiag = new double[Math.min(m, n)];
+
+		try {
+			for( int minor=0; minor<rdiag.length; minor++ ) {
+				//compute householder vector of current column
+				int off = minor*m;
+				double xNormSqr = LibMatrixMult.dotProduct(qrt, qrt, off+minor, off+minor, m-minor);
+				double a = (qrt[off+minor] > 0) ? -Math.sqrt(xNormSqr) : Math.sqrt(xNormSqr);
+				rdiag[minor] = a;
+				if( a == 0 )
+					continue;
+				qrt[off+minor] -= a;
+
+				//apply householder reflection to trailing columns
+				long ncells = (long)(n-minor-1) * (m-minor);
+				if( pool != null && ncells >= PAR_STEP_THRESHOLD ) {
+					ArrayList<QRUpdateTask> tasks = new ArrayList<QRUpdateTask>();
+					int blklen = (int)(Math.ceil((double)(n-minor-1)/k));
+					for( int cl=minor+1; cl<n; cl+=blklen )
+						tasks.add(new QRUpdateTask(qrt, m, minor, a, cl, Math.min(cl+blklen, n)));
+					waitForTasks(pool.invokeAll(tasks));
+				}
+				else {
+					updateQR(qrt, m, minor, a, minor+1, n);
+				}
+			}
+		}
+		catch(InterruptedException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+
+		return new QRFactors(qrt, rdiag, m, n);
+	}
+
+	private static void solveQR(QRFactors qr, double[] y, int nrhs, ExecutorService pool, int k)
+		throws DMLRuntimeException
+	{
+		//check for singular matrix
+		for( double d : qr.rdiag )
+			if( d == 0 )
+				throw new DMLRuntimeException("Matrix is singular.");
+		if( qr.m < qr.n )
+			throw new DMLRuntimeException("Unsupported underdetermined system: "+qr.m+" < "+qr.n+".");
+
+		//solve independent right-hand-sides
+		try {
+			if( pool != null && nrhs > 1 ) {
+				ArrayList<QRSolveTask> tasks = new ArrayList<QRSolveTask>();
+				int blklen = (int)(Math.ceil((double)nrhs/k));
+				for( int cl=0; cl<nrhs; cl+=blklen )
+					tasks.add(new QRSolveTask(qr, y, cl, Math.min(cl+blklen, nrhs)));
+				waitForTasks(pool.invokeAll(tasks));
+			}
+			else {
+				solveQR(qr, y, 0, nrhs);
+			}
+		}
+		catch(InterruptedException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static void updateQR(double[] qrt, int m, int minor, double a, int cl, int cu) {
+		int off = minor*m;
+		int len = m - minor;
+		double div = a * qrt[off+minor];
+		for( int col=cl; col<cu; col++ ) {
+			int coff = col*m;
+			double alpha = -LibMatrixMult.dotProduct(qrt, qrt, coff+minor, off+minor, len) / div;
+			LibMatrixMult.vectMultiplyAdd(-alpha, qrt, qrt, off+minor, coff+minor, len);
+		}
+	}
+
+	private static void solveQR(QRFactors qr, double[] y, int cl, int cu) {
+		final int m = qr.m, n = qr.n;
+		final double[] qrt = qr.qrt;
+		final double[] rdiag = qr.rdiag;
+		for( int c=cl; c<cu; c++ ) {
+			int yoff = c*m;
+			//apply householder reflections, y = t(Q) b
+			for( int minor=0; minor<rdiag.length; minor++ ) {
+				int off = minor*m;
+				double dot = LibMatrixMult.dotProduct(y, qrt, yoff+minor, off+minor, m-minor);
+				dot /= rdiag[minor] * qrt[off+minor];
+				LibMatrixMult.vectMultiplyAdd(dot, qrt, y, off+minor, yoff+minor, m-minor);
+			}
+			//back substitution, solve R x = y
+			for( int row=n-1; row>=0; row-- ) {
+				y[yoff+row] /= rdiag[row];
+				LibMatrixMult.vectMultiplyAdd(-y[yoff+row], qrt, y, row*m, yoff, row);
+			}
+		}
+	}
+
+	private static void updateCholesky(double[] lt, int n, int i, int t, int k) {
+		int ioff = i*n;
+		for( int q=i+1+t; q<n; q+=k ) {
+			double ltiq = lt[ioff+q];
+			LibMatrixMult.vectMultiplyAdd(-ltiq, lt, lt, ioff+q, q*n+q, n-q);
+		}
+	}
+
+	private static double[] toColumnMajor(MatrixBlock in) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		double[] ret = new double[m*n];
+		if( in.isEmptyBlock(false) )
+			return ret;
+		if( in.isInSparseFormat() ) {
+			SparseBlock a = in.getSparseBlock();
+			for( int i=0; i<m; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					ret[aix[j]*m+i] = avals[j];
+			}
+		}
+		else {
+			DenseBlock a = in.getDenseBlock();
+			for( int i=0; i<m; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<n; j++ )
+					ret[j*m+i] = avals[aix+j];
+			}
+		}
+		return ret;
+	}
+
+	private static double[] toRowMajor(MatrixBlock in) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		double[] ret = new double[m*n];
+		if( in.isEmptyBlock(false) )
+			return ret;
+		if( in.isInSparseFormat() ) {
+			SparseBlock a = in.getSparseBlock();
+			for( int i=0; i<m; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					ret[i*n+aix[j]] = avals[j];
+			}
+		}
+		else {
+			DenseBlock a = in.getDenseBlock();
+			for( int i=0; i<m; i++ )
+				System.arraycopy(a.values(i), a.pos(i), ret, i*n, n);
+		}
+		return ret;
+	}
+
+	private static MatrixBlock fromColumnMajor(double[] y, int m, int n, int nrhs) {
+		//extract first n rows of m x nrhs column-major array
+		MatrixBlock ret = new MatrixBlock(n, nrhs, false);
+		ret.allocateDenseBlock();
+		DenseBlock c = ret.getDenseBlock();
+		for( int i=0; i<n; i++ ) {
+			double[] cvals = c.values(i);
+			int cix = c.pos(i);
+			for( int j=0; j<nrhs; j++ )
+				cvals[cix+j] = y[j*m+i];
+		}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static ExecutorService createThreadPool(int k) {
+		return (k > 1) ? Executors.newFixedThreadPool(k) : null;
+	}
+
+	private static void shutdownThreadPool(ExecutorService pool) {
+		if( pool != null )
+			pool.shutdown();
+	}
+
+	private static <T> void waitForTasks(List<Future<T>> rtasks)
+		throws DMLRuntimeException
+	{
+		try {
+			for( Future<T> rtask : rtasks )
+				rtask.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static class QRFactors
+	{
+		private final double[] qrt; //column-major householder vectors and upper R
+		private final double[] rdiag; //diagonal of R
+		private final int m;
+		private final int n;
+
+		protected QRFactors(double[] qrt, double[] rdiag, int m, int n) {
+			this.qrt = qrt;
+			this.rdiag = rdiag;
+			this.m = m;
+			this.n = n;
+		}
+	}
+
+	private static class QRUpdateTask implements Callable<Object>
+	{
+		private final double[] _qrt;
+		private final int _m, _minor, _cl, _cu;
+		private final double _a;
+
+		protected QRUpdateTask(double[] qrt, int m, int minor, double a, int cl, int cu) {
+			_qrt = qrt;
+			_m = m;
+			_minor = minor;
+			_a = a;
+			_cl = cl;
+			_cu = cu;
+		}
+
+		@Override
+		public Object call() {
+			updateQR(_qrt, _m, _minor, _a, _cl, _cu);
+			return null;
+		}
+	}
+
+	private static class QRSolveTask implements Callable<Object>
+	{
+		private final QRFactors _qr;
+		private final double[] _y;
+		private final int _cl, _cu;
+
+		protected QRSolveTask(QRFactors qr, double[] y, int cl, int cu) {
+			_qr = qr;
+			_y = y;
+			_cl = cl;
+			_cu = cu;
+		}
+
+		@Override
+		public Object call() {
+			solveQR(_qr, _y, _cl, _cu);
+			return null;
+		}
+	}
+
+	private static class CholeskyUpdateTask implements Callable<Object>
+	{
+		private final double[] _lt;
+		private final int _n, _i, _t, _k;
+
+		protected CholeskyUpdateTask(double[] lt, int n, int i, int t, int k) {
+			_lt = lt;
+			_n = n;
+			_i = i;
+			_t = t;
+			_k = k;
+		}
+
+		@Override
+		public Object call() {
+			updateCholesky(_lt, _n, _i, _t, _k);
+			return null;
+		}
+	}
+
+	private static class TridiagTask implements Callable<Object>
+	{
+		private static final int MULT = 0;
+		private static final int UPDATE = 1;
+		private static final int ACCUM = 2;
+
+		private final int _type;
+		private final double[] _w, _d, _e;
+		private final int _n, _i, _rl, _ru;
+
+		protected TridiagTask(int type, double[] w, double[] d, double[] e, int n, int i, int rl, int ru) {
+			_type = type;
+			_w = w;
+			_d = d;
+			_e = e;
+			_n = n;
+			_i = i;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Object call() {
+			updateTridiag(_type, _w, _d, _e, _n, _i, _rl, _ru);
+			return null;
+		}
+	}
+
+	private static class QLRotateTask implements Callable<Object>
+	{
+		private final double[] _w, _rc, _rs;
+		private final int _n, _l, _m, _cl, _cu;
+
+		protected QLRotateTask(double[] w, double[] rc, double[] rs, int n, int l, int m, int cl, int cu) {
+			_w = w;
+			_rc = rc;
+			_rs = rs;
+			_n = n;
+			_l = l;
+			_m = m;
+			_cl = cl;
+			_cu = cu;
+		}
+
+		@Override
+		public Object call() {
+			rotateQL(_w, _rc, _rs, _n, _l, _m, _cl, _cu);
+			return null;
+		}
+	}
+}
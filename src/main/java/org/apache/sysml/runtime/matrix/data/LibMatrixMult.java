@@ -236,7 +236,7 @@ public class LibMatrixMult
 			ret.nonZeros = 0; //reset after execute
 			for( Future<Object> task : taskret ) {
 				if( pm2r )
-					vectAdd((double[])task.get(), ret.denseBlock, 0, 0, ret.rlen*ret.clen);
+					vectAdd((double[])task.get(), ret.getDenseBlockValues(), 0, 0, ret.rlen*ret.clen);
 				else
 					ret.nonZeros += (Long)task.get();
 			}
@@ -350,7 +350,7 @@ public class LibMatrixMult
 			pool.shutdown();
 			//aggregate partial results
 			for( Future<double[]> task : taskret )
-				vectAdd(task.get(), ret.denseBlock, 0, 0, mX.clen);
+				vectAdd(task.get(), ret.getDenseBlockValues(), 0, 0, mX.clen);
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
@@ -938,10 +938,18 @@ public class LibMatrixMult
 
 	private static void matrixMultDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean tm2, boolean pm2, int rl, int ru, int cl, int cu) 
 		throws DMLRuntimeException
-	{			
-		double[] a = m1.denseBlock;
-		double[] b = m2.denseBlock;
-		double[] c = ret.denseBlock;
+	{
+		//handle large dense blocks (multiple row blocks) via generic kernel
+		if( !m1.getDenseBlock().isContiguous() || !m2.getDenseBlock().isContiguous()
+			|| !ret.getDenseBlock().isContiguous() ) {
+			matrixMultDenseDenseMultiBlock(m1.getDenseBlock(), m2.getDenseBlock(),
+				ret.getDenseBlock(), tm2, pm2, rl, ru, cl, cu);
+			return;
+		}
+		
+		double[] a = m1.getDenseBlockValues();
+		double[] b = m2.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		final int m = m1.rlen;
 		final int n = m2.clen;
 		final int cd = m1.clen;
@@ -1103,11 +1111,49 @@ public class LibMatrixMult
 		
 	}
 
+	private static void matrixMultDenseDenseMultiBlock(DenseBlock a, DenseBlock b, DenseBlock c, boolean tm2, boolean pm2, int rl, int ru, int cl, int cu) {
+		final int m = a.numRows();
+		final int cd = a.numColumns();
+		
+		//rows of the output are always contiguous within their block,
+		//so we use row-wise kernels over the per-row block and position
+		if( tm2 ) { //transposed rhs (small)
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i), cvals = c.values(i);
+				int aix = a.pos(i), cix = c.pos(i);
+				for( int j=cl; j<cu; j++ )
+					cvals[cix+j] = dotProduct(avals, b.values(j), aix, b.pos(j), cd);
+			}
+		}
+		else if( pm2 ) { //parallelization over rows in rhs matrix
+			for( int i=0; i<m; i++ ) {
+				double[] avals = a.values(i), cvals = c.values(i);
+				int aix = a.pos(i), cix = c.pos(i);
+				for( int k=rl; k<ru; k++ ) {
+					double val = avals[aix+k];
+					if( val != 0 )
+						vectMultiplyAdd(val, b.values(k), cvals, b.pos(k, cl), cix+cl, cu-cl);
+				}
+			}
+		}
+		else {
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i), cvals = c.values(i);
+				int aix = a.pos(i), cix = c.pos(i);
+				for( int k=0; k<cd; k++ ) {
+					double val = avals[aix+k];
+					if( val != 0 )
+						vectMultiplyAdd(val, b.values(k), cvals, b.pos(k, cl), cix+cl, cu-cl);
+				}
+			}
+		}
+	}
+
 	private static void matrixMultDenseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean pm2, int rl, int ru) 
 		throws DMLRuntimeException 
 	{	
-		double[] a = m1.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] a = m1.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		int m = m1.rlen;
 		int cd = m1.clen;
 		int n = m2.clen;
@@ -1180,8 +1226,8 @@ public class LibMatrixMult
 	private static void matrixMultSparseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean pm2, int rl, int ru) 
 		throws DMLRuntimeException
 	{	
-		double[] b = m2.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] b = m2.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		final int m = m1.rlen;
 		final int n = m2.clen;
 		final int cd = m2.rlen;
@@ -1368,7 +1414,7 @@ public class LibMatrixMult
 	{	
 		SparseBlock a = m1.sparseBlock;
 		SparseBlock b = m2.sparseBlock;
-		double[] c = ret.denseBlock;
+		double[] c = ret.getDenseBlockValues();
 		int m = m1.rlen;
 		int cd = m1.clen;
 		int n = m2.clen;
@@ -1569,10 +1615,10 @@ public class LibMatrixMult
 
 	private static void matrixMultChainDense(MatrixBlock mX, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, ChainType ct, int rl, int ru) 
 	{
-		double[] a = mX.denseBlock;
-		double[] b = mV.denseBlock;
-		double[] w = (mW!=null) ? mW.denseBlock : null;
-		double[] c = ret.denseBlock;
+		double[] a = mX.getDenseBlockValues();
+		double[] b = mV.getDenseBlockValues();
+		double[] w = (mW!=null) ? mW.getDenseBlockValues() : null;
+		double[] c = ret.getDenseBlockValues();
 		final int cd = mX.clen; //features in X
 		boolean weights = (ct == ChainType.XtwXv);
 		boolean weights2 = (ct == ChainType.XtXvy);
@@ -1613,9 +1659,9 @@ public class LibMatrixMult
 	private static void matrixMultChainSparse(MatrixBlock mX, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, ChainType ct, int rl, int ru) 
 	{
 		SparseBlock a = mX.sparseBlock;
-		double[] b = mV.denseBlock;
-		double[] w = (mW!=null) ? mW.denseBlock : null;
-		double[] c = ret.denseBlock;
+		double[] b = mV.getDenseBlockValues();
+		double[] w = (mW!=null) ? mW.getDenseBlockValues() : null;
+		double[] c = ret.getDenseBlockValues();
 		boolean weights = (ct == ChainType.XtwXv);
 		boolean weights2 = (ct == ChainType.XtXvy);
 		
@@ -1663,8 +1709,8 @@ public class LibMatrixMult
 	{
 		//2) transpose self matrix multiply dense
 		// (compute only upper-triangular matrix due to symmetry)
-		double[] a = m1.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] a = m1.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		int m = m1.rlen;
 		int n = m1.clen;
 		
@@ -1795,7 +1841,7 @@ public class LibMatrixMult
 		//2) transpose self matrix multiply sparse
 		// (compute only upper-triangular matrix due to symmetry)		
 		SparseBlock a = m1.sparseBlock;
-		double[] c = ret.denseBlock;
+		double[] c = ret.getDenseBlockValues();
 		int m = m1.rlen;
 		int n = m1.clen;
 
@@ -1918,9 +1964,9 @@ public class LibMatrixMult
 	private static void matrixMultPermuteDense(MatrixBlock pm1, MatrixBlock m2, MatrixBlock ret1, MatrixBlock ret2, int rl, int ru) 
 		throws DMLRuntimeException
 	{
-		double[] a = pm1.denseBlock;
-		double[] b = m2.denseBlock;
-		double[] c = ret1.denseBlock;
+		double[] a = pm1.getDenseBlockValues();
+		double[] b = m2.getDenseBlockValues();
+		double[] c = ret1.getDenseBlockValues();
 
 		final int n = m2.clen;
 		final int brlen = ret1.getNumRows();
@@ -1941,7 +1987,7 @@ public class LibMatrixMult
 				if( lastblk!=-1 && lastblk<blk ){ 
 					ret2.sparse = false;
 					ret2.allocateDenseBlock();
-					c = ret2.denseBlock;		
+					c = ret2.getDenseBlockValues();		
 				}
 		
 				//memcopy entire dense row into target position
@@ -1953,8 +1999,8 @@ public class LibMatrixMult
 
 	private static void matrixMultPermuteDenseSparse( MatrixBlock pm1, MatrixBlock m2, MatrixBlock ret1, MatrixBlock ret2, int rl, int ru)
 	{
-		double[] a = pm1.denseBlock;
-		double[] b = m2.denseBlock;
+		double[] a = pm1.getDenseBlockValues();
+		double[] b = m2.getDenseBlockValues();
 		SparseBlock c = ret1.sparseBlock;
 
 		final int n = m2.clen;
@@ -1990,7 +2036,7 @@ public class LibMatrixMult
 
 	private static void matrixMultPermuteSparse( MatrixBlock pm1, MatrixBlock m2, MatrixBlock ret1, MatrixBlock ret2, int rl, int ru)
 	{
-		double[] a = pm1.denseBlock;
+		double[] a = pm1.getDenseBlockValues();
 		SparseBlock b = m2.sparseBlock;
 		SparseBlock c = ret1.sparseBlock;
 
@@ -2024,10 +2070,10 @@ public class LibMatrixMult
 
 	private static void matrixMultWSLossDense(MatrixBlock mX, MatrixBlock mU, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, WeightsType wt, int rl, int ru)
 	{
-		double[] x = mX.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
-		double[] w = (mW!=null)? mW.denseBlock : null;
+		double[] x = mX.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
+		double[] w = (mW!=null)? mW.getDenseBlockValues() : null;
 		final int n = mX.clen;
 		final int cd = mU.clen;
 		double wsloss = 0;
@@ -2099,8 +2145,8 @@ public class LibMatrixMult
 	{
 		SparseBlock x = mX.sparseBlock;
 		SparseBlock w = (mW!=null)? mW.sparseBlock : null;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mX.clen; 
 		final int cd = mU.clen;
 		double wsloss = 0; 
@@ -2252,7 +2298,7 @@ public class LibMatrixMult
 			}
 			else //DENSE
 			{
-				double[] w = mW.denseBlock;
+				double[] w = mW.getDenseBlockValues();
 				
 				for( int i=rl, wix=rl*n; i<ru; i++, wix+=n )
 					for( int j=0; j<n; j++)
@@ -2285,7 +2331,7 @@ public class LibMatrixMult
 			}
 			else //DENSE
 			{
-				double[] x = mX.denseBlock;
+				double[] x = mX.getDenseBlockValues();
 				
 				for( int i=rl, xix=rl*n; i<ru; i++, xix+=n )
 					for( int j=0; j<n; j++)
@@ -2329,10 +2375,10 @@ public class LibMatrixMult
 	private static void matrixMultWSigmoidDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WSigmoidType wt, int rl, int ru) 
 		throws DMLRuntimeException 
 	{	
-		double[] w = mW.denseBlock;
-		double[] c = ret.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		
@@ -2369,8 +2415,8 @@ public class LibMatrixMult
 	{
 		SparseBlock w = mW.sparseBlock;
 		SparseBlock c = ret.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int cd = mU.clen;
 		
 		boolean flagminus = (wt==WSigmoidType.MINUS || wt==WSigmoidType.LOG_MINUS); 
@@ -2425,8 +2471,8 @@ public class LibMatrixMult
 		else //DENSE
 		{
 			//w and c always in same representation
-			double[] w = mW.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] w = mW.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++) {
@@ -2451,11 +2497,11 @@ public class LibMatrixMult
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		
-		double[] w = mW.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
-		double[] x = (mX==null) ? null : mX.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
+		double[] x = (mX==null) ? null : mX.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		
 		//approach: iterate over non-zeros of w, selective mm computation
 		//cache-conscious blocking: due to blocksize constraint (default 1000),
@@ -2499,9 +2545,9 @@ public class LibMatrixMult
 		final int cd = mU.clen;
 		
 		SparseBlock w = mW.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		SparseBlock x = (mX==null) ? null : mX.sparseBlock;
 		
 		//approach: iterate over non-zeros of w, selective mm computation
@@ -2588,7 +2634,7 @@ public class LibMatrixMult
 		final int cd = mU.clen;
 
 		//output always in dense representation
-		double[] c = ret.denseBlock;
+		double[] c = ret.getDenseBlockValues();
 		
 		//approach: iterate over non-zeros of w, selective mm computation
 		if( mW.sparse ) //SPARSE
@@ -2621,7 +2667,7 @@ public class LibMatrixMult
 		}
 		else //DENSE
 		{
-			double[] w = mW.denseBlock;
+			double[] w = mW.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
 				for( int j=cl; j<cu; j++)
@@ -2642,9 +2688,9 @@ public class LibMatrixMult
 
 	private static void matrixMultWCeMMDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, double eps, MatrixBlock ret, WCeMMType wt, int rl, int ru)
 	{
-		double[] w = mW.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		double wceval = 0;
@@ -2676,8 +2722,8 @@ public class LibMatrixMult
 	private static void matrixMultWCeMMSparseDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, double eps, MatrixBlock ret, WCeMMType wt, int rl, int ru)
 	{
 		SparseBlock w = mW.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		double wceval = 0; 
@@ -2739,7 +2785,7 @@ public class LibMatrixMult
 		}
 		else //DENSE
 		{
-			double[] w = mW.denseBlock;
+			double[] w = mW.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++) {
@@ -2758,10 +2804,10 @@ public class LibMatrixMult
 	private static void matrixMultWuMMDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WUMMType wt, ValueFunction fn, int rl, int ru) 
 		throws DMLRuntimeException 
 	{	
-		double[] w = mW.denseBlock;
-		double[] c = ret.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		
@@ -2797,8 +2843,8 @@ public class LibMatrixMult
 	{
 		SparseBlock w = mW.sparseBlock;
 		SparseBlock c = ret.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int cd = mU.clen;
 		
 		boolean flagmult = (wt==WUMMType.MULT); 
@@ -2851,8 +2897,8 @@ public class LibMatrixMult
 		else //DENSE
 		{
 			//w and c always in same representation
-			double[] w = mW.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] w = mW.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++) {
@@ -3422,7 +3468,7 @@ public class LibMatrixMult
 		if( ret.rlen != ret.clen )
 			throw new RuntimeException("Invalid non-squared input matrix.");
 		
-		final double[] c = ret.denseBlock;
+		final double[] c = ret.getDenseBlockValues();
 		final int n = ret.rlen;
 		long nnz = 0;
 		
@@ -3645,7 +3691,7 @@ public class LibMatrixMult
 			if( !_pm2r )
 				return _ret.recomputeNonZeros(rl, ru-1, cl, cu-1);
 			else
-				return _ret.getDenseBlock();
+				return _ret.getDenseBlockValues();
 		}
 	}
 
@@ -3685,7 +3731,7 @@ public class LibMatrixMult
 			//to prevent synchronization (sequential aggregation led to better 
 			//performance after JIT)
 			
-			return ret.getDenseBlock();
+			return ret.getDenseBlockValues();
 		}
 	}
 
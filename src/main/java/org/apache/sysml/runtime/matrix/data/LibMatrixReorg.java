@@ -63,6 +63,9 @@ public class LibMatrixReorg
 	//minimum number of elements for multi-threaded execution
 	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //1M
 	
+	//minimum number of rows for multi-threaded sort
+	public static final int PAR_NUMROWS_THRESHOLD_SORT = 64*1024; //64K
+	
 	//allow shallow dense/sparse copy for unchanged data (which is 
 	//safe due to copy-on-write and safe update-in-place handling)
 	public static final boolean SHALLOW_COPY_REORG = true;
@@ -110,7 +113,7 @@ public class LibMatrixReorg
 				return diag(in, out); 
 			case SORT:      
 				SortIndex ix = (SortIndex) op.fn;
-				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn());
+				return sort(in, out, ix.getCols(), ix.getDecreasing(), ix.getIndexReturn(), op.getNumThreads());
 			
 			default:        
 				throw new DMLRuntimeException("Unsupported reorg operator: "+op.fn);
@@ -131,8 +134,10 @@ public class LibMatrixReorg
 		//since the physical representation of dense vectors is always the same,
 		//we don't need to create a copy, given our copy on write semantics.
 		//however, note that with update in-place this would be an invalid optimization
-		if( SHALLOW_COPY_REORG && !in.sparse && !out.sparse && (in.rlen==1 || in.clen==1)  ) {
-			out.denseBlock = in.denseBlock;
+		if( SHALLOW_COPY_REORG && !in.sparse && !out.sparse && (in.rlen==1 || in.clen==1)
+			&& in.denseBlock.isContiguous() ) {
+			out.denseBlock = DenseBlockFactory.createDenseBlock(
+				in.getDenseBlockValues(), out.rlen, out.clen);
 			return out;
 		}
 		
@@ -315,6 +320,28 @@ public class LibMatrixReorg
 
 	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret) 
 		throws DMLRuntimeException
+	{
+		return sort(in, out, new int[]{by}, desc, ixret, 1);
+	}
+	
+	/**
+	 * Sorts the rows of the given matrix block by one or multiple columns
+	 * (lexicographically in the order of the given columns). The index vector
+	 * sorting is stable, i.e., rows with equal sort keys retain their original
+	 * order. For large inputs and k&gt;1, row partitions are sorted in parallel
+	 * and subsequently combined via parallel pairwise merges.
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param by one-based sort column indexes
+	 * @param desc if true, sort in descending order
+	 * @param ixret if true, return the sorted index vector instead of the data
+	 * @param k degree of parallelism
+	 * @return output matrix
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int[] by, boolean desc, boolean ixret, int k) 
+		throws DMLRuntimeException
 	{
 		//meta data gathering and preparation
 		boolean sparse = in.isInSparseFormat();
@@ -322,10 +349,14 @@ public class LibMatrixReorg
 		int clen = in.clen;
 		out.sparse = (in.sparse && !ixret);
 		out.nonZeros = ixret ? rlen : in.nonZeros;
+		boolean par = (k > 1 && rlen >= PAR_NUMROWS_THRESHOLD_SORT);
 		
 		//step 1: error handling
-		if( by <= 0 || clen < by )
-			throw new DMLRuntimeException("Sort configuration issue: non-existing orderby column: "+by+" ("+rlen+"x"+clen+" input).");
+		if( by == null || by.length == 0 )
+			throw new DMLRuntimeException("Sort configuration issue: no orderby columns specified.");
+		for( int c : by )
+			if( c <= 0 || clen < c )
+				throw new DMLRuntimeException("Sort configuration issue: non-existing orderby column: "+c+" ("+rlen+"x"+clen+" input).");
 		
 		//step 2: empty block / special case handling
 		if( !ixret ) //SORT DATA
@@ -333,10 +364,10 @@ public class LibMatrixReorg
 			if( in.isEmptyBlock(false) ) //EMPTY INPUT BLOCK
 				return out;
 			
-			if( !sparse && clen == 1 ) { //DENSE COLUMN VECTOR
+			if( !sparse && clen == 1 && !par ) { //DENSE COLUMN VECTOR
 				//in-place quicksort, unstable (no indexes needed)
 				out.copy( in ); //dense
-				Arrays.sort(out.denseBlock);
+				Arrays.sort(out.getDenseBlockValues());
 				if( desc )
 					sortReverseDense(out);
 				return out;
@@ -353,67 +384,67 @@ public class LibMatrixReorg
 		}
 		
 		//step 3: index vector sorting
-		
-		//create index vector and extract values
+		//(index vector, values of first sort column aligned with the index
+		//vector, and row-aligned values of secondary sort columns)
 		int[] vix = new int[rlen];
 		double[] values = new double[rlen];
-		for( int i=0; i<rlen; i++ ) {
-			vix[i] = i;
-			values[i] = in.quickGetValue(i, by-1);
-		}
-		
-		//sort index vector on extracted data (unstable)
-		SortUtils.sortByValue(0, rlen, values, vix);
-
-		//flip order if descending requested (note that this needs to happen
-		//before we ensure stable outputs, hence we also flip values)
-		if(desc) {
-			sortReverseDense(vix);
-			sortReverseDense(values);
-		}
-		
-		//final pass to ensure stable output
-		for( int i=0; i<rlen-1; i++ ) {
-			double tmp = values[i];
-			//determine run of equal values
-			int len = 0;
-			while( i+len+1<rlen && tmp==values[i+len+1] )
-				len++;
-			//unstable sort of run indexes (equal value guaranteed)
-			if( len>0 ) {
-				Arrays.sort(vix, i, i+len+1);
-				i += len; //skip processed run
-			}
+		double[][] keys = null;
+		double[] tmp = null;
+		if( by.length > 1 ) {
+			keys = new double[by.length][];
+			for( int j=1; j<by.length; j++ )
+				keys[j] = new double[rlen];
+			tmp = new double[rlen];
+		}
+		
+		if( !par ) {
+			extractSortKeys(in, by, vix, values, keys, 0, rlen);
+			sortIndexVector(vix, values, keys, tmp, desc, 0, rlen, 1);
+			
+			//step 4: create output matrix (guaranteed non-empty, see step 2)
+			allocateSortOutput(out, ixret);
+			copySortOutput(in, out, vix, ixret, 0, rlen);
 		}
-
-		//step 4: create output matrix (guaranteed non-empty, see step 2)
-		if( !ixret )
-		{
-			//copy input data in sorted order into result
-			if( !sparse ) //DENSE
-			{
-				out.allocateDenseBlock(false);
-				for( int i=0; i<rlen; i++ ) {
-					System.arraycopy(in.denseBlock, vix[i]*clen, out.denseBlock, i*clen, clen);
+		else {
+			try {
+				ExecutorService pool = Executors.newFixedThreadPool( k );
+				int blklen = (int)(Math.ceil((double)rlen/k));
+				
+				//sort row partitions independently (incl extraction of sort keys)
+				ArrayList<SortTask> tasks = new ArrayList<SortTask>();
+				for( int i=0; i<k & i*blklen<rlen; i++ )
+					tasks.add(new SortTask(in, by, desc, vix, values, keys, tmp, i*blklen, Math.min((i+1)*blklen, rlen)));
+				for( Future<Object> rtask : pool.invokeAll(tasks) )
+					rtask.get();
+				
+				//pairwise merge of sorted partitions (stable because the left 
+				//partition always contains the smaller row indexes)
+				int[] vix2 = new int[rlen];
+				double[] values2 = new double[rlen];
+				for( int len=blklen; len<rlen; len*=2 ) {
+					ArrayList<SortMergeTask> mtasks = new ArrayList<SortMergeTask>();
+					for( int rl=0; rl<rlen; rl+=2*len )
+						mtasks.add(new SortMergeTask(vix, values, vix2, values2, keys, desc,
+							rl, Math.min(rl+len, rlen), Math.min(rl+2*len, rlen)));
+					for( Future<Object> rtask : pool.invokeAll(mtasks) )
+						rtask.get();
+					int[] vtmp = vix; vix = vix2; vix2 = vtmp;
+					double[] dtmp = values; values = values2; values2 = dtmp;
 				}
+				
+				//step 4: create output matrix (guaranteed non-empty, see step 2)
+				allocateSortOutput(out, ixret);
+				ArrayList<SortCopyTask> ctasks = new ArrayList<SortCopyTask>();
+				for( int i=0; i<k & i*blklen<rlen; i++ )
+					ctasks.add(new SortCopyTask(in, out, vix, ixret, i*blklen, Math.min((i+1)*blklen, rlen)));
+				for( Future<Object> rtask : pool.invokeAll(ctasks) )
+					rtask.get();
+				pool.shutdown();
 			}
-			else //SPARSE
-			{
-				out.allocateSparseRowsBlock(false);
-				for( int i=0; i<rlen; i++ )
-					if( !in.sparseBlock.isEmpty(vix[i]) ) {
-						out.sparseBlock.set(i, in.sparseBlock.get(vix[i]),
-							!SHALLOW_COPY_REORG); //row remains unchanged
-					}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
 			}
 		}
-		else
-		{
-			//copy sorted index vector into result
-			out.allocateDenseBlock(false);
-			for( int i=0; i<rlen; i++ )
-				out.setValueDenseUnsafe(i, 0, vix[i]+1);
-		}
 		
 		return out;
 	}
@@ -752,8 +783,14 @@ public class LibMatrixReorg
 		final int n = in.clen;
 		final int n2 = out.clen;
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();
+		DenseBlock da = in.getDenseBlock();
+		DenseBlock dc = out.getDenseBlock();
+		if( !da.isContiguous() || !dc.isContiguous() ) {
+			transposeDenseToDenseMultiBlock(da, dc, rl, ru, cl, cu);
+			return;
+		}
+		double[] a = da.valuesAt(0);
+		double[] c = dc.valuesAt(0);
 		
 		if( m==1 || n==1 ) //VECTOR TRANSPOSE
 		{
@@ -784,6 +821,25 @@ public class LibMatrixReorg
 		}
 	}
 
+	private static void transposeDenseToDenseMultiBlock(DenseBlock da, DenseBlock dc, int rl, int ru, int cl, int cu) {
+		//blocking according to typical L2 cache sizes 
+		final int blocksizeI = 128;
+		final int blocksizeJ = 128; 
+		
+		//blocked execution, w/ row-wise access of large dense blocks
+		for( int bi = rl; bi<ru; bi+=blocksizeI )
+			for( int bj = cl; bj<cu; bj+=blocksizeJ ) {
+				int bimin = Math.min(bi+blocksizeI, ru);
+				int bjmin = Math.min(bj+blocksizeJ, cu);
+				for( int i=bi; i<bimin; i++ ) {
+					double[] a = da.values(i);
+					int aix = da.pos(i);
+					for( int j=bj; j<bjmin; j++ )
+						dc.values(j)[dc.pos(j)+i] = a[aix+j];
+				}
+			}
+	}
+
 	private static void transposeDenseToSparse(MatrixBlock in, MatrixBlock out)
 	{
 		//NOTE: called only in sequential execution
@@ -794,13 +850,13 @@ public class LibMatrixReorg
 		final int n2 = out.clen;
 		final int ennz2 = (int) (in.nonZeros/m2); 
 		
-		double[] a = in.getDenseBlock();
+		DenseBlock da = in.getDenseBlock();
 		SparseBlock c = out.getSparseBlock();
 		
-		if( out.rlen == 1 ) //VECTOR-VECTOR
+		if( out.rlen == 1 && da.isContiguous() ) //VECTOR-VECTOR
 		{	
 			c.allocate(0, (int)in.nonZeros); 
-			c.setIndexRange(0, 0, m, a, 0, m);
+			c.setIndexRange(0, 0, m, da.valuesAt(0), 0, m);
 		}
 		else //general case: MATRIX-MATRIX
 		{
@@ -815,12 +871,14 @@ public class LibMatrixReorg
 					int bimin = Math.min(bi+blocksizeI, m);
 					int bjmin = Math.min(bj+blocksizeJ, n);
 					//core transpose operation
-					for( int i=bi; i<bimin; i++ )				
-						for( int j=bj, aix=i*n+bj; j<bjmin; j++, aix++ )
+					for( int i=bi; i<bimin; i++ ) {
+						double[] a = da.values(i);
+						for( int j=bj, aix=da.pos(i)+bj; j<bjmin; j++, aix++ )
 						{
 							c.allocate(j, ennz2, n2); 
 							c.append(j, i, a[aix]);
 						}
+					}
 				}
 		}
 	}
@@ -896,7 +954,7 @@ public class LibMatrixReorg
 		final int n2 = out.clen;
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = out.getDenseBlock();
+		DenseBlock dc = out.getDenseBlock();
 		
 		if( m==1 ) //ROW VECTOR TRANSPOSE
 		{
@@ -905,10 +963,24 @@ public class LibMatrixReorg
 			int[] aix = a.indexes(0);
 			double[] avals = a.values(0);
 			for( int j=0; j<alen; j++ )
-				c[ aix[j] ] = avals[j];
+				dc.set(aix[j], 0, avals[j]);
+		}
+		else if( !dc.isContiguous() ) //MATRIX TRANSPOSE, LARGE DENSE
+		{
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					dc.values(aix[j])[dc.pos(aix[j])+i] = avals[j];
+			}
 		}
 		else //MATRIX TRANSPOSE
 		{
+			double[] c = dc.valuesAt(0);
+			
 			//blocking according to typical L2 cache sizes 
 			final int blocksizeI = 128;
 			final int blocksizeJ = 128; 
@@ -1001,15 +1073,21 @@ public class LibMatrixReorg
 		out.nonZeros = in.nonZeros;
 		out.allocateDenseBlock(false);
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();
+		DenseBlock da = in.getDenseBlock();
+		DenseBlock dc = out.getDenseBlock();
 		
 		//copy all rows into target positions
-		if( n == 1 ) { //column vector
+		if( !da.isContiguous() || !dc.isContiguous() ) { //large dense blocks
+			for( int i=0; i<m; i++ )
+				System.arraycopy(da.values(i), da.pos(i), dc.values(m-1-i), dc.pos(m-1-i), n);
+		}
+		else if( n == 1 ) { //column vector
+			double[] a = da.valuesAt(0), c = dc.valuesAt(0);
 			for( int i=0; i<m; i++ )
 				c[m-1-i] = a[i];
 		}
 		else { //general matrix case
+			double[] a = da.valuesAt(0), c = dc.valuesAt(0);
 			for( int i=0, aix=0; i<m; i++, aix+=n )
 				System.arraycopy(a, aix, c, len-aix-n, n);
 		}
@@ -1089,11 +1167,13 @@ public class LibMatrixReorg
 			return;
 		
 		//shallow dense by-row reshape (w/o result allocation)
-		if( SHALLOW_COPY_REORG && rowwise ) {
+		if( SHALLOW_COPY_REORG && rowwise && in.denseBlock.isContiguous()
+			&& DenseBlockFactory.getDenseBlockType(out.rlen, out.clen) == DenseBlock.Type.DRB ) {
 			//since the physical representation of dense matrices is always the same,
 			//we don't need to create a copy, given our copy on write semantics.
 			//however, note that with update in-place this would be an invalid optimization
-			out.denseBlock = in.denseBlock;
+			out.denseBlock = DenseBlockFactory.createDenseBlock(
+				in.getDenseBlockValues(), out.rlen, out.clen);
 			return;
 		}
 		
@@ -1101,8 +1181,8 @@ public class LibMatrixReorg
 		out.allocateDenseBlock(false);
 		
 		//dense reshape
-		double[] a = in.denseBlock;
-		double[] c = out.denseBlock;
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();
 		
 		if( rowwise )
 		{
@@ -1270,7 +1350,7 @@ public class LibMatrixReorg
 		int estnnz = (int) (in.nonZeros/rows);
 		
 		//sparse reshape
-		double[] a = in.denseBlock;
+		double[] a = in.getDenseBlockValues();
 		SparseBlock c = out.sparseBlock;
 		
 		if( rowwise )
@@ -1341,7 +1421,7 @@ public class LibMatrixReorg
 		
 		//sparse/dense reshape
 		SparseBlock a = in.sparseBlock;
-		double[] c = out.denseBlock;
+		double[] c = out.getDenseBlockValues();
 		
 		if( rowwise )
 		{
@@ -1532,7 +1612,7 @@ public class LibMatrixReorg
 		
 		int rlen = in.rlen;
 		int clen = in.clen;
-		double[] a = in.denseBlock;
+		double[] a = in.getDenseBlockValues();
 		
 		//append all values to right blocks
 		MatrixIndexes ixtmp = new MatrixIndexes();
@@ -1685,7 +1765,7 @@ public class LibMatrixReorg
 			}
 			else //DENSE
 			{
-				double[] a = in.denseBlock;
+				double[] a = in.getDenseBlockValues();
 				for(int i=0, aix=0; i<m; i++, aix+=n)
 					for(int j=0; j<n; j++)
 						if( a[aix+j] != 0 ) {
@@ -1722,8 +1802,8 @@ public class LibMatrixReorg
 		else if( !in.sparse && !ret.sparse )  //DENSE <- DENSE
 		{
 			ret.allocateDenseBlock();
-			double[] a = in.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] a = in.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 			
 			for( int i=0, aix=0, cix=0; i<m; i++, aix+=n )
 				if( flags[i] ) {
@@ -1734,7 +1814,7 @@ public class LibMatrixReorg
 		else //SPARSE <- DENSE
 		{
 			ret.allocateSparseRowsBlock();
-			double[] a = in.denseBlock;
+			double[] a = in.getDenseBlockValues();
 			
 			for( int i=0, aix=0, cix=0; i<m; i++, aix+=n )
 				if( flags[i] ) {
@@ -1779,7 +1859,7 @@ public class LibMatrixReorg
 			}
 			else //DENSE
 			{
-				double[] a = in.denseBlock;
+				double[] a = in.getDenseBlockValues();
 				
 				for(int i=0, aix=0; i<m; i++)
 					for(int j=0; j<n; j++, aix++)
@@ -1833,8 +1913,8 @@ public class LibMatrixReorg
 		else if( !in.sparse && !ret.sparse )  //DENSE <- DENSE
 		{
 			ret.allocateDenseBlock();
-			double[] a = in.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] a = in.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 			
 			for(int i=0, aix=0, lcix=0; i<m; i++, lcix+=clen2)
 				for(int j=0; j<n; j++, aix++)
@@ -1844,7 +1924,7 @@ public class LibMatrixReorg
 		else //SPARSE <- DENSE
 		{
 			ret.allocateSparseRowsBlock();
-			double[] a = in.denseBlock;
+			double[] a = in.getDenseBlockValues();
 			
 			for(int i=0, aix=0; i<m; i++)
 				for(int j=0; j<n; j++, aix++)
@@ -1993,7 +2073,7 @@ public class LibMatrixReorg
 				tmp[i] = in.quickGetValue(ixin+i, 0);
 		}
 		else { //DENSE
-			System.arraycopy(in.denseBlock, ixin, tmp, 0, len);
+			System.arraycopy(in.getDenseBlockValues(), ixin, tmp, 0, len);
 		}
 		
 		//init index array
@@ -2002,6 +2082,130 @@ public class LibMatrixReorg
 	}
 	
 
+	private static void extractSortKeys( MatrixBlock in, int[] by, int[] vix, double[] values, double[][] keys, int rl, int ru )
+	{
+		for( int i=rl; i<ru; i++ ) {
+			vix[i] = i;
+			values[i] = in.quickGetValue(i, by[0]-1);
+		}
+		for( int j=1; keys!=null && j<by.length; j++ ) {
+			double[] key = keys[j];
+			for( int i=rl; i<ru; i++ )
+				key[i] = in.quickGetValue(i, by[j]-1);
+		}
+	}
+	
+	private static void sortIndexVector( int[] vix, double[] values, double[][] keys, double[] tmp, boolean desc, int rl, int ru, int pos )
+	{
+		//sort index vector on extracted data (unstable)
+		SortUtils.sortByValue(rl, ru, values, vix);
+		
+		//flip order if descending requested (note that this needs to happen
+		//before we ensure stable outputs, hence we also flip values)
+		if( desc ) {
+			sortReverseDense(vix, rl, ru);
+			sortReverseDense(values, rl, ru);
+		}
+		
+		//final pass to ensure stable output (and secondary sort columns)
+		sortIndexVectorRuns(vix, values, keys, tmp, desc, pos, rl, ru);
+	}
+	
+	private static void sortIndexVectorRuns( int[] vix, double[] values, double[][] keys, double[] tmp, boolean desc, int pos, int rl, int ru )
+	{
+		for( int i=rl; i<ru-1; i++ ) {
+			double tmpv = values[i];
+			//determine run of equal values
+			int len = 0;
+			while( i+len+1<ru && tmpv==values[i+len+1] )
+				len++;
+			if( len>0 ) {
+				if( keys != null && pos < keys.length ) {
+					//sort run by next sort column, where tmp can be reused
+					//across levels because we only overwrite the current run
+					for( int j=i; j<=i+len; j++ )
+						tmp[j] = keys[pos][vix[j]];
+					sortIndexVector(vix, tmp, keys, tmp, desc, i, i+len+1, pos+1);
+				}
+				else {
+					//unstable sort of run indexes (equal value guaranteed)
+					Arrays.sort(vix, i, i+len+1);
+				}
+				i += len; //skip processed run
+			}
+		}
+	}
+	
+	private static void mergeSortedIndexVectors( int[] vix, double[] values, int[] vix2, double[] values2, double[][] keys, boolean desc, int rl, int mid, int ru )
+	{
+		int i = rl, j = mid, pos = rl;
+		while( i<mid && j<ru ) {
+			//take right only if strictly smaller (ties retain the left partition)
+			if( compareSortKeys(values[j], vix[j], values[i], vix[i], keys, desc) < 0 ) {
+				vix2[pos] = vix[j]; values2[pos++] = values[j++];
+			}
+			else {
+				vix2[pos] = vix[i]; values2[pos++] = values[i++];
+			}
+		}
+		if( i<mid ) {
+			System.arraycopy(vix, i, vix2, pos, mid-i);
+			System.arraycopy(values, i, values2, pos, mid-i);
+		}
+		if( j<ru ) {
+			System.arraycopy(vix, j, vix2, pos, ru-j);
+			System.arraycopy(values, j, values2, pos, ru-j);
+		}
+	}
+	
+	private static int compareSortKeys( double v1, int ix1, double v2, int ix2, double[][] keys, boolean desc )
+	{
+		int cmp = (v1 < v2) ? -1 : (v1 > v2) ? 1 : 0;
+		for( int j=1; cmp==0 && keys!=null && j<keys.length; j++ ) {
+			double a = keys[j][ix1], b = keys[j][ix2];
+			cmp = (a < b) ? -1 : (a > b) ? 1 : 0;
+		}
+		return desc ? -cmp : cmp;
+	}
+	
+	private static void allocateSortOutput( MatrixBlock out, boolean ixret )
+	{
+		if( !ixret && out.sparse )
+			out.allocateSparseRowsBlock(false);
+		else
+			out.allocateDenseBlock(false);
+	}
+	
+	private static void copySortOutput( MatrixBlock in, MatrixBlock out, int[] vix, boolean ixret, int rl, int ru )
+	{
+		if( !ixret )
+		{
+			//copy input data in sorted order into result
+			if( !in.sparse ) //DENSE
+			{
+				DenseBlock a = in.getDenseBlock();
+				DenseBlock c = out.getDenseBlock();
+				int clen = in.clen;
+				for( int i=rl; i<ru; i++ )
+					System.arraycopy(a.values(vix[i]), a.pos(vix[i]), c.values(i), c.pos(i), clen);
+			}
+			else //SPARSE
+			{
+				for( int i=rl; i<ru; i++ )
+					if( !in.sparseBlock.isEmpty(vix[i]) ) {
+						out.sparseBlock.set(i, in.sparseBlock.get(vix[i]),
+							!SHALLOW_COPY_REORG); //row remains unchanged
+					}
+			}
+		}
+		else
+		{
+			//copy sorted index vector into result
+			for( int i=rl; i<ru; i++ )
+				out.setValueDenseUnsafe(i, 0, vix[i]+1);
+		}
+	}
+	
 	/**
 	 * Utility method for in-place transformation of an ascending sorted
 	 * order into a descending sorted order. This method assumes dense
@@ -2012,7 +2216,7 @@ public class LibMatrixReorg
 	private static void sortReverseDense( MatrixBlock m1 )
 	{
 		int rlen = m1.rlen;
-		double[] a = m1.denseBlock;
+		double[] a = m1.getDenseBlockValues();
 		
 		for( int i=0; i<rlen/2; i++ ) {
 			double tmp = a[i];
@@ -2021,25 +2225,25 @@ public class LibMatrixReorg
 		}
 	}
 
-	private static void sortReverseDense( int[] a )
+	private static void sortReverseDense( int[] a, int rl, int ru )
 	{
-		int rlen = a.length;
+		int len = ru - rl;
 		
-		for( int i=0; i<rlen/2; i++ ) {
-			int tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
+		for( int i=0; i<len/2; i++ ) {
+			int tmp = a[rl + i];
+			a[rl + i] = a[ru - i - 1];
+			a[ru - i - 1] = tmp;
 		}
 	}
 
-	private static void sortReverseDense( double[] a )
+	private static void sortReverseDense( double[] a, int rl, int ru )
 	{
-		int rlen = a.length;
+		int len = ru - rl;
 		
-		for( int i=0; i<rlen/2; i++ ) {
-			double tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
+		for( int i=0; i<len/2; i++ ) {
+			double tmp = a[rl + i];
+			a[rl + i] = a[ru - i - 1];
+			a[ru - i - 1] = tmp;
 		}
 	}
 
@@ -2213,4 +2417,92 @@ public class LibMatrixReorg
 			return rexpandColumns(_in, _out, _max, _cast, _ignore, _rl, _ru);
 		}
 	}
+	
+	private static class SortTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final int[] _by;
+		private final boolean _desc;
+		private final int[] _vix;
+		private final double[] _values;
+		private final double[][] _keys;
+		private final double[] _tmp;
+		private final int _rl;
+		private final int _ru;
+
+		protected SortTask(MatrixBlock in, int[] by, boolean desc, int[] vix, double[] values, double[][] keys, double[] tmp, int rl, int ru) {
+			_in = in;
+			_by = by;
+			_desc = desc;
+			_vix = vix;
+			_values = values;
+			_keys = keys;
+			_tmp = tmp;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException {
+			extractSortKeys(_in, _by, _vix, _values, _keys, _rl, _ru);
+			sortIndexVector(_vix, _values, _keys, _tmp, _desc, _rl, _ru, 1);
+			return null;
+		}
+	}
+	
+	private static class SortMergeTask implements Callable<Object>
+	{
+		private final int[] _vix;
+		private final double[] _values;
+		private final int[] _vix2;
+		private final double[] _values2;
+		private final double[][] _keys;
+		private final boolean _desc;
+		private final int _rl;
+		private final int _mid;
+		private final int _ru;
+
+		protected SortMergeTask(int[] vix, double[] values, int[] vix2, double[] values2, double[][] keys, boolean desc, int rl, int mid, int ru) {
+			_vix = vix;
+			_values = values;
+			_vix2 = vix2;
+			_values2 = values2;
+			_keys = keys;
+			_desc = desc;
+			_rl = rl;
+			_mid = mid;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException {
+			mergeSortedIndexVectors(_vix, _values, _vix2, _values2, _keys, _desc, _rl, _mid, _ru);
+			return null;
+		}
+	}
+	
+	private static class SortCopyTask implements Callable<Object>
+	{
+		private final MatrixBlock _in;
+		private final MatrixBlock _out;
+		private final int[] _vix;
+		private final boolean _ixret;
+		private final int _rl;
+		private final int _ru;
+
+		protected SortCopyTask(MatrixBlock in, MatrixBlock out, int[] vix, boolean ixret, int rl, int ru) {
+			_in = in;
+			_out = out;
+			_vix = vix;
+			_ixret = ixret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException {
+			copySortOutput(_in, _out, _vix, _ixret, _rl, _ru);
+			return null;
+		}
+	}
 }
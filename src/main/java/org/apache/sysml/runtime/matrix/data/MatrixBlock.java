@@ -125,7 +125,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	protected long nonZeros   = 0;
 	
 	//matrix data (sparse or dense)
-	protected double[] denseBlock    = null;
+	protected DenseBlock denseBlock   = null;
 	protected SparseBlock sparseBlock = null;
 		
 	//sparse-block-specific attributes (allocation only)
@@ -175,6 +175,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		sparseBlock = sblock;
 	}
 	
+	/**
+	 * Constructs a dense {@link MatrixBlock} that wraps the given instance 
+	 * of a {@link DenseBlock} without copying its values.
+	 * 
+	 * @param rl number of rows
+	 * @param cl number of columns
+	 * @param dblock dense block
+	 */
+	public MatrixBlock(int rl, int cl, DenseBlock dblock) {
+		this(rl, cl, false, -1);
+		denseBlock = dblock;
+		recomputeNonZeros();
+	}
+	
 	public MatrixBlock(MatrixBlock that, SparseBlock.Type stype, boolean deep) {
 		this(that.rlen, that.clen, that.sparse);
 		
@@ -260,15 +274,17 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 	
 	private void resetDense(double val) {
-		//handle to dense block allocation
-		if( denseBlock != null && denseBlock.length<rlen*clen && val==0)
+		//handle to dense block allocation (drop blocks of insufficient capacity
+		//or different type, e.g., DRB for sizes that require an LDRB)
+		if( denseBlock != null && (denseBlock.capacity()<(long)rlen*clen || !DenseBlockFactory
+			.isDenseBlockType(denseBlock, DenseBlockFactory.getDenseBlockType(rlen, clen))) )
 			denseBlock = null;
-		else if( val != 0 )
-			allocateDenseBlock(false);
+		if( val != 0 && denseBlock == null )
+			denseBlock = DenseBlockFactory.createDenseBlock(rlen, clen);
 			
 		//reset dense block to given value 
 		if( denseBlock != null )
-			Arrays.fill(denseBlock, 0, rlen*clen, val);
+			denseBlock.reset(rlen, clen, val);
 	}
 	
 	/**
@@ -292,8 +308,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		allocateDenseBlock();
 		
 		//copy and compute nnz
-		for(int i=0, ix=0; i < r; i++, ix+=clen) 
-			System.arraycopy(arr[i], 0, denseBlock, ix, arr[i].length);
+		for(int i=0; i < r; i++) 
+			System.arraycopy(arr[i], 0, denseBlock.values(i), denseBlock.pos(i), arr[i].length);
 		recomputeNonZeros();
 	}
 	
@@ -318,7 +334,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		allocateDenseBlock();
 		
 		//copy and compute nnz 
-		System.arraycopy(arr, 0, denseBlock, 0, arr.length);
+		if( denseBlock.isContiguous() )
+			System.arraycopy(arr, 0, denseBlock.valuesAt(0), 0, arr.length);
+		else
+			for(int i=0; i < r; i++)
+				System.arraycopy(arr, i*c, denseBlock.values(i), denseBlock.pos(i), c);
 		recomputeNonZeros();
 	}
 
@@ -349,19 +369,24 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		long limit = (long)rlen * clen;
 		
-		//check max size constraint (16GB dense), since java arrays are limited to 2^(32-1) elements)
-		if( limit > Integer.MAX_VALUE ) {
-			String execType = OptimizerUtils.isSparkExecutionMode() ? "SPARK" : "MR";
-			throw new RuntimeException("Dense in-memory matrix block ("+rlen+"x"+clen+") exceeds supported size of "+Integer.MAX_VALUE+" elements (16GB). " +
-					                   "Please, report this issue and reduce the JVM heapsize to execute this operation in "+execType+".");
-		}
-		
 		//allocate block if non-existing or too small (guaranteed to be 0-initialized),
-		if(denseBlock == null || denseBlock.length < limit) {
+		//where blocks larger than max int cells are represented as row-paged large dense blocks
+		if( denseBlock == null ) {
 			long start = DISPLAY_STATISTICS && DMLScript.STATISTICS ? System.nanoTime() : 0;
-			denseBlock = new double[(int)limit];
+			denseBlock = DenseBlockFactory.createDenseBlock(rlen, clen);
 			Statistics.allocateDoubleArrTime += DISPLAY_STATISTICS && DMLScript.STATISTICS ? (System.nanoTime() - start) : 0;
 		}
+		else if( denseBlock.capacity() < limit || !DenseBlockFactory.isDenseBlockType(
+			denseBlock, DenseBlockFactory.getDenseBlockType(rlen, clen)) ) {
+			denseBlock = DenseBlockFactory.createDenseBlock(rlen, clen);
+		}
+		else if( denseBlock.numRows() != rlen || denseBlock.numColumns() != clen ) {
+			//reuse existing allocation but reshape to the new dimensions
+			if( denseBlock.isContiguous() )
+				denseBlock = DenseBlockFactory.createDenseBlock(denseBlock.valuesAt(0), rlen, clen);
+			else
+				denseBlock.reset(rlen, clen);
+		}
 		
 		//clear nnz if necessary
 		if( clearNNZ ) {
@@ -517,12 +542,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	////////
 	// Data handling
 	
-	public double[] getDenseBlock() {
-		if( sparse )
-			return null;
+	public DenseBlock getDenseBlock() {
 		return denseBlock;
 	}
 	
+	/**
+	 * Returns the underlying array of a dense block, which is a short-hand
+	 * for operations that are guaranteed to deal with single-block dense
+	 * matrices, i.e., blocks of up to 2^31-1 cells. Large dense blocks that
+	 * span multiple arrays need to be accessed via {@link #getDenseBlock()}.
+	 * 
+	 * @return underlying double array or null if sparse or unallocated
+	 */
+	public double[] getDenseBlockValues() {
+		if( sparse || denseBlock == null )
+			return null;
+		if( !denseBlock.isContiguous() )
+			throw new RuntimeException("Unsupported access to the values of a large dense block ("
+				+ rlen + "x" + clen + ") with " + denseBlock.numBlocks() + " row blocks.");
+		return denseBlock.valuesAt(0);
+	}
+	
 	public SparseBlock getSparseBlock() {
 		if( !sparse )
 			return null;
@@ -590,7 +630,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if( denseBlock==null )
 				return 0;
-			return denseBlock[r*clen+c]; 
+			return denseBlock.get(r, c); 
 		}
 	}
 
@@ -620,10 +660,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			allocateDenseBlock(false);
 			
 			//set value and maintain nnz
-			int index=r*clen+c;
-			if( denseBlock[index]==0 )
+			double[] a = denseBlock.values(r);
+			int index = denseBlock.pos(r, c);
+			if( a[index]==0 )
 				nonZeros++;
-			denseBlock[index] = v;
+			a[index] = v;
 			if( v==0 )
 				nonZeros--;
 		}
@@ -633,7 +674,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		if(denseBlock==null)
 			return 0;
-		return denseBlock[r*clen+c]; 
+		return denseBlock.get(r, c); 
 	}
 	
 
@@ -648,7 +689,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	public void setValueDenseUnsafe(int r, int c, double v) 
 	{
-		denseBlock[r*clen+c]=v;		
+		denseBlock.set(r, c, v);
 	}
 	
 	public double getValueSparseUnsafe(int r, int c) 
@@ -678,7 +719,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			allocateDenseBlock(false);
 			
 			//set value and maintain nnz
-			denseBlock[r*clen+c] = v;
+			denseBlock.set(r, c, v);
 			nonZeros++;
 		}
 		else //SPARSE
@@ -754,12 +795,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else //SPARSE <- DENSE
 		{
+			DenseBlock b = that.denseBlock;
 			for( int i=0; i<that.rlen; i++ )
 			{
 				int aix = rowoffset+i;
-				for( int j=0, bix=i*that.clen; j<that.clen; j++ )
+				double[] bvals = b.values(i);
+				for( int j=0, bix=b.pos(i); j<that.clen; j++ )
 				{
-					double val = that.denseBlock[bix+j];
+					double val = bvals[bix+j];
 					if( val != 0 ) {
 						//create sparserow only if required
 						sparseBlock.allocate(aix, estimatedNNzsPerRow,clen);
@@ -1089,13 +1132,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		//copy dense to sparse with (1) row pre-allocation to avoid repeated 
 		//allocation on append, and (2) nnz re-computation 
-		double[] a = denseBlock;
+		DenseBlock da = denseBlock;
 		SparseBlock c = sparseBlock;
 		final int m = rlen;
 		final int n = clen;
 		
 		long nnz = 0;
-		for( int i=0, aix=0; i<m; i++, aix+=n ) {
+		for( int i=0; i<m; i++ ) {
+			double[] a = da.values(i);
+			int aix = da.pos(i);
 			//recompute nnz per row (not via recomputeNonZeros as sparse allocated)
 			int lnnz = 0;
 			for(int j=0; j<n; j++)
@@ -1127,21 +1172,23 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if(sparseBlock==null)
 			return;
 		
-		int limit=rlen*clen;
+		long limit = (long)rlen*clen;
 		if ( limit < 0 ) {
 			throw new DMLRuntimeException("Unexpected error in sparseToDense().. limit < 0: " + rlen + ", " + clen + ", " + limit);
 		}
 		
 		//allocate dense target block, but keep nnz (no need to maintain)
 		allocateDenseBlock(false);
-		Arrays.fill(denseBlock, 0, limit, 0);
+		denseBlock.reset();
 		
 		//copy sparse to dense
 		SparseBlock a = sparseBlock;
-		double[] c = denseBlock;
+		DenseBlock dc = denseBlock;
 		
-		for( int i=0, cix=0; i<rlen; i++, cix+=clen)
+		for( int i=0; i<rlen; i++ )
 			if( !a.isEmpty(i) ) {
+				double[] c = dc.values(i);
+				int cix = dc.pos(i);
 				int apos = a.pos(i);
 				int alen = a.size(i);
 				int[] aix = a.indexes(i);
@@ -1168,15 +1215,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			//note: rlen might be <= sparseBlock.numRows()
 			nonZeros = sparseBlock.size(0, sparseBlock.numRows());
 		}
-		else if( !sparse && denseBlock!=null ) //DENSE (max int)
+		else if( !sparse && denseBlock!=null ) //DENSE
 		{
 			long start = DISPLAY_STATISTICS && DMLScript.STATISTICS ? System.nanoTime() : 0;
-			double[] a = denseBlock;
-			final int limit=rlen*clen;
-			int nnz = 0;
-			for(int i=0; i<limit; i++)
-				nnz += (a[i]!=0) ? 1 : 0;
-			nonZeros = nnz;
+			nonZeros = denseBlock.countNonZeros();
 			Statistics.recomputeNNZTime += DISPLAY_STATISTICS && DMLScript.STATISTICS ? (System.nanoTime() - start) : 0;
 		}
 	}
@@ -1211,21 +1253,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			}
 			return nnz;
 		}
-		else if( !sparse && denseBlock!=null ) //DENSE (max int)
+		else if( !sparse && denseBlock!=null ) //DENSE
 		{
-			double[] a = denseBlock;
-			final int n = clen;
-			int nnz = 0;
-			if( cl==0 && cu==n-1 ) { //specific case: all cols
-				for( int i=rl*n; i<(ru+1)*n; i++ )
-					nnz += (a[i]!=0) ? 1 : 0;
-			}
-			else {
-				for( int i=rl, ix=rl*n; i<=ru; i++, ix+=n )
-					for( int j=cl; j<=cu; j++ )
-						nnz += (a[ix+j]!=0) ? 1 : 0;
-			}
-			return nnz;
+			return denseBlock.countNonZeros(rl, ru+1, cl, cu+1);
 		}
 		
 		return 0; //empty block
@@ -1320,13 +1350,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	private void copyDenseToDense(MatrixBlock that)
 	{
 		nonZeros = that.nonZeros;
-		int limit = rlen*clen;
 		
 		//plain reset to 0 for empty input
 		if( that.isEmptyBlock(false) )
 		{
 			if(denseBlock!=null)
-				Arrays.fill(denseBlock, 0, limit, 0);
+				denseBlock.reset(rlen, clen);
 			return;
 		}
 		
@@ -1334,7 +1363,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		allocateDenseBlock(false);
 		
 		//actual copy 
-		System.arraycopy(that.denseBlock, 0, denseBlock, 0, limit);
+		denseBlock.set(that.denseBlock);
 	}
 	
 	private void copySparseToDense(MatrixBlock that)
@@ -1343,15 +1372,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( that.isEmptyBlock(false) )
 		{
 			if(denseBlock!=null)
-				Arrays.fill(denseBlock, 0);
+				denseBlock.reset();
 			return;
 		}
 		
 		//allocate and init dense block (w/o overwriting nnz)
 		allocateDenseBlock(false);
 		
-		int start=0;
-		for(int r=0; r<Math.min(that.sparseBlock.numRows(), rlen); r++, start+=clen)
+		for(int r=0; r<Math.min(that.sparseBlock.numRows(), rlen); r++)
 		{
 			if(that.sparseBlock.isEmpty(r)) 
 				continue;
@@ -1359,9 +1387,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			int len = that.sparseBlock.size(r);
 			int[] aix = that.sparseBlock.indexes(r);
 			double[] avals = that.sparseBlock.values(r);
+			double[] c = denseBlock.values(r);
+			int start = denseBlock.pos(r);
 			
 			for(int i=pos; i<pos+len; i++) {
-				denseBlock[start+aix[i]]=avals[i];
+				c[start+aix[i]]=avals[i];
 			}
 		}
 	}
@@ -1377,13 +1407,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		allocateSparseRowsBlock(false);
 	
-		for(int i=0, ix=0; i<rlen; i++)
+		DenseBlock b = that.denseBlock;
+		for(int i=0; i<rlen; i++)
 		{			
 			sparseBlock.reset(i, estimatedNNzsPerRow, clen);
+			double[] bvals = b.values(i);
+			int ix = b.pos(i);
 			
 			for(int j=0; j<clen; j++)
 			{
-				double val = that.denseBlock[ix++];
+				double val = bvals[ix++];
 				if( val != 0 ) {
 					//create sparse row only if required
 					sparseBlock.allocate(i, estimatedNNzsPerRow, clen);
@@ -1508,7 +1541,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 		//copy values
 		SparseBlock a = src.sparseBlock;
-		for( int i=0, ix=rl*clen; i<src.rlen; i++, ix+=clen )
+		DenseBlock c = denseBlock;
+		for( int i=0; i<src.rlen; i++ )
 		{	
 			if( !a.isEmpty(i) )
 			{
@@ -1516,9 +1550,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				int alen = a.size(i);
 				int[] aix = a.indexes(i);
 				double[] avals = a.values(i);
+				double[] cvals = c.values(rl+i);
+				int ix = c.pos(rl+i);
 				
 				for( int j=apos; j<apos+alen; j++ )
-					denseBlock[ix+cl+aix[j]] = avals[j];
+					cvals[ix+cl+aix[j]] = avals[j];
 				
 				if(awareDestNZ)
 					nonZeros += alen;
@@ -1541,22 +1577,25 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		//copy values
 		SparseBlock a = sparseBlock;
-		for( int i=0, ix=0; i<src.rlen; i++, ix+=src.clen )
+		DenseBlock b = src.denseBlock;
+		for( int i=0; i<src.rlen; i++ )
 		{
 			int rix = rl + i;
+			double[] bvals = b.values(i);
+			int ix = b.pos(i);
 			if( a instanceof SparseBlockMCSR 
 				&& a.isEmpty(rix) ) //special case MCSR append
 			{
 				//count nnz per row (fits likely in L1 cache)
 				int lnnz = 0;
 				for( int j=0; j<src.clen; j++ )
-					lnnz += (src.denseBlock[ix+j]!=0) ? 1 : 0;
+					lnnz += (bvals[ix+j]!=0) ? 1 : 0;
 					
 				//allocate row once and copy values
 				if( lnnz > 0 ) {	
 					a.allocate(rix, lnnz);
 					for( int j=0; j<src.clen; j++ ) {
-						double val = src.denseBlock[ix+j];
+						double val = bvals[ix+j];
 						if( val != 0 )
 							a.append(rix, cl+j, val); 
 					}
@@ -1568,18 +1607,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			{
 				int lnnz = a.size(rix);
 				if( cl==cu ) {
-					double val = src.denseBlock[ix];
+					double val = bvals[ix];
 					a.set(rix, cl, val);
 				}
 				else {
-					a.setIndexRange(rix, cl, cu+1, src.denseBlock, ix, src.clen);
+					a.setIndexRange(rix, cl, cu+1, bvals, ix, src.clen);
 				}
 				nonZeros += (a.size(rix) - lnnz);
 			}	
 			else //general case (w/o awareness NNZ)
 			{
 				for( int j=0; j<src.clen; j++ ) {
-					double val = src.denseBlock[ix+j];
+					double val = bvals[ix+j];
 					if( val != 0 ) 
 						a.set(rix, cl+j, val);
 				}
@@ -1607,12 +1646,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			nonZeros = nonZeros - recomputeNonZeros(rl, ru, cl, cu) + src.nonZeros;
 		
 		//copy values
-		int rowLen = cu-cl+1;				
-		if(clen == src.clen) //optimization for equal width
-			System.arraycopy(src.denseBlock, 0, denseBlock, rl*clen+cl, src.rlen*src.clen);
+		int rowLen = cu-cl+1;
+		DenseBlock a = src.denseBlock;
+		DenseBlock c = denseBlock;
+		if( clen == src.clen && a.isContiguous() && c.isContiguous(rl, ru) ) //optimization for equal width
+			System.arraycopy(a.valuesAt(0), 0, c.values(rl), c.pos(rl, cl), src.rlen*src.clen);
 		else
-			for( int i=0, ix1=0, ix2=rl*clen+cl; i<src.rlen; i++, ix1+=src.clen, ix2+=clen ) {
-				System.arraycopy(src.denseBlock, ix1, denseBlock, ix2, rowLen);
+			for( int i=0; i<src.rlen; i++ ) {
+				System.arraycopy(a.values(i), a.pos(i), c.values(rl+i), c.pos(rl+i, cl), rowLen);
 			}
 	}
 	
@@ -1643,12 +1684,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	private void copyEmptyToDense(int rl, int ru, int cl, int cu)
 	{
-		int rowLen = cu-cl+1;				
-		if(clen == rowLen) //optimization for equal width
-			Arrays.fill(denseBlock, rl*clen+cl, ru*clen+cu+1, 0);
-		else
-			for( int i=rl, ix2=rl*clen+cl; i<=ru; i++, ix2+=clen )
-				Arrays.fill(denseBlock, ix2, ix2+rowLen, 0);
+		denseBlock.set(rl, ru+1, cl, cu+1, 0);
 	}
 
 	public void merge(CacheBlock that, boolean appendOnly) 
@@ -1706,14 +1742,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		if( that.sparse ) //DENSE <- SPARSE
 		{
-			double[] a = denseBlock;
+			DenseBlock da = denseBlock;
 			SparseBlock b = that.sparseBlock;
 			int m = rlen;
-			int n = clen;
 			
-			for( int i=0, aix=0; i<m; i++, aix+=n )
+			for( int i=0; i<m; i++ )
 				if( !b.isEmpty(i) )
 				{
+					double[] a = da.values(i);
+					int aix = da.pos(i);
 					int bpos = b.pos(i);
 					int blen = b.size(i);
 					int[] bix = b.indexes(i);
@@ -1725,12 +1762,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else //DENSE <- DENSE
 		{
-			double[] a = denseBlock;
-			double[] b = that.denseBlock;
-			int len = rlen * clen;
+			DenseBlock da = denseBlock;
+			DenseBlock db = that.denseBlock;
+			int m = rlen;
+			int n = clen;
 			
-			for( int i=0; i<len; i++ )
-				a[i] = ( b[i] != 0 ) ? b[i] : a[i];
+			for( int i=0; i<m; i++ ) {
+				double[] a = da.values(i);
+				double[] b = db.values(i);
+				int aix = da.pos(i);
+				int bix = db.pos(i);
+				for( int j=0; j<n; j++ )
+					a[aix+j] = ( b[bix+j] != 0 ) ? b[bix+j] : a[aix+j];
+			}
 		}
 	}
 
@@ -1772,13 +1816,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else //SPARSE <- DENSE
 		{
-			SparseBlock a = sparseBlock;
-			double[] b = that.denseBlock;
+			DenseBlock db = that.denseBlock;
 			int m = rlen;
 			int n = clen;
 			
-			for( int i=0, bix=0; i<m; i++, bix+=n )
+			for( int i=0; i<m; i++ )
 			{
+				double[] b = db.values(i);
+				int bix = db.pos(i);
 				boolean appended = false;
 				for( int j=0; j<n; j++ ) {
 					if( b[bix+j] != 0 ) {
@@ -1788,7 +1833,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				}
 				//only sort if value appended
 				if( !appendOnly && appended )
-					a.sort(i);
+					sparseBlock.sort(i);
 			}
 		}
 	}
@@ -1857,12 +1902,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		allocateDenseBlock(true); //allocate block, clear nnz
 		
-		int limit = rlen*clen;
+		DenseBlock a = denseBlock;
 		
 		if( in instanceof MatrixBlockDataInput ) //fast deserialize
 		{
 			MatrixBlockDataInput mbin = (MatrixBlockDataInput)in;
-			nonZeros = mbin.readDoubleArray(limit, denseBlock);
+			for( int bi=0; bi<a.numBlocks(); bi++ )
+				nonZeros += mbin.readDoubleArray(a.size(bi), a.valuesAt(bi));
 		}
 		else if( in instanceof DataInputBuffer && MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION ) 
 		{
@@ -1871,7 +1917,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			FastBufferedDataInputStream mbin = null;
 			try {
 				mbin = new FastBufferedDataInputStream(din);
-				nonZeros = mbin.readDoubleArray(limit, denseBlock);	
+				for( int bi=0; bi<a.numBlocks(); bi++ )
+					nonZeros += mbin.readDoubleArray(a.size(bi), a.valuesAt(bi));
 			}
 			finally {
 				IOUtilFunctions.closeSilently(mbin);
@@ -1879,11 +1926,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else //default deserialize
 		{
-			for( int i=0; i<limit; i++ )
-			{
-				denseBlock[i]=in.readDouble();
-				if(denseBlock[i]!=0)
-					nonZeros++;
+			for( int bi=0; bi<a.numBlocks(); bi++ ) {
+				double[] avals = a.valuesAt(bi);
+				int len = a.size(bi);
+				for( int i=0; i<len; i++ ) {
+					avals[i] = in.readDouble();
+					nonZeros += (avals[i]!=0) ? 1 : 0;
+				}
 			}
 		}
 	}
@@ -1929,16 +1978,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		throws IOException, DMLRuntimeException 
 	{
 		allocateDenseBlock(false); //allocate block
-		Arrays.fill(denseBlock, 0);
+		denseBlock.reset();
 		
 		for(int r=0; r<rlen; r++)
 		{
 			int nr = in.readInt();
+			double[] a = denseBlock.values(r);
+			int aix = denseBlock.pos(r);
 			for( int j=0; j<nr; j++ )
 			{
 				int c = in.readInt();
 				double val = in.readDouble(); 
-				denseBlock[r*clen+c] = val;
+				a[aix+c] = val;
 			}
 		}
 	}
@@ -1975,7 +2026,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		throws IOException, DMLRuntimeException 
 	{	
 		allocateDenseBlock(false); //allocate block
-		Arrays.fill(denseBlock, 0);
+		denseBlock.reset();
 		
 		if( clen > 1 ) //ULTRA-SPARSE BLOCK
 		{ 
@@ -1984,7 +2035,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				int r = in.readInt();
 				int c = in.readInt();
 				double val = in.readDouble();			
-				denseBlock[r*clen+c] = val;
+				denseBlock.set(r, c, val);
 			}
 		}
 		else //ULTRA-SPARSE COL
@@ -1993,7 +2044,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			for(long i=0; i<nonZeros; i++) {
 				int r = in.readInt();
 				double val = in.readDouble();			
-				denseBlock[r] = val;
+				denseBlock.set(r, 0, val);
 			}
 		}
 	}
@@ -2048,12 +2099,17 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		out.writeByte( BlockType.DENSE_BLOCK.ordinal() );
 		
-		int limit=rlen*clen;
+		DenseBlock a = denseBlock;
 		if( out instanceof MatrixBlockDataOutput ) //fast serialize
-			((MatrixBlockDataOutput)out).writeDoubleArray(limit, denseBlock);
+			for( int bi=0; bi<a.numBlocks(); bi++ )
+				((MatrixBlockDataOutput)out).writeDoubleArray(a.size(bi), a.valuesAt(bi));
 		else //general case (if fast serialize not supported)
-			for(int i=0; i<limit; i++)
-				out.writeDouble(denseBlock[i]);
+			for( int bi=0; bi<a.numBlocks(); bi++ ) {
+				double[] avals = a.valuesAt(bi);
+				int len = a.size(bi);
+				for(int i=0; i<len; i++)
+					out.writeDouble(avals[i]);
+			}
 	}
 
 	private void writeSparseBlock(DataOutput out) 
@@ -2183,24 +2239,29 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( clen > 1 ) //ULTRA-SPARSE BLOCK
 		{
 			//block: write ijv-triples
-			for(int r=0, ix=0; r<rlen; r++)
+			for(int r=0; r<rlen; r++) {
+				double[] a = denseBlock.values(r);
+				int ix = denseBlock.pos(r);
 				for(int c=0; c<clen; c++, ix++)
-					if( denseBlock[ix]!=0 ) {
+					if( a[ix]!=0 ) {
 						out.writeInt(r);
 						out.writeInt(c);
-						out.writeDouble(denseBlock[ix]);
+						out.writeDouble(a[ix]);
 						wnnz++;
 					}
+			}
 		}
 		else //ULTRA-SPARSE COL
 		{
 			//col: write iv-pairs
-			for(int r=0; r<rlen; r++)
-				if( denseBlock[r]!=0 ) {
+			for(int r=0; r<rlen; r++) {
+				double val = denseBlock.get(r, 0);
+				if( val!=0 ) {
 					out.writeInt(r);
-					out.writeDouble(denseBlock[r]);
+					out.writeDouble(val);
 					wnnz++;
 				}
+			}
 		}
 		
 		//validity check (nnz must exactly match written nnz)
@@ -2215,21 +2276,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		out.writeByte( BlockType.SPARSE_BLOCK.ordinal() ); //block type
 		writeNnzInfo( out, false );
 		
-		int start=0;
 		for(int r=0; r<rlen; r++)
 		{
+			double[] a = denseBlock.values(r);
+			int start = denseBlock.pos(r);
 			//count nonzeros
-			int nr=0;
-			for(int i=start; i<start+clen; i++)
-				if(denseBlock[i]!=0.0)
-					nr++;
-			out.writeInt(nr);
+			out.writeInt(denseBlock.countNonZeros(r));
 			for(int c=0; c<clen; c++)
 			{
-				if(denseBlock[start]!=0.0)
+				if(a[start]!=0.0)
 				{
 					out.writeInt(c);
-					out.writeDouble(denseBlock[start]);
+					out.writeDouble(a[start]);
 				}
 				start++;
 			}
@@ -2601,6 +2659,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	@Override
 	public MatrixValue scalarOperations(ScalarOperator op, MatrixValue result) 
 		throws DMLRuntimeException
+	{
+		return scalarOperations(op, result, 1);
+	}
+	
+	public MatrixValue scalarOperations(ScalarOperator op, MatrixValue result, int k) 
+		throws DMLRuntimeException
 	{
 		MatrixBlock ret = checkType(result);
 		
@@ -2616,7 +2680,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			ret.reset(rlen, clen, sp, this.nonZeros);
 		
 		//core scalar operations
-		LibMatrixBincell.bincellOp(this, ret, op);
+		if( k > 1 )
+			LibMatrixBincell.bincellOp(this, ret, op, k);
+		else
+			LibMatrixBincell.bincellOp(this, ret, op);
 		
 		return ret;
 	}
@@ -2721,15 +2788,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			//allocate dense output block
 			ret.allocateDenseBlock();						
-			double[] a = denseBlock;
-			double[] c = ret.denseBlock;
-			int len = m * n;
+			DenseBlock da = denseBlock;
+			DenseBlock dc = ret.denseBlock;
 			
-			//unary op, incl nnz maintenance
-			int nnz = 0;
-			for( int i=0; i<len; i++ ) {
-				c[i] = op.fn.execute(a[i]);
-				nnz += (c[i] != 0) ? 1 : 0;
+			//unary op, incl nnz maintenance (equal dims, i.e., aligned blocks)
+			long nnz = 0;
+			for( int bi=0; bi<da.numBlocks(); bi++ ) {
+				double[] a = da.valuesAt(bi);
+				double[] c = dc.valuesAt(bi);
+				int len = da.size(bi);
+				for( int i=0; i<len; i++ ) {
+					c[i] = op.fn.execute(a[i]);
+					nnz += (c[i] != 0) ? 1 : 0;
+				}
 			}
 			ret.nonZeros = nnz;
 		}
@@ -2812,13 +2883,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else
 		{
-			int limit=rlen*clen;
 			nonZeros=0;
-			for(int i=0; i<limit; i++)
+			for( int bi=0; bi<denseBlock.numBlocks(); bi++ )
 			{
-				denseBlock[i]=op.fn.execute(denseBlock[i]);
-				if(denseBlock[i]!=0)
-					nonZeros++;
+				double[] a = denseBlock.valuesAt(bi);
+				int len = denseBlock.size(bi);
+				for(int i=0; i<len; i++) {
+					a[i]=op.fn.execute(a[i]);
+					if(a[i]!=0)
+						nonZeros++;
+				}
 			}
 		}
 	}
@@ -2843,13 +2917,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				allocateDenseBlock();
 			
 			//compute values in-place and update nnz
-			final int limit = rlen*clen;
-			int lnnz = 0;
-			for( int i=0; i<limit; i++ ) {
-				denseBlock[i] = op.fn.execute(denseBlock[i]);	
-				if( denseBlock[i]!=0 )
-					lnnz++;
-			}		
+			long lnnz = 0;
+			for( int bi=0; bi<denseBlock.numBlocks(); bi++ ) {
+				double[] a = denseBlock.valuesAt(bi);
+				int len = denseBlock.size(bi);
+				for( int i=0; i<len; i++ ) {
+					a[i] = op.fn.execute(a[i]);	
+					if( a[i]!=0 )
+						lnnz++;
+				}
+			}
 			nonZeros = lnnz;
 			
 			//IBM JVM bug (JDK6) causes crash for certain inputs (w/ infinities) 
@@ -2865,6 +2942,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
 		throws DMLRuntimeException
+	{
+		return binaryOperations(op, thatValue, result, 1);
+	}
+	
+	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result, int k) 
+		throws DMLRuntimeException
 	{
 		MatrixBlock that = checkType(thatValue);
 		MatrixBlock ret = checkType(result);
@@ -2887,7 +2970,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			ret.reset(rows, cols, resultSparse.sparse, resultSparse.estimatedNonZeros);
 		
 		//core binary cell operation
-		LibMatrixBincell.bincellOp( this, that, ret, op );
+		if( k > 1 )
+			LibMatrixBincell.bincellOp( this, that, ret, op, k );
+		else
+			LibMatrixBincell.bincellOp( this, that, ret, op );
 		
 		return ret;
 	}
@@ -3420,32 +3506,34 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			{
 				if( denseBlock != null ) 
 				{
+					DenseBlock da = denseBlock;
 					if( result.isInSparseFormat() ) //SPARSE<-DENSE
 					{
-						double[] a = denseBlock;
-						for( int i=0, aix=0; i<rlen; i++ )
-							for( int j=0; j<clen; j++, aix++ )
+						for( int i=0; i<rlen; i++ ) {
+							double[] a = da.values(i);
+							for( int j=0, aix=da.pos(i); j<clen; j++, aix++ )
 							{
 								temp.set(i, j);
 								op.fn.execute(temp, temp);
 								result.appendValue(temp.row, temp.column, a[aix]);	
 							}
+						}
 					}
 					else //DENSE<-DENSE
 					{
 						result.allocateDenseBlock();
-						Arrays.fill(result.denseBlock, 0);
-						double[] a = denseBlock;
-						double[] c = result.denseBlock;
-						int n = result.clen;
+						result.denseBlock.reset();
+						DenseBlock c = result.denseBlock;
 						
-						for( int i=0, aix=0; i<rlen; i++ )
-							for( int j=0; j<clen; j++, aix++ )
+						for( int i=0; i<rlen; i++ ) {
+							double[] a = da.values(i);
+							for( int j=0, aix=da.pos(i); j<clen; j++, aix++ )
 							{
 								temp.set(i, j);
 								op.fn.execute(temp, temp);
-								c[temp.row*n+temp.column] = a[aix];	
+								c.set(temp.row, temp.column, a[aix]);	
 							}
+						}
 						result.nonZeros = nonZeros;
 					}
 				}
@@ -3658,6 +3746,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					(rl+1) +":" + (ru+1) + ", " + (cl+1) + ":" + (cu+1) + "].");
 		}
 		
+		//shared update in-place (disjoint writes of concurrent parfor workers)
+		if( update == UpdateType.INPLACE_SHARED ) {
+			copyShared(rl, ru, cl, cu, rhsMatrix);
+			return this;
+		}
+		
 		MatrixBlock result = ret;		
 		boolean sp = estimateSparsityOnLeftIndexing(rlen, clen, nonZeros, 
 				     rhsMatrix.getNumRows(), rhsMatrix.getNumColumns(), rhsMatrix.getNonZeros());
@@ -3708,7 +3802,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				if( src.sparse )
 					sblock.setIndexRange(rl, ru+1, cl, cu+1, src.getSparseBlock());
 				else //dense
-					sblock.setIndexRange(rl, ru+1, cl, cu+1, src.getDenseBlock(), 0, src.getNumRows()*src.getNumColumns());
+					sblock.setIndexRange(rl, ru+1, cl, cu+1, src.getDenseBlockValues(), 0, src.getNumRows()*src.getNumColumns());
 				result.nonZeros = sblock.size();
 			}
 			//copy submatrix into result
@@ -3739,6 +3833,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		throws DMLRuntimeException 
 	{
 		double inVal = scalar.getDoubleValue();
+		
+		//shared update in-place (disjoint writes of concurrent parfor workers)
+		if( update == UpdateType.INPLACE_SHARED ) {
+			checkShared();
+			denseBlock.set(rl, cl, inVal);
+			return this;
+		}
+		
 		boolean sp = estimateSparsityOnLeftIndexing(rlen, clen, nonZeros, 1, 1, (inVal!=0)?1:0);
 		
 		if( !update.isInPlace() ) //general case
@@ -3766,6 +3868,60 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		return ret;
 	}
 
+	/**
+	 * Copies the given source into the given index range of this shared dense block,
+	 * without representation changes or maintenance of the number of non-zeros. 
+	 * Hence, concurrent writers of disjoint index ranges can safely update the same
+	 * block, but the caller is responsible for recomputing the non-zeros.
+	 * 
+	 * @param rl row lower
+	 * @param ru row upper
+	 * @param cl column lower
+	 * @param cu column upper
+	 * @param src source matrix block
+	 * @throws DMLRuntimeException if the block is not an allocated dense block
+	 */
+	private void copyShared(int rl, int ru, int cl, int cu, MatrixBlock src) 
+		throws DMLRuntimeException
+	{
+		checkShared();
+		
+		//reset target index range
+		DenseBlock c = denseBlock;
+		c.set(rl, ru+1, cl, cu+1, 0);
+		if( src.isEmptyBlock(false) )
+			return;
+		
+		//copy non-zero values
+		if( src.sparse ) {
+			SparseBlock a = src.sparseBlock;
+			for( int i=0; i<src.rlen; i++ ) {
+				if( a.isEmpty(i) )
+					continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				double[] cvals = c.values(rl+i);
+				int cix = c.pos(rl+i, cl);
+				for( int j=apos; j<apos+alen; j++ )
+					cvals[cix+aix[j]] = avals[j];
+			}
+		}
+		else {
+			DenseBlock a = src.denseBlock;
+			for( int i=0; i<src.rlen; i++ )
+				System.arraycopy(a.values(i), a.pos(i), c.values(rl+i), c.pos(rl+i, cl), src.clen);
+		}
+	}
+	
+	private void checkShared() 
+		throws DMLRuntimeException
+	{
+		if( sparse || denseBlock == null )
+			throw new DMLRuntimeException("Shared update in-place requires an allocated dense block.");
+	}
+
 	public final MatrixBlock sliceOperations(IndexRange ixrange, MatrixBlock ret) throws DMLRuntimeException {
 		return sliceOperations(
 				(int)ixrange.rowStart, (int)ixrange.rowEnd, 
@@ -3836,7 +3992,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				if( !sparseBlock.isEmpty(i) ) {
 					double val = sparseBlock.get(i, cl);
 					if( val != 0 ) {
-						dest.denseBlock[i-rl] = val;
+						dest.denseBlock.set(i-rl, 0, val);
 						dest.nonZeros++;
 					}
 				}
@@ -3872,32 +4028,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			return;
 		dest.allocateDenseBlock();
 
+		DenseBlock a = denseBlock;
+		DenseBlock c = dest.denseBlock;
+		
 		//indexing operation
 		if( cl==cu ) //COLUMN INDEXING
 		{
-			if( clen==1 ) //vector -> vector
+			if( clen==1 && a.isContiguous(rl, ru) && c.isContiguous() ) //vector -> vector
 			{
-				System.arraycopy(denseBlock, rl, dest.denseBlock, 0, ru-rl+1);
+				System.arraycopy(a.values(rl), a.pos(rl), c.valuesAt(0), 0, ru-rl+1);
 			}
 			else //matrix -> vector
 			{
-				//IBM JVM bug (JDK7) causes crash for certain cl/cu values (e.g., divide by zero for 4) 
-				//for( int i=rl*clen+cl, ix=0; i<=ru*clen+cu; i+=clen, ix++ )
-				//	dest.denseBlock[ix] = denseBlock[i];
-				int len = clen;
-				for( int i=rl*len+cl, ix=0; i<=ru*len+cu; i+=len, ix++ )
-					dest.denseBlock[ix] = denseBlock[i];
+				for( int i=rl; i<=ru; i++ )
+					c.set(i-rl, 0, a.get(i, cl));
 			}
 		}
 		else // GENERAL RANGE INDEXING
 		{
-			//IBM JVM bug (JDK7) causes crash for certain cl/cu values (e.g., divide by zero for 4) 
-			//for(int i = rl, ix1 = rl*clen+cl, ix2=0; i <= ru; i++, ix1+=clen, ix2+=dest.clen) 
-			//	System.arraycopy(denseBlock, ix1, dest.denseBlock, ix2, dest.clen);
-			int len1 = clen;
 			int len2 = dest.clen;
-			for(int i = rl, ix1 = rl*len1+cl, ix2=0; i <= ru; i++, ix1+=len1, ix2+=len2) 
-				System.arraycopy(denseBlock, ix1, dest.denseBlock, ix2, len2);
+			for(int i = rl; i <= ru; i++) 
+				System.arraycopy(a.values(i), a.pos(i, cl), c.values(i-rl), c.pos(i-rl), len2);
 		}
 		
 		//compute nnz of output (not maintained due to native calls)
@@ -3965,15 +4116,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if(denseBlock!=null)
 			{
+				double[] a = getDenseBlockValues();
 				int i=((int)range.rowStart)*clen;
 				int r=(int) range.rowStart;
 				for(; r<Math.min(rowCut, range.rowEnd+1); r++)
 				{
 					int c=(int) range.colStart;
 					for(; c<Math.min(colCut, range.colEnd+1); c++)
-						topleft.appendValue(r+normalBlockRowFactor-rowCut, c+normalBlockColFactor-colCut, denseBlock[i+c]);
+						topleft.appendValue(r+normalBlockRowFactor-rowCut, c+normalBlockColFactor-colCut, a[i+c]);
 					for(; c<=range.colEnd; c++)
-						topright.appendValue(r+normalBlockRowFactor-rowCut, c-colCut, denseBlock[i+c]);
+						topright.appendValue(r+normalBlockRowFactor-rowCut, c-colCut, a[i+c]);
 					i+=clen;
 				}
 				
@@ -3981,9 +4133,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				{
 					int c=(int) range.colStart;
 					for(; c<Math.min(colCut, range.colEnd+1); c++)
-						bottomleft.appendValue(r-rowCut, c+normalBlockColFactor-colCut, denseBlock[i+c]);
+						bottomleft.appendValue(r-rowCut, c+normalBlockColFactor-colCut, a[i+c]);
 					for(; c<=range.colEnd; c++)
-						bottomright.appendValue(r-rowCut, c-colCut, denseBlock[i+c]);
+						bottomright.appendValue(r-rowCut, c-colCut, a[i+c]);
 					i+=clen;
 				}
 			}
@@ -4131,13 +4283,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if(denseBlock!=null)
 			{
+				double[] a = getDenseBlockValues();
 				if(complementary)//if selection
 				{
 					int offset=((int)range.rowStart)*clen;
 					for(int r=(int) range.rowStart; r<=range.rowEnd; r++)
 					{
 						for(int c=(int) range.colStart; c<=range.colEnd; c++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset+c]);
+							((MatrixBlock) result).appendValue(r, c, a[offset+c]);
 						offset+=clen;
 					}
 				}else
@@ -4146,20 +4299,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					int r=0;
 					for(; r<(int)range.rowStart; r++)
 						for(int c=0; c<clen; c++, offset++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset]);
+							((MatrixBlock) result).appendValue(r, c, a[offset]);
 					
 					for(; r<=(int)range.rowEnd; r++)
 					{
 						for(int c=0; c<(int)range.colStart; c++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset+c]);
+							((MatrixBlock) result).appendValue(r, c, a[offset+c]);
 						for(int c=(int)range.colEnd+1; c<clen; c++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset+c]);
+							((MatrixBlock) result).appendValue(r, c, a[offset+c]);
 						offset+=clen;
 					}
 					
 					for(; r<rlen; r++)
 						for(int c=0; c<clen; c++, offset++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset]);
+							((MatrixBlock) result).appendValue(r, c, a[offset]);
 				}
 				
 			}
@@ -4271,6 +4424,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if(denseBlock!=null)
 			{
+				double[] a = getDenseBlockValues();
 				int limit=rlen*clen;
 				for(int i=0; i<limit; i++)
 				{
@@ -4278,7 +4432,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					c=i%clen;
 					tempCellIndex.set(r, c);
 					op.indexFn.execute(tempCellIndex, tempCellIndex);
-					incrementalAggregateUnaryHelp(op.aggOp, result, tempCellIndex.row, tempCellIndex.column, denseBlock[i], buffer);
+					incrementalAggregateUnaryHelp(op.aggOp, result, tempCellIndex.row, tempCellIndex.column, a[i], buffer);
 				}
 			}
 		}
@@ -4421,9 +4575,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			else //DENSE
 			{
 				if(denseBlock!=null)
-					for(int i=(rlen-step)*clen; i<rlen*clen; i++)
-						if(denseBlock[i]!=0)
-							this.nonZeros--;
+					this.nonZeros -= denseBlock.countNonZeros(rlen-step, rlen, 0, clen);
 			}
 			
 			//just need to shrink the dimension, the deleted rows won't be accessed
@@ -4458,12 +4610,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			{
 				if(this.denseBlock!=null)
 				{
+					double[] a = getDenseBlockValues();
 					//the first row doesn't need to be copied
 					int targetIndex=clen-step;
 					int sourceOffset=clen;
 					this.nonZeros=0;
 					for(int i=0; i<targetIndex; i++)
-						if(denseBlock[i]!=0)
+						if(a[i]!=0)
 							this.nonZeros++;
 					
 					//start from the 2nd row
@@ -4471,7 +4624,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					{
 						for(int c=0; c<clen-step; c++)
 						{
-							if((denseBlock[targetIndex]=denseBlock[sourceOffset+c])!=0)
+							if((a[targetIndex]=a[sourceOffset+c])!=0)
 								this.nonZeros++;
 							targetIndex++;
 						}
@@ -4523,8 +4676,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null)  //DENSE
 		{
 			//always vector (see check above)
+			double[] a = getDenseBlockValues();
 			for(int i=0; i<rlen; i++)
-				op.fn.execute(cmobj, denseBlock[i]);
+				op.fn.execute(cmobj, a[i]);
 		}
 
 		return cmobj;
@@ -4552,17 +4706,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null) //DENSE
 		{
 			//always vectors (see check above)
+			double[] a = getDenseBlockValues();
 			if( !weights.sparse )
 			{
 				//both dense vectors (default case)
-				if(weights.denseBlock!=null)
+				double[] w = weights.getDenseBlockValues();
+				if(w!=null)
 					for( int i=0; i<rlen; i++ )
-						op.fn.execute(cmobj, denseBlock[i], weights.denseBlock[i]);
+						op.fn.execute(cmobj, a[i], w[i]);
 			}
 			else
 			{
 				for(int i=0; i<rlen; i++) 
-					op.fn.execute(cmobj, denseBlock[i], weights.quickGetValue(i,0) );
+					op.fn.execute(cmobj, a[i], weights.quickGetValue(i,0) );
 			}
 		}
 		
@@ -4591,17 +4747,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null) //DENSE
 		{
 			//always vectors (see check above)
+			double[] a = getDenseBlockValues();
 			if( !that.sparse )
 			{
 				//both dense vectors (default case)
-				if(that.denseBlock!=null)
+				double[] b = that.getDenseBlockValues();
+				if(b!=null)
 					for( int i=0; i<rlen; i++ )
-						op.fn.execute(covobj, denseBlock[i], that.denseBlock[i]);
+						op.fn.execute(covobj, a[i], b[i]);
 			}
 			else
 			{
 				for(int i=0; i<rlen; i++)
-					op.fn.execute(covobj, denseBlock[i], that.quickGetValue(i,0));
+					op.fn.execute(covobj, a[i], that.quickGetValue(i,0));
 			}
 		}
 		
@@ -4635,17 +4793,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null) //DENSE
 		{
 			//always vectors (see check above)
+			double[] a = getDenseBlockValues();
 			if( !that.sparse && !weights.sparse )
 			{
 				//all dense vectors (default case)
-				if(that.denseBlock!=null)
+				double[] b = that.getDenseBlockValues();
+				double[] w = weights.getDenseBlockValues();
+				if(b!=null)
 					for( int i=0; i<rlen; i++ )
-						op.fn.execute(covobj, denseBlock[i], that.denseBlock[i], weights.denseBlock[i]);
+						op.fn.execute(covobj, a[i], b[i], w[i]);
 			}
 			else
 			{
 				for(int i=0; i<rlen; i++)
-					op.fn.execute(covobj, denseBlock[i], that.quickGetValue(i,0), weights.quickGetValue(i,0));
+					op.fn.execute(covobj, a[i], that.quickGetValue(i,0), weights.quickGetValue(i,0));
 			}
 		}
 		
@@ -5150,7 +5311,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				ret.sparse = false;
 				ret.allocateDenseBlock();	
 				SparseBlock a = sparseBlock;
-				double[] c = ret.denseBlock;
+				double[] c = ret.getDenseBlockValues();
 				
 				//initialize with replacement (since all 0 values, see SPARSITY_TURN_POINT)
 				Arrays.fill(c, replacement); 
@@ -5174,18 +5335,23 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else //DENSE <- DENSE
 		{
-			int mn = ret.rlen * ret.clen;
 			ret.allocateDenseBlock();
-			double[] a = denseBlock;
-			double[] c = ret.denseBlock;
+			DenseBlock da = denseBlock;
+			DenseBlock dc = ret.denseBlock;
 			
-			for( int i=0; i<mn; i++ ) 
-			{
-				double val = a[i];
-				if( val== pattern || (NaNpattern && Double.isNaN(val)) )
-					c[i] = replacement;
-				else
-					c[i] = a[i];
+			//equal dims, i.e., aligned blocks
+			for( int bi=0; bi<da.numBlocks(); bi++ ) {
+				double[] a = da.valuesAt(bi);
+				double[] c = dc.valuesAt(bi);
+				int len = da.size(bi);
+				for( int i=0; i<len; i++ ) 
+				{
+					double val = a[i];
+					if( val== pattern || (NaNpattern && Double.isNaN(val)) )
+						c[i] = replacement;
+					else
+						c[i] = a[i];
+				}
 			}
 		}
 		
@@ -5849,13 +6015,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else
 		{
 			if(denseBlock!=null) {
-				for(int i=0, ix=0; i<rlen; i++, ix+=clen) {
-					for(int j=0; j<clen; j++) {
-						sb.append(this.denseBlock[ix+j]);
-						sb.append("\t");
-					}
-					sb.append("\n");
-				}
+				//overloaded implementation in dense blocks
+				sb.append(denseBlock.toString());
 			}
 		}
 		
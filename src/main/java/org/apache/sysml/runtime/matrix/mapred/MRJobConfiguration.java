@@ -71,6 +71,7 @@ import org.apache.sysml.runtime.instructions.mr.RemoveEmptyMRInstruction;
 import org.apache.sysml.runtime.instructions.mr.UnaryMRInstructionBase;
 import org.apache.sysml.runtime.io.BinaryBlockSerialization;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.AddDummyWeightConverter;
 import org.apache.sysml.runtime.matrix.data.BinaryBlockToBinaryCellConverter;
@@ -1032,6 +1033,7 @@ public class MRJobConfiguration
 		for(int i=0; i<inputs.length; i++)
 		{
 			Path p = new Path(inputs[i]);
+			checkLocalBinaryBlockInput(job, p, inputInfos[i]);
 			
 			//check and skip redundant inputs
 			if(   lpaths.contains(p) //path already included
@@ -1091,6 +1093,26 @@ public class MRJobConfiguration
 	 * @param bclens array of block column lengths
 	 * @throws Exception if Exception occurs
 	 */
+	/**
+	 * Rejects binary block inputs in the local binary block format, which are 
+	 * single local files instead of sequence files and hence cannot be read
+	 * by MR jobs.
+	 * 
+	 * @param job job configuration
+	 * @param p input path
+	 * @param ii input info
+	 * @throws IOException if the input is a local binary block file
+	 */
+	private static void checkLocalBinaryBlockInput(JobConf job, Path p, InputInfo ii) 
+		throws IOException
+	{
+		if( ii == InputInfo.BinaryBlockInputInfo
+			&& ReaderBinaryBlock.isLocalBinaryBlock(IOUtilFunctions.getFileSystem(p, job), p) ) {
+			throw new IOException("Local binary block file "+p+" not supported as MR job input "
+				+ "(written with "+DMLConfig.CP_BINARY_LOCALFORMAT+"=true).");
+		}
+	}
+
 	public static void setUpMultipleInputsReblock(JobConf job, byte[] inputIndexes, String[] inputs, InputInfo[] inputInfos, 
 												  int[] brlens, int[] bclens) 
 		throws Exception
@@ -1116,6 +1138,7 @@ public class MRJobConfiguration
 		{
 			String name=inputs[i];
 			Path p=new Path(name);
+			checkLocalBinaryBlockInput(job, p, inputInfos[i]);
 			boolean redundant=false;
 			for(Path ep: paths)
 				if(ep.equals(p))
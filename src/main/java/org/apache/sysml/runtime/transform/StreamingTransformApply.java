@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV.FrameChunkReader;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Streaming transform apply for csv inputs of arbitrary size, which reads
+ * the input in chunks of rows, applies the transform meta data of the given 
+ * specification chunk by chunk, and emits the encoded output incrementally 
+ * as binary blocks. Since only a single row block of input and output is 
+ * held in memory at any time, this allows the feature transformation of 
+ * inputs larger than memory in constant memory on a single node.
+ */
+public class StreamingTransformApply 
+{
+	private final String _spec;
+	private final FrameBlock _meta;
+	private final CSVFileFormatProperties _props;
+	private final int _brlen;
+	private final int _bclen;
+	
+	/**
+	 * Consumer of encoded output blocks, which are emitted in row-major
+	 * order of blocks. Emitted blocks are not reused by the caller.
+	 */
+	public interface BlockConsumer {
+		public void process(MatrixIndexes ix, MatrixBlock block) throws IOException;
+	}
+	
+	public StreamingTransformApply(String spec, FrameBlock meta, CSVFileFormatProperties props, int brlen, int bclen) {
+		_spec = spec;
+		_meta = meta;
+		_props = props;
+		_brlen = brlen;
+		_bclen = bclen;
+	}
+	
+	/**
+	 * Applies the transform to the given csv file and writes the encoded
+	 * output as binary block matrix (including its meta data file).
+	 * 
+	 * @param fnameIn input csv file name
+	 * @param schema value types of input columns (or null for strings)
+	 * @param names input column names (or null if given in header)
+	 * @param fnameOut output binary block file name
+	 * @return matrix characteristics of the encoded output
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	@SuppressWarnings("deprecation")
+	public MatrixCharacteristics apply(String fnameIn, ValueType[] schema, String[] names, String fnameOut) 
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fnameOut );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		MapReduceTool.deleteFileIfExistOnHDFS( fnameOut );
+		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
+			MRJobConfiguration.addBinaryBlockSerializationFramework( job );
+		
+		//stream input chunks through the encoder into the sequence file
+		final SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
+		MatrixCharacteristics mc = null;
+		try {
+			mc = apply(fnameIn, schema, names, new BlockConsumer() {
+				@Override
+				public void process(MatrixIndexes ix, MatrixBlock block) throws IOException {
+					writer.append(ix, block);
+				}
+			});
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+		
+		//write meta data file
+		MapReduceTool.writeMetaDataFile(fnameOut+".mtd", ValueType.DOUBLE, mc, OutputInfo.BinaryBlockOutputInfo);
+		return mc;
+	}
+	
+	/**
+	 * Applies the transform to the given csv file and emits the encoded
+	 * output blocks to the given consumer.
+	 * 
+	 * @param fnameIn input csv file name
+	 * @param schema value types of input columns (or null for strings)
+	 * @param names input column names (or null if given in header)
+	 * @param out consumer of output blocks
+	 * @return matrix characteristics of the encoded output
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public MatrixCharacteristics apply(String fnameIn, ValueType[] schema, String[] names, BlockConsumer out) 
+		throws IOException, DMLRuntimeException
+	{
+		long clen = (schema != null) ? schema.length : -1;
+		FrameChunkReader reader = new FrameReaderTextCSV(_props)
+			.openFrameChunkReader(fnameIn, schema, names, clen);
+		try {
+			return apply(reader, out);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+	}
+	
+	/**
+	 * Applies the transform to the given input stream of csv format and
+	 * emits the encoded output blocks to the given consumer.
+	 * 
+	 * @param is input stream
+	 * @param schema value types of input columns
+	 * @param names input column names (or null if given in header)
+	 * @param out consumer of output blocks
+	 * @return matrix characteristics of the encoded output
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public MatrixCharacteristics apply(InputStream is, ValueType[] schema, String[] names, BlockConsumer out) 
+		throws IOException, DMLRuntimeException
+	{
+		FrameChunkReader reader = new FrameReaderTextCSV(_props)
+			.openFrameChunkReader(is, schema, names, schema.length);
+		try {
+			return apply(reader, out);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+	}
+	
+	private MatrixCharacteristics apply(FrameChunkReader reader, BlockConsumer out) 
+		throws IOException, DMLRuntimeException
+	{
+		//read first chunk (incl header) before creating the encoder by column names
+		FrameBlock chunk = reader.next(_brlen);
+		Encoder encoder = EncoderFactory.createEncoder(_spec, 
+			reader.getColumnNames(), reader.getSchema(), _meta);
+		int clen = reader.getSchema().length;
+		int nclen = encoder.getNumCols();
+		
+		//apply encoder chunk by chunk, where the size of the next chunk is
+		//bounded by the remaining rows of the current output row block 
+		//(encoded chunks might have fewer rows due to omitted rows)
+		MatrixBlock buff = null;
+		int pos = 0;
+		long rlen = 0, nnz = 0, brow = 1;
+		while( chunk != null ) {
+			MatrixBlock tmp = encoder.apply(chunk, new MatrixBlock(chunk.getNumRows(), clen, false));
+			if( tmp.getNumRows() > 0 ) {
+				if( buff == null )
+					buff = new MatrixBlock(_brlen, nclen, false);
+				buff.copy(pos, pos+tmp.getNumRows()-1, 0, nclen-1, tmp, true);
+				pos += tmp.getNumRows();
+			}
+			if( pos == _brlen ) {
+				nnz += emitRowBlock(buff, pos, brow++, out);
+				rlen += pos;
+				buff = null;
+				pos = 0;
+			}
+			chunk = reader.next(_brlen - pos);
+		}
+		
+		//emit last partial row block
+		if( pos > 0 ) {
+			nnz += emitRowBlock(buff, pos, brow, out);
+			rlen += pos;
+		}
+		
+		return new MatrixCharacteristics(rlen, nclen, _brlen, _bclen, nnz);
+	}
+	
+	private long emitRowBlock(MatrixBlock buff, int rows, long brow, BlockConsumer out) 
+		throws IOException, DMLRuntimeException 
+	{
+		int clen = buff.getNumColumns();
+		long nnz = 0;
+		for( int cl=0, bcol=1; cl<clen; cl+=_bclen, bcol++ ) {
+			//slice column block (or rows of partial row block)
+			int cu = Math.min(cl+_bclen, clen)-1;
+			MatrixBlock block = (rows == buff.getNumRows() && clen <= _bclen) ? buff :
+				buff.sliceOperations(0, rows-1, cl, cu, new MatrixBlock());
+			block.examSparsity();
+			nnz += block.getNonZeros();
+			out.process(new MatrixIndexes(brow, bcol), block);
+		}
+		return nnz;
+	}
+}
@@ -20,7 +20,14 @@
 package org.apache.sysml.runtime.transform.encode;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -35,6 +42,9 @@ public abstract class Encoder implements Serializable
 {
 	private static final long serialVersionUID = 2299156350718979064L;
 	
+	//min number of cells for multi-threaded build and apply
+	protected static final long PAR_NUMCELL_THRESHOLD = 1024*1024;
+	
 	protected int _clen = -1; 
 	protected int[] _colList = null;
 	
@@ -100,6 +110,19 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract MatrixBlock encode(FrameBlock in, MatrixBlock out);
 
+	/**
+	 * Multi-threaded block encode: build and apply (transform encode).
+	 * By default, this falls back to the single-threaded block encode.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		return encode(in, out);
+	}
+	
 	/**
 	 * Build the transform meta data for the given block input. This call modifies
 	 * and keeps meta data as encoder state.
@@ -108,6 +131,17 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract void build(FrameBlock in);
 	
+	/**
+	 * Multi-threaded build of the transform meta data for the given block
+	 * input. By default, this falls back to the single-threaded build.
+	 * 
+	 * @param in input frame block
+	 * @param k degree of parallelism
+	 */
+	public void build(FrameBlock in, int k) {
+		build(in);
+	}
+	
 	/**
 	 * Encode input data blockwise according to existing transform meta
 	 * data (transform apply).
@@ -118,6 +152,48 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract MatrixBlock apply(FrameBlock in, MatrixBlock out);
 	
+	/**
+	 * Multi-threaded encode of input data blockwise according to existing
+	 * transform meta data (transform apply). By default, this falls back 
+	 * to the single-threaded apply.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		return apply(in, out);
+	}
+	
+	/**
+	 * Indicates if this encoder supports the in-place apply on disjoint 
+	 * row ranges of an allocated output via {@link #applyRows}, which 
+	 * allows for row-partitioned multi-threaded apply.
+	 * 
+	 * @return true if row-partitioned apply is supported
+	 */
+	public boolean isRowPartitionable() {
+		return false;
+	}
+	
+	/**
+	 * Encode the given row range of input data in-place into the given 
+	 * output according to existing transform meta data. The caller is 
+	 * responsible for maintaining the number of non-zeros of the output.
+	 * Only encoders that report {@link #isRowPartitionable()} support this
+	 * operation; all others throw an {@link UnsupportedOperationException}.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 */
+	public void applyRows(FrameBlock in, MatrixBlock out, int rl, int ru) {
+		throw new UnsupportedOperationException(
+			"Row-partitioned apply not supported by "+getClass().getSimpleName()+".");
+	}
+	
 	/**
 	 * Encode input data according to existing transform meta
 	 * data (transform apply).
@@ -142,4 +218,28 @@ public abstract class Encoder implements Serializable
 	 * @param meta frame block
 	 */
 	public abstract void initMetaData(FrameBlock meta);
+	
+	/**
+	 * Executes the given tasks on a thread pool of the given size
+	 * and returns the results in order of the tasks.
+	 * 
+	 * @param tasks list of tasks
+	 * @param k degree of parallelism
+	 * @return list of task results
+	 */
+	protected static <T> List<T> executeTasks(List<? extends Callable<T>> tasks, int k) {
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(k, tasks.size()));
+		try {
+			List<T> ret = new ArrayList<T>();
+			for( Future<T> task : pool.invokeAll(tasks) )
+				ret.add(task.get());
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new RuntimeException("Failed multi-threaded transform encode.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
 }
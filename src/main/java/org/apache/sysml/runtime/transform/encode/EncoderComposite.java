@@ -19,7 +19,9 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
@@ -75,11 +77,33 @@ public class EncoderComposite extends Encoder
 		return out;
 	}
 
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		//build meta data first (for all encoders)
+		build(in, k);
+		
+		//propagate meta data 
+		_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
+		for( Encoder encoder : _encoders )
+			_meta = encoder.getMetaData(_meta);
+		for( Encoder encoder : _encoders )
+			encoder.initMetaData(_meta);
+		
+		//apply meta data
+		return apply(in, out, k);
+	}
+
 	@Override
 	public void build(FrameBlock in) {
 		for( Encoder encoder : _encoders )
 			encoder.build(in);
 	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		for( Encoder encoder : _encoders )
+			encoder.build(in, k);
+	}
 
 	@Override
 	public String[] apply(String[] in) {
@@ -95,6 +119,37 @@ public class EncoderComposite extends Encoder
 		return out;
 	}
 	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		int rlen = in.getNumRows();
+		if( k <= 1 || (long)rlen*in.getNumColumns() < PAR_NUMCELL_THRESHOLD )
+			return apply(in, out);
+		
+		//apply encoders in specified order, where each sequence of row-partitionable 
+		//encoders is applied via row-partitioned tasks on the dense output
+		for( int i=0; i<_encoders.size(); ) {
+			int j = i;
+			while( j < _encoders.size() && _encoders.get(j).isRowPartitionable() )
+				j++;
+			if( j == i || out.isInSparseFormat() || out.getNumRows() != rlen ) {
+				out = _encoders.get(i++).apply(in, out);
+				continue;
+			}
+			
+			//pre-allocate output to avoid concurrent allocation
+			out.allocateDenseBlock(false);
+			int blklen = (int)Math.ceil((double)rlen/k);
+			ArrayList<ApplyTask> tasks = new ArrayList<ApplyTask>();
+			for( int rl=0; rl<rlen; rl+=blklen )
+				tasks.add(new ApplyTask(_encoders.subList(i, j), in, out, rl, Math.min(rl+blklen, rlen)));
+			executeTasks(tasks, k);
+			out.recomputeNonZeros();
+			i = j;
+		}
+		
+		return out;
+	}
+	
 	@Override
 	public FrameBlock getMetaData(FrameBlock out) {
 		if( _meta != null )
@@ -109,4 +164,28 @@ public class EncoderComposite extends Encoder
 		for( Encoder encoder : _encoders )
 			encoder.initMetaData(out);
 	}
+	
+	private static class ApplyTask implements Callable<Object>
+	{
+		private final List<Encoder> _encoders;
+		private final FrameBlock _in;
+		private final MatrixBlock _out;
+		private final int _rl;
+		private final int _ru;
+		
+		protected ApplyTask(List<Encoder> encoders, FrameBlock in, MatrixBlock out, int rl, int ru) {
+			_encoders = encoders;
+			_in = in;
+			_out = out;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			for( Encoder encoder : _encoders )
+				encoder.applyRows(_in, _out, _rl, _ru);
+			return null;
+		}
+	}
 }
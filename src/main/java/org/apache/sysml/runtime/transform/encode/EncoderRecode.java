@@ -19,16 +19,20 @@
 
 package org.apache.sysml.runtime.transform.encode;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
 import org.apache.sysml.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysml.runtime.util.StringDictionary;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
@@ -40,8 +44,8 @@ public class EncoderRecode extends Encoder
 	private int[] _mvrcdList = null;
 	private int[] _fullrcdList = null;
 	
-	//recode maps and custom map for partial recode maps 
-	private HashMap<Integer, HashMap<String, Long>> _rcdMaps  = new HashMap<Integer, HashMap<String, Long>>();
+	//recode maps (dictionary ids are codes-1) and custom map for partial recode maps 
+	private HashMap<Integer, StringDictionary> _rcdMaps  = new HashMap<Integer, StringDictionary>();
 	private HashMap<Integer, HashMap<String,String>> _finalMaps = null;
 	private HashMap<Integer, HashSet<Object>> _rcdMapsPart = null;
 	
@@ -74,7 +78,7 @@ public class EncoderRecode extends Encoder
 		}
 	}
 	
-	public HashMap<Integer, HashMap<String,Long>> getCPRecodeMaps() { 
+	public HashMap<Integer, StringDictionary> getCPRecodeMaps() { 
 		return _rcdMaps; 
 	}
 	
@@ -90,11 +94,15 @@ public class EncoderRecode extends Encoder
 		if( _finalMaps!=null )
 			return _finalMaps.get(colID).get(key);
 		else { //used for cp
-			Long tmp = _rcdMaps.get(colID).get(key);
-			return (tmp!=null) ? Long.toString(tmp) : null;
+			long code = lookupRCDCode(colID, key);
+			return (code>0) ? Long.toString(code) : null;
 		}
 	}
 	
+	private long lookupRCDCode(int colID, String key) {
+		return _rcdMaps.get(colID).get(key) + 1;
+	}
+	
 	@Override
 	public MatrixBlock encode(FrameBlock in, MatrixBlock out) {
 		if( !isApplicable() )
@@ -112,20 +120,74 @@ public class EncoderRecode extends Encoder
 		if( !isApplicable() )
 			return;		
 
-		Iterator<String[]> iter = in.getStringRowIterator();
-		while( iter.hasNext() ) {
-			String[] row = iter.next(); 
-			for( int j=0; j<_colList.length; j++ ) {
-				int colID = _colList[j]; //1-based
-				//allocate column map if necessary
-				if( !_rcdMaps.containsKey(colID) ) 
-					_rcdMaps.put(colID, new HashMap<String,Long>());
-				//probe and build column map
-				HashMap<String,Long> map = _rcdMaps.get(colID);
-				String key = row[colID-1];
-				if( key!=null && !key.isEmpty() && !map.containsKey(key) )
-					map.put(key, Long.valueOf(map.size()+1));
+		//probe and build column maps (iterate over columns for sequential access)
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j]; //1-based
+			//allocate column map if necessary
+			if( !_rcdMaps.containsKey(colID) ) 
+				_rcdMaps.put(colID, new StringDictionary());
+			buildColumn(in, colID, 0, in.getNumRows(), _rcdMaps.get(colID));
+		}
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		int rlen = in.getNumRows();
+		if( !isApplicable() || k <= 1 || (long)rlen*_colList.length < PAR_NUMCELL_THRESHOLD ) {
+			build(in);
+			return;
+		}
+		
+		//build partial column maps per column and row partition, where the number 
+		//of row partitions per column ensures sufficient parallelism for few columns
+		int nparts = (int)Math.min(Math.ceil((double)k/_colList.length), 
+			Math.max(rlen/(PAR_NUMCELL_THRESHOLD/k), 1));
+		int blklen = (int)Math.ceil((double)rlen/nparts);
+		ArrayList<RecodeBuildTask> tasks = new ArrayList<RecodeBuildTask>();
+		for( int j=0; j<_colList.length; j++ )
+			for( int i=0; i<rlen; i+=blklen )
+				tasks.add(new RecodeBuildTask(in, _colList[j], i, Math.min(i+blklen, rlen)));
+		List<StringDictionary> partials = executeTasks(tasks, k);
+		
+		//merge partial column maps in order of row partitions (existing 
+		//maps first), which yields the same codes as a sequential build
+		ArrayList<RecodeMergeTask> mtasks = new ArrayList<RecodeMergeTask>();
+		for( int j=0, pos=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			ArrayList<StringDictionary> maps = new ArrayList<StringDictionary>();
+			if( _rcdMaps.containsKey(colID) )
+				maps.add(_rcdMaps.get(colID));
+			for( int i=0; i<rlen; i+=blklen )
+				maps.add(partials.get(pos++));
+			mtasks.add(new RecodeMergeTask(maps));
+		}
+		List<StringDictionary> maps = executeTasks(mtasks, k);
+		for( int j=0; j<_colList.length; j++ )
+			_rcdMaps.put(_colList[j], maps.get(j));
+	}
+	
+	private static void buildColumn(FrameBlock in, int colID, int rl, int ru, StringDictionary map) {
+		if( in.isDictionaryEncoded(colID-1) ) {
+			//probe each distinct value once (in order of first occurrence)
+			StringDictionary dict = in.getColumnDictionary(colID-1);
+			boolean[] seen = new boolean[dict.getNumIds()];
+			for( int i=rl; i<ru; i++ ) {
+				int id = in.getDictionaryId(i, colID-1);
+				if( id < 0 || seen[id] )
+					continue;
+				seen[id] = true;
+				if( !dict.getKey(id).isEmpty() )
+					map.add(dict.getKey(id));
 			}
+			return;
+		}
+		for( int i=rl; i<ru; i++ ) {
+			Object okey = in.get(i, colID-1);
+			if( okey == null )
+				continue;
+			String key = okey.toString();
+			if( !key.isEmpty() )
+				map.add(key);
 		}
 	}
 
@@ -178,19 +240,42 @@ public class EncoderRecode extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		applyRows(in, out, 0, in.getNumRows());
+		return out;
+	}
+	
+	@Override
+	public boolean isRowPartitionable() {
+		return true;
+	}
+	
+	@Override
+	public void applyRows(FrameBlock in, MatrixBlock out, int rl, int ru) {
 		//apply recode maps column wise
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			StringDictionary map = _rcdMaps.get(colID);
+			if( in.isDictionaryEncoded(colID-1) ) {
+				//lookup each distinct value once, w/o materializing strings
+				StringDictionary dict = in.getColumnDictionary(colID-1);
+				double[] codes = new double[dict.getNumIds()];
+				Arrays.fill(codes, -1);
+				for( int i=rl; i<ru; i++ ) {
+					int id = in.getDictionaryId(i, colID-1);
+					if( id >= 0 && codes[id] < 0 ) {
+						int code = map.get(dict.getKey(id));
+						codes[id] = (code>=0) ? code+1 : Double.NaN;
+					}
+					out.quickSetValue(i, colID-1, (id>=0) ? codes[id] : Double.NaN);
+				}
+				continue;
+			}
+			for( int i=rl; i<ru; i++ ) {
 				Object okey = in.get(i, colID-1);
-				String key = (okey!=null) ? okey.toString() : null;
-				String val = lookupRCDMap(colID, key);			
-				out.quickSetValue(i, colID-1, (val!=null) ? 
-						Double.parseDouble(val) : Double.NaN);
+				int id = (okey!=null) ? map.get(okey.toString()) : -1;
+				out.quickSetValue(i, colID-1, (id>=0) ? id+1 : Double.NaN);
 			}
 		}
-		
-		return out;
 	}
 
 	@Override
@@ -211,13 +296,15 @@ public class EncoderRecode extends Encoder
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j]; //1-based
 			int rowID = 0;
-			if( _rcdMaps.containsKey(_colList[j]) )
-				for( Entry<String, Long> e : _rcdMaps.get(colID).entrySet() ) {
-					String tmp = constructRecodeMapEntry(e.getKey(), e.getValue());
-					meta.set(rowID++, colID-1, tmp); 
+			StringDictionary map = _rcdMaps.get(colID);
+			if( map != null )
+				for( int id=0; id<map.getNumIds(); id++ ) {
+					String key = map.getKey(id);
+					if( key != null )
+						meta.set(rowID++, colID-1, constructRecodeMapEntry(key, Long.valueOf(id+1)));
 				}
 			meta.getColumnMetadata(colID-1).setNumDistinct(
-					_rcdMaps.get(colID).size());
+					(map != null) ? map.size() : 0);
 		}
 		
 		return meta;
@@ -236,7 +323,11 @@ public class EncoderRecode extends Encoder
 		
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j]; //1-based
-			_rcdMaps.put(colID, meta.getRecodeMap(colID-1));
+			HashMap<String,Long> map = meta.getRecodeMap(colID-1);
+			StringDictionary dict = new StringDictionary(map.size());
+			for( Entry<String,Long> e : map.entrySet() )
+				dict.put(e.getKey(), e.getValue().intValue()-1);
+			_rcdMaps.put(colID, dict);
 		}
 	}
 	
@@ -249,5 +340,43 @@ public class EncoderRecode extends Encoder
 	public static String constructRecodeMapEntry(String token, Long code) {
 		return token + Lop.DATATYPE_PREFIX + code.toString();
 	}
+	
+	private static class RecodeBuildTask implements Callable<StringDictionary>
+	{
+		private final FrameBlock _in;
+		private final int _colID;
+		private final int _rl;
+		private final int _ru;
+		
+		protected RecodeBuildTask(FrameBlock in, int colID, int rl, int ru) {
+			_in = in;
+			_colID = colID;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public StringDictionary call() {
+			StringDictionary map = new StringDictionary();
+			buildColumn(_in, _colID, _rl, _ru, map);
+			return map;
+		}
+	}
+	
+	private static class RecodeMergeTask implements Callable<StringDictionary>
+	{
+		private final List<StringDictionary> _maps;
+		
+		protected RecodeMergeTask(List<StringDictionary> maps) {
+			_maps = maps;
+		}
+		
+		@Override
+		public StringDictionary call() {
+			StringDictionary ret = _maps.get(0);
+			for( int i=1; i<_maps.size(); i++ )
+				ret.addAll(_maps.get(i));
+			return ret;
+		}
+	}
 }
- 
\ No newline at end of file
@@ -192,7 +192,8 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 
 	@Override
 	public void writeChar(int v) throws IOException {
-		throw new IOException("Not supported.");
+		//same two-byte encoding as short
+		writeShort(v);
 	}
 
 	@Override
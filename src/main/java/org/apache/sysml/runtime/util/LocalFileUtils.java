@@ -188,6 +188,26 @@ public class LocalFileUtils
 		}
 	}
 
+	public static void writeByteBuffersToLocal( String filePathAndName, ByteBuffer[] data )
+		throws IOException
+	{	
+		//gathering write of (direct) byte buffers via java.nio file channel
+		FileChannel channel = null;
+		try {
+			Path path = Paths.get(filePathAndName);
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			long remaining = 0;
+			for( ByteBuffer buff : data )
+				remaining += buff.remaining();
+			while( remaining > 0 )
+				remaining -= channel.write(data);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+
 	public static int readBlockSequenceFromLocal( String filePathAndName, Pair<MatrixIndexes,MatrixValue>[] outValues, HashMap<MatrixIndexes, Integer> outMap) 
 		throws IOException
 	{
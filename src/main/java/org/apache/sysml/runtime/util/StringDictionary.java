@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This compact string dictionary maps distinct strings to dense integer 
+ * ids (by default in order of first insertion). In contrast to a default 
+ * hashmap with boxed values, the open-addressing hash table of primitive 
+ * ids and the id-indexed key array avoid entry and value objects, which 
+ * reduces the memory footprint and allows the inverse lookup of keys by id.
+ * 
+ * The dictionary is not thread-safe for concurrent modifications but
+ * allows concurrent read-only lookups.
+ */
+public class StringDictionary implements Serializable
+{
+	private static final long serialVersionUID = -2846571391357236217L;
+	
+	private static final int INIT_CAPACITY = 16;
+	private static final int RESIZE_FACTOR = 2;
+	private static final float LOAD_FACTOR = 0.75f;
+	
+	private String[] _keys = null; //keys by id
+	private int[] _table = null;   //hash table of ids+1 (0 empty)
+	private int _numIds = 0;       //max id + 1
+	private int _size = 0;         //number of keys
+	
+	public StringDictionary() {
+		this(INIT_CAPACITY);
+	}
+	
+	public StringDictionary(int capacity) {
+		int cap = INIT_CAPACITY;
+		while( cap*LOAD_FACTOR < capacity && cap < Integer.MAX_VALUE/RESIZE_FACTOR )
+			cap *= RESIZE_FACTOR;
+		_keys = new String[Math.max(capacity, INIT_CAPACITY)];
+		_table = new int[cap];
+	}
+	
+	/**
+	 * Copy constructor for string dictionaries, which creates a deep copy
+	 * of the hash table and key array but shares the immutable keys.
+	 * 
+	 * @param that string dictionary
+	 */
+	public StringDictionary(StringDictionary that) {
+		_keys = Arrays.copyOf(that._keys, Math.max(that._numIds, INIT_CAPACITY));
+		_table = that._table.clone();
+		_numIds = that._numIds;
+		_size = that._size;
+	}
+	
+	/**
+	 * Returns the number of distinct keys.
+	 * 
+	 * @return number of keys
+	 */
+	public int size() {
+		return _size;
+	}
+	
+	/**
+	 * Returns the number of ids, i.e., the maximum id + 1, which is 
+	 * equivalent to the size if ids are assigned on insertion.
+	 * 
+	 * @return number of ids
+	 */
+	public int getNumIds() {
+		return _numIds;
+	}
+	
+	/**
+	 * Returns the id of the given key.
+	 * 
+	 * @param key string key
+	 * @return id or -1 if the key does not exist
+	 */
+	public int get(String key) {
+		if( key == null )
+			return -1;
+		int mask = _table.length - 1;
+		for( int ix = hash(key) & mask; _table[ix] != 0; ix = (ix+1) & mask ) {
+			int id = _table[ix] - 1;
+			if( key.equals(_keys[id]) )
+				return id;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Indicates if the given key exists.
+	 * 
+	 * @param key string key
+	 * @return true if the key exists
+	 */
+	public boolean containsKey(String key) {
+		return get(key) >= 0;
+	}
+	
+	/**
+	 * Returns the key of the given id.
+	 * 
+	 * @param id key id
+	 * @return key or null if the id is not assigned
+	 */
+	public String getKey(int id) {
+		return (id >= 0 && id < _numIds) ? _keys[id] : null;
+	}
+	
+	/**
+	 * Adds the given key if it does not exist yet, with the next 
+	 * available id.
+	 * 
+	 * @param key string key
+	 * @return id of the existing or added key
+	 */
+	public int add(String key) {
+		int mask = _table.length - 1;
+		int ix = hash(key) & mask;
+		for( ; _table[ix] != 0; ix = (ix+1) & mask ) {
+			int id = _table[ix] - 1;
+			if( key.equals(_keys[id]) )
+				return id;
+		}
+		
+		//add non-existing key (at free slot)
+		int id = _numIds;
+		ensureKeyCapacity(id + 1);
+		_keys[id] = key;
+		_table[ix] = id + 1;
+		_numIds++;
+		_size++;
+		
+		//resize if necessary
+		if( _size >= LOAD_FACTOR*_table.length )
+			resize();
+		return id;
+	}
+	
+	/**
+	 * Sets the id of the given key, which is used to reconstruct
+	 * dictionaries with given ids.
+	 * 
+	 * @param key string key
+	 * @param id key id
+	 */
+	public void put(String key, int id) {
+		int mask = _table.length - 1;
+		int ix = hash(key) & mask;
+		for( ; _table[ix] != 0; ix = (ix+1) & mask )
+			if( key.equals(_keys[_table[ix]-1]) )
+				break;
+		
+		//replace existing or add new key
+		if( _table[ix] != 0 )
+			_keys[_table[ix]-1] = null;
+		else
+			_size++;
+		ensureKeyCapacity(id + 1);
+		_keys[id] = key;
+		_table[ix] = id + 1;
+		_numIds = Math.max(_numIds, id + 1);
+		
+		//resize if necessary
+		if( _size >= LOAD_FACTOR*_table.length )
+			resize();
+	}
+	
+	/**
+	 * Adds all keys of the given dictionary, which do not exist yet,
+	 * in order of their ids in the given dictionary. 
+	 * 
+	 * @param that string dictionary
+	 */
+	public void addAll(StringDictionary that) {
+		for( int i=0; i<that._numIds; i++ )
+			if( that._keys[i] != null )
+				add(that._keys[i]);
+	}
+	
+	/**
+	 * Returns the estimated in-memory size of this dictionary, 
+	 * including its keys.
+	 * 
+	 * @return in-memory size in bytes
+	 */
+	public long getInMemorySize() {
+		long size = 16 + 8 + 8 + 4 + 4; //object, refs, sizes
+		size += 24 + 4L * _table.length; //hash table
+		size += 24 + 8L * _keys.length;  //key array
+		for( int i=0; i<_numIds; i++ )
+			if( _keys[i] != null ) //string object, hash, char array
+				size += 16 + 4 + 8 + 32 + _keys[i].length();
+		return size;
+	}
+	
+	private void ensureKeyCapacity(int len) {
+		if( len > _keys.length )
+			_keys = Arrays.copyOf(_keys, (int)Math.min(Integer.MAX_VALUE, 
+				Math.max((long)_keys.length*RESIZE_FACTOR, len)));
+	}
+	
+	private void resize() {
+		//check for integer overflow on resize
+		if( _table.length > Integer.MAX_VALUE/RESIZE_FACTOR )
+			return;
+		
+		//rehash all ids into the larger table
+		_table = new int[_table.length*RESIZE_FACTOR];
+		int mask = _table.length - 1;
+		for( int i=0; i<_numIds; i++ ) {
+			if( _keys[i] == null )
+				continue;
+			int ix = hash(_keys[i]) & mask;
+			while( _table[ix] != 0 )
+				ix = (ix+1) & mask;
+			_table[ix] = i + 1;
+		}
+	}
+	
+	private static int hash(String key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+}
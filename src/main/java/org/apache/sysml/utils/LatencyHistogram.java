@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.utils;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds, where each power of two 
+ * is split into {@link #SUB_BUCKETS} linear sub-buckets, which bounds the 
+ * relative error of percentiles to 1/SUB_BUCKETS with a fixed memory footprint.
+ * 
+ * This histogram is not thread-safe and intended for single-writer use
+ * (e.g., thread-local collection), while concurrent readers only see 
+ * approximate, eventually consistent counts.
+ */
+public class LatencyHistogram 
+{
+	private static final int SUB_BITS = 3;
+	public static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int NUM_BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+	
+	private final long[] _counts = new long[NUM_BUCKETS];
+	private long _count = 0;
+	private long _sum = 0;
+	private long _max = 0;
+	
+	/**
+	 * Adds a single latency observation.
+	 * 
+	 * @param nanos latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		long v = Math.max(nanos, 0);
+		_counts[getBucket(v)]++;
+		_count++;
+		_sum += v;
+		_max = Math.max(_max, v);
+	}
+	
+	/**
+	 * Adds all observations of the given histogram to this histogram.
+	 * 
+	 * @param that histogram
+	 */
+	public void merge(LatencyHistogram that) {
+		for( int i=0; i<NUM_BUCKETS; i++ )
+			_counts[i] += that._counts[i];
+		_count += that._count;
+		_sum += that._sum;
+		_max = Math.max(_max, that._max);
+	}
+	
+	public long getCount() {
+		return _count;
+	}
+	
+	public long getSum() {
+		return _sum;
+	}
+	
+	public long getMax() {
+		return _max;
+	}
+	
+	/**
+	 * Returns the approximate q-quantile of all observations, i.e., the 
+	 * upper bound of the bucket that contains the q-quantile (capped by the
+	 * maximum observed latency).
+	 * 
+	 * @param q quantile in [0,1]
+	 * @return latency in nanoseconds, or 0 if empty
+	 */
+	public long getPercentile(double q) {
+		long total = 0;
+		for( int i=0; i<NUM_BUCKETS; i++ )
+			total += _counts[i];
+		if( total == 0 )
+			return 0;
+		long rank = Math.max((long)Math.ceil(q * total), 1);
+		long sum = 0;
+		for( int i=0; i<NUM_BUCKETS; i++ ) {
+			sum += _counts[i];
+			if( sum >= rank )
+				return Math.min(getUpperBound(i), _max);
+		}
+		return _max;
+	}
+	
+	public void reset() {
+		for( int i=0; i<NUM_BUCKETS; i++ )
+			_counts[i] = 0;
+		_count = 0;
+		_sum = 0;
+		_max = 0;
+	}
+	
+	private static int getBucket(long v) {
+		//values smaller than SUB_BUCKETS map to exact buckets
+		if( v < SUB_BUCKETS )
+			return (int)v;
+		int exp = 63 - Long.numberOfLeadingZeros(v); //>= SUB_BITS
+		int sub = (int)(v >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+	
+	private static long getUpperBound(int bucket) {
+		if( bucket < SUB_BUCKETS )
+			return bucket;
+		int exp = bucket / SUB_BUCKETS + SUB_BITS - 1;
+		long sub = bucket % SUB_BUCKETS;
+		long lower = (1L << exp) + (sub << (exp - SUB_BITS));
+		return lower + (1L << (exp - SUB_BITS)) - 1;
+	}
+}
@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+
+/**
+ * Pluggable exporter of runtime metrics (per-instruction times, counts, and 
+ * latency percentiles, buffer pool and recompilation statistics, as well as 
+ * JVM statistics). Registered exporters are invoked periodically by a single
+ * daemon thread with a snapshot of all metrics in the Prometheus text 
+ * exposition format, and once more on stop.
+ */
+public abstract class MetricsExporter 
+{
+	private static final Log LOG = LogFactory.getLog(MetricsExporter.class.getName());
+	
+	public static final String JMX_OBJECT_NAME = "org.apache.sysml:type=Statistics";
+	
+	private static final double[] QUANTILES = new double[]{0.5, 0.9, 0.99};
+	
+	private static ArrayList<MetricsExporter> _exporters = new ArrayList<MetricsExporter>();
+	private static ScheduledExecutorService _timer = null;
+	
+	/**
+	 * Exports the given metrics snapshot.
+	 * 
+	 * @param metrics metrics in Prometheus text format
+	 * @throws IOException if IOException occurs
+	 */
+	public abstract void export(String metrics) throws IOException;
+	
+	/**
+	 * Releases resources of this exporter, called once on stop.
+	 */
+	public void close() {
+		//do nothing
+	}
+	
+	/**
+	 * Starts the exporters configured in the given dml configuration,
+	 * and enables latency histograms if configured.
+	 * 
+	 * @param conf dml configuration
+	 */
+	public static void start(DMLConfig conf) {
+		if( conf.getBooleanValue(DMLConfig.STATS_HISTOGRAMS) )
+			Statistics.setLatencyHistograms(true);
+		ArrayList<MetricsExporter> exporters = new ArrayList<MetricsExporter>();
+		String fname = conf.getTextValue(DMLConfig.STATS_EXPORT_FILE);
+		if( fname != null && !fname.trim().isEmpty() )
+			exporters.add(new FileExporter(fname.trim()));
+		if( conf.getBooleanValue(DMLConfig.STATS_EXPORT_JMX) )
+			exporters.add(new JMXExporter());
+		if( !exporters.isEmpty() )
+			start(conf.getIntValue(DMLConfig.STATS_EXPORT_INTERVAL), 
+				exporters.toArray(new MetricsExporter[0]));
+	}
+	
+	/**
+	 * Starts the given exporters with the given export interval, which
+	 * allows embedded deployments such as JMLC to plug in custom exporters.
+	 * 
+	 * @param intervalSec export interval in seconds
+	 * @param exporters metrics exporters
+	 */
+	public static synchronized void start(long intervalSec, MetricsExporter... exporters) {
+		_exporters.addAll(Arrays.asList(exporters));
+		if( _timer == null ) {
+			_timer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "SystemML-MetricsExporter");
+					t.setDaemon(true);
+					return t;
+				}
+			});
+			long interval = Math.max(intervalSec, 1);
+			_timer.scheduleAtFixedRate(new Runnable() {
+				@Override
+				public void run() {
+					exportAll();
+				}
+			}, interval, interval, TimeUnit.SECONDS);
+		}
+	}
+	
+	/**
+	 * Stops all exporters after a final export.
+	 */
+	public static synchronized void stop() {
+		if( _timer == null )
+			return;
+		_timer.shutdownNow();
+		_timer = null;
+		exportAll();
+		for( MetricsExporter exp : _exporters )
+			exp.close();
+		_exporters.clear();
+	}
+	
+	private static synchronized void exportAll() {
+		if( _exporters.isEmpty() )
+			return;
+		//guard the scheduled task against any failure because an uncaught
+		//exception would suppress all subsequent executions
+		String metrics = null;
+		try {
+			metrics = getMetricsText();
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to obtain metrics.", ex);
+			return;
+		}
+		for( MetricsExporter exp : _exporters ) {
+			try {
+				exp.export(metrics);
+			}
+			catch(Exception ex) {
+				LOG.warn("Failed to export metrics.", ex);
+			}
+		}
+	}
+	
+	/**
+	 * Obtains a snapshot of all metrics in the Prometheus text format.
+	 * 
+	 * @return metrics as string
+	 */
+	public static String getMetricsText() {
+		StringBuilder sb = new StringBuilder();
+		
+		//per-instruction times, counts, and latencies
+		HashMap<String, long[]> hhs = Statistics.getCPHeavyHitterSnapshot();
+		appendHeader(sb, "sysml_instruction_time_seconds_total", "counter", "Total execution time per instruction.");
+		for( Entry<String, long[]> e : hhs.entrySet() )
+			appendMetric(sb, "sysml_instruction_time_seconds_total", "opcode", e.getKey(), e.getValue()[0]*1e-9);
+		appendHeader(sb, "sysml_instruction_count_total", "counter", "Number of executions per instruction.");
+		for( Entry<String, long[]> e : hhs.entrySet() )
+			appendMetric(sb, "sysml_instruction_count_total", "opcode", e.getKey(), e.getValue()[1]);
+		HashMap<String, LatencyHistogram> hists = Statistics.getLatencyHistograms();
+		if( !hists.isEmpty() ) {
+			appendHeader(sb, "sysml_instruction_latency_seconds", "summary", "Latency percentiles per instruction.");
+			for( Entry<String, LatencyHistogram> e : hists.entrySet() ) {
+				String label = "opcode=\"" + escape(e.getKey()) + "\"";
+				LatencyHistogram h = e.getValue();
+				for( double q : QUANTILES )
+					sb.append("sysml_instruction_latency_seconds{" + label + ",quantile=\"" 
+						+ q + "\"} " + h.getPercentile(q)*1e-9 + "\n");
+				sb.append("sysml_instruction_latency_seconds_sum{" + label + "} " + h.getSum()*1e-9 + "\n");
+				sb.append("sysml_instruction_latency_seconds_count{" + label + "} " + h.getCount() + "\n");
+			}
+		}
+		
+		//buffer pool statistics
+		appendHeader(sb, "sysml_cache_hits_total", "counter", "Buffer pool hits per level.");
+		appendMetric(sb, "sysml_cache_hits_total", "level", "mem", CacheStatistics.getMemHits());
+		appendMetric(sb, "sysml_cache_hits_total", "level", "wb", CacheStatistics.getFSBuffHits());
+		appendMetric(sb, "sysml_cache_hits_total", "level", "fs", CacheStatistics.getFSHits());
+		appendMetric(sb, "sysml_cache_hits_total", "level", "hdfs", CacheStatistics.getHDFSHits());
+		appendHeader(sb, "sysml_cache_writes_total", "counter", "Buffer pool writes per level.");
+		appendMetric(sb, "sysml_cache_writes_total", "level", "wb", CacheStatistics.getFSBuffWrites());
+		appendMetric(sb, "sysml_cache_writes_total", "level", "fs", CacheStatistics.getFSWrites());
+		appendMetric(sb, "sysml_cache_writes_total", "level", "hdfs", CacheStatistics.getHDFSWrites());
+		appendHeader(sb, "sysml_cache_time_seconds_total", "counter", "Buffer pool time per operation.");
+		appendMetric(sb, "sysml_cache_time_seconds_total", "op", "acquire_read", CacheStatistics.getAcquireRTime()*1e-9);
+		appendMetric(sb, "sysml_cache_time_seconds_total", "op", "acquire_modify", CacheStatistics.getAcquireMTime()*1e-9);
+		appendMetric(sb, "sysml_cache_time_seconds_total", "op", "release", CacheStatistics.getReleaseTime()*1e-9);
+		appendMetric(sb, "sysml_cache_time_seconds_total", "op", "export", CacheStatistics.getExportTime()*1e-9);
+		appendMetric(sb, "sysml_cache_time_seconds_total", "op", "lock_wait", CacheStatistics.getLockWaitTime()*1e-9);
+		
+		//recompilation statistics
+		appendHeader(sb, "sysml_recompile_dags_total", "counter", "Number of recompiled HOP DAGs.");
+		appendMetric(sb, "sysml_recompile_dags_total", "type", "pred", Statistics.getHopRecompiledPredDAGs());
+		appendMetric(sb, "sysml_recompile_dags_total", "type", "sb", Statistics.getHopRecompiledSBDAGs());
+		appendHeader(sb, "sysml_recompile_time_seconds_total", "counter", "Total HOP DAG recompile time.");
+		appendMetric(sb, "sysml_recompile_time_seconds_total", null, null, Statistics.getHopRecompileTime()*1e-9);
+		appendHeader(sb, "sysml_recompile_plancache_total", "counter", "Recompile plan cache lookups.");
+		appendMetric(sb, "sysml_recompile_plancache_total", "result", "hit", Statistics.getHopRecompileCacheHits());
+		appendMetric(sb, "sysml_recompile_plancache_total", "result", "miss", Statistics.getHopRecompileCacheMisses());
+		appendHeader(sb, "sysml_function_recompiles_total", "counter", "Number of recompiled functions.");
+		appendMetric(sb, "sysml_function_recompiles_total", null, null, Statistics.getFunRecompiles());
+		
+		//jvm statistics
+		Runtime rt = Runtime.getRuntime();
+		appendHeader(sb, "sysml_jvm_gc_count_total", "counter", "Number of JVM garbage collections.");
+		appendMetric(sb, "sysml_jvm_gc_count_total", null, null, Statistics.getJVMgcCount());
+		appendHeader(sb, "sysml_jvm_gc_time_seconds_total", "counter", "Total JVM garbage collection time.");
+		appendMetric(sb, "sysml_jvm_gc_time_seconds_total", null, null, Statistics.getJVMgcTime()*1e-3);
+		appendHeader(sb, "sysml_jvm_heap_used_bytes", "gauge", "Used JVM heap memory.");
+		appendMetric(sb, "sysml_jvm_heap_used_bytes", null, null, rt.totalMemory()-rt.freeMemory());
+		
+		return sb.toString();
+	}
+	
+	private static void appendHeader(StringBuilder sb, String name, String type, String help) {
+		sb.append("# HELP " + name + " " + help + "\n");
+		sb.append("# TYPE " + name + " " + type + "\n");
+	}
+	
+	private static void appendMetric(StringBuilder sb, String name, String label, String value, double metric) {
+		sb.append(name);
+		if( label != null )
+			sb.append("{" + label + "=\"" + escape(value) + "\"}");
+		sb.append(" " + metric + "\n");
+	}
+	
+	private static String escape(String label) {
+		return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+	
+	/**
+	 * Exporter that periodically replaces a local file with the current 
+	 * metrics (via write to a temporary file and atomic rename), which can
+	 * be scraped, for example, by a node exporter's textfile collector.
+	 */
+	public static class FileExporter extends MetricsExporter
+	{
+		private final File _file;
+		
+		public FileExporter(String fname) {
+			_file = new File(fname);
+		}
+		
+		@Override
+		public void export(String metrics) throws IOException {
+			File tmp = new File(_file.getPath() + ".tmp");
+			Files.write(tmp.toPath(), metrics.getBytes(StandardCharsets.UTF_8));
+			Files.move(tmp.toPath(), _file.toPath(), 
+				StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+	}
+	
+	/**
+	 * Management interface of the metrics exposed via JMX.
+	 */
+	public interface StatisticsMXBean {
+		public String getMetrics();
+		public long getCacheHitsMem();
+		public long getCacheHitsFS();
+		public long getCacheWritesFS();
+		public long getHopRecompiledDAGs();
+		public double getHopRecompileTime();
+		public String getHeavyHitterLatencies();
+	}
+	
+	/**
+	 * Exporter that registers a {@link StatisticsMXBean} on creation, which 
+	 * exposes live metrics, i.e., periodic exports are not required.
+	 */
+	public static class JMXExporter extends MetricsExporter implements StatisticsMXBean
+	{
+		private ObjectName _name = null;
+		
+		public JMXExporter() {
+			try {
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				ObjectName name = new ObjectName(JMX_OBJECT_NAME);
+				if( !server.isRegistered(name) ) {
+					server.registerMBean(this, name);
+					_name = name;
+				}
+			}
+			catch(Exception ex) {
+				LOG.warn("Failed to register metrics MBean.", ex);
+			}
+		}
+		
+		@Override
+		public void export(String metrics) {
+			//do nothing (live metrics)
+		}
+		
+		@Override
+		public void close() {
+			try {
+				if( _name != null )
+					ManagementFactory.getPlatformMBeanServer().unregisterMBean(_name);
+			}
+			catch(Exception ex) {
+				LOG.warn("Failed to unregister metrics MBean.", ex);
+			}
+		}
+
+		@Override
+		public String getMetrics() {
+			return getMetricsText();
+		}
+
+		@Override
+		public long getCacheHitsMem() {
+			return CacheStatistics.getMemHits();
+		}
+
+		@Override
+		public long getCacheHitsFS() {
+			return CacheStatistics.getFSBuffHits() + CacheStatistics.getFSHits();
+		}
+
+		@Override
+		public long getCacheWritesFS() {
+			return CacheStatistics.getFSBuffWrites() + CacheStatistics.getFSWrites();
+		}
+
+		@Override
+		public long getHopRecompiledDAGs() {
+			return Statistics.getHopRecompiledPredDAGs() + Statistics.getHopRecompiledSBDAGs();
+		}
+
+		@Override
+		public double getHopRecompileTime() {
+			return Statistics.getHopRecompileTime()*1e-9;
+		}
+
+		@Override
+		public String getHeavyHitterLatencies() {
+			return Statistics.getHeavyHitterLatencies(Integer.MAX_VALUE);
+		}
+	}
+}
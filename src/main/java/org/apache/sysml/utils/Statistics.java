@@ -22,13 +22,18 @@ package org.apache.sysml.utils;
 import java.lang.management.CompilationMXBean;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
 import java.text.DecimalFormat;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.sysml.api.DMLScript;
@@ -72,6 +77,8 @@ public class Statistics
 	private static final LongAdder hopRecompileTime = new LongAdder(); //in nano sec
 	private static final LongAdder hopRecompilePred = new LongAdder(); //count
 	private static final LongAdder hopRecompileSB = new LongAdder();   //count
+	private static final LongAdder hopRecompileCacheHits = new LongAdder();   //count
+	private static final LongAdder hopRecompileCacheMisses = new LongAdder(); //count
 
 	//CODEGEN
 	private static final LongAdder codegenCompileTime = new LongAdder(); //in nano
@@ -81,6 +88,7 @@ public class Statistics
 	private static final LongAdder codegenClassCompile = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheHits = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheTotal = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheHits = new LongAdder(); //count
 	
 	//Function recompile stats 
 	private static final LongAdder funRecompileTime = new LongAdder(); //in nano sec
@@ -100,10 +108,31 @@ public class Statistics
 	private static long parforOptCount = 0; //count
 	private static long parforInitTime = 0; //in milli sec
 	private static long parforMergeTime = 0; //in milli sec
+	private static final LongAdder parforWorkerBusyTime = new LongAdder(); //in milli sec
+	private static final LongAdder parforWorkerIdleTime = new LongAdder(); //in milli sec
+	private static final LongAdder parforSharedResults = new LongAdder(); //count
+	
+	//CP instruction scheduler stats
+	private static final LongAdder parInstBlocks = new LongAdder(); //count
 	
 	//heavy hitter counts and times 
-	private static HashMap<String,Long> _cpInstTime = new HashMap<String, Long>();
-	private static HashMap<String,Long> _cpInstCounts = new HashMap<String, Long>();
+	private static final ConcurrentHashMap<String,LongAdder> _cpInstTime = new ConcurrentHashMap<String, LongAdder>();
+	private static final ConcurrentHashMap<String,LongAdder> _cpInstCounts = new ConcurrentHashMap<String, LongAdder>();
+	
+	//per-instruction latency histograms (thread-local collection, merged on read;
+	//reset via epoch to avoid concurrent modifications of thread-local buffers)
+	private static volatile boolean latencyHistograms = false;
+	private static final AtomicLong histEpoch = new AtomicLong(0);
+	private static final ConcurrentLinkedQueue<HistogramBuffer> histBuffers = new ConcurrentLinkedQueue<HistogramBuffer>();
+	private static final HistogramBuffer histRetired = new HistogramBuffer(null); //merged buffers of terminated threads
+	private static final ThreadLocal<HistogramBuffer> histBuffer = new ThreadLocal<HistogramBuffer>() {
+		@Override
+		protected HistogramBuffer initialValue() {
+			HistogramBuffer ret = new HistogramBuffer(Thread.currentThread());
+			histBuffers.add(ret);
+			return ret;
+		}
+	};
 
 	private static final LongAdder lTotalUIPVar = new LongAdder();
 	private static final LongAdder lTotalLix = new LongAdder();
@@ -249,6 +278,18 @@ public class Statistics
 		hopRecompileSB.add(delta);
 	}
 	
+	public static void incrementHOPRecompileCacheHits() {
+		hopRecompileCacheHits.increment();
+	}
+	
+	public static void incrementHOPRecompileCacheMisses() {
+		hopRecompileCacheMisses.increment();
+	}
+	
+	public static void incrementParallelInstructionBlocks() {
+		parInstBlocks.increment();
+	}
+	
 	public static void incrementCodegenDAGCompile() {
 		codegenHopCompile.increment();
 	}
@@ -277,6 +318,10 @@ public class Statistics
 		codegenPlanCacheTotal.increment();
 	}
 	
+	public static void incrementCodegenClassCacheHits() {
+		codegenClassCacheHits.increment();
+	}
+	
 	public static long getCodegenDAGCompile() {
 		return codegenHopCompile.longValue();
 	}
@@ -304,6 +349,10 @@ public class Statistics
 	public static long getCodegenPlanCacheTotal() {
 		return codegenPlanCacheTotal.longValue();
 	}
+	
+	public static long getCodegenClassCacheHits() {
+		return codegenClassCacheHits.longValue();
+	}
 
 	public static void incrementFunRecompileTime( long delta ) {
 		funRecompileTime.add(delta);
@@ -328,6 +377,15 @@ public class Statistics
 	public static synchronized void incrementParForMergeTime( long time ) {
 		parforMergeTime += time;
 	}
+	
+	public static void incrementParForWorkerTime( long busy, long idle ) {
+		parforWorkerBusyTime.add(busy);
+		parforWorkerIdleTime.add(idle);
+	}
+	
+	public static void incrementParForSharedResults() {
+		parforSharedResults.increment();
+	}
 
 	public static void startCompileTimer() {
 		if( DMLScript.STATISTICS )
@@ -373,6 +431,8 @@ public class Statistics
 		hopRecompileTime.reset();
 		hopRecompilePred.reset();
 		hopRecompileSB.reset();
+		hopRecompileCacheHits.reset();
+		hopRecompileCacheMisses.reset();
 		
 		funRecompiles.reset();
 		funRecompileTime.reset();
@@ -381,6 +441,10 @@ public class Statistics
 		parforOptTime = 0;
 		parforInitTime = 0;
 		parforMergeTime = 0;
+		parforWorkerBusyTime.reset();
+		parforWorkerIdleTime.reset();
+		parforSharedResults.reset();
+		parInstBlocks.reset();
 		
 		lTotalLix.reset();
 		lTotalLixUIP.reset();
@@ -422,6 +486,8 @@ public class Statistics
 	public static void resetCPHeavyHitters(){
 		_cpInstTime.clear();
 		_cpInstCounts.clear();
+		histEpoch.incrementAndGet();
+		pruneHistogramBuffers();
 	}
 
 	public static void setSparkCtxCreateTime(long ns) {
@@ -487,22 +553,119 @@ public class Statistics
 	 * @param instructionName name of the instruction/op
 	 * @param timeNanos time in nano seconds
 	 */
-	public synchronized static void maintainCPHeavyHitters( String instructionName, long timeNanos )
+	public static void maintainCPHeavyHitters( String instructionName, long timeNanos )
 	{
-		Long oldVal = _cpInstTime.getOrDefault(instructionName, 0L);
-		_cpInstTime.put(instructionName, oldVal + timeNanos);
-
-		Long oldCnt = _cpInstCounts.getOrDefault(instructionName, 0L);
-		_cpInstCounts.put(instructionName, oldCnt + 1);
+		getOrCreate(_cpInstTime, instructionName).add(timeNanos);
+		getOrCreate(_cpInstCounts, instructionName).increment();
+		
+		if( latencyHistograms )
+			histBuffer.get().get(instructionName).record(timeNanos);
+	}
+	
+	private static LongAdder getOrCreate(ConcurrentHashMap<String, LongAdder> map, String key) {
+		LongAdder ret = map.get(key);
+		if( ret == null ) {
+			LongAdder tmp = map.putIfAbsent(key, ret = new LongAdder());
+			ret = (tmp != null) ? tmp : ret;
+		}
+		return ret;
 	}
-
 
 	public static Set<String> getCPHeavyHitterOpCodes() {
 		return _cpInstTime.keySet();
 	}
 	
 	public static long getCPHeavyHitterCount(String opcode) {
-		return _cpInstCounts.get(opcode);
+		return getValue(_cpInstCounts, opcode);
+	}
+	
+	public static long getCPHeavyHitterTime(String opcode) {
+		return getValue(_cpInstTime, opcode);
+	}
+	
+	/**
+	 * Obtains a consistent snapshot of the heavy hitter statistics via a single
+	 * pass over the instruction times, which is safe to call while instructions
+	 * are maintained or reset concurrently.
+	 * 
+	 * @return map of opcodes and pairs of total time (in ns) and count
+	 */
+	public static HashMap<String, long[]> getCPHeavyHitterSnapshot() {
+		HashMap<String, long[]> ret = new HashMap<String, long[]>();
+		for( Entry<String, LongAdder> e : _cpInstTime.entrySet() )
+			ret.put(e.getKey(), new long[]{e.getValue().longValue(),
+				getValue(_cpInstCounts, e.getKey())});
+		return ret;
+	}
+	
+	private static long getValue(ConcurrentHashMap<String, LongAdder> map, String key) {
+		LongAdder ret = map.get(key);
+		return (ret != null) ? ret.longValue() : 0;
+	}
+	
+	/**
+	 * Enables or disables the collection of per-instruction latency 
+	 * histograms, which is independent of the heavy hitter statistics.
+	 * 
+	 * @param flag true to collect latency histograms
+	 */
+	public static void setLatencyHistograms(boolean flag) {
+		latencyHistograms = flag;
+	}
+	
+	public static boolean isLatencyHistograms() {
+		return latencyHistograms;
+	}
+	
+	/**
+	 * Obtains a snapshot of the per-instruction latency histograms, merged 
+	 * over all threads. Since thread-local histograms are read without 
+	 * synchronization, this snapshot is approximate for running programs.
+	 * 
+	 * @return map of opcodes and latency histograms
+	 */
+	public static HashMap<String, LatencyHistogram> getLatencyHistograms() {
+		pruneHistogramBuffers();
+		HashMap<String, LatencyHistogram> ret = new HashMap<String, LatencyHistogram>();
+		long epoch = histEpoch.get();
+		synchronized( histRetired ) {
+			if( histRetired._epoch == epoch )
+				mergeHistograms(ret, histRetired);
+		}
+		for( HistogramBuffer buff : histBuffers )
+			if( buff._epoch == epoch ) //outdated buffers cleared on next write
+				mergeHistograms(ret, buff);
+		return ret;
+	}
+	
+	private static void mergeHistograms(HashMap<String, LatencyHistogram> ret, HistogramBuffer buff) {
+		for( Entry<String, LatencyHistogram> e : buff._hists.entrySet() ) {
+			if( !ret.containsKey(e.getKey()) )
+				ret.put(e.getKey(), new LatencyHistogram());
+			ret.get(e.getKey()).merge(e.getValue());
+		}
+	}
+	
+	/**
+	 * Removes the histogram buffers of terminated threads (e.g., parfor workers)
+	 * to avoid unbounded growth. Buffers of the current epoch are merged into a 
+	 * shared buffer of retired threads, while outdated buffers are dropped.
+	 */
+	private static void pruneHistogramBuffers() {
+		long epoch = histEpoch.get();
+		synchronized( histRetired ) {
+			Iterator<HistogramBuffer> iter = histBuffers.iterator();
+			while( iter.hasNext() ) {
+				HistogramBuffer buff = iter.next();
+				if( buff.isOwnerAlive() )
+					continue;
+				if( buff._epoch == epoch ) {
+					for( Entry<String, LatencyHistogram> e : buff._hists.entrySet() )
+						histRetired.get(e.getKey()).merge(e.getValue());
+				}
+				iter.remove();
+			}
+		}
 	}
 
 	/**
@@ -522,10 +685,17 @@ public class Statistics
 			return "-";
 
 		// get top k via sort
-		Entry<String, Long>[] tmp = _cpInstTime.entrySet().toArray(new Entry[len]);
-		Arrays.sort(tmp, new Comparator<Entry<String, Long>>() {
-			public int compare(Entry<String, Long> e1, Entry<String, Long> e2) {
-				return e1.getValue().compareTo(e2.getValue());
+		Entry<String, LongAdder>[] tmp = _cpInstTime.entrySet().toArray(new Entry[len]);
+		len = tmp.length; //concurrent inserts
+		final long[] times = new long[len];
+		for( int i=0; i<len; i++ )
+			times[i] = tmp[i].getValue().longValue();
+		Integer[] ix = new Integer[len];
+		for( int i=0; i<len; i++ )
+			ix[i] = i;
+		Arrays.sort(ix, new Comparator<Integer>() {
+			public int compare(Integer i1, Integer i2) {
+				return Long.compare(times[i1], times[i2]);
 			}
 		});
 
@@ -542,9 +712,8 @@ public class Statistics
 		int maxCountLen = countCol.length();
 		DecimalFormat sFormat = new DecimalFormat("#,##0.000");
 		for (int i = 0; i < numHittersToDisplay; i++) {
-			Entry<String, Long> hh = tmp[len - 1 - i];
-			String instruction = hh.getKey();
-			Long timeNs = hh.getValue();
+			String instruction = tmp[ix[len - 1 - i]].getKey();
+			long timeNs = times[ix[len - 1 - i]];
 			double timeS = (double) timeNs / 1000000000.0;
 
 			maxInstLen = Math.max(maxInstLen, instruction.length());
@@ -552,7 +721,7 @@ public class Statistics
 			String timeSString = sFormat.format(timeS);
 			maxTimeSLen = Math.max(maxTimeSLen, timeSString.length());
 
-			maxCountLen = Math.max(maxCountLen, String.valueOf(_cpInstCounts.get(instruction)).length());
+			maxCountLen = Math.max(maxCountLen, String.valueOf(getValue(_cpInstCounts, instruction)).length());
 		}
 		sb.append(String.format(
 				" %" + maxNumLen + "s  %-" + maxInstLen + "s  %" + maxTimeSLen + "s  %" + maxCountLen + "s", numCol,
@@ -563,13 +732,13 @@ public class Statistics
 		}
 		sb.append("\n");
 		for (int i = 0; i < numHittersToDisplay; i++) {
-			String instruction = tmp[len - 1 - i].getKey();
+			String instruction = tmp[ix[len - 1 - i]].getKey();
 
-			Long timeNs = tmp[len - 1 - i].getValue();
+			long timeNs = times[ix[len - 1 - i]];
 			double timeS = (double) timeNs / 1000000000.0;
 			String timeSString = sFormat.format(timeS);
 
-			Long count = _cpInstCounts.get(instruction);
+			long count = getValue(_cpInstCounts, instruction);
 			sb.append(String.format(
 					" %" + maxNumLen + "d  %-" + maxInstLen + "s  %" + maxTimeSLen + "s  %" + maxCountLen + "d",
 					(i + 1), instruction, timeSString, count));
@@ -639,6 +808,18 @@ public class Statistics
 		return hopRecompileSB.longValue();
 	}
 	
+	public static long getHopRecompileCacheHits(){
+		return hopRecompileCacheHits.longValue();
+	}
+	
+	public static long getHopRecompileCacheMisses(){
+		return hopRecompileCacheMisses.longValue();
+	}
+	
+	public static long getParallelInstructionBlocks(){
+		return parInstBlocks.longValue();
+	}
+	
 	public static long getFunRecompileTime(){
 		return funRecompileTime.longValue();
 	}
@@ -662,6 +843,18 @@ public class Statistics
 	public static long getParforMergeTime(){
 		return parforMergeTime;
 	}
+	
+	public static long getParforWorkerBusyTime(){
+		return parforWorkerBusyTime.longValue();
+	}
+	
+	public static long getParforWorkerIdleTime(){
+		return parforWorkerIdleTime.longValue();
+	}
+	
+	public static long getParforSharedResults(){
+		return parforSharedResults.longValue();
+	}
 
 	/**
 	 * Returns statistics of the DML program that was recently completed as a string
@@ -723,8 +916,12 @@ public class Statistics
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			sb.append("Cache lock waits (num, time):\t" + CacheStatistics.displayContention() + " sec.\n");
+			sb.append("Cache prefetches (num, hits):\t" + CacheStatistics.displayPrefetches() + ".\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
+			if( OptimizerUtils.ALLOW_RECOMPILE_PLAN_CACHE )
+				sb.append("HOP DAGs plan cache (hit, miss):\t" + getHopRecompileCacheHits() + "/" + getHopRecompileCacheMisses() + ".\n");
 			if( getFunRecompiles()>0 ) {
 				sb.append("Functions recompiled:\t\t" + getFunRecompiles() + ".\n");
 				sb.append("Functions recompile time:\t" + String.format("%.3f", ((double)getFunRecompileTime())/1000000000) + " sec.\n");	
@@ -734,6 +931,8 @@ public class Statistics
 				sb.append("Codegen compile times (DAG,JC):\t" + String.format("%.3f", (double)getCodegenCompileTime()/1000000000) + "/" + 
 						String.format("%.3f", (double)getCodegenClassCompileTime()/1000000000)  + " sec.\n");
 				sb.append("Codegen plan cache hits:\t" + getCodegenPlanCacheHits() + "/" + getCodegenPlanCacheTotal() + ".\n");
+				if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.CODEGEN_CLASSCACHE) )
+					sb.append("Codegen class cache hits:\t" + getCodegenClassCacheHits() + ".\n");
 			}
 			if( OptimizerUtils.isSparkExecutionMode() ){
 				String lazy = SparkExecutionContext.isLazySparkContextCreation() ? "(lazy)" : "(eager)";
@@ -753,16 +952,94 @@ public class Statistics
 				sb.append("ParFor optimize time:\t\t" + String.format("%.3f", ((double)getParforOptTime())/1000) + " sec.\n");	
 				sb.append("ParFor initialize time:\t\t" + String.format("%.3f", ((double)getParforInitTime())/1000) + " sec.\n");	
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");	
+				sb.append("ParFor worker busy/idle time:\t" + String.format("%.3f/%.3f", ((double)getParforWorkerBusyTime())/1000, 
+						((double)getParforWorkerIdleTime())/1000) + " sec.\n");
 				sb.append("ParFor total update in-place:\t" + lTotalUIPVar + "/" + lTotalLixUIP + "/" + lTotalLix + "\n");
+				sb.append("ParFor shared result vars:\t" + getParforSharedResults() + ".\n");
 			}
 
+			if( parInstBlocks.longValue()>0 )
+				sb.append("Parallel instruction blocks:\t" + getParallelInstructionBlocks() + ".\n");
+
 			sb.append("Total JIT compile time:\t\t" + ((double)getJITCompileTime())/1000 + " sec.\n");
 			sb.append("Total JVM GC count:\t\t" + getJVMgcCount() + ".\n");
 			sb.append("Total JVM GC time:\t\t" + ((double)getJVMgcTime())/1000 + " sec.\n");
 			LibMatrixDNN.appendStatistics(sb);
 			sb.append("Heavy hitter instructions:\n" + getHeavyHitters(maxHeavyHitters));
+			if( latencyHistograms )
+				sb.append("Heavy hitter latencies:\n" + getHeavyHitterLatencies(maxHeavyHitters));
 		}
 		
 		return sb.toString();
 	}
+
+	/**
+	 * Obtain a string tabular representation of the latency percentiles
+	 * (p50, p90, p99, max) of the heavy hitter instructions.
+	 * 
+	 * @param num the maximum number of heavy hitters to display
+	 * @return string representing the latency percentiles in tabular format
+	 */
+	public static String getHeavyHitterLatencies(int num) {
+		HashMap<String, LatencyHistogram> hists = getLatencyHistograms();
+		if( num <= 0 || hists.isEmpty() )
+			return "-";
+		
+		// get top k via sort by total time
+		@SuppressWarnings("unchecked")
+		final Entry<String, LatencyHistogram>[] tmp = hists.entrySet().toArray(new Entry[hists.size()]);
+		Arrays.sort(tmp, new Comparator<Entry<String, LatencyHistogram>>() {
+			public int compare(Entry<String, LatencyHistogram> e1, Entry<String, LatencyHistogram> e2) {
+				return Long.compare(e2.getValue().getSum(), e1.getValue().getSum());
+			}
+		});
+		
+		int maxInstLen = "Instruction".length();
+		int len = Math.min(num, tmp.length);
+		for( int i=0; i<len; i++ )
+			maxInstLen = Math.max(maxInstLen, tmp[i].getKey().length());
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format(" %" + String.valueOf(len).length() + "s  %-" + maxInstLen + "s  %10s  %10s  %10s  %10s\n",
+			"#", "Instruction", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)"));
+		for( int i=0; i<len; i++ ) {
+			LatencyHistogram h = tmp[i].getValue();
+			sb.append(String.format(" %" + String.valueOf(len).length() + "d  %-" + maxInstLen + "s  %10.3f  %10.3f  %10.3f  %10.3f\n",
+				(i+1), tmp[i].getKey(), h.getPercentile(0.5)*1e-6, h.getPercentile(0.9)*1e-6, 
+				h.getPercentile(0.99)*1e-6, h.getMax()*1e-6));
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Thread-local buffer of latency histograms, which is lazily cleared
+	 * by its owning thread if the global histogram epoch changed. The owner
+	 * is weakly referenced to allow pruning buffers of terminated threads.
+	 */
+	private static class HistogramBuffer {
+		private final ConcurrentHashMap<String, LatencyHistogram> _hists = 
+			new ConcurrentHashMap<String, LatencyHistogram>();
+		private final WeakReference<Thread> _owner;
+		private volatile long _epoch = histEpoch.get();
+		
+		public HistogramBuffer(Thread owner) {
+			_owner = new WeakReference<Thread>(owner);
+		}
+		
+		public boolean isOwnerAlive() {
+			Thread owner = _owner.get();
+			return owner != null && owner.isAlive();
+		}
+		
+		public LatencyHistogram get(String opcode) {
+			long epoch = histEpoch.get();
+			if( _epoch != epoch ) {
+				_hists.clear();
+				_epoch = epoch;
+			}
+			LatencyHistogram ret = _hists.get(opcode);
+			if( ret == null )
+				_hists.put(opcode, ret = new LatencyHistogram());
+			return ret;
+		}
+	}
 }
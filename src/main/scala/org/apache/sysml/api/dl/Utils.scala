@@ -114,7 +114,7 @@ object Utils {
 	def allocateMatrixBlock(data:java.util.List[java.lang.Float], rows:Int, cols:Int, transpose:Boolean):(MatrixBlock,CopyFloatToDoubleArray) = {
 	  val mb =  new MatrixBlock(rows, cols, false)
     mb.allocateDenseBlock()
-    val arr = mb.getDenseBlock
+    val arr = mb.getDenseBlockValues
     val thread = new CopyFloatToDoubleArray(data, rows, cols, transpose, arr)
 	  thread.start
 	  return (mb, thread)
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix_full_cellwise;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for multi-threaded cellwise binary operations,
+ * which compares the results and non-zero counts of single- and
+ * multi-threaded matrix-matrix, matrix-vector, and matrix-scalar operations.
+ *
+ */
+public class FullCellwiseMultiThreadedTest extends AutomatedTestBase
+{
+	private final static int rows = 1321;
+	private final static int cols = 1033;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static int k = 4;
+	private final static double eps = 1e-10;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testMatrixMatrixPlusDense() {
+		runCellwiseMultiThreadedTest(false, false, sparsity1);
+	}
+
+	@Test
+	public void testMatrixVectorMinusDense() {
+		runCellwiseMultiThreadedTest(false, true, sparsity1);
+	}
+
+	@Test
+	public void testMatrixScalarMultDense() {
+		runCellwiseMultiThreadedTest(true, false, sparsity1);
+	}
+
+	@Test
+	public void testMatrixScalarMultSparse() {
+		runCellwiseMultiThreadedTest(true, false, sparsity2);
+	}
+
+	@Test
+	public void testMatrixScalarPlusSparse() {
+		runCellwiseMultiThreadedTest(true, true, sparsity2);
+	}
+
+	private void runCellwiseMultiThreadedTest(boolean scalar, boolean variant, double sparsity)
+	{
+		try
+		{
+			//data generation
+			MatrixBlock mb1 = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -1, 1, sparsity, 7));
+			MatrixBlock mb2 = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, variant?1:cols, -1, 1, sparsity, 3));
+			mb1.examSparsity();
+
+			//execute single- and multi-threaded operations
+			MatrixBlock ret1, ret2;
+			if( scalar ) {
+				ScalarOperator sop = variant ?
+					new RightScalarOperator(Plus.getPlusFnObject(), 7) :
+					new RightScalarOperator(Multiply.getMultiplyFnObject(), 7);
+				ret1 = (MatrixBlock) mb1.scalarOperations(sop, new MatrixBlock(), 1);
+				ret2 = (MatrixBlock) mb1.scalarOperations(sop, new MatrixBlock(), k);
+			}
+			else {
+				BinaryOperator bop = variant ?
+					new BinaryOperator(Minus.getMinusFnObject()) :
+					new BinaryOperator(Plus.getPlusFnObject());
+				ret1 = (MatrixBlock) mb1.binaryOperations(bop, mb2, new MatrixBlock(), 1);
+				ret2 = (MatrixBlock) mb1.binaryOperations(bop, mb2, new MatrixBlock(), k);
+			}
+
+			//compare results and meta data
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+			Assert.assertEquals(ret1.getNonZeros(), ret2.recomputeNonZeros());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+				DataConverter.convertToDoubleMatrix(ret2), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
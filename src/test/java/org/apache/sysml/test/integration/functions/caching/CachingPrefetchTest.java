@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the prefetch of evicted matrices, which are
+ * either held in the write buffer or evicted to local disk. Furthermore, it
+ * checks the asynchronous prefetch of evicted instruction inputs by program 
+ * blocks via a script whose released matrices are not kept in memory.
+ *
+ */
+public class CachingPrefetchTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "Prefetch";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CachingPrefetchTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1593;
+	private final static int cols = 137;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.1;
+	private final static double eps = 1e-10;
+	private final static int n = 500;
+	private final static int iterations = 5;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testPrefetchWriteBufferDense() {
+		runPrefetchTest(sparsity1, false);
+	}
+
+	@Test
+	public void testPrefetchWriteBufferSparse() {
+		runPrefetchTest(sparsity2, false);
+	}
+
+	@Test
+	public void testPrefetchLocalFileDense() {
+		runPrefetchTest(sparsity1, true);
+	}
+
+	@Test
+	public void testPrefetchLocalFileSparse() {
+		runPrefetchTest(sparsity2, true);
+	}
+
+	@Test
+	public void testPrefetchConfigEnabled() {
+		runPrefetchConfigTest(true);
+	}
+
+	@Test
+	public void testPrefetchConfigDisabled() {
+		runPrefetchConfigTest(false);
+	}
+
+	@Test
+	public void testPrefetchScript() {
+		runPrefetchScriptTest();
+	}
+
+	private void runPrefetchScriptTest()
+	{
+		boolean oldSoftRef = CacheableData.CACHING_RELEASE_SOFTREF;
+		try
+		{
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			
+			//baseline w/ released matrices kept in soft references
+			programArgs = new String[]{"-stats", "-args", 
+				Integer.toString(n), Integer.toString(iterations), output("R1") };
+			runTest(true, false, null, -1);
+			
+			//released matrices not kept in memory, i.e., evicted inputs
+			//are prefetched by the program block during preceding instructions
+			CacheableData.CACHING_RELEASE_SOFTREF = false;
+			programArgs = new String[]{"-stats", "-args", 
+				Integer.toString(n), Integer.toString(iterations), output("R2") };
+			runTest(true, false, null, -1);
+			Assert.assertTrue("No prefetches.", CacheStatistics.getPrefetches() > 0);
+			Assert.assertTrue("No prefetch hits.", CacheStatistics.getPrefetchHits() > 0);
+			
+			//compare matrices
+			HashMap<CellIndex, Double> R1 = readDMLMatrixFromHDFS("R1");
+			HashMap<CellIndex, Double> R2 = readDMLMatrixFromHDFS("R2");
+			TestUtils.compareMatrices(R1, R2, eps, "R1", "R2");
+		}
+		finally {
+			CacheableData.CACHING_RELEASE_SOFTREF = oldSoftRef;
+		}
+	}
+
+	private void runPrefetchConfigTest(boolean enabled)
+	{
+		try
+		{
+			//setup caching with configured async prefetch
+			DMLConfig lconf = new DMLConfig();
+			lconf.setTextValue(DMLConfig.CACHING_ASYNC_PREFETCH, String.valueOf(enabled));
+			ConfigurationManager.setLocalConfig(lconf);
+			CacheableData.initCaching("tmp_caching_prefetch_test");
+			Assert.assertEquals(enabled, CacheableData.isAsyncPrefetchEnabled());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+
+	private void runPrefetchTest(double sparsity, boolean force)
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock mA = DataConverter.convertToMatrixBlock(A);
+
+			//setup caching
+			CacheableData.initCaching("tmp_caching_prefetch_test");
+
+			//create matrix object
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, -1);
+			MatrixFormatMetaData meta = new MatrixFormatMetaData (mc,
+					OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+			MatrixObject mo = new MatrixObject(ValueType.DOUBLE, "mA", meta);
+			mo.acquireModify(mA);
+			mo.release();
+
+			//evict matrix and clear in-memory reference
+			if( force )
+				LazyWriteBuffer.forceEviction();
+			Method clearmo = CacheableData.class
+					.getDeclaredMethod("clearCache", new Class[]{});
+			clearmo.setAccessible(true); //make method public
+			clearmo.invoke(mo, new Object[]{});
+
+			//prefetch matrix (second prefetch is a no-op)
+			Assert.assertTrue(mo.prefetch());
+			Assert.assertFalse(mo.prefetch());
+
+			//read matrix through buffer pool and compare
+			MatrixBlock mA2 = mo.acquireRead();
+			mo.release();
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mA2), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+		}
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for concurrent writes, reads, and deletes of the
+ * lock-striped write buffer, where the total size of all blocks exceeds the
+ * buffer limit in order to force concurrent evictions, followed by concurrent
+ * reads of a single block in order to force contention on its segment.
+ *
+ */
+public class ConcurrentWriteBufferTest extends AutomatedTestBase
+{
+	private final static int cols = 500;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static int numThreads = 8;
+	private final static int numBlocks = 16;
+	private final static int numReads = 10000;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testConcurrentWriteBufferDense() {
+		runConcurrentWriteBufferTest(sparsity1);
+	}
+
+	@Test
+	public void testConcurrentWriteBufferSparse() {
+		runConcurrentWriteBufferTest(sparsity2);
+	}
+
+	private void runConcurrentWriteBufferTest(double sparsity)
+	{
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		boolean oldStats = DMLScript.STATISTICS;
+		try
+		{
+			//setup caching and statistics
+			CacheableData.initCaching("tmp_concurrent_write_buffer_test");
+			final String dir = LocalFileUtils.getWorkingDir(LocalFileUtils.CATEGORY_CACHE);
+			DMLScript.STATISTICS = true;
+			CacheStatistics.reset();
+			
+			//size blocks such that all blocks exceed twice the buffer limit
+			final int rows = getNumRows(sparsity);
+
+			//concurrent write, read, and delete of blocks
+			ArrayList<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+			for( int i=0; i<numThreads; i++ ) {
+				final int tid = i;
+				final double sp = sparsity;
+				tasks.add(new Callable<Long>() {
+					@Override
+					public Long call() throws Exception {
+						long errors = 0;
+						double[] sums = new double[numBlocks];
+						for( int j=0; j<numBlocks; j++ ) {
+							MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sp, -1, 1, "uniform", 7+tid*numBlocks+j);
+							sums[j] = mb.sum();
+							LazyWriteBuffer.writeBlock(dir+"/wb_"+tid+"_"+j, mb);
+						}
+						for( int j=0; j<numBlocks; j++ ) {
+							String fname = dir+"/wb_"+tid+"_"+j;
+							MatrixBlock mb = (MatrixBlock) LazyWriteBuffer.readBlock(fname, true);
+							errors += (Math.abs(mb.sum()-sums[j]) > 1e-8) ? 1 : 0;
+							LazyWriteBuffer.deleteBlock(fname);
+						}
+						return errors;
+					}
+				});
+			}
+
+			//check for correct results of all threads
+			for( Future<Long> task : pool.invokeAll(tasks) )
+				Assert.assertEquals(0, (long)task.get());
+			
+			//check buffered writes, evictions, and reads of evicted blocks
+			int numTotal = numThreads * numBlocks;
+			Assert.assertTrue("No buffered writes.", CacheStatistics.getFSBuffWrites() > 0);
+			Assert.assertTrue("No evictions.", CacheStatistics.getFSWrites() > 0);
+			Assert.assertTrue("Missing writes.", CacheStatistics.getFSBuffWrites() 
+				+ CacheStatistics.getFSWrites() >= numTotal);
+			Assert.assertTrue("No reads of evicted blocks.", CacheStatistics.getFSHits() > 0);
+			Assert.assertEquals(numTotal, CacheStatistics.getFSBuffHits() + CacheStatistics.getFSHits());
+			
+			//concurrent reads of a single buffered block (hot segment)
+			final String fname = dir+"/wb_hot";
+			LazyWriteBuffer.writeBlock(fname, MatrixBlock.randOperations(10, 10, 1, 7, 7, "uniform", 7));
+			ArrayList<Callable<Long>> tasks2 = new ArrayList<Callable<Long>>();
+			for( int i=0; i<numThreads; i++ ) {
+				tasks2.add(new Callable<Long>() {
+					@Override
+					public Long call() throws Exception {
+						long errors = 0;
+						for( int j=0; j<numReads; j++ ) {
+							MatrixBlock mb = (MatrixBlock) LazyWriteBuffer.readBlock(fname, true);
+							errors += (mb.quickGetValue(9, 9) != 7) ? 1 : 0;
+						}
+						return errors;
+					}
+				});
+			}
+			for( Future<Long> task : pool.invokeAll(tasks2) )
+				Assert.assertEquals(0, (long)task.get());
+			LazyWriteBuffer.deleteBlock(fname);
+			Assert.assertTrue("No lock contention.", CacheStatistics.getLockWaits() > 0);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+			CacheableData.cleanupCacheDir();
+			DMLScript.STATISTICS = oldStats;
+		}
+	}
+	
+	private static int getNumRows(double sparsity) {
+		long limit = LazyWriteBuffer.getWriteBufferSize();
+		int rows = 1000;
+		while( MatrixBlock.estimateSizeOnDisk(rows, cols, (long)(sparsity*rows*cols)) 
+			* numThreads * numBlocks < 2 * limit )
+			rows *= 2;
+		return rows;
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.OffHeapByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.OffHeapPagePool;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the off-heap write buffer, which checks
+ * the serialization of matrix blocks into off-heap pages, the subsequent
+ * deserialization and eviction, as well as the reuse of freed pages. 
+ * Furthermore, it checks the lazy write buffer in off-heap mode, including
+ * the fallback to direct writes if the page pool is exhausted.
+ *
+ */
+public class OffHeapWriteBufferTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + OffHeapWriteBufferTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1234;
+	private final static int cols = 321;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-10;
+	private final static int bufferSize = 8; //in MB
+	private final static int numBlocks = 6;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testOffHeapBufferDense() {
+		runOffHeapBufferTest(sparsity1, false);
+	}
+
+	@Test
+	public void testOffHeapBufferSparse() {
+		runOffHeapBufferTest(sparsity2, false);
+	}
+
+	@Test
+	public void testOffHeapBufferDenseEviction() {
+		runOffHeapBufferTest(sparsity1, true);
+	}
+
+	@Test
+	public void testOffHeapBufferSparseEviction() {
+		runOffHeapBufferTest(sparsity2, true);
+	}
+
+	@Test
+	public void testOffHeapWriteBufferDense() {
+		runOffHeapWriteBufferTest(sparsity1);
+	}
+
+	@Test
+	public void testOffHeapWriteBufferSparse() {
+		runOffHeapWriteBufferTest(sparsity2);
+	}
+
+	@Test
+	public void testOffHeapWriteBufferPoolExhausted() {
+		runOffHeapWriteBufferExhaustedTest();
+	}
+
+	private void runOffHeapBufferTest(double sparsity, boolean evict)
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			mb.examSparsity();
+			long size = mb.getExactSerializedSize();
+
+			//init page pool for exactly one block
+			OffHeapPagePool.init(OffHeapPagePool.getReservedSize(size));
+			OffHeapByteBuffer bbuff = new OffHeapByteBuffer(size);
+			Assert.assertTrue(bbuff.isAllocated());
+			Assert.assertFalse(new OffHeapByteBuffer(size).isAllocated());
+			bbuff.serializeBlock(mb);
+
+			MatrixBlock ret = null;
+			if( evict ) {
+				//evict to local file and read evicted block
+				String fname = TEST_DATA_DIR + TEST_CLASS_DIR + "evicted.dat";
+				new File(fname).getParentFile().mkdirs();
+				bbuff.evictBuffer(fname);
+				bbuff.freeMemory();
+				Assert.assertNull(bbuff.deserializeBlock());
+				ret = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname, true);
+				LocalFileUtils.deleteFileIfExists(fname);
+			}
+			else {
+				ret = (MatrixBlock) bbuff.deserializeBlock();
+				bbuff.freeMemory();
+			}
+
+			//check freed pages are reused
+			Assert.assertTrue(new OffHeapByteBuffer(size).isAllocated());
+
+			//compare matrices
+			Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			OffHeapPagePool.clear();
+		}
+	}
+
+	private void runOffHeapWriteBufferTest(double sparsity)
+	{
+		boolean oldStats = DMLScript.STATISTICS;
+		try
+		{
+			//setup off-heap write buffer and statistics
+			String dir = initOffHeapCaching();
+			Assert.assertTrue(LazyWriteBuffer.isOffHeapBuffer());
+			
+			//write blocks that exceed the off-heap buffer
+			double[][][] A = new double[numBlocks][][];
+			for( int i=0; i<numBlocks; i++ ) {
+				A[i] = getRandomMatrix(rows, cols, -1, 1, sparsity, 7+i);
+				MatrixBlock mb = DataConverter.convertToMatrixBlock(A[i]);
+				mb.examSparsity();
+				LazyWriteBuffer.writeBlock(dir+"/ob_"+i, mb);
+			}
+			Assert.assertTrue("No buffered writes.", CacheStatistics.getFSBuffWrites() > 0);
+			if( sparsity == sparsity1 )
+				Assert.assertTrue("No evictions.", CacheStatistics.getFSWrites() > 0);
+			
+			//read and compare all blocks (from off-heap buffer or evicted files)
+			for( int i=0; i<numBlocks; i++ ) {
+				MatrixBlock ret = (MatrixBlock) LazyWriteBuffer.readBlock(dir+"/ob_"+i, true);
+				TestUtils.compareMatrices(A[i], DataConverter.convertToDoubleMatrix(ret), rows, cols, eps);
+				LazyWriteBuffer.deleteBlock(dir+"/ob_"+i);
+			}
+			Assert.assertEquals(numBlocks, CacheStatistics.getFSBuffHits() + CacheStatistics.getFSHits());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			cleanupOffHeapCaching(oldStats);
+		}
+	}
+
+	private void runOffHeapWriteBufferExhaustedTest()
+	{
+		boolean oldStats = DMLScript.STATISTICS;
+		try
+		{
+			//setup off-heap write buffer and statistics
+			String dir = initOffHeapCaching();
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			
+			//exhaust page pool (e.g., failed direct allocations)
+			int[] pages = OffHeapPagePool.allocatePages(OffHeapPagePool.getCapacity());
+			Assert.assertNotNull(pages);
+			
+			//write falls back to local FS, and read from local FS
+			LazyWriteBuffer.writeBlock(dir+"/ob_0", mb);
+			Assert.assertEquals(0, CacheStatistics.getFSBuffWrites());
+			Assert.assertEquals(1, CacheStatistics.getFSWrites());
+			MatrixBlock ret = (MatrixBlock) LazyWriteBuffer.readBlock(dir+"/ob_0", true);
+			Assert.assertEquals(1, CacheStatistics.getFSHits());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, eps);
+			LazyWriteBuffer.deleteBlock(dir+"/ob_0");
+			
+			//check that the reserved buffer size was released
+			OffHeapPagePool.freePages(pages);
+			LazyWriteBuffer.writeBlock(dir+"/ob_1", mb);
+			Assert.assertEquals(1, CacheStatistics.getFSBuffWrites());
+			Assert.assertEquals(1, CacheStatistics.getFSWrites());
+			LazyWriteBuffer.deleteBlock(dir+"/ob_1");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			cleanupOffHeapCaching(oldStats);
+		}
+	}
+	
+	private static String initOffHeapCaching() 
+		throws Exception
+	{
+		DMLConfig lconf = new DMLConfig();
+		lconf.setTextValue(DMLConfig.CACHING_BUFFER_OFFHEAP, String.valueOf(bufferSize));
+		ConfigurationManager.setLocalConfig(lconf);
+		CacheableData.initCaching("tmp_offheap_write_buffer_test");
+		DMLScript.STATISTICS = true;
+		CacheStatistics.reset();
+		return LocalFileUtils.getWorkingDir(LocalFileUtils.CATEGORY_CACHE);
+	}
+	
+	private static void cleanupOffHeapCaching(boolean oldStats) {
+		CacheableData.cleanupCacheDir();
+		ConfigurationManager.clearLocalConfigs();
+		DMLScript.STATISTICS = oldStats;
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.codegen.CodegenUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+public class CodegenClassCacheTest extends AutomatedTestBase 
+{	
+	private static final String TEST_NAME1 = "cellwisetmpl1";
+	private static final String TEST_DIR = "functions/codegen/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + CodegenClassCacheTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-codegen-classcache.xml";
+	
+	private static final String SRC1 = "package codegen;\n"
+		+ "public final class TMP12 extends SpoofCellwise {\n"
+		+ "  public TMP12() { super(); }\n"
+		+ "  double TMP10 = a + 7; double TMP11 = TMP10 * b;\n"
+		+ "}\n";
+	private static final String SRC2 = SRC1.replace("TMP12", "TMP47")
+		.replace("TMP10", "TMP45").replace("TMP11", "TMP46");
+	private static final String SRC3 = SRC1.replace("a + 7", "a + 8");
+	
+	private static final double eps = Math.pow(10, -10);
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration( TEST_NAME1, new TestConfiguration(
+			TEST_CLASS_DIR, TEST_NAME1, new String[] { "S" }) );
+	}
+	
+	@Test
+	public void testPersistentClassNames() {
+		try {
+			String[] tmp1 = CodegenUtils.createPersistentClass("codegen.TMP12", SRC1);
+			String[] tmp2 = CodegenUtils.createPersistentClass("codegen.TMP47", SRC2);
+			String[] tmp3 = CodegenUtils.createPersistentClass("codegen.TMP12", SRC3);
+			
+			//equivalent operators map to equal names and sources
+			Assert.assertEquals(tmp1[0], tmp2[0]);
+			Assert.assertEquals(tmp1[1], tmp2[1]);
+			Assert.assertTrue(tmp1[0].startsWith("codegen.TMPC"));
+			Assert.assertTrue(tmp1[1].contains("public "+tmp1[0].substring(8)+"()"));
+			
+			//different operators map to different names
+			Assert.assertNotEquals(tmp1[0], tmp3[0]);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	@Test
+	public void testCodegenClassCacheReuse() {
+		runCodegenClassCacheTest(false);
+	}
+	
+	@Test
+	public void testCodegenClassCacheTampered() {
+		runCodegenClassCacheTest(true);
+	}
+	
+	private void runCodegenClassCacheTest(boolean tamper) {
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.HYBRID; //javac compiler
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME1);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-explain", "-stats", "-args", output("S") };
+			fullRScriptName = HOME + TEST_NAME1 + ".R";
+			rCmd = getRCmd(inputDir(), expectedDir());
+			
+			//first run populates the per-user, owner-only class cache
+			runTest(true, false, null, -1);
+			File cacheDir = CodegenUtils.getClassCacheDir();
+			Assert.assertNotNull(cacheDir);
+			Assert.assertEquals(PosixFilePermissions.fromString("rwx------"),
+				Files.getPosixFilePermissions(cacheDir.toPath()));
+			
+			//corrupt cached class files, which fail the digest check
+			File[] classes = new File(cacheDir, "codegen").listFiles();
+			Assert.assertNotNull(classes);
+			if( tamper )
+				for( File f : classes )
+					if( f.getName().endsWith(".class") )
+						Files.write(f.toPath(), new byte[]{1, 2, 3});
+			
+			//second run reuses the classes iff not corrupted
+			long hits = Statistics.getCodegenClassCacheHits();
+			runTest(true, false, null, -1);
+			if( tamper )
+				Assert.assertEquals(hits, Statistics.getCodegenClassCacheHits());
+			else
+				Assert.assertTrue(Statistics.getCodegenClassCacheHits() > hits);
+			runRScript(true); 
+			
+			//compare matrices 
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("S");
+			HashMap<CellIndex, Double> rfile  = readRMatrixFromFS("S");	
+			TestUtils.compareMatrices(dmlfile, rfile, eps, "Stat-DML", "Stat-R");
+			Assert.assertTrue(heavyHittersContainsSubString("spoofCell"));
+		}
+		catch(IOException ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+	
+	/**
+	 * Override default configuration with custom test configuration to ensure
+	 * scratch space and local temporary directory locations are also updated.
+	 */
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
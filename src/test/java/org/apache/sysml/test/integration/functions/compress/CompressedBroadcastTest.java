@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a component test for compressed partitioned blocks as used by
+ * spark broadcasts, including their serialization and decompression on 
+ * block access.
+ */
+public class CompressedBroadcastTest extends AutomatedTestBase
+{
+	private static final int rows = 2023;
+	private static final int cols = 163;
+	private static final int blocksize = 100;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+	}
+
+	public enum ValueType {
+		RAND, //UC
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //DDC
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDenseRandData() {
+		runCompressedBroadcastTest(SparsityType.DENSE, ValueType.RAND);
+	}
+
+	@Test
+	public void testDenseRoundRandDataOLE() {
+		runCompressedBroadcastTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE);
+	}
+
+	@Test
+	public void testSparseRoundRandDataOLE() {
+		runCompressedBroadcastTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE);
+	}
+
+	@Test
+	public void testDenseRoundRandDataDDC() {
+		runCompressedBroadcastTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC);
+	}
+
+	@Test
+	public void testSparseRoundRandDataDDC() {
+		runCompressedBroadcastTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void runCompressedBroadcastTest(SparsityType sptype, ValueType vtype)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = (sptype==SparsityType.DENSE) ? sparsity1 : sparsity2;
+
+			//generate input data
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, -10, 10, sparsity, 7);
+			if( vtype != ValueType.RAND ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//create partitioned block and compress its blocks
+			PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<MatrixBlock>(mb, blocksize, blocksize);
+			long usize = pmb.getInMemorySize();
+			boolean compressed = pmb.compressBlocks(1);
+			Assert.assertEquals(compressed, pmb.isCompressed());
+			Assert.assertTrue(pmb.getInMemorySize() <= usize);
+			if( vtype != ValueType.RAND )
+				Assert.assertTrue(compressed);
+
+			//serialize and deserialize partitioned block
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			ObjectOutputStream oos = new ObjectOutputStream(bos);
+			oos.writeObject(pmb);
+			oos.close();
+			ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+			PartitionedBlock<MatrixBlock> pmb2 = (PartitionedBlock<MatrixBlock>) ois.readObject();
+			ois.close();
+			Assert.assertEquals(compressed, pmb2.isCompressed());
+
+			//check decompression on block access (and reuse of decompressed blocks)
+			MatrixBlock blk = pmb2.getBlock(1, 1);
+			Assert.assertFalse(blk instanceof CompressedMatrixBlock);
+			Assert.assertSame(blk, pmb2.getBlock(1, 1));
+
+			//compare result with input
+			MatrixBlock tmp = pmb2.sliceOperations(1, rows, 1, cols, new MatrixBlock());
+			double[][] d1 = DataConverter.convertToDoubleMatrix(mb);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(tmp);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.lang.reflect.Method;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a component test for the eviction and restore of compressed
+ * matrix blocks through the buffer pool, including their size accounting.
+ */
+public class CompressedEvictionTest extends AutomatedTestBase
+{
+	private static final int rows = 2023;
+	private static final int cols = 20;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+	}
+
+	public enum ValueType {
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //DDC
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDenseRoundRandDataOLEWriteBuffer() {
+		runCompressedEvictionTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, false);
+	}
+
+	@Test
+	public void testDenseRoundRandDataDDCWriteBuffer() {
+		runCompressedEvictionTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, false);
+	}
+
+	@Test
+	public void testSparseRoundRandDataOLEWriteBuffer() {
+		runCompressedEvictionTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, false);
+	}
+
+	@Test
+	public void testDenseRoundRandDataOLELocalFile() {
+		runCompressedEvictionTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, true);
+	}
+
+	@Test
+	public void testDenseRoundRandDataDDCLocalFile() {
+		runCompressedEvictionTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, true);
+	}
+
+	@Test
+	public void testSparseRoundRandDataOLELocalFile() {
+		runCompressedEvictionTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, true);
+	}
+
+	private void runCompressedEvictionTest(SparsityType sptype, ValueType vtype, boolean force)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = (sptype==SparsityType.DENSE) ? sparsity1 : sparsity2;
+
+			//generate input data
+			double[][] input = TestUtils.round(
+				TestUtils.generateTestMatrix(rows, cols, -10, 10, sparsity, 7));
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			cmb.compress();
+
+			//check size accounting (shallow, exact serialized size)
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			cmb.write(new DataOutputStream(bos));
+			Assert.assertTrue(cmb.isShallowSerialize());
+			Assert.assertEquals(bos.size(), cmb.getExactSerializedSize());
+			Assert.assertEquals(cmb.estimateCompressedSizeInMemory(), cmb.getInMemorySize());
+
+			//setup caching and matrix object
+			CacheableData.initCaching("tmp_compressed_eviction_test");
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, -1);
+			MatrixFormatMetaData meta = new MatrixFormatMetaData (mc,
+					OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+			MatrixObject mo = new MatrixObject(org.apache.sysml.parser.Expression.ValueType.DOUBLE, "cmb", meta);
+			mo.acquireModify(cmb);
+			mo.release();
+
+			//evict matrix and clear in-memory reference
+			if( force )
+				LazyWriteBuffer.forceEviction();
+			Method clearmo = CacheableData.class
+					.getDeclaredMethod("clearCache", new Class[]{});
+			clearmo.setAccessible(true); //make method public
+			clearmo.invoke(mo, new Object[]{});
+
+			//restore compressed matrix block through buffer pool
+			MatrixBlock tmp = mo.acquireRead();
+			mo.release();
+			Assert.assertTrue(tmp instanceof CompressedMatrixBlock);
+			Assert.assertTrue(((CompressedMatrixBlock)tmp).isCompressed());
+
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(mb);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(
+				((CompressedMatrixBlock)tmp).decompress());
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+			CacheableData.cleanupCacheDir();
+		}
+	}
+}
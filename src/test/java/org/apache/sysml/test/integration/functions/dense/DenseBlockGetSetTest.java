@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.dense;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlockDRB;
+import org.apache.sysml.runtime.matrix.data.DenseBlockLDRB;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a dense matrix block component test for get, set, and
+ * non-zero counting functionality. In order to cover multiple row
+ * blocks with small data, the large dense block is created with a
+ * reduced max allocation per row block.
+ *
+ */
+public class DenseBlockGetSetTest extends AutomatedTestBase
+{
+	private final static int rows = 732;
+	private final static int cols = 354;
+	private final static double sparsity1 = 0.1;
+	private final static double sparsity2 = 0.9;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDenseBlockDRBSparse()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.DRB, sparsity1);
+	}
+
+	@Test
+	public void testDenseBlockDRBDense()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.DRB, sparsity2);
+	}
+
+	@Test
+	public void testDenseBlockLDRBSparse()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, sparsity1);
+	}
+
+	@Test
+	public void testDenseBlockLDRBDense()  {
+		runDenseBlockGetSetTest(DenseBlock.Type.LDRB, sparsity2);
+	}
+
+	private void runDenseBlockGetSetTest( DenseBlock.Type btype, double sparsity)
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7654321);
+
+			//init dense block (LDRB w/ 100 rows per block)
+			DenseBlock dblock = (btype == DenseBlock.Type.DRB) ?
+				new DenseBlockDRB(rows, cols) : new DenseBlockLDRB(rows, cols, 100*cols);
+			for( int i=0; i<rows; i++ )
+				dblock.set(i, A[i]);
+
+			//check basic meta data
+			if( btype == DenseBlock.Type.LDRB ) {
+				Assert.assertEquals(8, dblock.numBlocks());
+				Assert.assertFalse(dblock.isContiguous());
+				Assert.assertEquals(32*cols, dblock.size(7));
+			}
+			Assert.assertEquals((long)rows*cols, dblock.size());
+
+			//check get values and row-wise non-zeros
+			long nnz = 0;
+			for( int i=0; i<rows; i++ ) {
+				int lnnz = 0;
+				for( int j=0; j<cols; j++ ) {
+					if( A[i][j] != dblock.get(i, j) )
+						Assert.fail("Wrong get value for cell ("+i+","+j+"): "+dblock.get(i, j)+", expected: "+A[i][j]);
+					if( A[i][j] != dblock.values(i)[dblock.pos(i, j)] )
+						Assert.fail("Wrong row-block value for cell ("+i+","+j+")");
+					lnnz += (A[i][j]!=0) ? 1 : 0;
+				}
+				Assert.assertEquals(lnnz, dblock.countNonZeros(i));
+				nnz += lnnz;
+			}
+			Assert.assertEquals(nnz, dblock.countNonZeros());
+			Assert.assertEquals(nnz, dblock.countNonZeros(0, rows, 0, cols));
+
+			//check copy into other dense block type
+			DenseBlock dblock2 = (btype == DenseBlock.Type.DRB) ?
+				new DenseBlockLDRB(rows, cols, 100*cols) : new DenseBlockDRB(rows, cols);
+			dblock2.set(dblock);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					if( A[i][j] != dblock2.get(i, j) )
+						Assert.fail("Wrong copied value for cell ("+i+","+j+"): "+dblock2.get(i, j)+", expected: "+A[i][j]);
+
+			//check range set and reset
+			dblock.set(50, 250, 7, 11, 0);
+			Assert.assertEquals(0, dblock.countNonZeros(50, 250, 7, 11));
+			dblock.reset();
+			Assert.assertEquals(0, dblock.countNonZeros());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.dense;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.RevIndex;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.DenseBlockFactory;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for matrix block operations over large dense
+ * blocks (LDRB) with multiple row blocks, compared to the results over 
+ * single-array dense blocks (DRB). In order to cover multiple row blocks 
+ * with small data, the max allocation per row block is reduced.
+ *
+ */
+public class DenseBlockLargeOpsTest extends AutomatedTestBase
+{
+	private final static int rows = 1732;
+	private final static int cols = 354;
+	private final static int cols2 = 43;
+	private final static int maxAlloc = 4096;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-10;
+
+	private enum OpType {
+		MATMULT,
+		MATMULT_PAR,
+		AGG_SUM,
+		AGG_ROWSUMS,
+		AGG_COLSUMS,
+		BINARY_MM,
+		BINARY_MV_COL,
+		BINARY_MV_ROW,
+		BINARY_SPARSE_DENSE,
+		SCALAR,
+		TRANSPOSE,
+		REV,
+		SERIALIZE,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testLargeDenseMatMult() {
+		runLargeDenseOpTest(OpType.MATMULT);
+	}
+
+	@Test
+	public void testLargeDenseMatMultParallel() {
+		runLargeDenseOpTest(OpType.MATMULT_PAR);
+	}
+
+	@Test
+	public void testLargeDenseAggSum() {
+		runLargeDenseOpTest(OpType.AGG_SUM);
+	}
+
+	@Test
+	public void testLargeDenseAggRowSums() {
+		runLargeDenseOpTest(OpType.AGG_ROWSUMS);
+	}
+
+	@Test
+	public void testLargeDenseAggColSums() {
+		runLargeDenseOpTest(OpType.AGG_COLSUMS);
+	}
+
+	@Test
+	public void testLargeDenseBinaryMatrixMatrix() {
+		runLargeDenseOpTest(OpType.BINARY_MM);
+	}
+
+	@Test
+	public void testLargeDenseBinaryMatrixColVector() {
+		runLargeDenseOpTest(OpType.BINARY_MV_COL);
+	}
+
+	@Test
+	public void testLargeDenseBinaryMatrixRowVector() {
+		runLargeDenseOpTest(OpType.BINARY_MV_ROW);
+	}
+
+	@Test
+	public void testLargeDenseBinarySparseDense() {
+		runLargeDenseOpTest(OpType.BINARY_SPARSE_DENSE);
+	}
+
+	@Test
+	public void testLargeDenseScalar() {
+		runLargeDenseOpTest(OpType.SCALAR);
+	}
+
+	@Test
+	public void testLargeDenseTranspose() {
+		runLargeDenseOpTest(OpType.TRANSPOSE);
+	}
+
+	@Test
+	public void testLargeDenseRev() {
+		runLargeDenseOpTest(OpType.REV);
+	}
+
+	@Test
+	public void testLargeDenseSerialize() {
+		runLargeDenseOpTest(OpType.SERIALIZE);
+	}
+
+	private void runLargeDenseOpTest(OpType type)
+	{
+		int maxAllocOld = DenseBlockFactory.MAX_ALLOC_DRB;
+		
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+			double[][] B = getRandomMatrix(cols, cols2, -1, 1, sparsity1, 3);
+			double[][] S = getRandomMatrix(rows, cols, -1, 1, sparsity2, 5);
+			double[][] u = getRandomMatrix(rows, 1, -1, 1, 1.0, 9);
+			double[][] v = getRandomMatrix(1, cols, -1, 1, 1.0, 11);
+			
+			//compute reference result over single-array dense blocks
+			double[][] ret1 = execute(type, A, B, S, u, v, false);
+			
+			//compute result over large dense blocks w/ multiple row blocks
+			DenseBlockFactory.MAX_ALLOC_DRB = maxAlloc;
+			double[][] ret2 = execute(type, A, B, S, u, v, true);
+			
+			//compare results
+			TestUtils.compareMatrices(ret1, ret2, ret1.length, ret1[0].length, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DenseBlockFactory.MAX_ALLOC_DRB = maxAllocOld;
+		}
+	}
+	
+	private static double[][] execute(OpType type, double[][] A, double[][] B, double[][] S, 
+		double[][] u, double[][] v, boolean large) throws Exception
+	{
+		MatrixBlock mA = DataConverter.convertToMatrixBlock(A);
+		if( large ) //check for multiple row blocks
+			Assert.assertTrue(mA.getDenseBlock().numBlocks() > 1);
+		
+		MatrixBlock ret = null;
+		switch( type ) {
+			case MATMULT:
+			case MATMULT_PAR: {
+				MatrixBlock mB = DataConverter.convertToMatrixBlock(B);
+				ret = new MatrixBlock(rows, cols2, false);
+				LibMatrixMult.matrixMult(mA, mB, ret, (type==OpType.MATMULT) ? 1 : 4);
+				break;
+			}
+			case AGG_SUM:
+				ret = aggregate(mA, "uak+"); break;
+			case AGG_ROWSUMS:
+				ret = aggregate(mA, "uark+"); break;
+			case AGG_COLSUMS:
+				ret = aggregate(mA, "uack+"); break;
+			case BINARY_MM:
+				ret = (MatrixBlock) mA.binaryOperations(new BinaryOperator(
+					Minus.getMinusFnObject()), mA.scalarOperations(new RightScalarOperator(
+					Multiply.getMultiplyFnObject(), 3), new MatrixBlock()), new MatrixBlock());
+				break;
+			case BINARY_MV_COL:
+				ret = (MatrixBlock) mA.binaryOperations(new BinaryOperator(Multiply.getMultiplyFnObject()),
+					DataConverter.convertToMatrixBlock(u), new MatrixBlock());
+				break;
+			case BINARY_MV_ROW:
+				ret = (MatrixBlock) mA.binaryOperations(new BinaryOperator(Minus.getMinusFnObject()),
+					DataConverter.convertToMatrixBlock(v), new MatrixBlock());
+				break;
+			case BINARY_SPARSE_DENSE: {
+				MatrixBlock mS = DataConverter.convertToMatrixBlock(S);
+				Assert.assertTrue(mS.isInSparseFormat());
+				ret = (MatrixBlock) mS.binaryOperations(new BinaryOperator(Plus.getPlusFnObject()),
+					mA, new MatrixBlock());
+				break;
+			}
+			case SCALAR:
+				ret = (MatrixBlock) mA.scalarOperations(new RightScalarOperator(
+					Multiply.getMultiplyFnObject(), 7), new MatrixBlock());
+				break;
+			case TRANSPOSE:
+				ret = (MatrixBlock) mA.reorgOperations(new ReorgOperator(
+					SwapIndex.getSwapIndexFnObject()), new MatrixBlock(), 0, 0, 0);
+				break;
+			case REV:
+				ret = (MatrixBlock) mA.reorgOperations(new ReorgOperator(
+					RevIndex.getRevIndexFnObject()), new MatrixBlock(), 0, 0, 0);
+				break;
+			case SERIALIZE: {
+				ByteArrayOutputStream bos = new ByteArrayOutputStream();
+				DataOutputStream dos = new DataOutputStream(bos);
+				mA.write(dos);
+				dos.flush();
+				ret = new MatrixBlock();
+				ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+				break;
+			}
+		}
+		
+		//check for multiple row blocks of large dense outputs
+		if( large && !ret.isInSparseFormat() && (long)ret.getNumRows()*ret.getNumColumns() > maxAlloc )
+			Assert.assertTrue(ret.getDenseBlock().numBlocks() > 1);
+		return DataConverter.convertToDoubleMatrix(ret);
+	}
+	
+	private static MatrixBlock aggregate(MatrixBlock in, String opcode) throws DMLRuntimeException {
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		return (MatrixBlock) in.aggregateUnaryOperations(op, new MatrixBlock(), 
+			in.getNumRows(), in.getNumColumns(), new MatrixIndexes(1, 1), true);
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.frame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for dictionary-encoded string columns of frame
+ * blocks, which are expected to behave like plain string columns for 
+ * indexing, serialization, and transform encode.
+ */
+public class FrameDictionaryEncodingTest extends AutomatedTestBase
+{
+	private final static int rows = 3571;
+	private final static String[] COLNAMES = new String[]{"C1", "C2", "C3"};
+	private final static ValueType[] SCHEMA = new ValueType[]{
+		ValueType.STRING, ValueType.DOUBLE, ValueType.STRING};
+	private final static String SPEC = "{\"ids\": true, \"recode\": [1, 3]}";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testDictionaryEncodeAuto() {
+		FrameBlock in = createInputFrame();
+		Assert.assertEquals(1, in.dictionaryEncodeStringColumns());
+		Assert.assertTrue(in.isDictionaryEncoded(0));
+		Assert.assertFalse(in.isDictionaryEncoded(1));
+		Assert.assertFalse(in.isDictionaryEncoded(2));
+		Assert.assertEquals(7, in.getColumnDictionary(0).size());
+		compareFrames(createInputFrame(), in);
+	}
+	
+	@Test
+	public void testDictionaryEncodeIndexing() {
+		FrameBlock in = createInputFrame();
+		in.dictionaryEncode(0);
+		in.dictionaryEncode(2);
+		FrameBlock ref = createInputFrame();
+		
+		//right indexing
+		FrameBlock out1 = in.sliceOperations(100, 1099, 0, 2, new FrameBlock());
+		FrameBlock ref1 = ref.sliceOperations(100, 1099, 0, 2, new FrameBlock());
+		Assert.assertTrue(out1.isDictionaryEncoded(0));
+		compareFrames(ref1, out1);
+		
+		//left indexing
+		FrameBlock out2 = in.leftIndexingOperations(out1, 0, 999, 0, 2, new FrameBlock());
+		FrameBlock ref2 = ref.leftIndexingOperations(ref1, 0, 999, 0, 2, new FrameBlock());
+		compareFrames(ref2, out2);
+	}
+	
+	@Test
+	public void testDictionaryEncodeSerialization() {
+		runDictionaryEncodeSerialization(true);
+	}
+	
+	@Test
+	public void testDictionaryEncodeSerializationPlainFormat() {
+		runDictionaryEncodeSerialization(false);
+	}
+	
+	private void runDictionaryEncodeSerialization(boolean dictFormat) {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		try {
+			DMLConfig lconf = new DMLConfig();
+			lconf.setTextValue(DMLConfig.FRAME_DICT_ENCODE, String.valueOf(dictFormat));
+			ConfigurationManager.setLocalConfig(lconf);
+			
+			FrameBlock in = createInputFrame();
+			in.dictionaryEncode(0);
+			in.dictionaryEncode(2);
+			
+			//check exact serialized size and smaller size than plain frame
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			in.write(new DataOutputStream(bos));
+			Assert.assertEquals(bos.size(), in.getExactSerializedSize());
+			if( dictFormat )
+				Assert.assertTrue(in.getExactSerializedSize() 
+					< createInputFrame().getExactSerializedSize());
+			else
+				Assert.assertEquals(createInputFrame().getExactSerializedSize(),
+					in.getExactSerializedSize());
+			
+			//deserialize and compare
+			FrameBlock out = new FrameBlock();
+			out.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+			Assert.assertEquals(dictFormat, out.isDictionaryEncoded(0));
+			Assert.assertEquals(dictFormat, out.isDictionaryEncoded(2));
+			compareFrames(createInputFrame(), out);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ConfigurationManager.setLocalConfig(conf);
+		}
+	}
+	
+	@Test
+	public void testDictionaryEncodeTransformEncode() {
+		try {
+			FrameBlock ref = createInputFrame();
+			FrameBlock in = createInputFrame();
+			in.dictionaryEncode(0);
+			in.dictionaryEncode(2);
+			
+			//transform encode over plain and encoded frame
+			Encoder encoder1 = EncoderFactory.createEncoder(SPEC, COLNAMES, SCHEMA, null);
+			MatrixBlock out1 = encoder1.encode(ref, new MatrixBlock(rows, SCHEMA.length, false));
+			FrameBlock meta1 = encoder1.getMetaData(new FrameBlock(SCHEMA.length, ValueType.STRING));
+			Encoder encoder2 = EncoderFactory.createEncoder(SPEC, COLNAMES, SCHEMA, null);
+			MatrixBlock out2 = encoder2.encode(in, new MatrixBlock(rows, SCHEMA.length, false));
+			FrameBlock meta2 = encoder2.getMetaData(new FrameBlock(SCHEMA.length, ValueType.STRING));
+			
+			//compare meta data and encoded matrices
+			TestUtils.compareFrames(DataConverter.convertToStringFrame(meta1), 
+				DataConverter.convertToStringFrame(meta2), meta1.getNumRows(), meta1.getNumColumns());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(out1), 
+				DataConverter.convertToDoubleMatrix(out2), rows, SCHEMA.length, 1e-10);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static FrameBlock createInputFrame() {
+		Random rand = new Random(7);
+		FrameBlock ret = new FrameBlock(SCHEMA, COLNAMES);
+		ret.ensureAllocatedColumns(rows);
+		for( int i=0; i<rows; i++ ) {
+			ret.set(i, 0, "a"+rand.nextInt(7));
+			ret.set(i, 1, rand.nextDouble());
+			ret.set(i, 2, (rand.nextDouble() < 0.05) ? null : "b"+rand.nextInt(1000));
+		}
+		return ret;
+	}
+	
+	private static void compareFrames(FrameBlock fb1, FrameBlock fb2) {
+		Assert.assertEquals(fb1.getNumRows(), fb2.getNumRows());
+		Assert.assertEquals(fb1.getNumColumns(), fb2.getNumColumns());
+		for( int i=0; i<fb1.getNumRows(); i++ )
+			for( int j=0; j<fb1.getNumColumns(); j++ )
+				Assert.assertEquals(fb1.get(i, j), fb2.get(i, j));
+	}
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.instructions.spark.utils.SparkKryoRegistrator;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * This is a component test for the kryo serialization of registered block types,
+ * which checks the correctness of round trips (dense, sparse, ultra-sparse, 
+ * compressed, frame, and partitioned blocks) and that the kryo serialized size 
+ * does not exceed the size of the default java serialization.
+ *
+ */
+public class KryoSerializeTest extends AutomatedTestBase 
+{
+	private final static int rows = 746;
+	private final static int cols1 = 586;
+	private final static int cols2 = 4;
+	private final static double eps = 1e-14;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testEmptyBlock() {
+		runKryoSerializeTest(rows, cols1, 0.0, false);
+	}
+	
+	@Test
+	public void testDenseBlock() {
+		runKryoSerializeTest(rows, cols1, 1.0, false);
+	}
+	
+	@Test
+	public void testSparseBlock() {
+		runKryoSerializeTest(rows, cols1, 0.1, false);
+	}
+	
+	@Test
+	public void testUltraSparseBlock() {
+		runKryoSerializeTest(rows, cols1, 0.0001, false);
+	}
+	
+	@Test
+	public void testDenseUltraSparseBlock() {
+		runKryoSerializeTest(rows, cols2, 0.1, false);
+	}
+	
+	@Test
+	public void testCompressedBlock() {
+		runKryoSerializeTest(rows, cols2, 1.0, true);
+	}
+	
+	@Test
+	public void testPartitionedBlock() {
+		runKryoPartitionedSerializeTest(rows, cols1, 0.1);
+	}
+	
+	@Test
+	public void testFrameBlock() {
+		runKryoFrameSerializeTest(rows, cols2);
+	}
+	
+	private void runKryoSerializeTest( int rows, int cols, double sparsity, boolean compress ) 
+	{
+		try
+		{
+			//generate actual dataset (round for compression)
+			double[][] X = TestUtils.round(getRandomMatrix(rows, cols, -5, 5, sparsity, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			if( compress ) {
+				mb = new CompressedMatrixBlock(mb);
+				((CompressedMatrixBlock)mb).compress();
+			}
+			MatrixIndexes ix = new MatrixIndexes(3, 7);
+			
+			//serialize and deserialize indexes and block 
+			MatrixIndexes ix2 = (MatrixIndexes) kryoRoundTrip(ix);
+			MatrixBlock mb2 = (MatrixBlock) kryoRoundTrip(mb);
+			
+			//compare indexes, block type, and values
+			Assert.assertEquals(ix, ix2);
+			Assert.assertEquals(mb.getClass(), mb2.getClass());
+			if( !compress )
+				Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			double[][] Y = DataConverter.convertToDoubleMatrix(compress ? 
+				((CompressedMatrixBlock)mb2).decompress() : mb2);
+			TestUtils.compareMatrices(X, Y, rows, cols, eps);
+			
+			//compare serialized size w/ java serialization
+			Assert.assertTrue(getKryoSize(mb) <= getJavaSize(mb));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runKryoPartitionedSerializeTest( int rows, int cols, double sparsity ) 
+	{
+		try
+		{
+			//generate and partition actual dataset
+			double[][] X = getRandomMatrix(rows, cols, -5, 5, sparsity, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<MatrixBlock>(mb, 100, 100);
+			
+			//serialize and deserialize partitioned block
+			@SuppressWarnings("unchecked")
+			PartitionedBlock<MatrixBlock> pmb2 = (PartitionedBlock<MatrixBlock>) kryoRoundTrip(pmb);
+			
+			//compare all blocks
+			Assert.assertEquals(pmb.getNumRowBlocks(), pmb2.getNumRowBlocks());
+			Assert.assertEquals(pmb.getNumColumnBlocks(), pmb2.getNumColumnBlocks());
+			for( int i=1; i<=pmb.getNumRowBlocks(); i++ )
+				for( int j=1; j<=pmb.getNumColumnBlocks(); j++ ) {
+					MatrixBlock b1 = pmb.getBlock(i, j);
+					MatrixBlock b2 = pmb2.getBlock(i, j);
+					TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(b1), 
+						DataConverter.convertToDoubleMatrix(b2), b1.getNumRows(), b1.getNumColumns(), eps);
+				}
+			
+			//compare serialized size w/ java serialization
+			Assert.assertTrue(getKryoSize(pmb) <= getJavaSize(pmb));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runKryoFrameSerializeTest( int rows, int cols ) 
+	{
+		try
+		{
+			//generate actual dataset (incl string columns)
+			double[][] X = getRandomMatrix(rows, cols, -5, 5, 0.9, 7);
+			FrameBlock fb = DataConverter.convertToFrameBlock(DataConverter.convertToMatrixBlock(X));
+			String[] col = new String[rows];
+			for( int i=0; i<rows; i++ )
+				col[i] = (i%3==0) ? null : "Str"+(i%17);
+			fb.appendColumn(col);
+			
+			//serialize and deserialize frame block
+			FrameBlock fb2 = (FrameBlock) kryoRoundTrip(fb);
+			
+			//compare schema and values
+			Assert.assertEquals(fb.getNumRows(), fb2.getNumRows());
+			Assert.assertArrayEquals(fb.getSchema(), fb2.getSchema());
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<fb.getNumColumns(); j++ )
+					Assert.assertEquals(fb.get(i, j), fb2.get(i, j));
+			
+			//compare serialized size w/ java serialization
+			Assert.assertTrue(getKryoSize(fb) <= getJavaSize(fb));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static Kryo createKryo() {
+		Kryo kryo = new Kryo();
+		new SparkKryoRegistrator().registerClasses(kryo);
+		return kryo;
+	}
+	
+	private static Object kryoRoundTrip( Object obj ) {
+		Kryo kryo = createKryo();
+		Output out = new Output(4096, -1);
+		kryo.writeClassAndObject(out, obj);
+		Input in = new Input(out.toBytes());
+		return kryo.readClassAndObject(in);
+	}
+	
+	private static long getKryoSize( Object obj ) {
+		Output out = new Output(4096, -1);
+		createKryo().writeClassAndObject(out, obj);
+		return out.total();
+	}
+	
+	private static long getJavaSize( Object obj ) 
+		throws Exception
+	{
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(obj);
+		oos.close();
+		return bos.size();
+	}
+}
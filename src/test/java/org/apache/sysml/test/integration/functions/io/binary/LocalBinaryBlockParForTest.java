@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.FileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FileFormatProperties.FileFormat;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a script-level test for parfor local data partitioning over
+ * inputs in the local binary block format, which are converted into
+ * sequence files before partitioning.
+ */
+public class LocalBinaryBlockParForTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "LocalBinaryBlockParForRows";
+	private final static String TEST_NAME2 = "LocalBinaryBlockParForCols";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LocalBinaryBlockParForTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1271;
+	private final static int cols = 137;
+	private final static int blocksize = 1000;
+	private final static double eps = 1e-10;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testRowPartitioningDense() { 
+		runLocalBinaryBlockParForTest( TEST_NAME1, 0.9 ); 
+	}
+	
+	@Test
+	public void testRowPartitioningSparse() { 
+		runLocalBinaryBlockParForTest( TEST_NAME1, 0.1 ); 
+	}
+	
+	@Test
+	public void testColPartitioningDense() { 
+		runLocalBinaryBlockParForTest( TEST_NAME2, 0.9 ); 
+	}
+	
+	@Test
+	public void testColPartitioningSparse() { 
+		runLocalBinaryBlockParForTest( TEST_NAME2, 0.1 ); 
+	}
+	
+	private void runLocalBinaryBlockParForTest( String testname, double sparsity ) 
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+			
+			//generate input dataset in local binary block format
+			double[][] V = getRandomMatrix(rows, cols, -1.0, 1.0, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(V);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blocksize, blocksize, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, input("V"), OutputInfo.BinaryBlockOutputInfo, 
+				mc, -1, new FileFormatProperties(FileFormat.LOCAL));
+			MapReduceTool.writeMetaDataFile(input("V.mtd"), ValueType.DOUBLE, mc, OutputInfo.BinaryBlockOutputInfo);
+			Assert.assertTrue(ReaderBinaryBlockLocal.isLocalBinaryBlock(new File(input("V"))));
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-args", input("V"), output("R") };
+			runTest(true, false, null, -1);
+			
+			//compare row or column sums
+			boolean rowwise = testname.equals(TEST_NAME1);
+			int n = rowwise ? rows : cols;
+			MatrixBlock mb2 = DataConverter.readMatrixFromHDFS(output("R"), 
+				InputInfo.TextCellInputInfo, 1, n, blocksize, blocksize);
+			for( int i=0; i<n; i++ ) {
+				double sum = 0;
+				for( int j=0; j<(rowwise ? cols : rows); j++ )
+					sum += rowwise ? V[i][j] : V[j][i];
+				Assert.assertEquals(sum, mb2.quickGetValue(0, i), eps);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.FileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FileFormatProperties.FileFormat;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the write of matrices in the local binary
+ * block format and their memory-mapped read through the binary block reader.
+ */
+public class LocalBinaryBlockReadTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "LocalBinaryBlockReadTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LocalBinaryBlockReadTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1271;
+	private final static int cols = 1037;
+	private final static int blocksize = 1000;
+	private final static double eps = 1e-14;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );  
+	}
+	
+	@Test
+	public void testEmptyBlock() { 
+		runLocalBinaryBlockReadTest( 0.0 ); 
+	}
+	
+	@Test
+	public void testDenseBlock() { 
+		runLocalBinaryBlockReadTest( 0.9 ); 
+	}
+	
+	@Test
+	public void testSparseBlock() { 
+		runLocalBinaryBlockReadTest( 0.1 ); 
+	}
+	
+	@Test
+	public void testUltraSparseBlock() { 
+		runLocalBinaryBlockReadTest( 0.0001 ); 
+	}
+
+	private void runLocalBinaryBlockReadTest( double sparsity ) 
+	{
+		try
+		{	
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			
+			//generate and write dataset in local binary block format
+			double[][] X = getRandomMatrix(rows, cols, -1.0, 1.0, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blocksize, blocksize);
+			String fname = output("X");
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.BinaryBlockOutputInfo, 
+				mc, -1, new FileFormatProperties(FileFormat.LOCAL));
+			Assert.assertTrue(ReaderBinaryBlockLocal.isLocalBinaryBlock(new File(fname)));
+			
+			//read through binary block reader and compare
+			MatrixBlock mb2 = DataConverter.readMatrixFromHDFS(fname, 
+				InputInfo.BinaryBlockInputInfo, rows, cols, blocksize, blocksize);
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(mb2), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
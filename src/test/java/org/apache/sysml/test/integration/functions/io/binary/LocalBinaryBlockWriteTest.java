@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockLocal;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a script-level test for binary writes with cp.binary.localformat
+ * enabled, and the subsequent read of the written local binary block file
+ * by singlenode and spark consumers.
+ */
+public class LocalBinaryBlockWriteTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "LocalBinaryBlockWriteTest";
+	private final static String TEST_NAME2 = "LocalBinaryBlockWriteTest2";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LocalBinaryBlockWriteTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, "SystemML-config-localformat.xml");
+	
+	private final static int rows = 1271;
+	private final static int cols = 1037;
+	private final static int blocksize = 1000;
+	private final static double eps = 1e-10;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "X" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "Y" }) );
+	}
+	
+	@Test
+	public void testDenseWriteReadCP() { 
+		runLocalBinaryBlockWriteTest( 0.9, RUNTIME_PLATFORM.SINGLE_NODE ); 
+	}
+	
+	@Test
+	public void testSparseWriteReadCP() { 
+		runLocalBinaryBlockWriteTest( 0.1, RUNTIME_PLATFORM.SINGLE_NODE ); 
+	}
+	
+	@Test
+	public void testDenseWriteReadSpark() { 
+		runLocalBinaryBlockWriteTest( 0.9, RUNTIME_PLATFORM.SPARK ); 
+	}
+	
+	@Test
+	public void testSparseWriteReadSpark() { 
+		runLocalBinaryBlockWriteTest( 0.1, RUNTIME_PLATFORM.SPARK ); 
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		return TEST_CONF_FILE;
+	}
+	
+	private void runLocalBinaryBlockWriteTest( double sparsity, RUNTIME_PLATFORM rt ) 
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		
+		try
+		{
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			
+			//generate input dataset in regular binary block format
+			loadTestConfiguration(getTestConfiguration(TEST_NAME1));
+			double[][] X = getRandomMatrix(rows, cols, -1.0, 1.0, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blocksize, blocksize);
+			DataConverter.writeMatrixToHDFS(mb, input("X"), OutputInfo.BinaryBlockOutputInfo, mc);
+			MapReduceTool.writeMetaDataFile(input("X.mtd"), ValueType.DOUBLE, mc, OutputInfo.BinaryBlockOutputInfo);
+			
+			//write binary output through the singlenode control program (mult 7)
+			rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-args", input("X"), output("X") };
+			runTest(true, false, null, -1);
+			Assert.assertTrue(ReaderBinaryBlockLocal.isLocalBinaryBlock(new File(output("X"))));
+			
+			//read local binary output by the given consumer (plus 1)
+			loadTestConfiguration(getTestConfiguration(TEST_NAME2));
+			rtplatform = rt;
+			if( rt == RUNTIME_PLATFORM.SPARK )
+				DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+			fullDMLScriptName = HOME + TEST_NAME2 + ".dml";
+			programArgs = new String[]{"-args", output("X"), output("Y") };
+			runTest(true, false, null, -1);
+			
+			//compare matrices
+			MatrixBlock mb2 = DataConverter.readMatrixFromHDFS(output("Y"), 
+				InputInfo.TextCellInputInfo, rows, cols, blocksize, blocksize);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					Assert.assertEquals(X[i][j] * 7 + 1, mb2.quickGetValue(i, j), eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+}
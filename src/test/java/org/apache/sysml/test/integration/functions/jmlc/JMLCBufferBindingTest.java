@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+
+/**
+ * Binding of caller-owned row-major input arrays and outputs into 
+ * caller-provided buffers, compared against the copying binding.
+ */
+public class JMLCBufferBindingTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "concurrent-score";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + JMLCBufferBindingTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 73;
+	private final static int cols = 46;
+	private final static int classes = 7;
+	private final static int nRuns = 5;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "S" }) ); 
+	}
+	
+	@Test
+	public void testJMLCBufferBindingDense() throws IOException {
+		runJMLCBufferBindingTest(sparsity1);
+	}
+	
+	@Test
+	public void testJMLCBufferBindingSparse() throws IOException {
+		runJMLCBufferBindingTest(sparsity2);
+	}
+	
+	@Test
+	public void testJMLCBufferBindingEmpty() throws IOException {
+		runJMLCBufferBindingTest(0);
+	}
+
+	private void runJMLCBufferBindingTest( double sparsity ) 
+		throws IOException
+	{
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		
+		//establish connection to SystemML
+		Connection conn = new Connection();
+		
+		try
+		{
+			//read and precompile script
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml");
+			PreparedScript pstmt = conn.prepareScript(script, new String[]{"X","W"}, new String[]{"S"}, false);
+			
+			//bind model as row-major array
+			double[][] W = getRandomMatrix(cols, classes, -1, 1, 0.9, 3);
+			pstmt.setMatrix("W", toRowMajor(W), cols, classes, true);
+			
+			//execute repeatedly with reused input/output buffers
+			double[] Xbuff = new double[rows*cols];
+			double[] Sbuff = new double[rows*classes];
+			for( int r=0; r<nRuns; r++ ) {
+				double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7+r);
+				
+				//reference via copying binding
+				pstmt.setMatrix("X", X);
+				double[][] S = pstmt.executeScript().getMatrix("S");
+				
+				//buffer-based binding
+				for( int i=0; i<rows; i++ )
+					System.arraycopy(X[i], 0, Xbuff, i*cols, cols);
+				pstmt.setMatrix("X", Xbuff, rows, cols, false);
+				ResultVariables rs = pstmt.executeScript();
+				Assert.assertTrue(Sbuff == rs.getMatrix("S", Sbuff));
+				
+				Assert.assertArrayEquals(toRowMajor(S), Sbuff, eps);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	private static double[] toRowMajor(double[][] A) {
+		int n = A[0].length;
+		double[] ret = new double[A.length*n];
+		for( int i=0; i<A.length; i++ )
+			System.arraycopy(A[i], 0, ret, i*n, n);
+		return ret;
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Concurrent execution of a single prepared script from multiple threads,
+ * where each thread scores its own inputs against a shared model.
+ */
+public class JMLCConcurrentScoringTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "concurrent-score";
+	private final static String TEST_NAME2 = "concurrent-score-parfor";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + JMLCConcurrentScoringTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 127;
+	private final static int cols = 46;
+	private final static int classes = 7;
+	
+	private final static int numThreads = 8;
+	private final static int nRuns = 16;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "S" }) ); 
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "S" }) );
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreDense() throws IOException {
+		runJMLCConcurrentTest(TEST_NAME1, false);
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreSparse() throws IOException {
+		runJMLCConcurrentTest(TEST_NAME1, true);
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreParForDense() throws IOException {
+		runJMLCConcurrentTest(TEST_NAME2, false);
+	}
+	
+	@Test
+	public void testJMLCConcurrentScoreParForSparse() throws IOException {
+		runJMLCConcurrentTest(TEST_NAME2, true);
+	}
+
+	private void runJMLCConcurrentTest( String testname, boolean sparse ) 
+		throws IOException
+	{
+		TestConfiguration config = getTestConfiguration(testname);
+		loadTestConfiguration(config);
+		
+		//generate inputs and model
+		final double[][] W = getRandomMatrix(cols, classes, -1, 1, 0.9, 3);
+		final ArrayList<double[][]> Xset = new ArrayList<double[][]>();
+		for( int i=0; i<nRuns; i++ )
+			Xset.add(getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7+i));
+		
+		//establish connection to SystemML
+		Connection conn = new Connection();
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		
+		try
+		{
+			//read and precompile script once, bind shared model
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + testname + ".dml");
+			final PreparedScript pstmt = conn.prepareScript(script, new String[]{"X","W"}, new String[]{"S"}, false);
+			pstmt.setMatrix("W", W, true);
+			
+			//concurrent scoring w/ per-request copies of the prepared script
+			ArrayList<Callable<double[][]>> tasks = new ArrayList<Callable<double[][]>>();
+			for( int i=0; i<nRuns; i++ ) {
+				final double[][] X = Xset.get(i);
+				tasks.add(new Callable<double[][]>() {
+					@Override
+					public double[][] call() throws Exception {
+						PreparedScript lpstmt = pstmt.clone();
+						lpstmt.setMatrix("X", X);
+						ResultVariables rs = lpstmt.executeScript();
+						return rs.getMatrix("S");
+					}
+				});
+			}
+			
+			//compare results against expected scores
+			double factor = testname.equals(TEST_NAME1) ? (1 + 1d/2 + 1d/3) : 1;
+			ArrayList<Future<double[][]>> rets = new ArrayList<Future<double[][]>>(pool.invokeAll(tasks));
+			for( int i=0; i<nRuns; i++ ) {
+				double[][] S = computeScores(Xset.get(i), W, factor);
+				TestUtils.compareMatrices(S, rets.get(i).get(), rows, classes, eps);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally {
+			pool.shutdown();
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	private static double[][] computeScores(double[][] X, double[][] W, double factor) {
+		double[][] S = new double[rows][classes];
+		for( int i=0; i<rows; i++ ) {
+			double rsum = 0;
+			for( int k=0; k<cols; k++ )
+				rsum += X[i][k];
+			for( int j=0; j<classes; j++ ) {
+				double val = 0;
+				for( int k=0; k<cols; k++ )
+					val += X[i][k] * W[k][j];
+				S[i][j] = val + factor * rsum;
+			}
+		}
+		return S;
+	}
+}
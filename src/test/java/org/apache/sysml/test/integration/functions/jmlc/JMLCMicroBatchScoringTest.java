@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.MicroBatchScorer;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Micro-batched scoring of concurrent single-row requests, where the
+ * rows are stacked, scored by one script execution, and split back.
+ */
+public class JMLCMicroBatchScoringTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "concurrent-score";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + JMLCMicroBatchScoringTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 256;
+	private final static int cols = 46;
+	private final static int classes = 7;
+	private final static int numThreads = 16;
+	private final static long maxLatency = 20; //in ms
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "S" }) ); 
+	}
+	
+	@Test
+	public void testJMLCMicroBatchDense() throws IOException {
+		runJMLCMicroBatchTest(false, 32);
+	}
+	
+	@Test
+	public void testJMLCMicroBatchSparse() throws IOException {
+		runJMLCMicroBatchTest(true, 32);
+	}
+	
+	@Test
+	public void testJMLCMicroBatchDenseSingleRow() throws IOException {
+		runJMLCMicroBatchTest(false, 1);
+	}
+	
+	@Test
+	public void testJMLCMicroBatchDenseParallelWorkers() throws IOException {
+		runJMLCMicroBatchTest(false, 32, 4);
+	}
+	
+	@Test
+	public void testJMLCMicroBatchInvalidRows() throws IOException {
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		
+		final double[][] W = getRandomMatrix(cols, classes, -1, 1, 0.9, 3);
+		final double[][] X = getRandomMatrix(2, cols, -1, 1, sparsity1, 7);
+		Connection conn = new Connection();
+		MicroBatchScorer scorer = null;
+		
+		try
+		{
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml");
+			PreparedScript pstmt = conn.prepareScript(script, new String[]{"X","W"}, new String[]{"S"}, false);
+			pstmt.setMatrix("W", W, true);
+			scorer = new MicroBatchScorer(pstmt, "X", "S", 32, maxLatency);
+			double[] S1 = scorer.score(X[0]);
+			
+			//invalid rows are rejected without being enqueued
+			for( double[] row : new double[][]{null, new double[0], new double[cols+1]} ) {
+				try {
+					scorer.score(row);
+					Assert.fail("Expected rejection of invalid row.");
+				}
+				catch(DMLException ex) {
+					//expected
+				}
+			}
+			
+			//valid requests are unaffected
+			double[] S2 = scorer.score(X[1]);
+			TestUtils.compareMatrices(computeScores(X, W), new double[][]{S1, S2}, 2, classes, eps);
+			Assert.assertEquals(2, scorer.getNumScoredRows());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(scorer);
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+
+	private void runJMLCMicroBatchTest( boolean sparse, int batchSize ) 
+		throws IOException
+	{
+		runJMLCMicroBatchTest(sparse, batchSize, 1);
+	}
+	
+	private void runJMLCMicroBatchTest( boolean sparse, int batchSize, int numWorkers ) 
+		throws IOException
+	{
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		
+		//generate inputs and model
+		final double[][] W = getRandomMatrix(cols, classes, -1, 1, 0.9, 3);
+		final double[][] X = getRandomMatrix(rows, cols, -1, 1, sparse?sparsity2:sparsity1, 7);
+		
+		//establish connection to SystemML
+		Connection conn = new Connection();
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		MicroBatchScorer scorer = null;
+		
+		try
+		{
+			//read and precompile script, bind shared model
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml");
+			PreparedScript pstmt = conn.prepareScript(script, new String[]{"X","W"}, new String[]{"S"}, false);
+			pstmt.setMatrix("W", W, true);
+			scorer = new MicroBatchScorer(pstmt, "X", "S", batchSize, maxLatency, numWorkers);
+			
+			//concurrent single-row scoring requests
+			final MicroBatchScorer fscorer = scorer;
+			ArrayList<Callable<double[]>> tasks = new ArrayList<Callable<double[]>>();
+			for( int i=0; i<rows; i++ ) {
+				final double[] row = X[i];
+				tasks.add(new Callable<double[]>() {
+					@Override
+					public double[] call() throws Exception {
+						return fscorer.score(row);
+					}
+				});
+			}
+			
+			//compare results against expected scores
+			double[][] S = new double[rows][];
+			ArrayList<Future<double[]>> rets = new ArrayList<Future<double[]>>(pool.invokeAll(tasks));
+			for( int i=0; i<rows; i++ )
+				S[i] = rets.get(i).get();
+			TestUtils.compareMatrices(computeScores(X, W), S, rows, classes, eps);
+			
+			//check that concurrent requests were stacked into batches
+			Assert.assertEquals(rows, scorer.getNumScoredRows());
+			if( batchSize > 1 ) {
+				Assert.assertTrue("Unexpected number of batches: "+scorer.getNumBatches(),
+					scorer.getNumBatches() < rows);
+				Assert.assertTrue(scorer.getNumBatches() >= (rows+batchSize-1)/batchSize);
+			}
+			else
+				Assert.assertEquals(rows, scorer.getNumBatches());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally {
+			pool.shutdown();
+			IOUtilFunctions.closeSilently(scorer);
+			IOUtilFunctions.closeSilently(conn);
+		}
+	}
+	
+	private static double[][] computeScores(double[][] X, double[][] W) {
+		double[][] S = new double[X.length][classes];
+		for( int i=0; i<X.length; i++ ) {
+			double rsum = 0;
+			for( int k=0; k<cols; k++ )
+				rsum += X[i][k];
+			for( int j=0; j<classes; j++ ) {
+				double val = 0;
+				for( int k=0; k<cols; k++ )
+					val += X[i][k] * W[k][j];
+				S[i][j] = val + (1 + 1d/2 + 1d/3) * rsum;
+			}
+		}
+		return S;
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * This test checks the correct results of the concurrent execution of
+ * independent CP instructions of a basic block, compared to the default
+ * sequential execution. The second script checks the dependencies of 
+ * parameterized builtins, whose inputs are given as name-value pairs, and
+ * the third script the dependencies on all outputs of multi-return builtins.
+ */
+public class ParallelInstructionsTest extends AutomatedTestBase 
+{
+	private static final String TEST_NAME1 = "ParallelInstructions";
+	private static final String TEST_NAME2 = "ParallelInstructions2";
+	private static final String TEST_NAME3 = "ParallelInstructions3";
+	private static final String TEST_DIR = "functions/misc/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + ParallelInstructionsTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, "SystemML-config-parinst.xml");
+	
+	private static final int rows = 1361;
+	private static final int cols = 27;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double eps = 1e-8;
+	
+	private boolean _parallel = false;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration( TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+		addTestConfiguration( TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R1", "R2" }) );
+		addTestConfiguration( TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] { "R1", "R2" }) );
+	}
+
+	@Test
+	public void testSequentialInstructionsDense() {
+		runParallelInstructionsTest(sparsity1, false);
+	}
+	
+	@Test
+	public void testSequentialInstructionsSparse() {
+		runParallelInstructionsTest(sparsity2, false);
+	}
+	
+	@Test
+	public void testParallelInstructionsDense() {
+		runParallelInstructionsTest(sparsity1, true);
+	}
+	
+	@Test
+	public void testParallelInstructionsSparse() {
+		runParallelInstructionsTest(sparsity2, true);
+	}
+	
+	@Test
+	public void testParallelParameterizedBuiltinsDense() {
+		runParallelParameterizedBuiltinsTest(TEST_NAME2, sparsity1);
+	}
+	
+	@Test
+	public void testParallelParameterizedBuiltinsSparse() {
+		runParallelParameterizedBuiltinsTest(TEST_NAME2, sparsity2);
+	}
+	
+	@Test
+	public void testParallelMultiReturnParameterizedBuiltinsDense() {
+		runParallelParameterizedBuiltinsTest(TEST_NAME3, sparsity1);
+	}
+	
+	@Test
+	public void testParallelMultiReturnParameterizedBuiltinsSparse() {
+		runParallelParameterizedBuiltinsTest(TEST_NAME3, sparsity2);
+	}
+	
+	private void runParallelInstructionsTest( double sparsity, boolean parallel )
+	{
+		try {
+			_parallel = parallel;
+			TestConfiguration config = getTestConfiguration(TEST_NAME1);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{ "-stats", "-args", 
+				input("X"), input("y"), output("R") };
+			
+			//generate and write input data
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			double[][] y = getRandomMatrix(rows, 1, -1, 1, 1.0, 3);
+			writeInputMatrixWithMTD("X", X, true);
+			writeInputMatrixWithMTD("y", y, true);
+			
+			runTest(true, false, null, -1); 
+			Assert.assertEquals(parallel, Statistics.getParallelInstructionBlocks() > 0);
+			
+			//compute expected results
+			double sumD = 0;
+			for( int i=0; i<rows; i++ )
+				sumD += X[i][0] * 2 + 1;
+			double[][] R = new double[2*cols][1];
+			for( int j=0; j<cols; j++ ) {
+				double rmax = -Double.MAX_VALUE;
+				for( int k=0; k<cols; k++ )
+					rmax = Math.max(rmax, X[j][k]);
+				for( int i=0; i<rows; i++ )
+					R[j][0] += X[i][j] + X[i][j] * y[i][0];
+				R[cols+j][0] = rmax + sumD;
+			}
+			
+			//compare matrices 
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			double[][] R2 = TestUtils.convertHashMapToDoubleArray(dmlfile, 2*cols, 1);
+			TestUtils.compareMatrices(R, R2, 2*cols, 1, eps);
+		}
+		finally {
+			_parallel = false;
+		}
+	}
+	
+	private void runParallelParameterizedBuiltinsTest( String testname, double sparsity )
+	{
+		try {
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			
+			//generate and write input data
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			
+			//sequential execution (reference) 
+			_parallel = false;
+			programArgs = new String[]{ "-stats", "-args", input("X"), output("R1") };
+			runTest(true, false, null, -1); 
+			Assert.assertEquals(0, Statistics.getParallelInstructionBlocks());
+			
+			//parallel execution, where rmempty, replace, transformapply, and nrow
+			//consume the outputs of preceding instructions of the same block
+			_parallel = true;
+			programArgs = new String[]{ "-stats", "-args", input("X"), output("R2") };
+			runTest(true, false, null, -1); 
+			Assert.assertTrue(Statistics.getParallelInstructionBlocks() > 0);
+			
+			//compare matrices 
+			HashMap<CellIndex, Double> dmlfile1 = readDMLMatrixFromHDFS("R1");
+			HashMap<CellIndex, Double> dmlfile2 = readDMLMatrixFromHDFS("R2");
+			TestUtils.compareMatrices(dmlfile1, dmlfile2, eps, "Seq", "Par");
+		}
+		finally {
+			_parallel = false;
+		}
+	}
+	
+	@Override
+	protected File getConfigTemplateFile() {
+		return _parallel ? TEST_CONF_FILE : super.getConfigTemplateFile();
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.utils.LatencyHistogram;
+import org.apache.sysml.utils.MetricsExporter;
+import org.apache.sysml.utils.Statistics;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the per-instruction latency histograms,
+ * their thread-local collection, and the export of metrics.
+ */
+public class StatisticsHistogramsTest extends AutomatedTestBase 
+{
+	private static final int numThreads = 4;
+	private static final int numValues = 10000;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testLatencyHistogramPercentiles() {
+		LatencyHistogram h = new LatencyHistogram();
+		for( int i=1; i<=numValues; i++ )
+			h.record(i * 1000L);
+		Assert.assertEquals(numValues, h.getCount());
+		Assert.assertEquals(numValues * 1000L, h.getMax());
+		checkPercentile(h, 0.5, numValues/2 * 1000L);
+		checkPercentile(h, 0.9, numValues*9/10 * 1000L);
+		checkPercentile(h, 0.99, numValues*99/100 * 1000L);
+	}
+	
+	@Test
+	public void testLatencyHistogramsMultiThreaded() {
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try {
+			Statistics.resetCPHeavyHitters();
+			Statistics.setLatencyHistograms(true);
+			
+			//concurrent collection of latencies
+			ArrayList<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+			for( int k=0; k<numThreads; k++ )
+				tasks.add(new Callable<Void>() {
+					@Override
+					public Void call() {
+						for( int i=1; i<=numValues; i++ )
+							Statistics.maintainCPHeavyHitters("op"+(i%2), i * 1000L);
+						return null;
+					}
+				});
+			for( Future<Void> task : pool.invokeAll(tasks) )
+				task.get();
+			
+			//check merged histograms and heavy hitters
+			HashMap<String, LatencyHistogram> hists = Statistics.getLatencyHistograms();
+			Assert.assertEquals(2, hists.size());
+			Assert.assertEquals(numThreads*numValues/2, hists.get("op0").getCount());
+			Assert.assertEquals(numThreads*numValues/2, Statistics.getCPHeavyHitterCount("op1"));
+			Assert.assertEquals(hists.get("op1").getSum(), Statistics.getCPHeavyHitterTime("op1"));
+			checkPercentile(hists.get("op1"), 0.5, numValues/2 * 1000L);
+			
+			//check reset of thread-local histograms
+			Statistics.resetCPHeavyHitters();
+			Assert.assertTrue(Statistics.getLatencyHistograms().isEmpty());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+			Statistics.setLatencyHistograms(false);
+			Statistics.resetCPHeavyHitters();
+		}
+	}
+	
+	@Test
+	public void testMetricsFileExport() {
+		File file = null;
+		try {
+			file = File.createTempFile("metrics", ".prom");
+			Statistics.resetCPHeavyHitters();
+			Statistics.setLatencyHistograms(true);
+			Statistics.maintainCPHeavyHitters("ba+*", 1000000L);
+			
+			//start and stop exporter (with final export)
+			MetricsExporter.start(3600, new MetricsExporter.FileExporter(file.getPath()));
+			MetricsExporter.stop();
+			
+			String metrics = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+			Assert.assertTrue(metrics.contains("sysml_instruction_count_total{opcode=\"ba+*\"} 1.0"));
+			Assert.assertTrue(metrics.contains("sysml_instruction_latency_seconds_count{opcode=\"ba+*\"} 1"));
+			Assert.assertTrue(metrics.contains("sysml_cache_hits_total{level=\"mem\"}"));
+			Assert.assertTrue(metrics.contains("sysml_recompile_dags_total{type=\"sb\"}"));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			Statistics.setLatencyHistograms(false);
+			Statistics.resetCPHeavyHitters();
+			if( file != null )
+				file.delete();
+		}
+	}
+	
+	private static void checkPercentile(LatencyHistogram h, double q, long expected) {
+		long val = h.getPercentile(q);
+		Assert.assertTrue("Wrong percentile "+q+": "+val+" (expected "+expected+")", 
+			Math.abs(val - expected) <= expected / LatencyHistogram.SUB_BUCKETS);
+	}
+}
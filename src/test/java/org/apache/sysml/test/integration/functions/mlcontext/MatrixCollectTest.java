@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.mlcontext;
+
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.sql.SparkSession;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * This is a component test for the (parallel) collect of binary block RDDs
+ * into a single matrix block, covering dense and sparse outputs as well as
+ * single and multiple row and column blocks.
+ *
+ */
+public class MatrixCollectTest extends AutomatedTestBase 
+{
+	private final static int rows1 = 2245;
+	private final static int rows2 = 7;
+	private final static int cols1 = 745;
+	private final static int cols2 = 1264;
+	private final static int cols3 = 10038;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.1;
+	private final static double eps = 1e-10;
+
+	private static SparkSession spark;
+	private static JavaSparkContext sc;
+
+	@BeforeClass
+	public static void setUpClass() {
+		spark = createSystemMLSparkSession("MatrixCollectTest", "local");
+		sc = new JavaSparkContext(spark.sparkContext());
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testCollectSingleColBlockDense() {
+		runMatrixCollectTest(rows1, cols1, sparsity1, false);
+	}
+	
+	@Test
+	public void testCollectSingleColBlockSparse() {
+		runMatrixCollectTest(rows1, cols1, sparsity2, false);
+	}
+	
+	@Test
+	public void testCollectMultiColBlockDense() {
+		runMatrixCollectTest(rows1, cols2, sparsity1, false);
+	}
+	
+	@Test
+	public void testCollectMultiColBlockSparse() {
+		runMatrixCollectTest(rows1, cols2, sparsity2, false);
+	}
+	
+	@Test
+	public void testCollectMultiColBlockSparseUnknownNnz() {
+		runMatrixCollectTest(rows1, cols2, sparsity2, true);
+	}
+	
+	@Test
+	public void testCollectWideDense() {
+		runMatrixCollectTest(rows2, cols3, sparsity1, false);
+	}
+	
+	@Test
+	public void testCollectWideSparse() {
+		runMatrixCollectTest(rows2, cols3, sparsity2, false);
+	}
+
+	private void runMatrixCollectTest(int rows, int cols, double sparsity, boolean unknownNnz) {
+		boolean oldConfig = DMLScript.USE_LOCAL_SPARK_CONFIG; 
+		RUNTIME_PLATFORM oldPlatform = DMLScript.rtplatform;
+
+		try
+		{
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+			DMLScript.rtplatform = RUNTIME_PLATFORM.HYBRID_SPARK;
+			
+			//generate input data and binary block rdd
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 2373); 
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A); 
+			int blksz = ConfigurationManager.getBlocksize();
+			JavaPairRDD<MatrixIndexes,MatrixBlock> in = SparkExecutionContext.toMatrixJavaPairRDD(sc, mbA, blksz, blksz);
+			
+			//collect output matrix block
+			MatrixBlock mbB = SparkExecutionContext.toMatrixBlock(in, rows, cols, 
+				blksz, blksz, unknownNnz ? -1 : mbA.getNonZeros());
+			
+			//compare matrix blocks (incl nnz and sorted sparse rows)
+			Assert.assertEquals(mbA.getNonZeros(), mbB.getNonZeros());
+			Assert.assertEquals(mbA.getNonZeros(), mbB.recomputeNonZeros(0, rows-1, 0, cols-1));
+			if( mbB.isInSparseFormat() ) {
+				SparseBlock sblock = mbB.getSparseBlock();
+				for( int i=0; i<rows; i++ ) {
+					if( sblock.isEmpty(i) ) continue;
+					int apos = sblock.pos(i);
+					int alen = sblock.size(i);
+					int[] aix = sblock.indexes(i);
+					for( int j=apos+1; j<apos+alen; j++ )
+						Assert.assertTrue("Unsorted sparse row "+i, aix[j-1] < aix[j]);
+				}
+			}
+			double[][] B = DataConverter.convertToDoubleMatrix(mbB);
+			TestUtils.compareMatrices(A, B, rows, cols, eps);
+		}
+		catch( Exception ex ) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DMLScript.USE_LOCAL_SPARK_CONFIG = oldConfig;
+			DMLScript.rtplatform = oldPlatform;
+		}
+	}
+
+	@AfterClass
+	public static void tearDownClass() {
+		// stop underlying spark context to allow single jvm tests (otherwise the
+		// next test that tries to create a SparkContext would fail)
+		spark.stop();
+		sc = null;
+		spark = null;
+	}
+}
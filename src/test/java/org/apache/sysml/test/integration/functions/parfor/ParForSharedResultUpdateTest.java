@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysml.runtime.controlprogram.parfor.ResultMergeLocalShared;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * This test checks local parfor loops with disjoint row- and column-wise
+ * (and cell-wise) writes, whose results are directly updated in-place by
+ * all workers into a shared output, including partial updates of existing
+ * non-empty results and results that alias other variables.
+ *
+ */
+public class ParForSharedResultUpdateTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME1 = "parfor_shared1"; //rowwise
+	private final static String TEST_NAME2 = "parfor_shared2"; //colwise
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForSharedResultUpdateTest.class.getSimpleName() + "/";
+	
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 234;
+	private final static int cols = 57;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	
+	@Override
+	public void setUp() 
+	{
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testParForSharedRowwiseDense() 
+	{
+		runParForSharedResultUpdateTest(TEST_NAME1, false);
+	}
+	
+	@Test
+	public void testParForSharedRowwiseSparse() 
+	{
+		runParForSharedResultUpdateTest(TEST_NAME1, true);
+	}
+	
+	@Test
+	public void testParForSharedColwiseDense() 
+	{
+		runParForSharedResultUpdateTest(TEST_NAME2, false);
+	}
+	
+	@Test
+	public void testParForSharedColwiseSparse() 
+	{
+		runParForSharedResultUpdateTest(TEST_NAME2, true);
+	}
+	
+	@Test
+	public void testSharedResultMergeDivergedWorker() 
+		throws Exception
+	{
+		try {
+			CacheableData.initCaching("tmp_parfor_shared_test");
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, 0);
+			MatrixObject out = new MatrixObject(ValueType.DOUBLE, "R", new MatrixFormatMetaData(
+				mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+			out.setVarName("R");
+			out.acquireModify(new MatrixBlock(rows, cols, true));
+			out.release();
+			MatrixBlock shared = ResultMergeLocalShared.createSharedBlock(out);
+			
+			//worker 1: in-place update of the shared block
+			MatrixObject in1 = new MatrixObject(out);
+			in1.setUpdateType(UpdateType.INPLACE_SHARED);
+			in1.acquireModify(shared);
+			in1.release();
+			shared.quickSetValue(0, 0, 7);
+			
+			//worker 2: diverged copy of the shared block (e.g., after reassignment)
+			MatrixBlock mb2 = new MatrixBlock(shared);
+			mb2.quickSetValue(rows-1, cols-1, 3);
+			MatrixObject in2 = new MatrixObject(out);
+			in2.acquireModify(mb2);
+			in2.release();
+			
+			//merge and check that the diverged write is not lost
+			MatrixObject ret = new ResultMergeLocalShared(out, 
+				new MatrixObject[]{in1, in2, null}, "R_merged", shared).executeSerialMerge();
+			MatrixBlock mbRet = ret.acquireRead();
+			Assert.assertEquals(7, mbRet.quickGetValue(0, 0), eps);
+			Assert.assertEquals(3, mbRet.quickGetValue(rows-1, cols-1), eps);
+			Assert.assertEquals(2, mbRet.getNonZeros());
+			ret.release();
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+		}
+	}
+	
+	private void runParForSharedResultUpdateTest( String testname, boolean sparse )
+	{
+		TestConfiguration config = getTestConfiguration(testname);
+		config.addVariable("rows", rows);
+		config.addVariable("cols", cols);
+		loadTestConfiguration(config);
+		
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + testname + ".dml";
+		programArgs = new String[]{"-stats", "-args", input("V"), 
+			Integer.toString(rows), Integer.toString(cols), output("R") };
+		
+		fullRScriptName = HOME + testname + ".R";
+		rCmd = "Rscript" + " " + fullRScriptName + " " + inputDir() + " " + expectedDir();
+		
+		//generate input data
+		double sparsity = sparse ? sparsity2 : sparsity1;
+		double[][] V = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+		writeInputMatrix("V", V, true);
+		
+		//run tests
+		runTest(true, false, null, -1);
+		runRScript(true);
+		
+		//check that the result was updated in a shared output
+		Assert.assertEquals("Unexpected number of shared result variables.",
+			1, Statistics.getParforSharedResults());
+		
+		//compare matrices
+		HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+		HashMap<CellIndex, Double> rfile  = readRMatrixFromFS("R");
+		TestUtils.compareMatrices(dmlfile, rfile, eps, "DML", "R");
+	}
+}
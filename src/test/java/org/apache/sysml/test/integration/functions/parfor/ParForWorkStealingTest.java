@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.Task;
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.controlprogram.parfor.TaskPartitionerWorkStealing;
+import org.apache.sysml.runtime.controlprogram.parfor.WorkStealingTaskQueue;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the work-stealing task partitioner and queue
+ * of local parfor workers, which checks that, despite adaptive splitting and 
+ * stealing of range tasks under skewed iteration costs, every iteration is 
+ * executed exactly once.
+ *
+ */
+public class ParForWorkStealingTest extends AutomatedTestBase
+{
+	private final static int numThreads = 8;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testWorkStealingUniform() {
+		runWorkStealingTest(1, 1000, 1, 1, false, false);
+	}
+	
+	@Test
+	public void testWorkStealingSkewed() {
+		runWorkStealingTest(1, 1000, 1, 1, true, false);
+	}
+	
+	@Test
+	public void testWorkStealingSkewedIncrement() {
+		runWorkStealingTest(7, 3007, 3, 1, true, false);
+	}
+	
+	@Test
+	public void testWorkStealingSkewedMinTaskSize() {
+		runWorkStealingTest(1, 1000, 1, 16, true, false);
+	}
+	
+	@Test
+	public void testWorkStealingSkewedStreaming() {
+		runWorkStealingTest(1, 1000, 1, 1, true, true);
+	}
+	
+	@Test
+	public void testWorkStealingFewIterations() {
+		runWorkStealingTest(1, 5, 1, 1, true, false);
+	}
+	
+	private void runWorkStealingTest(int from, int to, int incr, int minTaskSize, final boolean skewed, boolean streaming)
+	{
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try
+		{
+			TaskPartitionerWorkStealing tp = new TaskPartitionerWorkStealing(minTaskSize, numThreads, 
+				"i", new IntObject(from), new IntObject(to), new IntObject(incr));
+			final WorkStealingTaskQueue queue = new WorkStealingTaskQueue(numThreads, minTaskSize);
+			final AtomicIntegerArray counts = new AtomicIntegerArray(to+1);
+			final int lfrom = from;
+			
+			//create workers that consume tasks from their individual queues
+			ArrayList<Callable<Long>> workers = new ArrayList<Callable<Long>>();
+			for( int i=0; i<numThreads; i++ ) {
+				final LocalTaskQueue<Task> wqueue = queue.getWorkerQueue(i);
+				workers.add(new Callable<Long>() {
+					@Override
+					public Long call() throws Exception {
+						long numTasks = 0;
+						Task t = null;
+						while( (t = wqueue.dequeueTask()) != LocalTaskQueue.NO_MORE_TASKS ) {
+							Assert.assertEquals(TaskType.RANGE, t.getType());
+							List<IntObject> it = t.getIterations();
+							for( long j=it.get(0).getLongValue(); j<=it.get(1).getLongValue(); j+=it.get(2).getLongValue() ) {
+								counts.incrementAndGet((int)j);
+								//skewed costs: only the first iterations are expensive
+								if( skewed && j < lfrom + 100 )
+									Thread.sleep(1);
+							}
+							numTasks++;
+						}
+						return numTasks;
+					}
+				});
+			}
+			
+			//create tasks before or while the workers are running
+			long numCreated = -1;
+			List<Future<Long>> rtasks = new ArrayList<Future<Long>>();
+			if( streaming ) {
+				for( Callable<Long> w : workers )
+					rtasks.add(pool.submit(w));
+				numCreated = tp.createTasks(queue);
+			}
+			else {
+				numCreated = tp.createTasks(queue);
+				rtasks.addAll(pool.invokeAll(workers));
+			}
+			
+			//check number of tasks and iterations
+			long numExecuted = 0;
+			for( Future<Long> task : rtasks )
+				numExecuted += task.get();
+			Assert.assertTrue(numCreated <= numThreads);
+			Assert.assertEquals(numCreated + queue.getNumSplits(), numExecuted);
+			for( int i=0; i<=to; i++ ) {
+				boolean iter = (i >= from && (i-from) % incr == 0);
+				Assert.assertEquals("Wrong count for iteration "+i, iter ? 1 : 0, counts.get(i));
+			}
+			if( skewed && to-from+1 >= 2*numThreads*minTaskSize )
+				Assert.assertTrue(queue.getNumSteals() > 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.recompile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.hops.AggUnaryOp;
+import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.AggOp;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.Direction;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.hops.recompile.RecompilePlanCache;
+import org.apache.sysml.hops.rewrite.HopRewriteUtils;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+public class RecompilePlanCacheTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/recompile/";
+	private final static String TEST_NAME = "recompile_plan_cache";
+	private final static String TEST_CLASS_DIR = TEST_DIR + RecompilePlanCacheTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1200;
+	private final static int cols = 37;
+	private final static int iters = 10;
+	private final static double sparsity = 0.3;
+	private final static double eps = 1e-8;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testLoopRecompilePlanCache() {
+		runRecompilePlanCacheTest(true);
+	}
+	
+	@Test
+	public void testLoopRecompileNoPlanCache() {
+		runRecompilePlanCacheTest(false);
+	}
+
+	@Test
+	public void testSignatureHopHints() {
+		//create dag colSums(X) over a transient read
+		Hop X = new DataOp("X", DataType.MATRIX, ValueType.DOUBLE, 
+			DataOpTypes.TRANSIENTREAD, "X", rows, cols, -1, 1000, 1000);
+		AggUnaryOp agg = HopRewriteUtils.createAggUnaryOp(X, AggOp.SUM, Direction.Col);
+		ArrayList<Hop> hops = new ArrayList<Hop>();
+		hops.add(agg);
+		LocalVariableMap vars = new LocalVariableMap();
+		
+		//signatures must change with the hints of external optimizers
+		String sig1 = RecompilePlanCache.createSignature(hops, vars, false);
+		agg.setForcedExecType(ExecType.CP);
+		String sig2 = RecompilePlanCache.createSignature(hops, vars, false);
+		agg.setMaxNumThreads(1);
+		String sig3 = RecompilePlanCache.createSignature(hops, vars, false);
+		Assert.assertNotNull(sig1);
+		Assert.assertFalse(sig1.equals(sig2));
+		Assert.assertFalse(sig2.equals(sig3));
+		Assert.assertEquals(sig3, RecompilePlanCache.createSignature(hops, vars, false));
+	}
+
+	private void runRecompilePlanCacheTest( boolean cache )
+	{
+		boolean oldFlagRecompile = CompilerConfig.FLAG_DYN_RECOMPILE;
+		boolean oldFlagCache = OptimizerUtils.ALLOW_RECOMPILE_PLAN_CACHE;
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args",
+				input("X"), String.valueOf(iters), output("R") };
+
+			CompilerConfig.FLAG_DYN_RECOMPILE = true;
+			OptimizerUtils.ALLOW_RECOMPILE_PLAN_CACHE = cache;
+			RecompilePlanCache.clear();
+			
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			
+			runTest(true, false, null, -1); 
+			
+			//check plan cache hits for all but the first two iterations
+			//(different number of non-zeros of the initially empty R)
+			if( cache ) {
+				Assert.assertTrue("Unexpected number of plan cache hits: "+Statistics.getHopRecompileCacheHits(),
+					Statistics.getHopRecompileCacheHits() >= iters-2);
+			}
+			else {
+				Assert.assertEquals(0, Statistics.getHopRecompileCacheHits());
+			}
+			
+			//compare result with expected column sums
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			for( int j=0; j<cols; j++ ) {
+				double sum = 0;
+				for( int i=0; i<rows; i++ )
+					sum += X[i][j];
+				Assert.assertEquals(iters*sum, dmlfile.get(new CellIndex(1,j+1)), eps);
+			}
+		}
+		finally {
+			CompilerConfig.FLAG_DYN_RECOMPILE = oldFlagRecompile;
+			OptimizerUtils.ALLOW_RECOMPILE_PLAN_CACHE = oldFlagCache;
+		}
+	}
+}
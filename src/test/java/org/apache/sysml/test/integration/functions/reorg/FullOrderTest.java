@@ -43,6 +43,7 @@ public class FullOrderTest extends AutomatedTestBase
 {
 	private final static String TEST_NAME1 = "Order";
 	private final static String TEST_NAME2 = "OrderDyn";
+	private final static String TEST_NAME3 = "OrderMultiCol";
 	
 	private final static String TEST_DIR = "functions/reorg/";
 	private static final String TEST_CLASS_DIR = TEST_DIR + FullOrderTest.class.getSimpleName() + "/";
@@ -50,8 +51,10 @@ public class FullOrderTest extends AutomatedTestBase
 	
 	private final static int rows1 = 1017;
 	private final static int rows2 = 42057;
+	private final static int rows3 = 70007; //multi-threaded sort
 	private final static int cols1 = 7;	
 	private final static int by = 3;
+	private final static double[][] byMulti = new double[][]{{3},{1},{5}};
 	private final static double sparsity1 = 0.7;
 	private final static double sparsity2 = 0.1;
 	
@@ -85,6 +88,8 @@ public class FullOrderTest extends AutomatedTestBase
 			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1,new String[]{"B"}));
 		addTestConfiguration(TEST_NAME2,
 			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2,new String[]{"B"}));
+		addTestConfiguration(TEST_NAME3,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3,new String[]{"B"}));
 	}
 
 	
@@ -889,7 +894,36 @@ public class FullOrderTest extends AutomatedTestBase
 		runOrderTest(false, InputType.DENSE, true, false, true, ExecType.SPARK, true);
 	}
 	
-
+	@Test
+	public void testOrderMultiColIndexAscDenseCP() 
+	{
+		runOrderMultiColTest(rows1, InputType.DENSE, false, true);
+	}
+	
+	@Test
+	public void testOrderMultiColDataDescSparseCP() 
+	{
+		runOrderMultiColTest(rows1, InputType.SPARSE, true, false);
+	}
+	
+	@Test
+	public void testOrderMultiColIndexDescDenseLargeCP() 
+	{
+		runOrderMultiColTest(rows3, InputType.DENSE, true, true);
+	}
+	
+	@Test
+	public void testOrderMultiColDataAscSparseLargeCP() 
+	{
+		runOrderMultiColTest(rows3, InputType.SPARSE, false, false);
+	}
+	
+	@Test
+	public void testOrderMultiColIndexAscDenseSP() 
+	{
+		runOrderMultiColTest(rows1, InputType.DENSE, false, true, ExecType.SPARK);
+	}
+	
 	/**
 	 * 
 	 * @param matrix
@@ -991,5 +1025,56 @@ public class FullOrderTest extends AutomatedTestBase
 		}
 	}
 	
+	private void runOrderMultiColTest( int rows, InputType dtype, boolean desc, boolean ixreturn )
+	{
+		runOrderMultiColTest(rows, dtype, desc, ixreturn, ExecType.CP);
+	}
+	
+	private void runOrderMultiColTest( int rows, InputType dtype, boolean desc, boolean ixreturn, ExecType instType )
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
 		
-}
\ No newline at end of file
+		try
+		{
+			//note: multiple orderby columns fall back to CP if valid, even for forced spark
+			if( instType == ExecType.SPARK ) {
+				rtplatform = RUNTIME_PLATFORM.SPARK;
+				DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+			}
+			else
+				rtplatform = RUNTIME_PLATFORM.HYBRID;
+			double sparsity = dtype==InputType.DENSE ? sparsity1 : sparsity2;
+			
+			getAndLoadTestConfiguration(TEST_NAME3);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME3 + ".dml";
+			programArgs = new String[]{"-explain","-args", input("A"), input("by"),
+				Boolean.toString(desc).toUpperCase(), Boolean.toString(ixreturn).toUpperCase(), output("B") };
+			
+			fullRScriptName = HOME + TEST_NAME3 + ".R";
+			rCmd = "Rscript" + " " + fullRScriptName + " " + inputDir() + " " + 
+				Boolean.toString(desc).toUpperCase() + " " + 
+				Boolean.toString(ixreturn).toUpperCase() + " " + expectedDir();
+			
+			//generate actual dataset with many ties in the orderby columns
+			double[][] A = TestUtils.round(getRandomMatrix(rows, cols1, 0, 3, sparsity, 7)); 
+			writeInputMatrixWithMTD("A", A, true);
+			writeInputMatrixWithMTD("by", byMulti, true);
+			
+			runTest(true, false, null, -1); 
+			runRScript(true); 
+			
+			//compare matrices 
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("B");
+			HashMap<CellIndex, Double> rfile  = readRMatrixFromFS("B");
+			TestUtils.compareMatrices(dmlfile, rfile, eps, "Stat-DML", "Stat-R");
+		}
+		finally
+		{
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the stable single- and multi-threaded sort
+ * (with index return), with one or multiple orderby columns. The inputs use
+ * a small value domain in order to produce many ties.
+ *
+ */
+public class MultipleOrderByColsTest extends AutomatedTestBase
+{
+	private final static int rows = 123457;
+	private final static int cols = 5;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testOrderSingleColAscDenseSingleThreaded() {
+		runOrderTest(new int[]{3}, false, sparsity1, 1);
+	}
+
+	@Test
+	public void testOrderSingleColDescDenseMultiThreaded() {
+		runOrderTest(new int[]{3}, true, sparsity1, 4);
+	}
+
+	@Test
+	public void testOrderMultiColAscDenseSingleThreaded() {
+		runOrderTest(new int[]{3,1,5}, false, sparsity1, 1);
+	}
+
+	@Test
+	public void testOrderMultiColDescDenseSingleThreaded() {
+		runOrderTest(new int[]{3,1,5}, true, sparsity1, 1);
+	}
+
+	@Test
+	public void testOrderMultiColAscDenseMultiThreaded() {
+		runOrderTest(new int[]{3,1,5}, false, sparsity1, 4);
+	}
+
+	@Test
+	public void testOrderMultiColDescDenseMultiThreaded() {
+		runOrderTest(new int[]{3,1,5}, true, sparsity1, 4);
+	}
+
+	@Test
+	public void testOrderMultiColAscSparseMultiThreaded() {
+		runOrderTest(new int[]{2,4}, false, sparsity2, 4);
+	}
+
+	@Test
+	public void testOrderMultiColDescSparseMultiThreaded() {
+		runOrderTest(new int[]{2,4}, true, sparsity2, 4);
+	}
+
+	private void runOrderTest(final int[] by, final boolean desc, double sparsity, int k)
+	{
+		try
+		{
+			//data generation with many ties
+			final double[][] A = TestUtils.round(getRandomMatrix(rows, cols, 0, 3, sparsity, 7));
+			MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+			in.examSparsity();
+
+			//reference: stable sort of row indexes
+			Integer[] ix = new Integer[rows];
+			for( int i=0; i<rows; i++ )
+				ix[i] = i;
+			Arrays.sort(ix, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer a, Integer b) {
+					for( int c : by ) {
+						int cmp = Double.compare(A[a][c-1], A[b][c-1]);
+						if( cmp != 0 )
+							return desc ? -cmp : cmp;
+					}
+					return 0;
+				}
+			});
+
+			//sort index vector and data
+			MatrixBlock ret1 = LibMatrixReorg.sort(in, new MatrixBlock(rows, 1, false), by, desc, true, k);
+			MatrixBlock ret2 = LibMatrixReorg.sort(in, new MatrixBlock(rows, cols, in.isInSparseFormat()), by, desc, false, k);
+
+			//compare index vector and sorted data
+			for( int i=0; i<rows; i++ ) {
+				Assert.assertEquals("Wrong index at row "+i, ix[i]+1, (int)ret1.quickGetValue(i, 0));
+				for( int j=0; j<cols; j++ )
+					Assert.assertEquals(A[ix[i]][j], ret2.quickGetValue(i, j), 0);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.StreamingTransformApply;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the streaming transform apply over csv 
+ * inputs, which is expected to produce the same encoded matrix as the
+ * transform apply over the materialized input frame.
+ */
+public class TransformCSVStreamApplyTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "TransformCSVStreamApply";
+	private final static String TEST_DIR = "functions/transform/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransformCSVStreamApplyTest.class.getSimpleName() + "/";
+	
+	//datasets and transform tasks without and with missing values
+	private final static String DATASET1 	= "homes3/homes.csv";
+	private final static String DATASET2 	= "homes/homes.csv";
+	private final static String SPEC1 		= "homes3/homes.tfspec_recode.json"; 
+	private final static String SPEC2 		= "homes3/homes.tfspec_dummy.json";
+	private final static String SPEC5 		= "homes3/homes.tfspec_omit.json";
+	
+	//small blocks to enforce multiple row and column blocks
+	private final static int brlen = 3;
+	private final static int bclen = 4;
+	
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testHomesRecodeStreamApply() {
+		runStreamApplyTest(DATASET1, SPEC1);
+	}
+	
+	@Test
+	public void testHomesDummycodeStreamApply() {
+		runStreamApplyTest(DATASET1, SPEC2);
+	}
+	
+	@Test
+	public void testHomesOmitStreamApply() {
+		runStreamApplyTest(DATASET2, SPEC5);
+	}
+	
+	private void runStreamApplyTest(String dataset, String spec)
+	{
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			String fname = HOME + "input/" + dataset;
+			String tfspec = MapReduceTool.readStringFromHDFSFile(HOME + "input/" + spec);
+			CSVFileFormatProperties props = new CSVFileFormatProperties(true, ",", true, 0, null);
+			
+			//materialized transform encode (meta data and reference result)
+			FrameBlock in = new FrameReaderTextCSV(props).readFrameFromHDFS(fname, -1, -1);
+			Encoder encoder = EncoderFactory.createEncoder(tfspec, in.getColumnNames(), in.getSchema(), null);
+			MatrixBlock out1 = encoder.encode(in, new MatrixBlock(in.getNumRows(), in.getNumColumns(), false));
+			FrameBlock meta = encoder.getMetaData(new FrameBlock(in.getNumColumns(), ValueType.STRING));
+			
+			//streaming transform apply into binary block output
+			StreamingTransformApply tfapply = new StreamingTransformApply(tfspec, meta, props, brlen, bclen);
+			MatrixCharacteristics mc = tfapply.apply(fname, null, null, output("R"));
+			MatrixBlock out2 = MatrixReaderFactory.createMatrixReader(InputInfo.BinaryBlockInputInfo)
+				.readMatrixFromHDFS(output("R"), mc.getRows(), mc.getCols(), brlen, bclen, mc.getNonZeros());
+			
+			//compare dimensions and encoded matrices
+			Assert.assertEquals(out1.getNumRows(), mc.getRows());
+			Assert.assertEquals(out1.getNumColumns(), mc.getCols());
+			Assert.assertEquals(out1.getNonZeros(), mc.getNonZeros());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(out1), 
+				DataConverter.convertToDoubleMatrix(out2), out1.getNumRows(), out1.getNumColumns(), 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
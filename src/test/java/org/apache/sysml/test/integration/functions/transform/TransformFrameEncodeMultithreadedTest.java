@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.transform.encode.Encoder;
+import org.apache.sysml.runtime.transform.encode.EncoderComposite;
+import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the multi-threaded transform encode 
+ * (build and apply) and transform apply, which are expected to produce 
+ * the same meta data and encoded matrices as the single-threaded encode.
+ */
+public class TransformFrameEncodeMultithreadedTest extends AutomatedTestBase 
+{
+	private final static int rows = 300001;
+	private final static int threads = 4;
+	
+	private final static String[] COLNAMES = new String[]{"C1", "C2", "C3", "C4"};
+	private final static ValueType[] SCHEMA = new ValueType[]{
+		ValueType.STRING, ValueType.STRING, ValueType.DOUBLE, ValueType.STRING};
+	
+	private final static String SPEC1 = "{\"ids\": true, \"recode\": [1, 2, 4]}";
+	private final static String SPEC2 = "{\"ids\": true, \"recode\": [2, 4], \"dummycode\": [1]}";
+	private final static String SPEC3 = "{\"ids\": true, \"recode\": [1, 2], \"impute\": ["
+		+ "{\"id\": 2, \"method\": \"global_mode\"}, {\"id\": 3, \"method\": \"global_mean\"}]}";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testRecodeMultithreaded() {
+		runTransformEncodeTest(SPEC1);
+	}
+	
+	@Test
+	public void testRecodeDummycodeMultithreaded() {
+		runTransformEncodeTest(SPEC2);
+	}
+	
+	@Test
+	public void testRecodeImputeMultithreaded() {
+		runTransformEncodeTest(SPEC3);
+	}
+	
+	@Test
+	public void testRowPartitionedApplyUnsupported() 
+		throws Exception 
+	{
+		//dummycode is not row-partitionable (it shifts output columns)
+		Encoder encoder = EncoderFactory.createEncoder(SPEC2, COLNAMES, SCHEMA, null);
+		int count = 0;
+		for( Encoder e : ((EncoderComposite)encoder).getEncoders() ) {
+			if( e.isRowPartitionable() )
+				continue;
+			try {
+				e.applyRows(new FrameBlock(SCHEMA, COLNAMES), new MatrixBlock(1, SCHEMA.length, false), 0, 1);
+				Assert.fail("Row-partitioned apply should be rejected by "+e.getClass().getSimpleName()+".");
+			}
+			catch(UnsupportedOperationException ex) {
+				count++; //expected
+			}
+		}
+		Assert.assertEquals(1, count);
+	}
+	
+	private void runTransformEncodeTest(String spec)
+	{
+		try
+		{
+			FrameBlock in = createInputFrame();
+			
+			//single-threaded and multi-threaded transform encode
+			Encoder encoder1 = EncoderFactory.createEncoder(spec, COLNAMES, SCHEMA, null);
+			MatrixBlock out1 = encoder1.encode(in, new MatrixBlock(rows, SCHEMA.length, false));
+			FrameBlock meta1 = encoder1.getMetaData(new FrameBlock(SCHEMA.length, ValueType.STRING));
+			Encoder encoder2 = EncoderFactory.createEncoder(spec, COLNAMES, SCHEMA, null);
+			MatrixBlock out2 = encoder2.encode(in, new MatrixBlock(rows, SCHEMA.length, false), threads);
+			FrameBlock meta2 = encoder2.getMetaData(new FrameBlock(SCHEMA.length, ValueType.STRING));
+			
+			//multi-threaded transform apply
+			Encoder encoder3 = EncoderFactory.createEncoder(spec, COLNAMES, SCHEMA, meta1);
+			MatrixBlock out3 = encoder3.apply(in, new MatrixBlock(rows, SCHEMA.length, false), threads);
+			
+			//compare meta data and encoded matrices
+			TestUtils.compareFrames(DataConverter.convertToStringFrame(meta1), 
+				DataConverter.convertToStringFrame(meta2), meta1.getNumRows(), meta1.getNumColumns());
+			compareMatrices(out1, out2);
+			compareMatrices(out1, out3);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static FrameBlock createInputFrame() {
+		Random rand = new Random(7);
+		FrameBlock ret = new FrameBlock(SCHEMA, COLNAMES);
+		ret.ensureAllocatedColumns(rows);
+		for( int i=0; i<rows; i++ ) {
+			ret.set(i, 0, "a"+rand.nextInt(7));
+			ret.set(i, 1, (rand.nextDouble() < 0.05) ? null : "b"+rand.nextInt(1000));
+			ret.set(i, 2, (rand.nextDouble() < 0.05) ? null : rand.nextDouble());
+			ret.set(i, 3, "c"+rand.nextInt(rows));
+		}
+		return ret;
+	}
+	
+	private static void compareMatrices(MatrixBlock mb1, MatrixBlock mb2) {
+		Assert.assertEquals(mb1.getNumRows(), mb2.getNumRows());
+		Assert.assertEquals(mb1.getNumColumns(), mb2.getNumColumns());
+		Assert.assertEquals(mb1.getNonZeros(), mb2.getNonZeros());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mb1), 
+			DataConverter.convertToDoubleMatrix(mb2), mb1.getNumRows(), mb1.getNumColumns(), 1e-10);
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.unary.matrix;
+
+import java.util.ArrayList;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.CholeskyDecomposition;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.sysml.hops.Hop.FileFormatTypes;
+import org.apache.sysml.lops.Data;
+import org.apache.sysml.lops.FunctionCallCP;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.parser.DMLProgram;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.instructions.CPInstructionParser;
+import org.apache.sysml.runtime.instructions.cp.MultiReturnBuiltinCPInstruction;
+import org.apache.sysml.runtime.matrix.data.LibMatrixDecomp;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a component test for the multi-threaded matrix decompositions,
+ * which compares the results with the Apache Commons Math decompositions,
+ * and checks the degree of parallelism of multi-return builtin instructions.
+ */
+public class ParallelDecompositionTest extends AutomatedTestBase
+{
+	private final static int rows = 732;
+	private final static int cols = 511;
+	private final static int rhs = 17;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.1;
+	private final static int k = 4;
+	private final static double eps = 1e-8;
+
+	public enum DecompType {
+		SOLVE,
+		INVERSE,
+		CHOLESKY,
+		QR,
+		EIGEN,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSolveDense() {
+		runDecompositionTest(DecompType.SOLVE, sparsity1);
+	}
+
+	@Test
+	public void testSolveSparse() {
+		runDecompositionTest(DecompType.SOLVE, sparsity2);
+	}
+
+	@Test
+	public void testInverseDense() {
+		runDecompositionTest(DecompType.INVERSE, sparsity1);
+	}
+
+	@Test
+	public void testInverseSparse() {
+		runDecompositionTest(DecompType.INVERSE, sparsity2);
+	}
+
+	@Test
+	public void testCholeskyDense() {
+		runDecompositionTest(DecompType.CHOLESKY, sparsity1);
+	}
+
+	@Test
+	public void testCholeskySparse() {
+		runDecompositionTest(DecompType.CHOLESKY, sparsity2);
+	}
+
+	@Test
+	public void testQRDense() {
+		runDecompositionTest(DecompType.QR, sparsity1);
+	}
+
+	@Test
+	public void testQRSparse() {
+		runDecompositionTest(DecompType.QR, sparsity2);
+	}
+
+	@Test
+	public void testEigenDense() {
+		runDecompositionTest(DecompType.EIGEN, sparsity1);
+	}
+
+	@Test
+	public void testEigenSparse() {
+		runDecompositionTest(DecompType.EIGEN, sparsity2);
+	}
+
+	@Test
+	public void testQRInstructionNumThreads() {
+		runInstructionNumThreadsTest("qr", new String[]{"H","R"});
+	}
+
+	@Test
+	public void testEigenInstructionNumThreads() {
+		runInstructionNumThreadsTest("eigen", new String[]{"V","E"});
+	}
+
+	private void runInstructionNumThreadsTest(String fname, String[] outputs)
+	{
+		try
+		{
+			//generate multi-return builtin instruction with given degree of parallelism
+			Data in = new Data(Data.OperationTypes.READ, null, null, "A", null,
+				DataType.MATRIX, ValueType.DOUBLE, true, FileFormatTypes.BINARY);
+			ArrayList<Lop> inputs = new ArrayList<Lop>();
+			inputs.add(in);
+			FunctionCallCP fcall = new FunctionCallCP(inputs, DMLProgram.INTERNAL_NAMESPACE,
+				fname, outputs, null, ExecType.CP, k);
+			String inst = fcall.getInstructions(new String[]{"A"}, outputs);
+
+			//parse instruction and check its degree of parallelism
+			MultiReturnBuiltinCPInstruction cpinst = (MultiReturnBuiltinCPInstruction)
+				CPInstructionParser.parseSingleInstruction(inst);
+			Assert.assertEquals(k, cpinst.getNumThreads());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void runDecompositionTest(DecompType type, double sparsity)
+	{
+		try
+		{
+			//data generation (square for inverse, symmetric positive definite for cholesky,
+			//and symmetric for eigen)
+			int m = (type==DecompType.SOLVE || type==DecompType.QR) ? rows : cols;
+			double[][] A = getRandomMatrix(m, cols, -1, 1, sparsity, 7);
+			if( type == DecompType.CHOLESKY ) {
+				RealMatrix tmp = new Array2DRowRealMatrix(A, false);
+				A = tmp.transpose().multiply(tmp).getData();
+				for( int i=0; i<cols; i++ )
+					A[i][i] += cols;
+			}
+			else if( type == DecompType.EIGEN ) {
+				RealMatrix tmp = new Array2DRowRealMatrix(A, false);
+				A = tmp.add(tmp.transpose()).getData();
+			}
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			mbA.examSparsity();
+			Array2DRowRealMatrix rmA = new Array2DRowRealMatrix(A, false);
+
+			switch( type ) {
+				case SOLVE: {
+					double[][] B = getRandomMatrix(m, rhs, -1, 1, 1.0, 3);
+					MatrixBlock ret = LibMatrixDecomp.solve(mbA, DataConverter.convertToMatrixBlock(B), k);
+					RealMatrix expected = new QRDecomposition(rmA).getSolver()
+						.solve(new Array2DRowRealMatrix(B, false));
+					compare(expected, ret);
+					break;
+				}
+				case INVERSE: {
+					MatrixBlock ret = LibMatrixDecomp.inverse(mbA, k);
+					compare(new QRDecomposition(rmA).getSolver().getInverse(), ret);
+					break;
+				}
+				case CHOLESKY: {
+					MatrixBlock ret = LibMatrixDecomp.cholesky(mbA, k);
+					compare(new CholeskyDecomposition(rmA).getL(), ret);
+					break;
+				}
+				case QR: {
+					MatrixBlock[] ret = LibMatrixDecomp.qr(mbA, k);
+					QRDecomposition qr = new QRDecomposition(rmA);
+					compare(qr.getH(), ret[0]);
+					compare(qr.getR(), ret[1]);
+					break;
+				}
+				case EIGEN: {
+					MatrixBlock[] ret = LibMatrixDecomp.eigen(mbA, k);
+					EigenDecomposition eig = new EigenDecomposition(rmA);
+					compareEigen(eig.getRealEigenvalues(), eig.getV(), ret);
+					break;
+				}
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static void compareEigen(double[] evalues, RealMatrix evectors, MatrixBlock[] ret) {
+		//sort expected eigenvalues in increasing order, and compare
+		//eigenvectors independent of their signs
+		int n = evalues.length;
+		double[][] values = new double[n][1];
+		double[][] vectors = new double[n][n];
+		boolean[] used = new boolean[n];
+		for( int j=0; j<n; j++ ) {
+			int min = -1;
+			for( int i=0; i<n; i++ )
+				if( !used[i] && (min < 0 || evalues[i] < evalues[min]) )
+					min = i;
+			used[min] = true;
+			values[j][0] = evalues[min];
+			for( int i=0; i<n; i++ )
+				vectors[i][j] = Math.abs(evectors.getEntry(i, min));
+		}
+		double[][] retVectors = DataConverter.convertToDoubleMatrix(ret[1]);
+		for( int i=0; i<n; i++ )
+			for( int j=0; j<n; j++ )
+				retVectors[i][j] = Math.abs(retVectors[i][j]);
+		TestUtils.compareMatrices(values, DataConverter.convertToDoubleMatrix(ret[0]), n, 1, eps);
+		TestUtils.compareMatrices(vectors, retVectors, n, n, eps);
+	}
+
+	private static void compare(RealMatrix expected, MatrixBlock ret) {
+		TestUtils.compareMatrices(expected.getData(), DataConverter.convertToDoubleMatrix(ret),
+			expected.getRowDimension(), expected.getColumnDimension(), eps);
+	}
+}
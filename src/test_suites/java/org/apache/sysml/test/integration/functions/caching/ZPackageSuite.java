@@ -26,7 +26,10 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-	CachingPWriteExportTest.class
+	CachingPrefetchTest.class,
+	CachingPWriteExportTest.class,
+	ConcurrentWriteBufferTest.class,
+	OffHeapWriteBufferTest.class
 })
 
 
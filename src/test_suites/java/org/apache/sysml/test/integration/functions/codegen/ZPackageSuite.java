@@ -34,6 +34,7 @@ import org.junit.runners.Suite;
 	AlgorithmMSVM.class,
 	AlgorithmPNMF.class,
 	CellwiseTmplTest.class,
+	CodegenClassCacheTest.class,
 	CompressedCellwiseTest.class,
 	CompressedMultiAggregateTest.class,
 	CompressedOuterProductTest.class,
@@ -39,6 +39,8 @@ import org.junit.runners.Suite;
 	BasicTransposeSelfLeftMatrixMultTest.class,
 	BasicUnaryAggregateTest.class,
 	BasicVectorMatrixMultTest.class,
+	CompressedBroadcastTest.class,
+	CompressedEvictionTest.class,
 	CompressedL2SVM.class,
 	CompressedLinregCG.class,
 	CompressedSerializationTest.class,
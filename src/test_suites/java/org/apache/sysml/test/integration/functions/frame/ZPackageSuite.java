@@ -31,6 +31,7 @@ import org.junit.runners.Suite;
 	FrameCastingTest.class,
 	FrameConverterTest.class,
 	FrameCopyTest.class,
+	FrameDictionaryEncodingTest.class,
 	FrameEvictionTest.class,
 	FrameFunctionTest.class,
 	FrameGetSetTest.class,
@@ -26,6 +26,10 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	KryoSerializeTest.class,
+	LocalBinaryBlockParForTest.class,
+	LocalBinaryBlockReadTest.class,
+	LocalBinaryBlockWriteTest.class,
 	SerializeTest.class
 })
 
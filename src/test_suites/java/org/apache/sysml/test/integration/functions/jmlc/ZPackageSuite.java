@@ -33,8 +33,11 @@ import org.junit.runners.Suite;
 	FrameLeftIndexingTest.class,
 	FrameReadMetaTest.class,
 	FrameTransformTest.class,
+	JMLCBufferBindingTest.class,
+	JMLCConcurrentScoringTest.class,
 	JMLCInputOutputTest.class,
 	JMLCInputStreamReadTest.class,
+	JMLCMicroBatchScoringTest.class,
 	ReuseModelVariablesTest.class,
 	SystemTMulticlassSVMScoreTest.class
 })
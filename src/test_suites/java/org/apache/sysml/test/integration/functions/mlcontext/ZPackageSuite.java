@@ -31,7 +31,8 @@ import org.junit.runners.Suite;
 	DataFrameVectorFrameConversionTest.class,
 	DataFrameVectorScriptTest.class,
 	FrameTest.class,
-	GNMFTest.class
+	GNMFTest.class,
+	MatrixCollectTest.class
 })
 
 /** This class is just a holder for the above JUnit annotations. */
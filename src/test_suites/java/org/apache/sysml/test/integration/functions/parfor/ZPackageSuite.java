@@ -41,6 +41,8 @@ import org.junit.runners.Suite;
 	ParForRowwiseDataPartitioningTest.class,
 	ParForRulebasedOptimizerTest.class,
 	ParForSerialRemoteResultMergeTest.class,
+	ParForSharedResultUpdateTest.class,
+	ParForWorkStealingTest.class,
 })
 
 
@@ -29,10 +29,12 @@ import org.junit.runners.Suite;
 	FrameCSVReadWriteTest.class,
 	TransformCSVFrameEncodeDecodeTest.class,
 	TransformCSVFrameEncodeReadTest.class,
+	TransformCSVStreamApplyTest.class,
 	TransformEncodeDecodeTest.class,
 	TransformFrameEncodeApplyTest.class,
 	TransformFrameEncodeDecodeTest.class,
 	TransformFrameEncodeDecodeTokenTest.class,
+	TransformFrameEncodeMultithreadedTest.class,
 })
 
 